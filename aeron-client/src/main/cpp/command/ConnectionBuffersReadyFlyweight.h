@@ -44,6 +44,8 @@ namespace aeron { namespace command {
 * +---------------------------------------------------------------+
 * |                   Subscriber Position Count                   |
 * +---------------------------------------------------------------+
+* |                  Receiver HWM Position Id                     |
+* +---------------------------------------------------------------+
 * |                         Log File Length                       |
 * +---------------------------------------------------------------+
 * |                          Log File Name                      ...
@@ -77,6 +79,7 @@ struct ConnectionBuffersReadyDefn
     std::int32_t sessionId;
     std::int32_t streamId;
     std::int32_t subscriberPositionCount;
+    std::int32_t hwmPositionId;
     struct
     {
         std::int32_t logFileLength;
@@ -156,6 +159,17 @@ public:
         return *this;
     }
 
+    inline std::int32_t hwmPositionId() const
+    {
+        return m_struct.hwmPositionId;
+    }
+
+    inline this_t& hwmPositionId(std::int32_t value)
+    {
+        m_struct.hwmPositionId = value;
+        return *this;
+    }
+
     inline std::string logFileName() const
     {
         return stringGet(offsetof(ConnectionBuffersReadyDefn, logFile));
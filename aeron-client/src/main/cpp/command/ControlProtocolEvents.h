@@ -33,6 +33,8 @@ struct ControlProtocolEvents
     static const std::int32_t ADD_PUBLICATION = 0x01;
     /** Remove Publication */
     static const std::int32_t REMOVE_PUBLICATION = 0x02;
+    /** Add Publication which is exclusive to the client publication adding it */
+    static const std::int32_t ADD_EXCLUSIVE_PUBLICATION = 0x03;
     /** Add Subscriber */
     static const std::int32_t ADD_SUBSCRIPTION = 0x04;
     /** Remove Subscriber */
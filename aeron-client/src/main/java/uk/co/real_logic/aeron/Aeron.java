@@ -66,6 +66,7 @@ public final class Aeron implements AutoCloseable
 
     private final ClientConductor conductor;
     private final AgentRunner conductorRunner;
+    private final AgentInvoker conductorInvoker;
     private final Context ctx;
 
     Aeron(final Context ctx)
@@ -83,15 +84,26 @@ public final class Aeron implements AutoCloseable
             ctx.errorHandler,
             ctx.newConnectionHandler,
             ctx.inactiveConnectionHandler,
-            ctx.mediaDriverTimeout());
+            ctx.mediaDriverTimeout(),
+            ctx.driverAgentInvoker);
 
-        conductorRunner = new AgentRunner(ctx.idleStrategy, ctx.errorHandler, null, conductor);
+        if (ctx.useConductorAgentInvoker)
+        {
+            conductorRunner = null;
+            conductorInvoker = new AgentInvoker(ctx.errorHandler, null, conductor);
+        }
+        else
+        {
+            conductorRunner = new AgentRunner(ctx.idleStrategy, ctx.errorHandler, null, conductor);
+            conductorInvoker = null;
+        }
     }
 
     /**
      * Create an Aeron instance and connect to the media driver.
      * <p>
-     * Threads required for interacting with the media driver are created and managed within the Aeron instance.
+     * Threads required for interacting with the media driver are created and managed within the Aeron instance,
+     * unless {@link Context#useConductorAgentInvoker(boolean)} is set in which case no thread is started.
      *
      * @param ctx for configuration of the client.
      * @return the new {@link Aeron} instance connected to the Media Driver.
@@ -106,10 +118,30 @@ public final class Aeron implements AutoCloseable
      */
     public void close()
     {
-        conductorRunner.close();
+        if (null != conductorRunner)
+        {
+            conductorRunner.close();
+        }
+        else
+        {
+            conductorInvoker.close();
+        }
+
         ctx.close();
     }
 
+    /**
+     * Get the {@link AgentInvoker} for the client conductor when {@link Context#useConductorAgentInvoker(boolean)}
+     * is set. The application must then invoke it regularly from its own duty cycle to keep the client alive with
+     * the media driver and to be notified of new and inactive connections.
+     *
+     * @return the {@link AgentInvoker} for the client conductor or null if a conductor thread is used.
+     */
+    public AgentInvoker conductorAgentInvoker()
+    {
+        return conductorInvoker;
+    }
+
     /**
      * Add a {@link Publication} for publishing messages to subscribers.
      * <p>
@@ -146,6 +178,21 @@ public final class Aeron implements AutoCloseable
         return conductor.addPublication(channel, streamId, sessionIdToRequest);
     }
 
+    /**
+     * Add an {@link ExclusivePublication} for publishing messages to subscribers from a single thread.
+     * <p>
+     * A unique session id will be generated for this publication and the publication is not shared with other
+     * callers within this client.
+     *
+     * @param channel  for receiving the messages known to the media layer.
+     * @param streamId within the channel scope.
+     * @return the new ExclusivePublication.
+     */
+    public ExclusivePublication addExclusivePublication(final String channel, final int streamId)
+    {
+        return conductor.addExclusivePublication(channel, streamId);
+    }
+
     /**
      * Add a new {@link Subscription} for subscribing to messages from publishers.
      *
@@ -158,11 +205,33 @@ public final class Aeron implements AutoCloseable
         return conductor.addSubscription(channel, streamId);
     }
 
+    /**
+     * Add a new {@link Subscription} for subscribing to messages from publishers with handlers which are notified as
+     * {@link Image}s become available or unavailable, so that they can be polled independently.
+     *
+     * @param channel                 for receiving the messages known to the media layer.
+     * @param streamId                within the channel scope.
+     * @param availableImageHandler   called when an {@link Image} becomes available, may be null.
+     * @param unavailableImageHandler called when an {@link Image} becomes unavailable, may be null.
+     * @return the {@link Subscription} for the channel and streamId pair.
+     */
+    public Subscription addSubscription(
+        final String channel,
+        final int streamId,
+        final AvailableImageHandler availableImageHandler,
+        final UnavailableImageHandler unavailableImageHandler)
+    {
+        return conductor.addSubscription(channel, streamId, availableImageHandler, unavailableImageHandler);
+    }
+
     private Aeron start()
     {
-        final Thread thread = new Thread(conductorRunner);
-        thread.setName("aeron-client-conductor");
-        thread.start();
+        if (null != conductorRunner)
+        {
+            final Thread thread = new Thread(conductorRunner);
+            thread.setName("aeron-client-conductor");
+            thread.start();
+        }
 
         return this;
     }
@@ -187,6 +256,8 @@ public final class Aeron implements AutoCloseable
         private ErrorHandler errorHandler;
         private NewConnectionHandler newConnectionHandler;
         private InactiveConnectionHandler inactiveConnectionHandler;
+        private boolean useConductorAgentInvoker = false;
+        private AgentInvoker driverAgentInvoker;
 
         /**
          * This is called automatically by {@link Aeron#connect(Aeron.Context)} and its overloads.
@@ -397,6 +468,53 @@ public final class Aeron implements AutoCloseable
             return mediaDriverTimeoutMs;
         }
 
+        /**
+         * Should the client conductor be run via an {@link AgentInvoker} from the application's own duty cycle
+         * rather than on a thread started by the client.
+         *
+         * @param useConductorAgentInvoker true to have the application invoke the client conductor.
+         * @return this Aeron.Context for method chaining.
+         * @see Aeron#conductorAgentInvoker()
+         */
+        public Context useConductorAgentInvoker(final boolean useConductorAgentInvoker)
+        {
+            this.useConductorAgentInvoker = useConductorAgentInvoker;
+            return this;
+        }
+
+        /**
+         * Is the client conductor to be run via an {@link AgentInvoker} from the application's own duty cycle.
+         *
+         * @return true if the application invokes the client conductor.
+         */
+        public boolean useConductorAgentInvoker()
+        {
+            return useConductorAgentInvoker;
+        }
+
+        /**
+         * Set the {@link AgentInvoker} for an embedded Media Driver running without threads of its own so it is
+         * invoked while the client awaits responses from the driver on the same thread.
+         *
+         * @param driverAgentInvoker for the embedded Media Driver.
+         * @return this Aeron.Context for method chaining.
+         */
+        public Context driverAgentInvoker(final AgentInvoker driverAgentInvoker)
+        {
+            this.driverAgentInvoker = driverAgentInvoker;
+            return this;
+        }
+
+        /**
+         * Get the {@link AgentInvoker} for an embedded Media Driver running without threads of its own.
+         *
+         * @return the {@link AgentInvoker} for an embedded Media Driver or null if not set.
+         */
+        public AgentInvoker driverAgentInvoker()
+        {
+            return driverAgentInvoker;
+        }
+
         /**
          * Clean up all resources that the client uses to communicate with the Media Driver.
          */
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.agrona.ErrorHandler;
+import uk.co.real_logic.agrona.concurrent.Agent;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+
+/**
+ * Invoke an {@link Agent} on the caller's thread rather than on a dedicated thread as an
+ * {@link uk.co.real_logic.agrona.concurrent.AgentRunner} would.
+ * <p>
+ * Each call to {@link #invoke()} performs a single duty cycle of the agent so the caller is free to apply its own
+ * idle strategy between calls, e.g. from within an application event loop.
+ * <p>
+ * Note: AgentInvoker instances are NOT threadsafe and must only be invoked from a single thread.
+ */
+public class AgentInvoker implements AutoCloseable
+{
+    private final ErrorHandler errorHandler;
+    private final AtomicCounter errorCounter;
+    private final Agent agent;
+    private volatile boolean isClosed = false;
+
+    /**
+     * Create an invoker for the given agent.
+     *
+     * @param errorHandler to be called if an {@link Throwable} is encountered in a duty cycle.
+     * @param errorCounter to be incremented each time an exception is encountered, may be null.
+     * @param agent        to be invoked.
+     */
+    public AgentInvoker(final ErrorHandler errorHandler, final AtomicCounter errorCounter, final Agent agent)
+    {
+        this.errorHandler = errorHandler;
+        this.errorCounter = errorCounter;
+        this.agent = agent;
+    }
+
+    /**
+     * The {@link Agent} which is contained.
+     *
+     * @return {@link Agent} being contained.
+     */
+    public Agent agent()
+    {
+        return agent;
+    }
+
+    /**
+     * Has the invoker been closed.
+     *
+     * @return true if the invoker has been closed.
+     */
+    public boolean isClosed()
+    {
+        return isClosed;
+    }
+
+    /**
+     * Perform a single duty cycle of the {@link Agent} unless closed. Exceptions are passed to the
+     * {@link ErrorHandler} rather than thrown.
+     *
+     * @return the work count from the duty cycle which can be used with an idle strategy.
+     */
+    public int invoke()
+    {
+        int workCount = 0;
+
+        if (!isClosed)
+        {
+            try
+            {
+                workCount = agent.doWork();
+            }
+            catch (final Exception ex)
+            {
+                if (null != errorCounter)
+                {
+                    errorCounter.increment();
+                }
+
+                errorHandler.onError(ex);
+            }
+        }
+
+        return workCount;
+    }
+
+    /**
+     * Mark the invoker as closed and close the {@link Agent}.
+     */
+    public void close()
+    {
+        if (!isClosed)
+        {
+            isClosed = true;
+            agent.onClose();
+        }
+    }
+}
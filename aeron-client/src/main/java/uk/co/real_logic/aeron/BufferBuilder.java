@@ -17,21 +17,28 @@ package uk.co.real_logic.aeron;
 
 import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.IoUtil;
 import uk.co.real_logic.agrona.MutableDirectBuffer;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
-import java.util.Arrays;
+import java.nio.ByteBuffer;
 
 /**
  * Builder for appending buffers that grows capacity as necessary.
+ * <p>
+ * The internal buffer can optionally be allocated off-heap and bounded by a maximum capacity so large messages
+ * being assembled do not pin the heap.
  */
 public class BufferBuilder
 {
     public static final int INITIAL_CAPACITY = 4096;
+    public static final int MAX_CAPACITY = 1 << 30;
 
-    private final MutableDirectBuffer mutableDirectBuffer;
+    private final UnsafeBuffer mutableDirectBuffer;
+    private final int initialCapacity;
+    private final int maxCapacity;
+    private final boolean isDirect;
 
-    private byte[] buffer;
     private int limit = 0;
     private int capacity;
 
@@ -50,9 +57,32 @@ public class BufferBuilder
      */
     public BufferBuilder(final int initialCapacity)
     {
-        capacity = BitUtil.findNextPositivePowerOfTwo(initialCapacity);
-        buffer = new byte[capacity];
-        mutableDirectBuffer = new UnsafeBuffer(buffer);
+        this(initialCapacity, MAX_CAPACITY, false);
+    }
+
+    /**
+     * Construct a buffer builder with an initial capacity that will be rounded up to the nearest power of 2 and will
+     * not grow beyond a maximum capacity.
+     *
+     * @param initialCapacity at which the capacity will start.
+     * @param maxCapacity     beyond which the capacity will not grow.
+     * @param isDirect        true if the buffer should be allocated off-heap otherwise false.
+     */
+    public BufferBuilder(final int initialCapacity, final int maxCapacity, final boolean isDirect)
+    {
+        this.initialCapacity = BitUtil.findNextPositivePowerOfTwo(initialCapacity);
+        if (maxCapacity < this.initialCapacity || maxCapacity > MAX_CAPACITY)
+        {
+            final String s = String.format(
+                "Max capacity must be between %d and %d: maxCapacity=%d", this.initialCapacity, MAX_CAPACITY, maxCapacity);
+            throw new IllegalArgumentException(s);
+        }
+
+        this.maxCapacity = maxCapacity;
+        this.isDirect = isDirect;
+        capacity = this.initialCapacity;
+        mutableDirectBuffer = new UnsafeBuffer(new byte[0]);
+        allocate(capacity);
     }
 
     /**
@@ -65,6 +95,26 @@ public class BufferBuilder
         return capacity;
     }
 
+    /**
+     * The maximum capacity to which the buffer can grow.
+     *
+     * @return the maximum capacity to which the buffer can grow.
+     */
+    public int maxCapacity()
+    {
+        return maxCapacity;
+    }
+
+    /**
+     * Is the internal buffer allocated off-heap.
+     *
+     * @return true if the internal buffer is allocated off-heap otherwise false.
+     */
+    public boolean isDirect()
+    {
+        return isDirect;
+    }
+
     /**
      * The current limit of the buffer that has been used by append operations.
      *
@@ -103,9 +153,12 @@ public class BufferBuilder
      */
     public BufferBuilder compact()
     {
-        capacity = Math.max(INITIAL_CAPACITY, BitUtil.findNextPositivePowerOfTwo(limit));
-        buffer = Arrays.copyOf(buffer, capacity);
-        mutableDirectBuffer.wrap(buffer);
+        final int newCapacity = Math.max(initialCapacity, BitUtil.findNextPositivePowerOfTwo(limit));
+        if (newCapacity < capacity)
+        {
+            capacity = newCapacity;
+            allocate(newCapacity);
+        }
 
         return this;
     }
@@ -117,12 +170,13 @@ public class BufferBuilder
      * @param srcOffset in the source buffer from which to copy.
      * @param length in bytes to copy from the source buffer.
      * @return the builder for fluent API usage.
+     * @throws IllegalStateException if the max capacity would be exceeded.
      */
     public BufferBuilder append(final DirectBuffer srcBuffer, final int srcOffset, final int length)
     {
         ensureCapacity(length);
 
-        srcBuffer.getBytes(srcOffset, buffer, limit, length);
+        mutableDirectBuffer.putBytes(limit, srcBuffer, srcOffset, length);
         limit += length;
 
         return this;
@@ -132,20 +186,41 @@ public class BufferBuilder
     {
         final int requiredCapacity = limit + additionalCapacity;
 
-        if (requiredCapacity < 0)
+        if (requiredCapacity < 0 || requiredCapacity > maxCapacity)
         {
-            final String s = String.format("Insufficient capacity: limit=%d additional=%d", limit, additionalCapacity);
+            final String s = String.format(
+                "Insufficient capacity: limit=%d additional=%d maxCapacity=%d", limit, additionalCapacity, maxCapacity);
             throw new IllegalStateException(s);
         }
 
         if (requiredCapacity > capacity)
         {
-            final int newCapacity = findSuitableCapacity(capacity, requiredCapacity);
-            final byte[] newBuffer = Arrays.copyOf(buffer, newCapacity);
+            final int newCapacity = Math.min(findSuitableCapacity(capacity, requiredCapacity), maxCapacity);
 
             capacity = newCapacity;
-            buffer = newBuffer;
-            mutableDirectBuffer.wrap(newBuffer);
+            allocate(newCapacity);
+        }
+    }
+
+    private void allocate(final int newCapacity)
+    {
+        if (isDirect)
+        {
+            final ByteBuffer oldByteBuffer = mutableDirectBuffer.byteBuffer();
+            final ByteBuffer byteBuffer = ByteBuffer.allocateDirect(newCapacity);
+            new UnsafeBuffer(byteBuffer).putBytes(0, mutableDirectBuffer, 0, limit);
+            mutableDirectBuffer.wrap(byteBuffer);
+
+            if (null != oldByteBuffer)
+            {
+                IoUtil.unmap(oldByteBuffer);
+            }
+        }
+        else
+        {
+            final byte[] bytes = new byte[newCapacity];
+            mutableDirectBuffer.getBytes(0, bytes, 0, limit);
+            mutableDirectBuffer.wrap(bytes);
         }
     }
 
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+import uk.co.real_logic.agrona.concurrent.SystemNanoClock;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pool of {@link BufferBuilder}s which can be shared across sessions so that memory for assembling large messages
+ * is only held while a message is in flight rather than for the lifetime of each session.
+ * <p>
+ * Builders which have been idle in the pool for longer than the idle timeout are compacted back to their initial
+ * capacity. Idle builders are checked whenever a builder is acquired or released, so a pool whose streams go quiet
+ * will not be trimmed until traffic resumes unless the application calls {@link #shrinkIdle(long)} from its duty
+ * cycle, e.g. after polling its subscriptions. The number of builders retained in the pool is bounded and surplus
+ * builders are left for collection.
+ * <p>
+ * Pools are not threadsafe and should only be shared between adapters polled on the same thread.
+ */
+public class BufferBuilderPool
+{
+    public static final long DEFAULT_IDLE_TIMEOUT_NS = TimeUnit.SECONDS.toNanos(10);
+    public static final int DEFAULT_MAX_POOLED_BUILDERS = 64;
+
+    private final int initialCapacity;
+    private final int maxCapacity;
+    private final boolean isDirect;
+    private final int maxPooledBuilders;
+    private final long idleTimeoutNs;
+    private final NanoClock nanoClock;
+
+    private BufferBuilder[] builders = new BufferBuilder[8];
+    private long[] releaseTimestamps = new long[8];
+    private int size = 0;
+
+    /**
+     * Construct a pool of off-heap builders with default settings.
+     *
+     * @param maxCapacity beyond which the capacity of a builder will not grow.
+     */
+    public BufferBuilderPool(final int maxCapacity)
+    {
+        this(
+            BufferBuilder.INITIAL_CAPACITY,
+            maxCapacity,
+            true,
+            DEFAULT_MAX_POOLED_BUILDERS,
+            DEFAULT_IDLE_TIMEOUT_NS,
+            new SystemNanoClock());
+    }
+
+    /**
+     * Construct a pool of builders.
+     *
+     * @param initialCapacity   for each builder allocated.
+     * @param maxCapacity       beyond which the capacity of a builder will not grow.
+     * @param isDirect          true if the builders should be allocated off-heap otherwise false.
+     * @param maxPooledBuilders to retain in the pool when released.
+     * @param idleTimeoutNs     after which a builder in the pool is compacted.
+     * @param nanoClock         to be used for tracking idle time.
+     */
+    public BufferBuilderPool(
+        final int initialCapacity,
+        final int maxCapacity,
+        final boolean isDirect,
+        final int maxPooledBuilders,
+        final long idleTimeoutNs,
+        final NanoClock nanoClock)
+    {
+        this.initialCapacity = initialCapacity;
+        this.maxCapacity = maxCapacity;
+        this.isDirect = isDirect;
+        this.maxPooledBuilders = maxPooledBuilders;
+        this.idleTimeoutNs = idleTimeoutNs;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Acquire a builder from the pool, allocating a new one if the pool is empty, and shrink any builders which
+     * have been idle beyond the timeout.
+     *
+     * @return a builder which has been reset.
+     */
+    public BufferBuilder acquire()
+    {
+        shrinkIdle(nanoClock.nanoTime());
+
+        if (size > 0)
+        {
+            final BufferBuilder builder = builders[--size];
+            builders[size] = null;
+
+            return builder;
+        }
+
+        return new BufferBuilder(initialCapacity, maxCapacity, isDirect);
+    }
+
+    /**
+     * Release a builder back to the pool for reuse and shrink any builders which have been idle beyond the timeout.
+     *
+     * @param builder to be released.
+     */
+    public void release(final BufferBuilder builder)
+    {
+        final long nowNs = nanoClock.nanoTime();
+
+        builder.reset();
+
+        if (size < maxPooledBuilders)
+        {
+            if (size == builders.length)
+            {
+                final int newLength = size << 1;
+                builders = Arrays.copyOf(builders, newLength);
+                releaseTimestamps = Arrays.copyOf(releaseTimestamps, newLength);
+            }
+
+            builders[size] = builder;
+            releaseTimestamps[size] = nowNs;
+            size++;
+        }
+
+        shrinkIdle(nowNs);
+    }
+
+    /**
+     * Compact builders which have been idle in the pool for longer than the idle timeout.
+     * <p>
+     * This is called when builders are acquired and released. Applications whose streams can go quiet should also
+     * call it periodically from the thread polling the adapters sharing this pool.
+     *
+     * @param nowNs the current time in nanoseconds.
+     * @return the number of builders compacted.
+     */
+    public int shrinkIdle(final long nowNs)
+    {
+        int shrunk = 0;
+        for (int i = 0; i < size; i++)
+        {
+            final BufferBuilder builder = builders[i];
+            if ((nowNs - releaseTimestamps[i]) > idleTimeoutNs)
+            {
+                if (builder.capacity() > initialCapacity)
+                {
+                    builder.compact();
+                    shrunk++;
+                }
+            }
+            else
+            {
+                break;
+            }
+        }
+
+        return shrunk;
+    }
+
+    /**
+     * The number of builders currently available in the pool.
+     *
+     * @return the number of builders currently available in the pool.
+     */
+    public int size()
+    {
+        return size;
+    }
+}
@@ -18,6 +18,7 @@ package uk.co.real_logic.aeron;
 import uk.co.real_logic.aeron.command.ConnectionBuffersReadyFlyweight;
 import uk.co.real_logic.aeron.exceptions.DriverTimeoutException;
 import uk.co.real_logic.aeron.exceptions.RegistrationException;
+import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.ErrorHandler;
 import uk.co.real_logic.agrona.ManagedResource;
 import uk.co.real_logic.agrona.TimerWheel;
@@ -53,6 +54,7 @@ class ClientConductor implements Agent, DriverListener
     private final ActivePublications activePublications = new ActivePublications();
     private final ActiveSubscriptions activeSubscriptions = new ActiveSubscriptions();
     private final ArrayList<ManagedResource> managedResources = new ArrayList<>();
+    private final ArrayList<ExclusivePublication> exclusivePublications = new ArrayList<>();
     private final UnsafeBuffer counterValuesBuffer;
     private final DriverProxy driverProxy;
     private final TimerWheel timerWheel;
@@ -61,7 +63,10 @@ class ClientConductor implements Agent, DriverListener
     private final ErrorHandler errorHandler;
     private final NewConnectionHandler newConnectionHandler;
     private final InactiveConnectionHandler inactiveConnectionHandler;
+    private final AgentInvoker driverAgentInvoker;
 
+    private long exclusivePublicationCorrelationId = NO_CORRELATION_ID; // Guarded by this
+    private ExclusivePublication exclusivePublication; // Guarded by this
     private RegistrationException driverException; // Guarded by this
 
     public ClientConductor(
@@ -74,7 +79,8 @@ class ClientConductor implements Agent, DriverListener
         final ErrorHandler errorHandler,
         final NewConnectionHandler newConnectionHandler,
         final InactiveConnectionHandler inactiveConnectionHandler,
-        final long driverTimeoutMs)
+        final long driverTimeoutMs,
+        final AgentInvoker driverAgentInvoker)
     {
         this.epochClock = epochClock;
         this.errorHandler = errorHandler;
@@ -86,6 +92,7 @@ class ClientConductor implements Agent, DriverListener
         this.inactiveConnectionHandler = inactiveConnectionHandler;
         this.driverTimeoutMs = driverTimeoutMs;
         this.driverTimeoutNs = MILLISECONDS.toNanos(driverTimeoutMs);
+        this.driverAgentInvoker = driverAgentInvoker;
 
         this.driverListenerAdapter = new DriverListenerAdapter(broadcastReceiver, this);
         this.keepaliveTimer = timerWheel.newTimeout(KEEPALIVE_TIMEOUT_MS, MILLISECONDS, this::onKeepalive);
@@ -138,14 +145,58 @@ class ClientConductor implements Agent, DriverListener
         doWorkUntil(correlationId, timeout, publication.channel());
     }
 
+    public synchronized ExclusivePublication addExclusivePublication(final String channel, final int streamId)
+    {
+        verifyDriverIsActive();
+
+        ExclusivePublication publication;
+        do
+        {
+            int sessionId;
+            do
+            {
+                sessionId = BitUtil.generateRandomisedId();
+            }
+            while (isPublicationSessionInUse(channel, sessionId, streamId));
+
+            publication = tryAddExclusivePublication(channel, streamId, sessionId);
+        }
+        while (null == publication);
+
+        exclusivePublications.add(publication);
+
+        return publication;
+    }
+
+    public synchronized void releaseExclusivePublication(final ExclusivePublication publication)
+    {
+        verifyDriverIsActive();
+
+        final long correlationId = driverProxy.removePublication(publication.registrationId());
+        exclusivePublications.remove(publication);
+        final long timeout = timerWheel.clock().nanoTime() + driverTimeoutNs;
+
+        doWorkUntil(correlationId, timeout, publication.channel());
+    }
+
     public synchronized Subscription addSubscription(final String channel, final int streamId)
+    {
+        return addSubscription(channel, streamId, null, null);
+    }
+
+    public synchronized Subscription addSubscription(
+        final String channel,
+        final int streamId,
+        final AvailableImageHandler availableImageHandler,
+        final UnavailableImageHandler unavailableImageHandler)
     {
         verifyDriverIsActive();
 
         final long correlationId = driverProxy.addSubscription(channel, streamId);
         final long timeout = timerWheel.clock().nanoTime() + driverTimeoutNs;
 
-        final Subscription subscription = new Subscription(this, channel, streamId, correlationId, errorHandler);
+        final Subscription subscription = new Subscription(
+            this, channel, streamId, correlationId, availableImageHandler, unavailableImageHandler);
         activeSubscriptions.add(subscription);
 
         doWorkUntil(correlationId, timeout, channel);
@@ -173,6 +224,20 @@ class ClientConductor implements Agent, DriverListener
         final String logFileName,
         final long correlationId)
     {
+        if (correlationId == exclusivePublicationCorrelationId)
+        {
+            exclusivePublication = new ExclusivePublication(
+                this,
+                channel,
+                streamId,
+                sessionId,
+                new UnsafeBufferPosition(counterValuesBuffer, publicationLimitId),
+                logBuffersFactory.map(logFileName),
+                correlationId);
+
+            return;
+        }
+
         final Publication publication = new Publication(
             this,
             channel,
@@ -203,13 +268,15 @@ class ClientConductor implements Agent, DriverListener
                     {
                         if (subscription.registrationId() == msg.positionIndicatorRegistrationId(i))
                         {
-                            subscription.addConnection(
-                                new Connection(
+                            subscription.addImage(
+                                new Image(
                                     sessionId,
                                     joiningPosition,
                                     correlationId,
                                     new UnsafeBufferPosition(counterValuesBuffer, msg.subscriberPositionId(i)),
-                                    logBuffersFactory.map(logFileName)));
+                                    new UnsafeBufferPosition(counterValuesBuffer, msg.hwmPositionId()),
+                                    logBuffersFactory.map(logFileName),
+                                    errorHandler));
 
                             if (null != newConnectionHandler)
                             {
@@ -235,7 +302,7 @@ class ClientConductor implements Agent, DriverListener
             streamId,
             (subscription) ->
             {
-                if (subscription.removeConnection(correlationId))
+                if (subscription.removeImage(correlationId))
                 {
                     if (null != inactiveConnectionHandler)
                     {
@@ -332,12 +399,66 @@ class ClientConductor implements Agent, DriverListener
         return workCount;
     }
 
+    private ExclusivePublication tryAddExclusivePublication(final String channel, final int streamId, final int sessionId)
+    {
+        final long correlationId = driverProxy.addExclusivePublication(channel, streamId, sessionId);
+        final long timeout = timerWheel.clock().nanoTime() + driverTimeoutNs;
+
+        exclusivePublicationCorrelationId = correlationId;
+        try
+        {
+            doWorkUntil(correlationId, timeout, channel);
+        }
+        catch (final RegistrationException ex)
+        {
+            if (ErrorCode.EXCLUSIVE_PUBLICATION_SESSION_IN_USE != ex.errorCode())
+            {
+                throw ex;
+            }
+        }
+        finally
+        {
+            exclusivePublicationCorrelationId = NO_CORRELATION_ID;
+        }
+
+        final ExclusivePublication publication = exclusivePublication;
+        exclusivePublication = null;
+
+        return publication;
+    }
+
+    private boolean isPublicationSessionInUse(final String channel, final int sessionId, final int streamId)
+    {
+        if (null != activePublications.get(channel, sessionId, streamId))
+        {
+            return true;
+        }
+
+        for (int i = 0, size = exclusivePublications.size(); i < size; i++)
+        {
+            final ExclusivePublication publication = exclusivePublications.get(i);
+            if (sessionId == publication.sessionId() &&
+                streamId == publication.streamId() &&
+                channel.equals(publication.channel()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
     private void doWorkUntil(final long correlationId, final long timeout, final String expectedChannel)
     {
         driverException = null;
 
         do
         {
+            if (null != driverAgentInvoker)
+            {
+                driverAgentInvoker.invoke();
+            }
+
             doWork(correlationId, expectedChannel);
 
             if (driverListenerAdapter.lastReceivedCorrelationId() == correlationId)
@@ -39,6 +39,16 @@ public class CommonContext implements AutoCloseable
     public static final String AERON_DIR_PROP_DEFAULT;
     /** Name of the default multicast interface */
     public static final String MULTICAST_DEFAULT_INTERFACE_PROP_NAME = "aeron.multicast.default.interface";
+    /**
+     * Channel for publications and subscriptions within the same Media Driver that share a log buffer directly
+     * rather than going over the network.
+     */
+    public static final String IPC_CHANNEL = "aeron:ipc";
+    /**
+     * Prefix to a publication channel for a subscription which reads the log of a publication in the same Media
+     * Driver directly, e.g. "aeron-spy:udp://localhost:40123", rather than receiving what it sends.
+     */
+    public static final String SPY_PREFIX = "aeron-spy:";
 
     private String dirName;
     private File cncFile;
@@ -72,6 +72,11 @@ class DriverProxy
         return sendPublicationMessage(channel, streamId, sessionId, ADD_PUBLICATION);
     }
 
+    public long addExclusivePublication(final String channel, final int streamId, final int sessionId)
+    {
+        return sendPublicationMessage(channel, streamId, sessionId, ADD_EXCLUSIVE_PUBLICATION);
+    }
+
     public long removePublication(final long registrationId)
     {
         final long correlationId = toDriverCommandBuffer.nextCorrelationId();
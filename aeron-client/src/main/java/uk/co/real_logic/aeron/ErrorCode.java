@@ -31,7 +31,9 @@ public enum ErrorCode
     /** Reserved for future use. */
     GENERIC_ERROR_SUBSCRIPTION_MESSAGE(4),
     /** Attempted to remove a publication, but it was not found. */
-    UNKNOWN_PUBLICATION(5);
+    UNKNOWN_PUBLICATION(5),
+    /** Attempted to share the session of a publication which is exclusive to another client publication. */
+    EXCLUSIVE_PUBLICATION_SESSION_IN_USE(6);
 
     private final short value;
 
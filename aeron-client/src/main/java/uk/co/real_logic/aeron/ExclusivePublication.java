@@ -0,0 +1,286 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.logbuffer.ExclusiveTermAppender;
+import uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor;
+import uk.co.real_logic.aeron.logbuffer.TermAppender;
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
+
+import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
+
+/**
+ * Aeron Publisher API for sending messages to subscribers of a given channel and streamId pair from a single thread.
+ * Exclusive publications are created via an {@link Aeron} object, and messages are sent via an offer method or a
+ * claim and commit method combination.
+ * <p>
+ * Unlike a {@link Publication}, the tail of the log is tracked by the publisher and advanced with ordered stores
+ * rather than atomic instructions, which reduces the cost of each offer.
+ * <p>
+ * The APIs used to send are all non-blocking.
+ * <p>
+ * Note: ExclusivePublication instances are NOT threadsafe and must only be used from a single publisher thread.
+ * @see Aeron#addExclusivePublication(String, int)
+ */
+public class ExclusivePublication implements AutoCloseable
+{
+    private final long registrationId;
+    private final int streamId;
+    private final int sessionId;
+    private final int initialTermId;
+    private final int termLength;
+    private final String channel;
+    private final ClientConductor clientConductor;
+    private final LogBuffers logBuffers;
+    private final ExclusiveTermAppender[] termAppenders = new ExclusiveTermAppender[PARTITION_COUNT];
+    private final ReadablePosition publicationLimit;
+    private final UnsafeBuffer logMetaDataBuffer;
+
+    private int activeTermId;
+    private int activePartitionIndex;
+    private int termOffset;
+    private long termBeginPosition;
+    private volatile boolean isClosed = false;
+
+    ExclusivePublication(
+        final ClientConductor clientConductor,
+        final String channel,
+        final int streamId,
+        final int sessionId,
+        final ReadablePosition publicationLimit,
+        final LogBuffers logBuffers,
+        final long registrationId)
+    {
+        final UnsafeBuffer[] buffers = logBuffers.atomicBuffers();
+        final UnsafeBuffer logMetaDataBuffer = buffers[LOG_META_DATA_SECTION_INDEX];
+        final UnsafeBuffer[] defaultFrameHeaders = defaultFrameHeaders(logMetaDataBuffer);
+        final int mtuLength = mtuLength(logMetaDataBuffer);
+        initialTermId = initialTermId(logMetaDataBuffer);
+        activeTermId(logMetaDataBuffer, initialTermId);
+
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            termAppenders[i] = new ExclusiveTermAppender(
+                buffers[i], buffers[i + PARTITION_COUNT], defaultFrameHeaders[i], mtuLength);
+        }
+
+        this.clientConductor = clientConductor;
+        this.channel = channel;
+        this.streamId = streamId;
+        this.sessionId = sessionId;
+        this.logBuffers = logBuffers;
+        this.logMetaDataBuffer = logMetaDataBuffer;
+        this.registrationId = registrationId;
+        this.publicationLimit = publicationLimit;
+        this.termLength = termAppenders[0].termBuffer().capacity();
+
+        activeTermId = initialTermId;
+        activePartitionIndex = indexByTerm(initialTermId, activeTermId);
+        termOffset = termAppenders[activePartitionIndex].tailVolatile();
+        termBeginPosition = 0;
+    }
+
+    /**
+     * Media address for delivery to the channel.
+     *
+     * @return Media address for delivery to the channel.
+     */
+    public String channel()
+    {
+        return channel;
+    }
+
+    /**
+     * Stream identity for scoping within the channel media address.
+     *
+     * @return Stream identity for scoping within the channel media address.
+     */
+    public int streamId()
+    {
+        return streamId;
+    }
+
+    /**
+     * Session under which messages are published. Identifies this Publication instance.
+     *
+     * @return the session id for this publication.
+     */
+    public int sessionId()
+    {
+        return sessionId;
+    }
+
+    /**
+     * Maximum message length supported in bytes.
+     *
+     * @return maximum message length supported in bytes.
+     */
+    public int maxMessageLength()
+    {
+        return termAppenders[0].maxMessageLength();
+    }
+
+    /**
+     * Release resources used by this ExclusivePublication.
+     *
+     * This method is idempotent.
+     */
+    public void close()
+    {
+        synchronized (clientConductor)
+        {
+            if (!isClosed)
+            {
+                isClosed = true;
+                logBuffers.close();
+                clientConductor.releaseExclusivePublication(this);
+            }
+        }
+    }
+
+    /**
+     * Get the current position to which the publication has advanced for this stream.
+     *
+     * @return the current position to which the publication has advanced for this stream.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long position()
+    {
+        ensureOpen();
+
+        return termBeginPosition + termOffset;
+    }
+
+    /**
+     * Non-blocking publish of a buffer containing a message.
+     *
+     * @param buffer containing message.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURED} or
+     * {@link Publication#NOT_CONNECTED}.
+     */
+    public long offer(final DirectBuffer buffer)
+    {
+        return offer(buffer, 0, buffer.capacity());
+    }
+
+    /**
+     * Non-blocking publish of a partial buffer containing a message.
+     *
+     * @param buffer containing message.
+     * @param offset offset in the buffer at which the encoded message begins.
+     * @param length in bytes of the encoded message.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURED} or
+     * {@link Publication#NOT_CONNECTED}.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long offer(final DirectBuffer buffer, final int offset, final int length)
+    {
+        ensureOpen();
+
+        final long limit = publicationLimit.getVolatile();
+        long newPosition = limit > 0 ? Publication.BACK_PRESSURED : Publication.NOT_CONNECTED;
+
+        if (isActiveTermAvailable(limit))
+        {
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            newPosition = newPosition(termAppender.append(termOffset, buffer, offset, length));
+        }
+
+        return newPosition;
+    }
+
+    /**
+     * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
+     * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
+     * <p>
+     * <b>Note:</b> This method can only be used for message lengths less than MTU length minus header.
+     *
+     * @param length      of the range to claim, in bytes..
+     * @param bufferClaim to be populate if the claim succeeds.
+     * @return The new stream position on success, otherwise {@link Publication#BACK_PRESSURED} or
+     * {@link Publication#NOT_CONNECTED}.
+     * @throws IllegalArgumentException if the length is greater than max payload length within an MTU.
+     * @throws IllegalStateException if the publication is closed.
+     * @see Publication#tryClaim(int, BufferClaim)
+     */
+    public long tryClaim(final int length, final BufferClaim bufferClaim)
+    {
+        ensureOpen();
+
+        final long limit = publicationLimit.getVolatile();
+        long newPosition = limit > 0 ? Publication.BACK_PRESSURED : Publication.NOT_CONNECTED;
+
+        if (isActiveTermAvailable(limit))
+        {
+            final ExclusiveTermAppender termAppender = termAppenders[activePartitionIndex];
+            newPosition = newPosition(termAppender.claim(termOffset, length, bufferClaim));
+        }
+
+        return newPosition;
+    }
+
+    long registrationId()
+    {
+        return registrationId;
+    }
+
+    private boolean isActiveTermAvailable(final long limit)
+    {
+        // A term which has just been rotated into may still be awaiting cleaning by the driver.
+        return (termBeginPosition + termOffset) < limit &&
+            (termOffset > 0 || termAppenders[activePartitionIndex].status() == CLEAN);
+    }
+
+    private long newPosition(final int resultingOffset)
+    {
+        if (TermAppender.TRIPPED == resultingOffset)
+        {
+            final int newTermId = activeTermId + 1;
+            final int nextIndex = nextPartitionIndex(activePartitionIndex);
+            final int nextNextIndex = nextPartitionIndex(nextIndex);
+
+            LogBufferDescriptor.defaultHeaderTermId(logMetaDataBuffer, nextIndex, newTermId);
+            LogBufferDescriptor.defaultHeaderTermId(logMetaDataBuffer, nextNextIndex, newTermId + 1);
+
+            termAppenders[nextNextIndex].statusOrdered(NEEDS_CLEANING);
+            LogBufferDescriptor.activeTermId(logMetaDataBuffer, newTermId);
+
+            activeTermId = newTermId;
+            activePartitionIndex = nextIndex;
+            termOffset = 0;
+            termBeginPosition += termLength;
+
+            return Publication.BACK_PRESSURED;
+        }
+
+        termOffset = resultingOffset;
+
+        return termBeginPosition + resultingOffset;
+    }
+
+    private void ensureOpen()
+    {
+        if (isClosed)
+        {
+            throw new IllegalStateException(String.format(
+                "ExclusivePublication is closed: channel=%s streamId=%d sessionId=%d registrationId=%d",
+                channel, streamId, sessionId, registrationId));
+        }
+    }
+}
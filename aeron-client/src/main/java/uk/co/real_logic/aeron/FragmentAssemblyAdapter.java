@@ -17,7 +17,6 @@ package uk.co.real_logic.aeron;
 
 import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
 import uk.co.real_logic.aeron.logbuffer.Header;
-import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.agrona.collections.Int2ObjectHashMap;
 
@@ -30,11 +29,14 @@ import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.*;
  * so that the next handler in the chain only sees whole messages.
  * <p>
  * Unfragmented messages are delegated without copy. Fragmented messages are copied to a temporary
- * buffer for reassembly before delegation.
+ * buffer for reassembly before delegation. See {@link ZeroCopyFragmentAssemblyAdapter} for reassembly without copy.
  * <p>
  * Session based buffers will be allocated and grown as necessary based on the length of messages to be assembled.
  * When sessions go inactive see {@link InactiveConnectionHandler}, it is possible to free the buffer by calling
  * {@link #freeSessionBuffer(int)}.
+ * <p>
+ * Alternatively a {@link BufferBuilderPool} can be shared so that a session only holds a buffer while it has a
+ * message part way through assembly.
  */
 public class FragmentAssemblyAdapter implements FragmentHandler
 {
@@ -42,6 +44,7 @@ public class FragmentAssemblyAdapter implements FragmentHandler
     private final AssemblyHeader assemblyHeader = new AssemblyHeader();
     private final Int2ObjectHashMap<BufferBuilder> builderBySessionIdMap = new Int2ObjectHashMap<>();
     private final IntFunction<BufferBuilder> builderFunc;
+    private final BufferBuilderPool pool;
 
     /**
      * Construct an adapter to reassemble message fragments and delegate on only whole messages.
@@ -62,9 +65,24 @@ public class FragmentAssemblyAdapter implements FragmentHandler
     public FragmentAssemblyAdapter(final FragmentHandler delegate, final int initialBufferLength)
     {
         this.delegate = delegate;
+        this.pool = null;
         builderFunc = (ignore) -> new BufferBuilder(initialBufferLength);
     }
 
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on only whole messages using builders
+     * acquired from a pool which are released once a message has been assembled.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     * @param pool     from which builders are acquired for assembling messages.
+     */
+    public FragmentAssemblyAdapter(final FragmentHandler delegate, final BufferBuilderPool pool)
+    {
+        this.delegate = delegate;
+        this.pool = pool;
+        builderFunc = (ignore) -> pool.acquire();
+    }
+
     /**
      * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
      *
@@ -100,6 +118,12 @@ public class FragmentAssemblyAdapter implements FragmentHandler
                         final int msgLength = builder.limit();
                         delegate.onFragment(builder.buffer(), 0, msgLength, assemblyHeader.reset(header, msgLength));
                         builder.reset();
+
+                        if (null != pool)
+                        {
+                            builderBySessionIdMap.remove(header.sessionId());
+                            pool.release(builder);
+                        }
                     }
                 }
             }
@@ -115,37 +139,12 @@ public class FragmentAssemblyAdapter implements FragmentHandler
      */
     public boolean freeSessionBuffer(final int sessionId)
     {
-        return null != builderBySessionIdMap.remove(sessionId);
-    }
-
-    private static class AssemblyHeader extends Header
-    {
-        private int frameLength;
-
-        public AssemblyHeader reset(final Header base, final int msgLength)
-        {
-            positionBitsToShift(base.positionBitsToShift());
-            initialTermId(base.initialTermId());
-            offset(base.offset());
-            buffer(base.buffer());
-            frameLength = msgLength + DataHeaderFlyweight.HEADER_LENGTH;
-
-            return this;
-        }
-
-        public int frameLength()
+        final BufferBuilder builder = builderBySessionIdMap.remove(sessionId);
+        if (null != builder && null != pool)
         {
-            return frameLength;
+            pool.release(builder);
         }
 
-        public byte flags()
-        {
-            return (byte)(super.flags() | UNFRAGMENTED);
-        }
-
-        public int termOffset()
-        {
-            return offset() - (frameLength - super.frameLength());
-        }
+        return null != builder;
     }
 }
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.aeron.logbuffer.BlockHandler;
+import uk.co.real_logic.aeron.logbuffer.ControlledFragmentHandler;
+import uk.co.real_logic.aeron.logbuffer.FileBlockHandler;
+import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
+import uk.co.real_logic.aeron.logbuffer.Header;
+import uk.co.real_logic.aeron.logbuffer.TermBlockScanner;
+import uk.co.real_logic.agrona.ErrorHandler;
+import uk.co.real_logic.agrona.ManagedResource;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.Position;
+import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
+
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
+import static uk.co.real_logic.aeron.logbuffer.TermReader.*;
+import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.TERM_ID_FIELD_OFFSET;
+
+/**
+ * Represents a replicated publication {@link Image} from a publisher to a {@link Subscription}.
+ * Each {@link Image} identifies a source publisher by session id.
+ * <p>
+ * Images can be polled directly so that the sessions of a single {@link Subscription} are consumed on separate
+ * threads. Each {@link Image} must only be polled by one thread at a time and should not also be polled via
+ * {@link Subscription#poll(FragmentHandler, int)} when consumed this way.
+ */
+public class Image
+{
+    private volatile boolean isClosed = false;
+    private final long correlationId;
+    private final int sessionId;
+    private final int termLengthMask;
+    private final int positionBitsToShift;
+
+    private final Position subscriberPosition;
+    private final ReadablePosition hwmPosition;
+    private final UnsafeBuffer[] termBuffers;
+    private final Header header;
+    private final LogBuffers logBuffers;
+    private final ErrorHandler errorHandler;
+
+    Image(
+        final int sessionId,
+        final long initialPosition,
+        final long correlationId,
+        final Position subscriberPosition,
+        final ReadablePosition hwmPosition,
+        final LogBuffers logBuffers,
+        final ErrorHandler errorHandler)
+    {
+        this.correlationId = correlationId;
+        this.sessionId = sessionId;
+        this.subscriberPosition = subscriberPosition;
+        this.hwmPosition = hwmPosition;
+        this.logBuffers = logBuffers;
+        this.errorHandler = errorHandler;
+
+        final UnsafeBuffer[] buffers = logBuffers.atomicBuffers();
+        termBuffers = Arrays.copyOf(buffers, PARTITION_COUNT);
+
+        final int capacity = termBuffers[0].capacity();
+        this.termLengthMask = capacity - 1;
+        this.positionBitsToShift = Integer.numberOfTrailingZeros(capacity);
+        final int initialTermId = initialTermId(buffers[LOG_META_DATA_SECTION_INDEX]);
+        header = new Header(initialTermId, capacity);
+
+        subscriberPosition.setOrdered(initialPosition);
+    }
+
+    /**
+     * The sessionId for the stream of messages.
+     *
+     * @return the sessionId for the stream of messages.
+     */
+    public int sessionId()
+    {
+        return sessionId;
+    }
+
+    /**
+     * The correlationId for identification of the image with the media driver.
+     *
+     * @return the correlationId for identification of the image with the media driver.
+     */
+    public long correlationId()
+    {
+        return correlationId;
+    }
+
+    /**
+     * The position this {@link Image} has been consumed to by the subscriber.
+     *
+     * @return the position this {@link Image} has been consumed to by the subscriber.
+     */
+    public long position()
+    {
+        return subscriberPosition.get();
+    }
+
+    /**
+     * Is there data received by the media driver beyond the position consumed by the subscriber. This is determined
+     * from the receiver high-water-mark counter without touching the log so idle images are cheap to skip.
+     *
+     * @return true if there is data beyond the consumed position otherwise false.
+     */
+    public boolean isAvailable()
+    {
+        return hwmPosition.getVolatile() > subscriberPosition.get();
+    }
+
+    /**
+     * Has this object been closed and should no longer be used?
+     *
+     * @return true if it has been closed otherwise false.
+     */
+    public boolean isClosed()
+    {
+        return isClosed;
+    }
+
+    /**
+     * Poll for new messages in a stream. If new messages are found beyond the last consumed position then they
+     * will be delivered to the {@link FragmentHandler} up to a limited number of fragments as specified.
+     *
+     * @param fragmentHandler to which message fragments are delivered.
+     * @param fragmentLimit   for the number of fragments to be consumed during one polling operation.
+     * @return the number of fragments that have been consumed.
+     */
+    public int poll(final FragmentHandler fragmentHandler, final int fragmentLimit)
+    {
+        if (isClosed)
+        {
+            return 0;
+        }
+
+        final long position = subscriberPosition.get();
+        if (hwmPosition.getVolatile() <= position)
+        {
+            return 0;
+        }
+
+        final int termOffset = (int)position & termLengthMask;
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(position, positionBitsToShift)];
+
+        final long readOutcome = read(termBuffer, termOffset, fragmentHandler, fragmentLimit, header, errorHandler);
+
+        final long newPosition = position + (offset(readOutcome) - termOffset);
+        if (newPosition > position)
+        {
+            subscriberPosition.setOrdered(newPosition);
+        }
+
+        return fragmentsRead(readOutcome);
+    }
+
+    /**
+     * Poll for new messages in a stream with the {@link ControlledFragmentHandler} deciding how the position
+     * advances. If new messages are found beyond the last consumed position then they will be delivered up to a
+     * limited number of fragments as specified.
+     *
+     * @param fragmentHandler to which message fragments are delivered.
+     * @param fragmentLimit   for the number of fragments to be consumed during one polling operation.
+     * @return the number of fragments that have been consumed.
+     */
+    public int controlledPoll(final ControlledFragmentHandler fragmentHandler, final int fragmentLimit)
+    {
+        if (isClosed)
+        {
+            return 0;
+        }
+
+        final long position = subscriberPosition.get();
+        if (hwmPosition.getVolatile() <= position)
+        {
+            return 0;
+        }
+
+        final int termOffset = (int)position & termLengthMask;
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(position, positionBitsToShift)];
+
+        return controlledRead(
+            termBuffer, termOffset, fragmentHandler, fragmentLimit, header, errorHandler, position, subscriberPosition);
+    }
+
+    /**
+     * Poll for a block of contiguous frames from the last consumed position up to a length limit.
+     *
+     * @param blockHandler     to which the block is delivered.
+     * @param blockLengthLimit up to which a block may be in length. The first frame is always delivered whole, even
+     *                         if longer than the limit, so the image keeps advancing.
+     * @return the number of bytes that have been consumed.
+     */
+    public int blockPoll(final BlockHandler blockHandler, final int blockLengthLimit)
+    {
+        if (isClosed)
+        {
+            return 0;
+        }
+
+        final long position = subscriberPosition.get();
+        if (hwmPosition.getVolatile() <= position)
+        {
+            return 0;
+        }
+
+        final int termOffset = (int)position & termLengthMask;
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(position, positionBitsToShift)];
+        final int limit = termOffset + Math.min(blockLengthLimit, termBuffer.capacity() - termOffset);
+
+        final int resultingOffset = TermBlockScanner.scan(termBuffer, termOffset, limit);
+
+        final int bytesConsumed = resultingOffset - termOffset;
+        if (bytesConsumed > 0)
+        {
+            try
+            {
+                final int termId = termBuffer.getInt(termOffset + TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+
+                blockHandler.onBlock(termBuffer, termOffset, bytesConsumed, sessionId, termId);
+            }
+            catch (final Exception ex)
+            {
+                errorHandler.onError(ex);
+            }
+
+            subscriberPosition.setOrdered(position + bytesConsumed);
+        }
+
+        return bytesConsumed;
+    }
+
+    /**
+     * Poll for a block of contiguous frames from the last consumed position up to a length limit which is delivered
+     * as a region of the underlying log file.
+     *
+     * @param fileBlockHandler to which the block is delivered.
+     * @param blockLengthLimit up to which a block may be in length. The first frame is always delivered whole, even
+     *                         if longer than the limit, so the image keeps advancing.
+     * @return the number of bytes that have been consumed.
+     */
+    public int filePoll(final FileBlockHandler fileBlockHandler, final int blockLengthLimit)
+    {
+        if (isClosed)
+        {
+            return 0;
+        }
+
+        final FileChannel fileChannel;
+        try
+        {
+            fileChannel = logBuffers.fileChannel();
+        }
+        catch (final Exception ex)
+        {
+            errorHandler.onError(ex);
+            return 0;
+        }
+
+        if (null == fileChannel)
+        {
+            return 0;
+        }
+
+        final long position = subscriberPosition.get();
+        if (hwmPosition.getVolatile() <= position)
+        {
+            return 0;
+        }
+
+        final int termOffset = (int)position & termLengthMask;
+        final int activeIndex = indexByPosition(position, positionBitsToShift);
+        final UnsafeBuffer termBuffer = termBuffers[activeIndex];
+        final int capacity = termBuffer.capacity();
+        final int limit = termOffset + Math.min(blockLengthLimit, capacity - termOffset);
+
+        final int resultingOffset = TermBlockScanner.scan(termBuffer, termOffset, limit);
+
+        final int bytesConsumed = resultingOffset - termOffset;
+        if (bytesConsumed > 0)
+        {
+            try
+            {
+                final long fileOffset = ((long)activeIndex * capacity) + termOffset;
+                final int termId = termBuffer.getInt(termOffset + TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+
+                fileBlockHandler.onBlock(fileChannel, fileOffset, bytesConsumed, sessionId, termId);
+            }
+            catch (final Exception ex)
+            {
+                errorHandler.onError(ex);
+            }
+
+            subscriberPosition.setOrdered(position + bytesConsumed);
+        }
+
+        return bytesConsumed;
+    }
+
+    /**
+     * Close the image so it can no longer be polled.
+     *
+     * @return the resource for the log of the image which should linger before it is deleted.
+     */
+    ManagedResource close()
+    {
+        isClosed = true;
+
+        return new ImageManagedResource(logBuffers);
+    }
+}
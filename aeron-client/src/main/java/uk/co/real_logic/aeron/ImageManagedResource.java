@@ -0,0 +1,48 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.agrona.ManagedResource;
+
+/**
+ * Log of an {@link Image} which is no longer available, kept mapped for a linger period by the
+ * {@link ClientConductor} so a thread still polling the image can observe it is closed before the log is unmapped.
+ */
+class ImageManagedResource implements ManagedResource
+{
+    private final LogBuffers logBuffers;
+    private long timeOfLastStateChange = 0;
+
+    ImageManagedResource(final LogBuffers logBuffers)
+    {
+        this.logBuffers = logBuffers;
+    }
+
+    public void timeOfLastStateChange(final long time)
+    {
+        this.timeOfLastStateChange = time;
+    }
+
+    public long timeOfLastStateChange()
+    {
+        return timeOfLastStateChange;
+    }
+
+    public void delete()
+    {
+        logBuffers.close();
+    }
+}
@@ -33,11 +33,16 @@ import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
  */
 public class LogBuffers implements AutoCloseable
 {
+    private final String logFileName;
     private final MappedByteBuffer[] mappedByteBuffers;
     private final UnsafeBuffer[] atomicBuffers = new UnsafeBuffer[(PARTITION_COUNT * 2) + 1];
+    private volatile FileChannel fileChannel;
+    private boolean isClosed = false;
 
     public LogBuffers(final String logFileName)
     {
+        this.logFileName = logFileName;
+
         try (final FileChannel logChannel = new RandomAccessFile(logFileName, "rw").getChannel())
         {
             final long logLength = logChannel.size();
@@ -100,11 +105,67 @@ public class LogBuffers implements AutoCloseable
         return atomicBuffers;
     }
 
+    /**
+     * The {@link FileChannel} for the log file so that regions of the log can be transferred without copying via
+     * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)}. The channel is opened on
+     * first use and remains open until the log buffers are closed.
+     *
+     * This may be called from an application thread while {@link #close()} is called from the client conductor.
+     *
+     * @return the {@link FileChannel} for the log file or null if the log buffers have been closed.
+     */
+    public FileChannel fileChannel()
+    {
+        final FileChannel fileChannel = this.fileChannel;
+        if (null != fileChannel)
+        {
+            return fileChannel;
+        }
+
+        return openFileChannel();
+    }
+
     public void close()
     {
         for (final MappedByteBuffer buffer : mappedByteBuffers)
         {
             IoUtil.unmap(buffer);
         }
+
+        final FileChannel fileChannel;
+        synchronized (this)
+        {
+            isClosed = true;
+            fileChannel = this.fileChannel;
+        }
+
+        if (null != fileChannel)
+        {
+            try
+            {
+                fileChannel.close();
+            }
+            catch (final IOException ex)
+            {
+                throw new RuntimeException(ex);
+            }
+        }
+    }
+
+    private synchronized FileChannel openFileChannel()
+    {
+        if (!isClosed && null == fileChannel)
+        {
+            try
+            {
+                fileChannel = new RandomAccessFile(logFileName, "rw").getChannel();
+            }
+            catch (final IOException ex)
+            {
+                throw new RuntimeException(ex);
+            }
+        }
+
+        return fileChannel;
     }
 }
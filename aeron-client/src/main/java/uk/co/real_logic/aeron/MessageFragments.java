@@ -0,0 +1,139 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Gather view over the fragments of a reassembled message which remain in place in the buffer they were read from.
+ * <p>
+ * Fragments of a message are written back to back in a term so only the frame headers between them separate
+ * the data. Each fragment is exposed as an offset and length in {@link #buffer()} so a message can be consumed
+ * without first being copied to a contiguous buffer.
+ * <p>
+ * The view is only valid for the duration of the callback in which it is delivered.
+ */
+public final class MessageFragments
+{
+    private static final int INITIAL_CAPACITY = 8;
+
+    private DirectBuffer buffer;
+    private int fragmentCount;
+    private int messageLength;
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int[] lengths = new int[INITIAL_CAPACITY];
+
+    /**
+     * The buffer containing all the fragments of the message.
+     *
+     * @return the buffer containing all the fragments of the message.
+     */
+    public DirectBuffer buffer()
+    {
+        return buffer;
+    }
+
+    /**
+     * The number of fragments which make up the message.
+     *
+     * @return the number of fragments which make up the message.
+     */
+    public int fragmentCount()
+    {
+        return fragmentCount;
+    }
+
+    /**
+     * The offset in {@link #buffer()} at which the data for a fragment begins.
+     *
+     * @param index of the fragment.
+     * @return the offset in {@link #buffer()} at which the data for a fragment begins.
+     */
+    public int offset(final int index)
+    {
+        return offsets[index];
+    }
+
+    /**
+     * The length of the data for a fragment.
+     *
+     * @param index of the fragment.
+     * @return the length of the data for a fragment.
+     */
+    public int length(final int index)
+    {
+        return lengths[index];
+    }
+
+    /**
+     * The total length of the message which is the sum of the lengths of all the fragments.
+     *
+     * @return the total length of the message.
+     */
+    public int messageLength()
+    {
+        return messageLength;
+    }
+
+    /**
+     * Copy the whole message into a destination buffer.
+     *
+     * @param dstBuffer to which the message will be copied.
+     * @param dstOffset in the destination buffer at which the message will begin.
+     * @return the number of bytes copied.
+     */
+    public int getBytes(final MutableDirectBuffer dstBuffer, final int dstOffset)
+    {
+        int offset = dstOffset;
+        for (int i = 0; i < fragmentCount; i++)
+        {
+            final int length = lengths[i];
+            dstBuffer.putBytes(offset, buffer, offsets[i], length);
+            offset += length;
+        }
+
+        return messageLength;
+    }
+
+    MessageFragments reset(final DirectBuffer buffer)
+    {
+        this.buffer = buffer;
+        fragmentCount = 0;
+        messageLength = 0;
+
+        return this;
+    }
+
+    MessageFragments add(final int offset, final int length)
+    {
+        if (fragmentCount == offsets.length)
+        {
+            final int newCapacity = fragmentCount << 1;
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+
+        offsets[fragmentCount] = offset;
+        lengths[fragmentCount] = length;
+        fragmentCount++;
+        messageLength += length;
+
+        return this;
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.aeron.logbuffer.Header;
+
+/**
+ * Callback for handling whole messages delivered by a {@link ZeroCopyFragmentAssemblyAdapter} as a gather view
+ * over their fragments.
+ */
+@FunctionalInterface
+public interface MessageFragmentsHandler
+{
+    /**
+     * Callback for handling a whole message.
+     *
+     * @param fragments making up the message which are only valid for the duration of the callback.
+     * @param header    representing the meta data for the message.
+     */
+    void onMessage(MessageFragments fragments, Header header);
+}
@@ -16,7 +16,9 @@
 package uk.co.real_logic.aeron;
 
 import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.logbuffer.FragmentedBufferClaim;
 import uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor;
+import uk.co.real_logic.aeron.logbuffer.MessageBatch;
 import uk.co.real_logic.aeron.logbuffer.TermAppender;
 import uk.co.real_logic.agrona.DirectBuffer;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
@@ -27,7 +29,8 @@ import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
 /**
  * Aeron Publisher API for sending messages to subscribers of a given channel and streamId pair. Publishers
  * are created via an {@link Aeron} object, and messages are sent via an offer method or a claim and commit
- * method combination.
+ * method combination. Batches of messages can be sent with a single claim on the log via
+ * {@link #offer(MessageBatch)}.
  * <p>
  * The APIs used to send are all non-blocking.
  * <p>
@@ -211,11 +214,48 @@ public class Publication implements AutoCloseable
         return newPosition;
     }
 
+    /**
+     * Non-blocking publish of a batch of messages as consecutive frames. The space for the whole batch is claimed
+     * in the log with a single atomic operation so concurrent publishers contend only once per batch.
+     * <p>
+     * Either all messages in the batch are published or none are.
+     *
+     * @param batch of messages to be published.
+     * @return The new stream position on success, otherwise {@link #BACK_PRESSURED} or {@link #NOT_CONNECTED}.
+     * @throws IllegalArgumentException if the batch is empty or its total framed length exceeds
+     * {@link #maxMessageLength()}.
+     * @throws IllegalStateException if the publication is closed.
+     */
+    public long offer(final MessageBatch batch)
+    {
+        ensureOpen();
+
+        final int initialTermId = initialTermId(logMetaDataBuffer);
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final int activeIndex = indexByTerm(initialTermId, activeTermId);
+        final TermAppender termAppender = termAppenders[activeIndex];
+        final int currentTail = termAppender.rawTailVolatile();
+        final long position = computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
+        final int capacity = termAppender.termBuffer().capacity();
+
+        final long limit = publicationLimit.getVolatile();
+        long newPosition = limit > 0 ? BACK_PRESSURED : NOT_CONNECTED;
+
+        if (currentTail < capacity && position < limit)
+        {
+            final int nextOffset = termAppender.append(batch);
+            newPosition = newPosition(activeTermId, activeIndex, currentTail, position, nextOffset);
+        }
+
+        return newPosition;
+    }
+
     /**
      * Try to claim a range in the publication log into which a message can be written with zero copy semantics.
      * Once the message has been written then {@link BufferClaim#commit()} should be called thus making it available.
      * <p>
-     * <b>Note:</b> This method can only be used for message lengths less than MTU length minus header.
+     * <b>Note:</b> This method can only be used for message lengths less than MTU length minus header. For larger
+     * messages see {@link #tryClaim(int, FragmentedBufferClaim)}.
      *U
      * <pre>{@code
      *     final BufferClaim bufferClaim = new BufferClaim(); // Can be stored and reused to avoid allocation
@@ -267,6 +307,67 @@ public class Publication implements AutoCloseable
         return newPosition;
     }
 
+    /**
+     * Try to claim a range in the publication log into which a message larger than a single frame can be written with
+     * zero copy semantics. The range is divided into fragments which are exposed as a sequence of {@link BufferClaim}s.
+     * Once the message has been written across the fragments then {@link FragmentedBufferClaim#commit()} should be
+     * called thus making the whole message available.
+     *
+     * <pre>{@code
+     *     final FragmentedBufferClaim claim = new FragmentedBufferClaim(); // Can be stored and reused to avoid allocation
+     *
+     *     if (publication.tryClaim(messageLength, claim) > 0)
+     *     {
+     *         try
+     *         {
+     *              for (int i = 0, count = claim.fragmentCount(); i < count; i++)
+     *              {
+     *                  final BufferClaim fragment = claim.fragment(i);
+     *                  final MutableDirectBuffer buffer = fragment.buffer();
+     *                  final int offset = fragment.offset();
+     *                  final int length = fragment.length();
+     *
+     *                  // Encode the next part of the message directly into the fragment
+     *              }
+     *         }
+     *         finally
+     *         {
+     *             claim.commit();
+     *         }
+     *     }
+     * }</pre>
+     *
+     * @param length                of the range to claim, in bytes.
+     * @param fragmentedBufferClaim to be populated if the claim succeeds.
+     * @return The new stream position on success, otherwise {@link #BACK_PRESSURED} or {@link #NOT_CONNECTED}.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}.
+     * @throws IllegalStateException if the publication is closed.
+     * @see FragmentedBufferClaim#commit()
+     */
+    public long tryClaim(final int length, final FragmentedBufferClaim fragmentedBufferClaim)
+    {
+        ensureOpen();
+
+        final int initialTermId = initialTermId(logMetaDataBuffer);
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final int activeIndex = indexByTerm(initialTermId, activeTermId);
+        final TermAppender termAppender = termAppenders[activeIndex];
+        final int currentTail = termAppender.rawTailVolatile();
+        final long position = computePosition(activeTermId, currentTail, positionBitsToShift, initialTermId);
+        final int capacity = termAppender.termBuffer().capacity();
+
+        final long limit = publicationLimit.getVolatile();
+        long newPosition = limit > 0 ? BACK_PRESSURED : NOT_CONNECTED;
+
+        if (currentTail < capacity && position < limit)
+        {
+            final int nextOffset = termAppender.claim(length, fragmentedBufferClaim);
+            newPosition = newPosition(activeTermId, activeIndex, currentTail, position, nextOffset);
+        }
+
+        return newPosition;
+    }
+
     long registrationId()
     {
         return registrationId;
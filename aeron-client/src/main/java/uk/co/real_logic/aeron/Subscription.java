@@ -15,9 +15,14 @@
  */
 package uk.co.real_logic.aeron;
 
+import uk.co.real_logic.aeron.logbuffer.BlockHandler;
+import uk.co.real_logic.aeron.logbuffer.ControlledFragmentHandler;
+import uk.co.real_logic.aeron.logbuffer.FileBlockHandler;
 import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
-import uk.co.real_logic.agrona.ErrorHandler;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 /**
@@ -40,7 +45,7 @@ public class Subscription implements AutoCloseable
     private static final int TRUE = 1;
     private static final int FALSE = 0;
 
-    private static final Connection[] EMPTY_ARRAY = new Connection[0];
+    private static final Image[] EMPTY_ARRAY = new Image[0];
     private static final AtomicIntegerFieldUpdater<Subscription> IS_CLOSED_UPDATER =
         AtomicIntegerFieldUpdater.newUpdater(Subscription.class, "isClosed");
 
@@ -51,21 +56,24 @@ public class Subscription implements AutoCloseable
 
     private final String channel;
     private final ClientConductor clientConductor;
-    private final ErrorHandler errorHandler;
-    private volatile Connection[] connections = EMPTY_ARRAY;
+    private final AvailableImageHandler availableImageHandler;
+    private final UnavailableImageHandler unavailableImageHandler;
+    private volatile Image[] images = EMPTY_ARRAY;
 
     Subscription(
         final ClientConductor conductor,
         final String channel,
         final int streamId,
         final long registrationId,
-        final ErrorHandler errorHandler)
+        final AvailableImageHandler availableImageHandler,
+        final UnavailableImageHandler unavailableImageHandler)
     {
         this.clientConductor = conductor;
         this.channel = channel;
         this.streamId = streamId;
         this.registrationId = registrationId;
-        this.errorHandler = errorHandler;
+        this.availableImageHandler = availableImageHandler;
+        this.unavailableImageHandler = unavailableImageHandler;
     }
 
     /**
@@ -101,8 +109,8 @@ public class Subscription implements AutoCloseable
     {
         ensureOpen();
 
-        final Connection[] connections = this.connections;
-        final int length = connections.length;
+        final Image[] images = this.images;
+        final int length = images.length;
         int fragmentsRead = 0;
 
         if (length > 0)
@@ -114,11 +122,55 @@ public class Subscription implements AutoCloseable
             }
 
             int i = startingIndex;
-            final ErrorHandler errorHandler = this.errorHandler;
+            do
+            {
+                fragmentsRead += images[i].poll(fragmentHandler, fragmentLimit);
+
+                if (++i == length)
+                {
+                    i = 0;
+                }
+            }
+            while (fragmentsRead < fragmentLimit && i != startingIndex);
+        }
+
+        return fragmentsRead;
+    }
+
+    /**
+     * Poll in a controlled manner the images under the subscription for available message fragments.
+     * Control is applied to fragments in the stream. If more fragments can be read on another stream
+     * they will even if BREAK or ABORT is returned from the fragment handler.
+     * <p>
+     * Each fragment read will be a whole message if it is under MTU length. If larger than MTU then it will come
+     * as a series of fragments ordered within a session.
+     *
+     * @param fragmentHandler callback for handling each message fragment as it is read.
+     * @param fragmentLimit   number of message fragments to limit for a single poll operation.
+     * @return the number of fragments received
+     * @throws IllegalStateException if the subscription is closed.
+     * @see ControlledFragmentHandler
+     */
+    public int controlledPoll(final ControlledFragmentHandler fragmentHandler, final int fragmentLimit)
+    {
+        ensureOpen();
+
+        final Image[] images = this.images;
+        final int length = images.length;
+        int fragmentsRead = 0;
+
+        if (length > 0)
+        {
+            int startingIndex = roundRobinIndex++;
+            if (startingIndex >= length)
+            {
+                roundRobinIndex = startingIndex = 0;
+            }
 
+            int i = startingIndex;
             do
             {
-                fragmentsRead += connections[i].poll(fragmentHandler, fragmentLimit, errorHandler);
+                fragmentsRead += images[i].controlledPoll(fragmentHandler, fragmentLimit);
 
                 if (++i == length)
                 {
@@ -131,6 +183,72 @@ public class Subscription implements AutoCloseable
         return fragmentsRead;
     }
 
+    /**
+     * Poll the images under the subscription for available message fragments in blocks.
+     * <p>
+     * Each block is a contiguous range of whole frames, including their headers, from a single term of a single
+     * image. This avoids the per fragment dispatch cost for consumers, such as recorders or relays, which
+     * can process the frames in bulk.
+     *
+     * @param blockHandler     to receive a block of fragments from each image.
+     * @param blockLengthLimit for each image polled.
+     * @return the number of bytes consumed.
+     * @throws IllegalStateException if the subscription is closed.
+     */
+    public long blockPoll(final BlockHandler blockHandler, final int blockLengthLimit)
+    {
+        ensureOpen();
+
+        long bytesConsumed = 0;
+        for (final Image image : images)
+        {
+            bytesConsumed += image.blockPoll(blockHandler, blockLengthLimit);
+        }
+
+        return bytesConsumed;
+    }
+
+    /**
+     * Poll the images under the subscription for available message fragments in blocks which are handed over
+     * as regions of the underlying log files.
+     * <p>
+     * Each block is a contiguous range of whole frames, including their headers, from a single term of a single
+     * image. The region can be sent to a socket or another file using
+     * {@link java.nio.channels.FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} without
+     * the data being copied into user space.
+     *
+     * @param fileBlockHandler to receive a block of fragments from each image.
+     * @param blockLengthLimit for each image polled.
+     * @return the number of bytes consumed.
+     * @throws IllegalStateException if the subscription is closed.
+     */
+    public long filePoll(final FileBlockHandler fileBlockHandler, final int blockLengthLimit)
+    {
+        ensureOpen();
+
+        long bytesConsumed = 0;
+        for (final Image image : images)
+        {
+            bytesConsumed += image.filePoll(fileBlockHandler, blockLengthLimit);
+        }
+
+        return bytesConsumed;
+    }
+
+    /**
+     * The {@link Image}s currently available for this subscription. This is a snapshot which does not change as
+     * images are added or removed.
+     * <p>
+     * Images can be polled on separate threads to shard the consumption of sessions. Each must only be polled by
+     * one thread at a time, and {@link #poll(FragmentHandler, int)} should then not be used on this subscription.
+     *
+     * @return an unmodifiable list of the {@link Image}s currently available for this subscription.
+     */
+    public List<Image> images()
+    {
+        return Collections.unmodifiableList(Arrays.asList(images));
+    }
+
     /**
      * Close the Subscription so that associated buffers can be released.
      *
@@ -142,11 +260,11 @@ public class Subscription implements AutoCloseable
         {
             synchronized (clientConductor)
             {
-                for (final Connection connection : connections)
+                for (final Image image : images)
                 {
-                    clientConductor.lingerResource(connection);
+                    clientConductor.lingerResource(image.close());
                 }
-                connections = EMPTY_ARRAY;
+                images = EMPTY_ARRAY;
 
                 clientConductor.releaseSubscription(this);
             }
@@ -158,23 +276,28 @@ public class Subscription implements AutoCloseable
         return registrationId;
     }
 
-    void addConnection(final Connection connection)
+    void addImage(final Image image)
     {
-        final Connection[] oldArray = connections;
+        final Image[] oldArray = images;
         final int oldLength = oldArray.length;
-        final Connection[] newArray = new Connection[oldLength + 1];
+        final Image[] newArray = new Image[oldLength + 1];
 
         System.arraycopy(oldArray, 0, newArray, 0, oldLength);
-        newArray[oldLength] = connection;
+        newArray[oldLength] = image;
 
-        connections = newArray;
+        images = newArray;
+
+        if (null != availableImageHandler)
+        {
+            availableImageHandler.onAvailableImage(image);
+        }
     }
 
-    boolean removeConnection(final long correlationId)
+    boolean removeImage(final long correlationId)
     {
-        final Connection[] oldArray = connections;
+        final Image[] oldArray = images;
         final int oldLength = oldArray.length;
-        Connection removedConnection = null;
+        Image removedImage = null;
         int index = -1;
 
         for (int i = 0; i < oldLength; i++)
@@ -182,19 +305,24 @@ public class Subscription implements AutoCloseable
             if (oldArray[i].correlationId() == correlationId)
             {
                 index = i;
-                removedConnection = oldArray[i];
+                removedImage = oldArray[i];
             }
         }
 
-        if (null != removedConnection)
+        if (null != removedImage)
         {
             final int newSize = oldLength - 1;
-            final Connection[] newArray = new Connection[newSize];
+            final Image[] newArray = new Image[newSize];
             System.arraycopy(oldArray, 0, newArray, 0, index);
             System.arraycopy(oldArray, index + 1, newArray, index, newSize - index);
-            connections = newArray;
+            images = newArray;
+
+            clientConductor.lingerResource(removedImage.close());
 
-            clientConductor.lingerResource(removedConnection);
+            if (null != unavailableImageHandler)
+            {
+                unavailableImageHandler.onUnavailableImage(removedImage);
+            }
 
             return true;
         }
@@ -206,9 +334,9 @@ public class Subscription implements AutoCloseable
     {
         boolean isConnected = false;
 
-        for (final Connection connection : connections)
+        for (final Image image : images)
         {
-            if (sessionId == connection.sessionId())
+            if (sessionId == image.sessionId())
             {
                 isConnected = true;
                 break;
@@ -218,9 +346,9 @@ public class Subscription implements AutoCloseable
         return isConnected;
     }
 
-    boolean hasNoConnections()
+    boolean hasNoImages()
     {
-        return connections.length == 0;
+        return images.length == 0;
     }
 
     private void ensureOpen()
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
+import uk.co.real_logic.aeron.logbuffer.Header;
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.collections.Int2ObjectHashMap;
+
+import java.util.function.IntFunction;
+
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+/**
+ * A {@link FragmentHandler} that sits in a chain-of-responsibility pattern that reassembles fragmented messages
+ * so that the next handler in the chain only sees whole messages, without copying them when possible.
+ * <p>
+ * Fragments of a message are appended back to back in a single term so they are normally read as consecutive
+ * frames from the same term buffer. In this case the message is delivered as {@link MessageFragments} referencing
+ * the fragments in place. Should a fragment not follow on directly from the previous one, such as when crossing
+ * a term boundary, then the message is copied to a session buffer for reassembly and delivered as a single fragment.
+ * <p>
+ * Session based buffers for the copy fallback are only allocated when needed. When sessions go inactive see
+ * {@link InactiveConnectionHandler}, it is possible to free the state by calling {@link #freeSessionBuffer(int)}.
+ */
+public class ZeroCopyFragmentAssemblyAdapter implements FragmentHandler
+{
+    private final MessageFragmentsHandler delegate;
+    private final AssemblyHeader assemblyHeader = new AssemblyHeader();
+    private final MessageFragments unfragmentedMessage = new MessageFragments();
+    private final Int2ObjectHashMap<SessionAssembly> assemblyBySessionIdMap = new Int2ObjectHashMap<>();
+    private final IntFunction<SessionAssembly> assemblyFunc;
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on only whole messages.
+     *
+     * @param delegate onto which whole messages are forwarded.
+     */
+    public ZeroCopyFragmentAssemblyAdapter(final MessageFragmentsHandler delegate)
+    {
+        this(delegate, BufferBuilder.INITIAL_CAPACITY);
+    }
+
+    /**
+     * Construct an adapter to reassemble message fragments and delegate on only whole messages.
+     *
+     * @param delegate            onto which whole messages are forwarded.
+     * @param initialBufferLength to be used for each session should a message need to be copied.
+     */
+    public ZeroCopyFragmentAssemblyAdapter(final MessageFragmentsHandler delegate, final int initialBufferLength)
+    {
+        this.delegate = delegate;
+        assemblyFunc = (ignore) -> new SessionAssembly(initialBufferLength);
+    }
+
+    /**
+     * The implementation of {@link FragmentHandler} that reassembles and forwards whole messages.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     */
+    public void onFragment(final DirectBuffer buffer, final int offset, final int length, final Header header)
+    {
+        final byte flags = header.flags();
+
+        if ((flags & UNFRAGMENTED) == UNFRAGMENTED)
+        {
+            delegate.onMessage(unfragmentedMessage.reset(buffer).add(offset, length), header);
+        }
+        else
+        {
+            if ((flags & BEGIN_FRAG) == BEGIN_FRAG)
+            {
+                final SessionAssembly assembly = assemblyBySessionIdMap.computeIfAbsent(header.sessionId(), assemblyFunc);
+                assembly.begin(buffer, offset, length, header.termId());
+            }
+            else
+            {
+                final SessionAssembly assembly = assemblyBySessionIdMap.get(header.sessionId());
+                if (null != assembly && assembly.isAssembling())
+                {
+                    assembly.append(buffer, offset, length, header.termId());
+
+                    if ((flags & END_FRAG) == END_FRAG)
+                    {
+                        final MessageFragments message = assembly.message();
+                        delegate.onMessage(message, assemblyHeader.reset(header, message.messageLength()));
+                        assembly.reset();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Free the state for an existing session to reduce memory pressure when a connection goes inactive.
+     *
+     * @param sessionId to have its state freed
+     * @return true if state has been freed otherwise false.
+     */
+    public boolean freeSessionBuffer(final int sessionId)
+    {
+        return null != assemblyBySessionIdMap.remove(sessionId);
+    }
+
+    private static int nextFragmentOffset(final int offset, final int length)
+    {
+        return offset + align(length + HEADER_LENGTH, FRAME_ALIGNMENT);
+    }
+
+    private static class SessionAssembly
+    {
+        private final int initialBufferLength;
+        private final MessageFragments fragments = new MessageFragments();
+        private BufferBuilder builder;
+        private boolean isAssembling;
+        private boolean isCopying;
+        private int termId;
+        private int nextOffset;
+
+        SessionAssembly(final int initialBufferLength)
+        {
+            this.initialBufferLength = initialBufferLength;
+        }
+
+        boolean isAssembling()
+        {
+            return isAssembling;
+        }
+
+        void begin(final DirectBuffer buffer, final int offset, final int length, final int termId)
+        {
+            isAssembling = true;
+            isCopying = false;
+            this.termId = termId;
+            nextOffset = nextFragmentOffset(offset, length);
+            fragments.reset(buffer).add(offset, length);
+        }
+
+        void append(final DirectBuffer buffer, final int offset, final int length, final int termId)
+        {
+            if (!isCopying)
+            {
+                if (buffer == fragments.buffer() && termId == this.termId && offset == nextOffset)
+                {
+                    nextOffset = nextFragmentOffset(offset, length);
+                    fragments.add(offset, length);
+
+                    return;
+                }
+
+                copyFragments();
+            }
+
+            builder.append(buffer, offset, length);
+        }
+
+        MessageFragments message()
+        {
+            if (isCopying)
+            {
+                fragments.reset(builder.buffer()).add(0, builder.limit());
+            }
+
+            return fragments;
+        }
+
+        void reset()
+        {
+            isAssembling = false;
+            isCopying = false;
+            fragments.reset(null);
+
+            if (null != builder)
+            {
+                builder.reset();
+            }
+        }
+
+        private void copyFragments()
+        {
+            if (null == builder)
+            {
+                builder = new BufferBuilder(initialBufferLength);
+            }
+
+            builder.reset();
+
+            final DirectBuffer buffer = fragments.buffer();
+            for (int i = 0, count = fragments.fragmentCount(); i < count; i++)
+            {
+                builder.append(buffer, fragments.offset(i), fragments.length(i));
+            }
+
+            isCopying = true;
+        }
+    }
+}
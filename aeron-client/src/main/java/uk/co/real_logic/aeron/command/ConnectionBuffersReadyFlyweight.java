@@ -43,6 +43,8 @@ import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_LONG;
  * +---------------------------------------------------------------+
  * |                   Subscriber Position Count                   |
  * +---------------------------------------------------------------+
+ * |                  Receiver HWM Position Id                     |
+ * +---------------------------------------------------------------+
  * |                         Log File Length                       |
  * +---------------------------------------------------------------+
  * |                          Log File Name                       ...
@@ -73,7 +75,8 @@ public class ConnectionBuffersReadyFlyweight extends Flyweight
     private static final int SESSION_ID_OFFSET = JOINING_POSITION_OFFSET + SIZE_OF_LONG;
     private static final int STREAM_ID_FIELD_OFFSET = SESSION_ID_OFFSET + SIZE_OF_INT;
     private static final int SUBSCRIBER_POSITION_COUNT_OFFSET = STREAM_ID_FIELD_OFFSET + SIZE_OF_INT;
-    private static final int LOGFILE_FIELD_OFFSET = SUBSCRIBER_POSITION_COUNT_OFFSET + SIZE_OF_INT;
+    private static final int HWM_POSITION_ID_OFFSET = SUBSCRIBER_POSITION_COUNT_OFFSET + SIZE_OF_INT;
+    private static final int LOGFILE_FIELD_OFFSET = HWM_POSITION_ID_OFFSET + SIZE_OF_INT;
 
     private static final int SUBSCRIBER_POSITION_FIELD_SIZE = SIZE_OF_LONG + SIZE_OF_INT;
 
@@ -191,6 +194,29 @@ public class ConnectionBuffersReadyFlyweight extends Flyweight
         return this;
     }
 
+    /**
+     * return the id of the receiver high-water-mark position counter
+     *
+     * @return the id of the receiver high-water-mark position counter
+     */
+    public int hwmPositionId()
+    {
+        return buffer().getInt(offset() + HWM_POSITION_ID_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set the id of the receiver high-water-mark position counter
+     *
+     * @param id of the receiver high-water-mark position counter
+     * @return flyweight
+     */
+    public ConnectionBuffersReadyFlyweight hwmPositionId(final int id)
+    {
+        buffer().putInt(offset() + HWM_POSITION_ID_OFFSET, id, LITTLE_ENDIAN);
+
+        return this;
+    }
+
     public String logFileName()
     {
         return buffer().getStringUtf8(offset() + LOGFILE_FIELD_OFFSET, LITTLE_ENDIAN);
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+/**
+ * Callback for handling a block of contiguous frames from a log buffer in a single call rather than
+ * per fragment. The block contains whole frames including their headers.
+ */
+@FunctionalInterface
+public interface BlockHandler
+{
+    /**
+     * Callback for handling a block of frames being read from a log.
+     *
+     * @param buffer    containing the block of frames.
+     * @param offset    at which the block begins, which is the start of the first frame header.
+     * @param length    of the block in bytes covering all the frames.
+     * @param sessionId of the stream containing the block.
+     * @param termId    of the term containing the block.
+     */
+    void onBlock(DirectBuffer buffer, int offset, int length, int sessionId, int termId);
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+/**
+ * Handler for reading data that is coming from a log buffer where the handler controls how the position of the
+ * subscriber advances. The frame will either contain a whole message or a fragment of a message to be reassembled.
+ */
+@FunctionalInterface
+public interface ControlledFragmentHandler
+{
+    /**
+     * Action to be taken on return from {@link #onFragment(DirectBuffer, int, int, Header)}.
+     */
+    enum Action
+    {
+        /**
+         * Abort the current polling operation and do not advance the position for this fragment so it is
+         * delivered again on the next poll.
+         */
+        ABORT,
+
+        /**
+         * Break from the current polling operation and commit the position as of the end of the current fragment
+         * being handled.
+         */
+        BREAK,
+
+        /**
+         * Continue processing but commit the position as of the end of the current fragment so that
+         * flow control is applied to this point.
+         */
+        COMMIT,
+
+        /**
+         * Continue processing taking the same approach as in
+         * {@link FragmentHandler#onFragment(DirectBuffer, int, int, Header)}.
+         */
+        CONTINUE,
+    }
+
+    /**
+     * Callback for handling fragments of data being read from a log.
+     *
+     * @param buffer containing the data.
+     * @param offset at which the data begins.
+     * @param length of the data in bytes.
+     * @param header representing the meta data for the data.
+     * @return The action to be taken with regard to the stream position after the callback.
+     */
+    Action onFragment(DirectBuffer buffer, int offset, int length, Header header);
+}
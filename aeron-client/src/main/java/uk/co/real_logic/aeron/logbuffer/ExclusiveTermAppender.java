@@ -0,0 +1,272 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.UnsafeAccess;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteOrder;
+
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.logbuffer.TermAppender.TRIPPED;
+import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.*;
+
+/**
+ * Term buffer appender which supports a single producer exclusively writing an append-only log.
+ *
+ * <b>Note:</b> This class is NOT threadsafe.
+ *
+ * The producer tracks the tail of the term itself and passes it to each operation. The tail in the meta data is then
+ * updated with ordered stores rather than the atomic increment used by {@link TermAppender} so the cost of a locked
+ * instruction per message is avoided.
+ *
+ * Messages are appended to a term using the same framing protocol as {@link TermAppender} as described in
+ * {@link FrameDescriptor}.
+ */
+public class ExclusiveTermAppender extends LogBufferPartition
+{
+    private final int maxMessageLength;
+    private final int maxFrameLength;
+    private final int maxPayloadLength;
+    private final MutableDirectBuffer defaultHeader;
+
+    /**
+     * Construct a view over a term buffer and state buffer for appending frames.
+     *
+     * @param termBuffer     for where messages are stored.
+     * @param metaDataBuffer for where the state of the writer is stored.
+     * @param defaultHeader  to be applied for each frame logged.
+     * @param maxFrameLength maximum frame length supported by the underlying transport.
+     */
+    public ExclusiveTermAppender(
+        final UnsafeBuffer termBuffer,
+        final UnsafeBuffer metaDataBuffer,
+        final MutableDirectBuffer defaultHeader,
+        final int maxFrameLength)
+    {
+        super(termBuffer, metaDataBuffer);
+
+        checkHeaderLength(defaultHeader.capacity());
+        checkMaxFrameLength(maxFrameLength);
+
+        this.defaultHeader = defaultHeader;
+        this.maxFrameLength = maxFrameLength;
+        this.maxMessageLength = FrameDescriptor.computeMaxMessageLength(termBuffer.capacity());
+        this.maxPayloadLength = maxFrameLength - HEADER_LENGTH;
+    }
+
+    /**
+     * The maximum length of a message that can be recorded in the term.
+     *
+     * @return the maximum length of a message that can be recorded in the term.
+     */
+    public int maxMessageLength()
+    {
+        return maxMessageLength;
+    }
+
+    /**
+     * The maximum length of a message payload within a frame before fragmentation takes place.
+     *
+     * @return the maximum length of a message that can be recorded in the term.
+     */
+    public int maxPayloadLength()
+    {
+        return maxPayloadLength;
+    }
+
+    /**
+     * The maximum length of a frame, including header, that can be recorded in the term.
+     *
+     * @return the maximum length of a frame, including header, that can be recorded in the term.
+     */
+    public int maxFrameLength()
+    {
+        return maxFrameLength;
+    }
+
+    /**
+     * Append a message to the term at the current tail if sufficient capacity exists.
+     *
+     * @param termOffset at which the tail of the term currently is.
+     * @param srcBuffer  containing the encoded message.
+     * @param srcOffset  at which the encoded message begins.
+     * @param length     of the message in bytes.
+     * @return the resulting termOffset on success otherwise {@link TermAppender#TRIPPED} if the end of the term
+     * has been reached and it has been padded.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}
+     */
+    public int append(final int termOffset, final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        final int resultingOffset;
+        if (length <= maxPayloadLength)
+        {
+            resultingOffset = appendUnfragmentedMessage(termOffset, srcBuffer, srcOffset, length);
+        }
+        else
+        {
+            if (length > maxMessageLength)
+            {
+                throw new IllegalArgumentException(String.format(
+                    "Encoded message exceeds maxMessageLength of %d, length=%d", maxMessageLength, length));
+            }
+
+            resultingOffset = appendFragmentedMessage(termOffset, srcBuffer, srcOffset, length);
+        }
+
+        return resultingOffset;
+    }
+
+    /**
+     * Claim a range within the buffer at the current tail for recording a message payload.
+     *
+     * @param termOffset  at which the tail of the term currently is.
+     * @param length      of the message payload
+     * @param bufferClaim to be completed for the claim if successful.
+     * @return the resulting termOffset on success otherwise {@link TermAppender#TRIPPED} if the end of the term
+     * has been reached and it has been padded.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxPayloadLength()}
+     */
+    public int claim(final int termOffset, final int length, final BufferClaim bufferClaim)
+    {
+        if (length > maxPayloadLength)
+        {
+            throw new IllegalArgumentException(String.format(
+                "Claim exceeds maxPayloadLength of %d, length=%d", maxPayloadLength, length));
+        }
+
+        final int frameLength = length + HEADER_LENGTH;
+        final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = advanceTail(termBuffer, termOffset, alignedLength);
+        if (resultingOffset > 0)
+        {
+            applyDefaultHeader(termBuffer, termOffset, frameLength, defaultHeader);
+            frameTermOffset(termBuffer, termOffset, termOffset);
+
+            bufferClaim.wrap(termBuffer, termOffset, frameLength);
+        }
+
+        return resultingOffset;
+    }
+
+    private int appendUnfragmentedMessage(
+        final int frameOffset, final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        final int frameLength = length + HEADER_LENGTH;
+        final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = advanceTail(termBuffer, frameOffset, alignedLength);
+        if (resultingOffset > 0)
+        {
+            applyDefaultHeader(termBuffer, frameOffset, frameLength, defaultHeader);
+            termBuffer.putBytes(frameOffset + HEADER_LENGTH, srcBuffer, srcOffset, length);
+
+            frameTermOffset(termBuffer, frameOffset, frameOffset);
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+        }
+
+        return resultingOffset;
+    }
+
+    private int appendFragmentedMessage(
+        int frameOffset, final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        final int numMaxPayloads = length / maxPayloadLength;
+        final int remainingPayload = length % maxPayloadLength;
+        final int lastFrameLength = (remainingPayload > 0) ? align(remainingPayload + HEADER_LENGTH, FRAME_ALIGNMENT) : 0;
+        final int requiredLength = (numMaxPayloads * maxFrameLength) + lastFrameLength;
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = advanceTail(termBuffer, frameOffset, requiredLength);
+        if (resultingOffset > 0)
+        {
+            byte flags = BEGIN_FRAG;
+            int remaining = length;
+            do
+            {
+                final int bytesToWrite = Math.min(remaining, maxPayloadLength);
+                final int frameLength = bytesToWrite + HEADER_LENGTH;
+                final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+
+                applyDefaultHeader(termBuffer, frameOffset, frameLength, defaultHeader);
+                termBuffer.putBytes(
+                    frameOffset + HEADER_LENGTH,
+                    srcBuffer,
+                    srcOffset + (length - remaining),
+                    bytesToWrite);
+
+                if (remaining <= maxPayloadLength)
+                {
+                    flags |= END_FRAG;
+                }
+
+                frameFlags(termBuffer, frameOffset, flags);
+                frameTermOffset(termBuffer, frameOffset, frameOffset);
+                frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+                flags = 0;
+                frameOffset += alignedLength;
+                remaining -= bytesToWrite;
+            }
+            while (remaining > 0);
+        }
+
+        return resultingOffset;
+    }
+
+    private int advanceTail(final UnsafeBuffer termBuffer, final int frameOffset, final int length)
+    {
+        final int capacity = termBuffer.capacity();
+        int resultingOffset = frameOffset + length;
+        metaDataBuffer().putIntOrdered(LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET, resultingOffset);
+
+        if (resultingOffset > (capacity - HEADER_LENGTH))
+        {
+            final int frameLength = capacity - frameOffset;
+            applyDefaultHeader(termBuffer, frameOffset, frameLength, defaultHeader);
+
+            frameType(termBuffer, frameOffset, PADDING_FRAME_TYPE);
+            frameTermOffset(termBuffer, frameOffset, frameOffset);
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+            resultingOffset = TRIPPED;
+        }
+
+        return resultingOffset;
+    }
+
+    private static void applyDefaultHeader(
+        final UnsafeBuffer buffer, final int frameOffset, final int frameLength, final MutableDirectBuffer defaultHeaderBuffer)
+    {
+        buffer.putInt(frameOffset, -frameLength, ByteOrder.LITTLE_ENDIAN);
+        UnsafeAccess.UNSAFE.storeFence();
+
+        int headerOffset = SIZE_OF_INT;
+        buffer.putInt(frameOffset + headerOffset, defaultHeaderBuffer.getInt(headerOffset));
+
+        headerOffset += SIZE_OF_INT;
+        buffer.putLong(frameOffset + headerOffset, defaultHeaderBuffer.getLong(headerOffset));
+
+        headerOffset += SIZE_OF_LONG;
+        buffer.putLong(frameOffset + headerOffset, defaultHeaderBuffer.getLong(headerOffset));
+    }
+}
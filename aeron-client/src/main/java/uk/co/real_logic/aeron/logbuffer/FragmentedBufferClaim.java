@@ -0,0 +1,121 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.logbuffer;
+
+import uk.co.real_logic.agrona.concurrent.AtomicBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Represents a claimed range in a term buffer for recording a message that is larger than a single frame without
+ * copy semantics. The range is divided into a sequence of fragments, each a {@link BufferClaim} over a frame which
+ * has been given the appropriate begin and end fragment flags.
+ * <p>
+ * Each fragment, apart from the last, has a payload length of the max payload length for the publication. The message
+ * should be encoded across the fragments in order and then {@link #commit()} called to make the whole message
+ * available to subscribers at once.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe but can be stored and reused to avoid allocation.
+ */
+public class FragmentedBufferClaim
+{
+    private BufferClaim[] fragments = new BufferClaim[0];
+    private int fragmentCount = 0;
+    private int length = 0;
+
+    /**
+     * Reset the claim to have no fragments ready for adding the frames of a new message.
+     *
+     * @param length of the message to be claimed.
+     */
+    public void reset(final int length)
+    {
+        this.length = length;
+        fragmentCount = 0;
+    }
+
+    /**
+     * Add a frame to the sequence of fragments which make up the claimed message.
+     *
+     * @param buffer containing the frame.
+     * @param offset at which the frame begins.
+     * @param length of the frame including header.
+     */
+    public void addFragment(final AtomicBuffer buffer, final int offset, final int length)
+    {
+        if (fragmentCount == fragments.length)
+        {
+            final int oldLength = fragments.length;
+            fragments = Arrays.copyOf(fragments, Math.max(2, oldLength << 1));
+            for (int i = oldLength; i < fragments.length; i++)
+            {
+                fragments[i] = new BufferClaim();
+            }
+        }
+
+        fragments[fragmentCount++].wrap(buffer, offset, length);
+    }
+
+    /**
+     * The length of the whole message claimed across all fragments.
+     *
+     * @return the length of the whole message claimed across all fragments.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * The number of fragments into which the claimed message is divided.
+     *
+     * @return the number of fragments into which the claimed message is divided.
+     */
+    public int fragmentCount()
+    {
+        return fragmentCount;
+    }
+
+    /**
+     * The claimed range for a fragment of the message into which its part of the message should be encoded.
+     *
+     * @param index of the fragment within the message.
+     * @return the claimed range for the fragment.
+     */
+    public BufferClaim fragment(final int index)
+    {
+        if (index < 0 || index >= fragmentCount)
+        {
+            throw new IndexOutOfBoundsException(String.format("index=%d fragmentCount=%d", index, fragmentCount));
+        }
+
+        return fragments[index];
+    }
+
+    /**
+     * Commit the message to the log buffer so that is it available to subscribers.
+     * <p>
+     * Fragments are committed in reverse order so subscribers do not see the beginning of the message until all of
+     * it is available.
+     */
+    public void commit()
+    {
+        for (int i = fragmentCount - 1; i >= 0; i--)
+        {
+            fragments[i].commit();
+        }
+    }
+}
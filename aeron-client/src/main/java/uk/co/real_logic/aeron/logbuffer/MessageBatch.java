@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.logbuffer;
+
+import uk.co.real_logic.agrona.DirectBuffer;
+
+import java.util.Arrays;
+
+/**
+ * Represents a batch of messages, each defined by a buffer, offset, and length, to be appended to a term as
+ * consecutive frames with a single claim on the tail.
+ * <p>
+ * The batch references the source buffers and does not copy them so they must not be modified until the batch
+ * has been offered. A batch can be reset and reused to avoid allocation.
+ * <p>
+ * <b>Note:</b> This class is not threadsafe.
+ */
+public class MessageBatch
+{
+    public static final int INITIAL_CAPACITY = 16;
+
+    private DirectBuffer[] buffers;
+    private int[] offsets;
+    private int[] lengths;
+    private int size = 0;
+
+    /**
+     * Construct a batch with a default capacity of {@link #INITIAL_CAPACITY} messages.
+     */
+    public MessageBatch()
+    {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Construct a batch with an initial capacity for messages which will grow as necessary.
+     *
+     * @param initialCapacity for the number of messages in the batch.
+     */
+    public MessageBatch(final int initialCapacity)
+    {
+        final int capacity = Math.max(1, initialCapacity);
+        buffers = new DirectBuffer[capacity];
+        offsets = new int[capacity];
+        lengths = new int[capacity];
+    }
+
+    /**
+     * Add a message to the end of the batch.
+     *
+     * @param buffer containing the encoded message.
+     * @param offset at which the encoded message begins.
+     * @param length of the encoded message in bytes.
+     * @return the batch for fluent API usage.
+     */
+    public MessageBatch add(final DirectBuffer buffer, final int offset, final int length)
+    {
+        if (size == buffers.length)
+        {
+            final int newCapacity = size << 1;
+            buffers = Arrays.copyOf(buffers, newCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+            lengths = Arrays.copyOf(lengths, newCapacity);
+        }
+
+        buffers[size] = buffer;
+        offsets[size] = offset;
+        lengths[size] = length;
+        ++size;
+
+        return this;
+    }
+
+    /**
+     * Reset the batch so it contains no messages and can be reused.
+     *
+     * @return the batch for fluent API usage.
+     */
+    public MessageBatch reset()
+    {
+        Arrays.fill(buffers, 0, size, null);
+        size = 0;
+
+        return this;
+    }
+
+    /**
+     * The number of messages in the batch.
+     *
+     * @return the number of messages in the batch.
+     */
+    public int size()
+    {
+        return size;
+    }
+
+    /**
+     * The buffer containing the message at a given index in the batch.
+     *
+     * @param index of the message in the batch.
+     * @return the buffer containing the message.
+     */
+    public DirectBuffer buffer(final int index)
+    {
+        return buffers[index];
+    }
+
+    /**
+     * The offset at which the message at a given index in the batch begins.
+     *
+     * @param index of the message in the batch.
+     * @return the offset at which the message begins.
+     */
+    public int offset(final int index)
+    {
+        return offsets[index];
+    }
+
+    /**
+     * The length of the message at a given index in the batch.
+     *
+     * @param index of the message in the batch.
+     * @return the length of the message in bytes.
+     */
+    public int length(final int index)
+    {
+        return lengths[index];
+    }
+}
@@ -178,52 +178,41 @@ public class TermAppender extends LogBufferPartition
         return resultingOffset;
     }
 
-    private int appendUnfragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    /**
+     * Claim a range within the buffer for recording a message payload which may be larger than a single frame. The
+     * range is divided into frames with the appropriate fragment flags which are exposed as a sequence of claims.
+     *
+     * @param length                of the message payload
+     * @param fragmentedBufferClaim to be completed for the claim if successful.
+     * @return the resulting termOffset on success otherwise {@link #FAILED} if beyond end of the term, or
+     * {@link #TRIPPED} if first failure.
+     * @throws IllegalArgumentException if the length is greater than {@link #maxMessageLength()}
+     */
+    public int claim(final int length, final FragmentedBufferClaim fragmentedBufferClaim)
     {
-        final int frameLength = length + HEADER_LENGTH;
-        final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
-        final int frameOffset = metaDataBuffer().getAndAddInt(LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET, alignedLength);
-        final UnsafeBuffer termBuffer = termBuffer();
-
-        final int resultingOffset = computeResultingOffset(termBuffer, frameOffset, alignedLength, termBuffer.capacity());
-        if (resultingOffset > 0)
+        if (length > maxMessageLength)
         {
-            applyDefaultHeader(termBuffer, frameOffset, frameLength, defaultHeader);
-            termBuffer.putBytes(frameOffset + HEADER_LENGTH, srcBuffer, srcOffset, length);
-
-            frameTermOffset(termBuffer, frameOffset, frameOffset);
-            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+            throw new IllegalArgumentException(String.format(
+                "Claim exceeds maxMessageLength of %d, length=%d", maxMessageLength, length));
         }
 
-        return resultingOffset;
-    }
-
-    private int appendFragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
-    {
-        final int numMaxPayloads = length / maxPayloadLength;
-        final int remainingPayload = length % maxPayloadLength;
-        final int lastFrameLength = (remainingPayload > 0) ? align(remainingPayload + HEADER_LENGTH, FRAME_ALIGNMENT) : 0;
-        final int requiredLength = (numMaxPayloads * maxFrameLength) + lastFrameLength;
+        final int requiredLength = requiredLength(length);
         int frameOffset = metaDataBuffer().getAndAddInt(LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET, requiredLength);
         final UnsafeBuffer termBuffer = termBuffer();
 
         final int resultingOffset = computeResultingOffset(termBuffer, frameOffset, requiredLength, termBuffer.capacity());
         if (resultingOffset > 0)
         {
+            fragmentedBufferClaim.reset(length);
+
             byte flags = BEGIN_FRAG;
             int remaining = length;
             do
             {
-                final int bytesToWrite = Math.min(remaining, maxPayloadLength);
-                final int frameLength = bytesToWrite + HEADER_LENGTH;
-                final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+                final int bytesToClaim = Math.min(remaining, maxPayloadLength);
+                final int frameLength = bytesToClaim + HEADER_LENGTH;
 
                 applyDefaultHeader(termBuffer, frameOffset, frameLength, defaultHeader);
-                termBuffer.putBytes(
-                    frameOffset + HEADER_LENGTH,
-                    srcBuffer,
-                    srcOffset + (length - remaining),
-                    bytesToWrite);
 
                 if (remaining <= maxPayloadLength)
                 {
@@ -232,11 +221,12 @@ public class TermAppender extends LogBufferPartition
 
                 frameFlags(termBuffer, frameOffset, flags);
                 frameTermOffset(termBuffer, frameOffset, frameOffset);
-                frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+                fragmentedBufferClaim.addFragment(termBuffer, frameOffset, frameLength);
 
                 flags = 0;
-                frameOffset += alignedLength;
-                remaining -= bytesToWrite;
+                frameOffset += align(frameLength, FRAME_ALIGNMENT);
+                remaining -= bytesToClaim;
             }
             while (remaining > 0);
         }
@@ -244,6 +234,153 @@ public class TermAppender extends LogBufferPartition
         return resultingOffset;
     }
 
+    /**
+     * Append a batch of messages to the term as consecutive frames if sufficient capacity exists. The space for the
+     * whole batch is claimed with a single increment of the tail.
+     *
+     * @param batch of messages to be appended.
+     * @return the resulting termOffset on success otherwise {@link #FAILED} if beyond end of the term, or
+     * {@link #TRIPPED} if first failure.
+     * @throws IllegalArgumentException if the batch is empty or the total framed length of the batch is greater
+     * than {@link #maxMessageLength()}
+     */
+    public int append(final MessageBatch batch)
+    {
+        final int size = batch.size();
+        if (0 == size)
+        {
+            throw new IllegalArgumentException("Batch must contain at least one message");
+        }
+
+        int requiredLength = 0;
+        for (int i = 0; i < size; i++)
+        {
+            requiredLength += requiredLength(batch.length(i));
+        }
+
+        if (requiredLength > maxMessageLength)
+        {
+            throw new IllegalArgumentException(String.format(
+                "Encoded batch exceeds maxMessageLength of %d, length=%d", maxMessageLength, requiredLength));
+        }
+
+        int frameOffset = metaDataBuffer().getAndAddInt(LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET, requiredLength);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = computeResultingOffset(termBuffer, frameOffset, requiredLength, termBuffer.capacity());
+        if (resultingOffset > 0)
+        {
+            for (int i = 0; i < size; i++)
+            {
+                final int length = batch.length(i);
+                if (length <= maxPayloadLength)
+                {
+                    frameOffset = writeUnfragmented(termBuffer, frameOffset, batch.buffer(i), batch.offset(i), length);
+                }
+                else
+                {
+                    frameOffset = writeFragmented(termBuffer, frameOffset, batch.buffer(i), batch.offset(i), length);
+                }
+            }
+        }
+
+        return resultingOffset;
+    }
+
+    private int appendUnfragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        final int alignedLength = align(length + HEADER_LENGTH, FRAME_ALIGNMENT);
+        final int frameOffset = metaDataBuffer().getAndAddInt(LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET, alignedLength);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = computeResultingOffset(termBuffer, frameOffset, alignedLength, termBuffer.capacity());
+        if (resultingOffset > 0)
+        {
+            writeUnfragmented(termBuffer, frameOffset, srcBuffer, srcOffset, length);
+        }
+
+        return resultingOffset;
+    }
+
+    private int appendFragmentedMessage(final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        final int requiredLength = requiredLength(length);
+        final int frameOffset = metaDataBuffer().getAndAddInt(LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET, requiredLength);
+        final UnsafeBuffer termBuffer = termBuffer();
+
+        final int resultingOffset = computeResultingOffset(termBuffer, frameOffset, requiredLength, termBuffer.capacity());
+        if (resultingOffset > 0)
+        {
+            writeFragmented(termBuffer, frameOffset, srcBuffer, srcOffset, length);
+        }
+
+        return resultingOffset;
+    }
+
+    private int requiredLength(final int length)
+    {
+        if (length <= maxPayloadLength)
+        {
+            return align(length + HEADER_LENGTH, FRAME_ALIGNMENT);
+        }
+
+        final int numMaxPayloads = length / maxPayloadLength;
+        final int remainingPayload = length % maxPayloadLength;
+        final int lastFrameLength = (remainingPayload > 0) ? align(remainingPayload + HEADER_LENGTH, FRAME_ALIGNMENT) : 0;
+
+        return (numMaxPayloads * maxFrameLength) + lastFrameLength;
+    }
+
+    private int writeUnfragmented(
+        final UnsafeBuffer termBuffer, final int frameOffset, final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        final int frameLength = length + HEADER_LENGTH;
+
+        applyDefaultHeader(termBuffer, frameOffset, frameLength, defaultHeader);
+        termBuffer.putBytes(frameOffset + HEADER_LENGTH, srcBuffer, srcOffset, length);
+
+        frameTermOffset(termBuffer, frameOffset, frameOffset);
+        frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+        return frameOffset + align(frameLength, FRAME_ALIGNMENT);
+    }
+
+    private int writeFragmented(
+        final UnsafeBuffer termBuffer, int frameOffset, final DirectBuffer srcBuffer, final int srcOffset, final int length)
+    {
+        byte flags = BEGIN_FRAG;
+        int remaining = length;
+        do
+        {
+            final int bytesToWrite = Math.min(remaining, maxPayloadLength);
+            final int frameLength = bytesToWrite + HEADER_LENGTH;
+            final int alignedLength = align(frameLength, FRAME_ALIGNMENT);
+
+            applyDefaultHeader(termBuffer, frameOffset, frameLength, defaultHeader);
+            termBuffer.putBytes(
+                frameOffset + HEADER_LENGTH,
+                srcBuffer,
+                srcOffset + (length - remaining),
+                bytesToWrite);
+
+            if (remaining <= maxPayloadLength)
+            {
+                flags |= END_FRAG;
+            }
+
+            frameFlags(termBuffer, frameOffset, flags);
+            frameTermOffset(termBuffer, frameOffset, frameOffset);
+            frameLengthOrdered(termBuffer, frameOffset, frameLength);
+
+            flags = 0;
+            frameOffset += alignedLength;
+            remaining -= bytesToWrite;
+        }
+        while (remaining > 0);
+
+        return frameOffset;
+    }
+
     private int computeResultingOffset(
         final UnsafeBuffer termBuffer, final int frameOffset, final int length, final int capacity)
     {
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.logbuffer;
+
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.frameLengthVolatile;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.isPaddingFrame;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+/**
+ * Scans a term buffer for a block of contiguous frames which can be delivered in a single callback.
+ *
+ * This can be used to concurrently read a term buffer which is being appended to.
+ */
+public final class TermBlockScanner
+{
+    /**
+     * Scan the term buffer for a block of whole frames from an offset up to a limit offset.
+     *
+     * A padding frame ends the block. It is only included when it is the first frame so the block after it
+     * starts in the next term.
+     *
+     * The first whole frame is always included even if it extends beyond the limit offset so a limit shorter than
+     * the frame length cannot stop the reader making progress.
+     *
+     * @param termBuffer  to be scanned for frames.
+     * @param termOffset  at which the scan should begin.
+     * @param limitOffset at which the scan should stop.
+     * @return the offset at which the scan terminated.
+     */
+    public static int scan(final UnsafeBuffer termBuffer, final int termOffset, final int limitOffset)
+    {
+        int offset = termOffset;
+
+        while (offset < limitOffset)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, offset);
+            if (frameLength <= 0)
+            {
+                break;
+            }
+
+            final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+
+            if (isPaddingFrame(termBuffer, offset))
+            {
+                if (termOffset == offset)
+                {
+                    offset += alignedFrameLength;
+                }
+
+                break;
+            }
+
+            if (offset + alignedFrameLength > limitOffset && offset != termOffset)
+            {
+                break;
+            }
+
+            offset += alignedFrameLength;
+        }
+
+        return offset;
+    }
+}
@@ -18,7 +18,10 @@ package uk.co.real_logic.aeron.logbuffer;
 import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.ErrorHandler;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.Position;
 
+import static uk.co.real_logic.aeron.logbuffer.ControlledFragmentHandler.Action;
+import static uk.co.real_logic.aeron.logbuffer.ControlledFragmentHandler.Action.*;
 import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.*;
 import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
 
@@ -86,6 +89,97 @@ public class TermReader
         return readOutcome(termOffset, fragmentsRead);
     }
 
+    /**
+     * Reads data from a term in a log buffer with the handler controlling how the subscriber position advances via
+     * the {@link ControlledFragmentHandler.Action} returned for each fragment.
+     *
+     * If a fragmentsLimit of 0 or less is passed then at least one read will be attempted.
+     *
+     * @param termBuffer         to be read for fragments.
+     * @param termOffset         offset within the buffer that the read should begin.
+     * @param handler            the handler for data that has been read
+     * @param fragmentsLimit     limit the number of fragments read.
+     * @param header             to be used for mapping over the header for a given fragment.
+     * @param errorHandler       to be notified if an error occurs during the callback.
+     * @param position           of the subscriber which corresponds to the termOffset.
+     * @param subscriberPosition to be updated as fragments are committed.
+     * @return the number of fragments read
+     */
+    public static int controlledRead(
+        final UnsafeBuffer termBuffer,
+        int termOffset,
+        final ControlledFragmentHandler handler,
+        final int fragmentsLimit,
+        final Header header,
+        final ErrorHandler errorHandler,
+        long position,
+        final Position subscriberPosition)
+    {
+        int fragmentsRead = 0;
+        int offset = termOffset;
+        final int capacity = termBuffer.capacity();
+
+        try
+        {
+            do
+            {
+                final int frameLength = frameLengthVolatile(termBuffer, offset);
+                if (frameLength <= 0)
+                {
+                    break;
+                }
+
+                final int fragmentOffset = offset;
+                final int alignedLength = BitUtil.align(frameLength, FRAME_ALIGNMENT);
+                offset += alignedLength;
+
+                if (isPaddingFrame(termBuffer, fragmentOffset))
+                {
+                    continue;
+                }
+
+                header.buffer(termBuffer);
+                header.offset(fragmentOffset);
+
+                final Action action = handler.onFragment(
+                    termBuffer, fragmentOffset + HEADER_LENGTH, frameLength - HEADER_LENGTH, header);
+
+                if (action == ABORT)
+                {
+                    offset -= alignedLength;
+                    break;
+                }
+
+                ++fragmentsRead;
+
+                if (action == BREAK)
+                {
+                    break;
+                }
+
+                if (action == COMMIT)
+                {
+                    position += (offset - termOffset);
+                    subscriberPosition.setOrdered(position);
+                    termOffset = offset;
+                }
+            }
+            while (fragmentsRead < fragmentsLimit && offset < capacity);
+        }
+        catch (final Exception ex)
+        {
+            errorHandler.onError(ex);
+        }
+
+        final long newPosition = position + (offset - termOffset);
+        if (newPosition > position)
+        {
+            subscriberPosition.setOrdered(newPosition);
+        }
+
+        return fragmentsRead;
+    }
+
     /**
      * Pack the values for fragmentsRead and offset into a long for returning on the stack.
      *
@@ -28,7 +28,7 @@ public class ErrorFlyweight extends HeaderFlyweight
     /** Length of the Error Header */
     public static final int HEADER_LENGTH = 12;
 
-    private static final int ERROR_CODE_FIELD_OFFSET = 1;
+    private static final int ERROR_CODE_FIELD_OFFSET = FLAGS_FIELD_OFFSET;
     private static final int OFFENDING_HDR_FRAME_LENGTH_FIELD_OFFSET = 8;
     private static final int OFFENDING_HDR_OFFSET = 12;
 
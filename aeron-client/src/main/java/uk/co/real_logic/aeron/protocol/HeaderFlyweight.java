@@ -47,6 +47,8 @@ public class HeaderFlyweight extends Flyweight
     public static final int HDR_TYPE_ERR = 0x04;
     /** header type SETUP */
     public static final int HDR_TYPE_SETUP = 0x05;
+    /** header type PARITY */
+    public static final int HDR_TYPE_PARITY = 0x06;
     /** header type EXT */
     public static final int HDR_TYPE_EXT = 0xFFFF;
 
@@ -0,0 +1,253 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.protocol;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_INT;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+/**
+ * Flyweight for a Parity Frame used for forward error correction.
+ * <p>
+ * A parity frame covers a group of consecutive datagrams of a term. The payload is the XOR of the datagrams, each
+ * zero padded to the length of the longest, so a receiver holding all but one of them can rebuild the missing one.
+ * <pre>
+ *   0                   1                   2                   3
+ *   0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1 2 3 4 5 6 7 8 9 0 1
+ *  +---------------------------------------------------------------+
+ *  |                         Frame Length                          |
+ *  +---------------+---------------+-------------------------------+
+ *  |   Version     |    Flags      |             Type              |
+ *  +---------------+---------------+-------------------------------+
+ *  |                          Term Offset                          |
+ *  +---------------------------------------------------------------+
+ *  |                          Session ID                           |
+ *  +---------------------------------------------------------------+
+ *  |                          Stream ID                            |
+ *  +---------------------------------------------------------------+
+ *  |                           Term ID                             |
+ *  +---------------------------------------------------------------+
+ *  |                        Datagram Count                         |
+ *  +---------------------------------------------------------------+
+ *  |                        Payload Length                         |
+ *  +---------------------------------------------------------------+
+ *  |                      Datagram Lengths                        ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ *  |                    Parity Payload (aligned)                  ...
+ * ...                                                              |
+ *  +---------------------------------------------------------------+
+ * </pre>
+ */
+public class ParityFlyweight extends HeaderFlyweight
+{
+    /** Length of the Parity Header before the datagram lengths */
+    public static final int HEADER_LENGTH = 32;
+
+    private static final int TERM_OFFSET_FIELD_OFFSET = 8;
+    private static final int SESSION_ID_FIELD_OFFSET = 12;
+    private static final int STREAM_ID_FIELD_OFFSET = 16;
+    private static final int TERM_ID_FIELD_OFFSET = 20;
+    private static final int DATAGRAM_COUNT_FIELD_OFFSET = 24;
+    private static final int PAYLOAD_LENGTH_FIELD_OFFSET = 28;
+    private static final int DATAGRAM_LENGTHS_OFFSET = 32;
+
+    /**
+     * The length of the header, including the datagram lengths, for a group of up to a maximum number of datagrams.
+     *
+     * @param maxDatagramCount in a group covered by a parity frame.
+     * @return the length of the header which precedes the parity payload.
+     */
+    public static int headerLength(final int maxDatagramCount)
+    {
+        return align(DATAGRAM_LENGTHS_OFFSET + (maxDatagramCount * SIZE_OF_INT), FRAME_ALIGNMENT);
+    }
+
+    /**
+     * The offset within the frame at which the parity payload begins, which is the last payload length bytes of the
+     * frame.
+     *
+     * @return the offset within the frame at which the parity payload begins.
+     */
+    public int payloadOffset()
+    {
+        return frameLength() - payloadLength();
+    }
+
+    /**
+     * return term offset field
+     *
+     * @return term offset field
+     */
+    public int termOffset()
+    {
+        return buffer().getInt(offset() + TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term offset field
+     *
+     * @param termOffset field value
+     * @return flyweight
+     */
+    public ParityFlyweight termOffset(final int termOffset)
+    {
+        buffer().putInt(offset() + TERM_OFFSET_FIELD_OFFSET, termOffset, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return session id field
+     *
+     * @return session id field
+     */
+    public int sessionId()
+    {
+        return buffer().getInt(offset() + SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set session id field
+     *
+     * @param sessionId field value
+     * @return flyweight
+     */
+    public ParityFlyweight sessionId(final int sessionId)
+    {
+        buffer().putInt(offset() + SESSION_ID_FIELD_OFFSET, sessionId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return stream id field
+     *
+     * @return stream id field
+     */
+    public int streamId()
+    {
+        return buffer().getInt(offset() + STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set stream id field
+     *
+     * @param streamId field value
+     * @return flyweight
+     */
+    public ParityFlyweight streamId(final int streamId)
+    {
+        buffer().putInt(offset() + STREAM_ID_FIELD_OFFSET, streamId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return term id field
+     *
+     * @return term id field
+     */
+    public int termId()
+    {
+        return buffer().getInt(offset() + TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set term id field
+     *
+     * @param termId field value
+     * @return flyweight
+     */
+    public ParityFlyweight termId(final int termId)
+    {
+        buffer().putInt(offset() + TERM_ID_FIELD_OFFSET, termId, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return datagram count field
+     *
+     * @return datagram count field
+     */
+    public int datagramCount()
+    {
+        return buffer().getInt(offset() + DATAGRAM_COUNT_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set datagram count field
+     *
+     * @param datagramCount field value
+     * @return flyweight
+     */
+    public ParityFlyweight datagramCount(final int datagramCount)
+    {
+        buffer().putInt(offset() + DATAGRAM_COUNT_FIELD_OFFSET, datagramCount, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return payload length field
+     *
+     * @return payload length field
+     */
+    public int payloadLength()
+    {
+        return buffer().getInt(offset() + PAYLOAD_LENGTH_FIELD_OFFSET, LITTLE_ENDIAN);
+    }
+
+    /**
+     * set payload length field
+     *
+     * @param payloadLength field value
+     * @return flyweight
+     */
+    public ParityFlyweight payloadLength(final int payloadLength)
+    {
+        buffer().putInt(offset() + PAYLOAD_LENGTH_FIELD_OFFSET, payloadLength, LITTLE_ENDIAN);
+
+        return this;
+    }
+
+    /**
+     * return the length of a datagram in the group
+     *
+     * @param index of the datagram in the group
+     * @return length of the datagram
+     */
+    public int datagramLength(final int index)
+    {
+        return buffer().getInt(offset() + DATAGRAM_LENGTHS_OFFSET + (index * SIZE_OF_INT), LITTLE_ENDIAN);
+    }
+
+    /**
+     * set the length of a datagram in the group
+     *
+     * @param index          of the datagram in the group
+     * @param datagramLength field value
+     * @return flyweight
+     */
+    public ParityFlyweight datagramLength(final int index, final int datagramLength)
+    {
+        buffer().putInt(offset() + DATAGRAM_LENGTHS_OFFSET + (index * SIZE_OF_INT), datagramLength, LITTLE_ENDIAN);
+
+        return this;
+    }
+}
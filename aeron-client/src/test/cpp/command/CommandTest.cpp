@@ -142,7 +142,7 @@ TEST (commandTests, testConnectionReadyFlyweight)
     ASSERT_NO_THROW({
         ConnectionBuffersReadyFlyweight cmd(ab, BASEOFFSET);
 
-        cmd.correlationId(-1).joiningPosition(64).streamId(0x01010101).sessionId(0x02020202).subscriberPositionCount(4);
+        cmd.correlationId(-1).joiningPosition(64).streamId(0x01010101).sessionId(0x02020202).subscriberPositionCount(4).hwmPositionId(7);
         cmd.logFileName(logFileNameData).sourceIdentity(sourceInfoData);
         for (int n = 0; n < 4; n++)
         {
@@ -154,13 +154,14 @@ TEST (commandTests, testConnectionReadyFlyweight)
         ASSERT_EQ(ab.getInt32(BASEOFFSET + 16), 0x02020202);
         ASSERT_EQ(ab.getInt32(BASEOFFSET + 20), 0x01010101);
         ASSERT_EQ(ab.getInt32(BASEOFFSET + 24), 4);
-        ASSERT_EQ(ab.getInt32(BASEOFFSET + 28), logFileNameData.length());
-        ASSERT_EQ(ab.getStringUtf8(BASEOFFSET + 28), logFileNameData);
-        ASSERT_EQ(ab.getInt32(BASEOFFSET + 32 + logFileNameData.length()), sourceInfoData.length());
-        ASSERT_EQ(ab.getStringUtf8(BASEOFFSET + 32 + logFileNameData.length()), sourceInfoData);
+        ASSERT_EQ(ab.getInt32(BASEOFFSET + 28), 7);
+        ASSERT_EQ(ab.getInt32(BASEOFFSET + 32), logFileNameData.length());
+        ASSERT_EQ(ab.getStringUtf8(BASEOFFSET + 32), logFileNameData);
+        ASSERT_EQ(ab.getInt32(BASEOFFSET + 36 + logFileNameData.length()), sourceInfoData.length());
+        ASSERT_EQ(ab.getStringUtf8(BASEOFFSET + 36 + logFileNameData.length()), sourceInfoData);
 
         const index_t startOfSubscriberPositions =
-            BASEOFFSET + 36 + (index_t)logFileNameData.length() + (index_t)sourceInfoData.length();
+            BASEOFFSET + 40 + (index_t)logFileNameData.length() + (index_t)sourceInfoData.length();
         for (int n = 0; n < 4; n++)
         {
             ASSERT_EQ(
@@ -174,6 +175,7 @@ TEST (commandTests, testConnectionReadyFlyweight)
         ASSERT_EQ(cmd.streamId(), 0x01010101);
         ASSERT_EQ(cmd.sessionId(), 0x02020202);
         ASSERT_EQ(cmd.subscriberPositionCount(), 4);
+        ASSERT_EQ(cmd.hwmPositionId(), 7);
         ASSERT_EQ(cmd.logFileName(), logFileNameData);
         ASSERT_EQ(cmd.sourceIdentity(), sourceInfoData);
         for (int n = 0; n < 4; n++)
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.Test;
+import uk.co.real_logic.agrona.ErrorHandler;
+import uk.co.real_logic.agrona.concurrent.Agent;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AgentInvokerTest
+{
+    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final AtomicCounter errorCounter = mock(AtomicCounter.class);
+    private final Agent agent = mock(Agent.class);
+    private final AgentInvoker invoker = new AgentInvoker(errorHandler, errorCounter, agent);
+
+    @Test
+    public void shouldReturnWorkCountFromDutyCycle() throws Exception
+    {
+        when(agent.doWork()).thenReturn(7);
+
+        assertThat(invoker.invoke(), is(7));
+        verify(agent).doWork();
+    }
+
+    @Test
+    public void shouldHandleExceptionFromDutyCycle() throws Exception
+    {
+        final Exception ex = new IllegalStateException("test");
+        when(agent.doWork()).thenThrow(ex);
+
+        assertThat(invoker.invoke(), is(0));
+        verify(errorCounter).increment();
+        verify(errorHandler).onError(ex);
+    }
+
+    @Test
+    public void shouldNotInvokeAgentOnceClosed() throws Exception
+    {
+        invoker.close();
+        invoker.close();
+
+        assertThat(invoker.isClosed(), is(true));
+        assertThat(invoker.invoke(), is(0));
+        verify(agent, times(1)).onClose();
+        verify(agent, never()).doWork();
+    }
+}
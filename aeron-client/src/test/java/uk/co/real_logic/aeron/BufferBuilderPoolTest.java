@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.Test;
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static uk.co.real_logic.aeron.BufferBuilder.INITIAL_CAPACITY;
+
+public class BufferBuilderPoolTest
+{
+    private static final int MAX_CAPACITY = INITIAL_CAPACITY * 16;
+    private static final int MAX_POOLED_BUILDERS = 2;
+    private static final long IDLE_TIMEOUT_NS = 1000;
+
+    private final NanoClock nanoClock = mock(NanoClock.class);
+    private final BufferBuilderPool pool = new BufferBuilderPool(
+        INITIAL_CAPACITY, MAX_CAPACITY, true, MAX_POOLED_BUILDERS, IDLE_TIMEOUT_NS, nanoClock);
+
+    @Test
+    public void shouldAllocateDirectBuilderWhenEmpty()
+    {
+        final BufferBuilder builder = pool.acquire();
+
+        assertThat(builder.isDirect(), is(true));
+        assertThat(builder.maxCapacity(), is(MAX_CAPACITY));
+        assertThat(pool.size(), is(0));
+    }
+
+    @Test
+    public void shouldReuseReleasedBuilder()
+    {
+        final BufferBuilder builder = pool.acquire();
+        builder.append(new UnsafeBuffer(new byte[8]), 0, 8);
+
+        pool.release(builder);
+        assertThat(pool.size(), is(1));
+
+        final BufferBuilder reused = pool.acquire();
+        assertThat(reused, sameInstance(builder));
+        assertThat(reused.limit(), is(0));
+        assertThat(pool.size(), is(0));
+    }
+
+    @Test
+    public void shouldNotRetainMoreThanMaxPooledBuilders()
+    {
+        final BufferBuilder one = pool.acquire();
+        final BufferBuilder two = pool.acquire();
+        final BufferBuilder three = pool.acquire();
+
+        pool.release(one);
+        pool.release(two);
+        pool.release(three);
+
+        assertThat(pool.size(), is(MAX_POOLED_BUILDERS));
+        assertThat(pool.acquire(), not(sameInstance(three)));
+    }
+
+    @Test
+    public void shouldShrinkBuildersIdleBeyondTimeout()
+    {
+        final BufferBuilder builder = pool.acquire();
+        builder.append(new UnsafeBuffer(new byte[INITIAL_CAPACITY * 4]), 0, INITIAL_CAPACITY * 4);
+
+        when(nanoClock.nanoTime()).thenReturn(0L);
+        pool.release(builder);
+
+        assertThat(pool.shrinkIdle(IDLE_TIMEOUT_NS), is(0));
+        assertThat(builder.capacity(), is(INITIAL_CAPACITY * 4));
+
+        assertThat(pool.shrinkIdle(IDLE_TIMEOUT_NS + 1), is(1));
+        assertThat(builder.capacity(), is(INITIAL_CAPACITY));
+    }
+
+    @Test
+    public void shouldShrinkBuildersIdleBeyondTimeoutWhenAcquired()
+    {
+        final BufferBuilder builder = pool.acquire();
+        builder.append(new UnsafeBuffer(new byte[INITIAL_CAPACITY * 4]), 0, INITIAL_CAPACITY * 4);
+
+        when(nanoClock.nanoTime()).thenReturn(0L);
+        pool.release(builder);
+
+        when(nanoClock.nanoTime()).thenReturn(IDLE_TIMEOUT_NS + 1);
+        final BufferBuilder reused = pool.acquire();
+
+        assertThat(reused, sameInstance(builder));
+        assertThat(reused.capacity(), is(INITIAL_CAPACITY));
+    }
+}
@@ -193,4 +193,49 @@ public class BufferBuilderTest
         assertThat(bufferBuilder.limit(), is(buffer.length * 3));
         assertThat(bufferBuilder.capacity(), lessThan(expandedCapacity));
     }
+
+    @Test
+    public void shouldAppendAndResizeDirectBuffer()
+    {
+        final BufferBuilder bufferBuilder = new BufferBuilder(INITIAL_CAPACITY, INITIAL_CAPACITY * 4, true);
+        final byte[] buffer = new byte[INITIAL_CAPACITY + 1];
+        Arrays.fill(buffer, (byte)7);
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(buffer);
+
+        bufferBuilder.append(srcBuffer, 0, buffer.length);
+
+        final byte[] temp = new byte[buffer.length];
+        bufferBuilder.buffer().getBytes(0, temp, 0, buffer.length);
+
+        assertThat(bufferBuilder.isDirect(), is(true));
+        assertThat(bufferBuilder.buffer().byteBuffer().isDirect(), is(true));
+        assertThat(bufferBuilder.capacity(), is(INITIAL_CAPACITY * 2));
+        assertArrayEquals(temp, buffer);
+    }
+
+    @Test
+    public void shouldCompactDirectBufferToInitialCapacity()
+    {
+        final BufferBuilder bufferBuilder = new BufferBuilder(INITIAL_CAPACITY, INITIAL_CAPACITY * 4, true);
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[INITIAL_CAPACITY * 3]);
+
+        bufferBuilder.append(srcBuffer, 0, srcBuffer.capacity());
+        assertThat(bufferBuilder.capacity(), is(INITIAL_CAPACITY * 4));
+
+        bufferBuilder.reset().compact();
+
+        assertThat(bufferBuilder.capacity(), is(INITIAL_CAPACITY));
+        assertThat(bufferBuilder.buffer().capacity(), is(INITIAL_CAPACITY));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldThrowExceptionWhenMaxCapacityExceeded()
+    {
+        final BufferBuilder bufferBuilder = new BufferBuilder(INITIAL_CAPACITY, INITIAL_CAPACITY * 2, false);
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[INITIAL_CAPACITY]);
+
+        bufferBuilder.append(srcBuffer, 0, srcBuffer.capacity());
+        bufferBuilder.append(srcBuffer, 0, srcBuffer.capacity());
+        bufferBuilder.append(srcBuffer, 0, 1);
+    }
 }
@@ -41,6 +41,7 @@ import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.ErrorCode.EXCLUSIVE_PUBLICATION_SESSION_IN_USE;
 import static uk.co.real_logic.aeron.ErrorCode.INVALID_CHANNEL;
 import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
 
@@ -90,6 +91,7 @@ public class ClientConductorTest
     private NewConnectionHandler mockNewConnectionHandler = mock(NewConnectionHandler.class);
     private InactiveConnectionHandler mockInactiveConnectionHandler = mock(InactiveConnectionHandler.class);
     private LogBuffersFactory logBuffersFactory = mock(LogBuffersFactory.class);
+    private AgentInvoker driverAgentInvoker = mock(AgentInvoker.class);
 
     @Before
     public void setUp() throws Exception
@@ -113,7 +115,8 @@ public class ClientConductorTest
             mockClientErrorHandler,
             mockNewConnectionHandler,
             mockInactiveConnectionHandler,
-            AWAIT_TIMEOUT);
+            AWAIT_TIMEOUT,
+            driverAgentInvoker);
 
         publicationReady.wrap(publicationReadyBuffer, 0);
         connectionReady.wrap(connectionReadyBuffer, 0);
@@ -127,6 +130,7 @@ public class ClientConductorTest
 
         connectionReady.sourceIdentity(SOURCE_INFO);
         connectionReady.subscriberPositionCount(1);
+        connectionReady.hwmPositionId(1);
         connectionReady.subscriberPositionId(0, 0);
         connectionReady.positionIndicatorRegistrationId(0, CORRELATION_ID);
 
@@ -197,6 +201,19 @@ public class ClientConductorTest
         verify(logBuffersFactory).map(SESSION_ID_1 + "-log");
     }
 
+    @Test
+    public void addPublicationShouldInvokeDriverAgentWhileAwaitingResponse() throws Exception
+    {
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_PUBLICATION_READY,
+            publicationReadyBuffer,
+            (buffer) -> publicationReady.length());
+
+        conductor.addPublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+
+        verify(driverAgentInvoker, atLeastOnce()).invoke();
+    }
+
     @Test(expected = DriverTimeoutException.class)
     public void addPublicationShouldTimeoutWithoutReadyMessage()
     {
@@ -254,6 +271,85 @@ public class ClientConductorTest
         assertThat(firstPublication, not(sameInstance(secondPublication)));
     }
 
+    @Test
+    public void addExclusivePublicationShouldNotBeCachedWithPublications() throws Exception
+    {
+        when(driverProxy.addExclusivePublication(eq(CHANNEL), eq(STREAM_ID_1), anyInt())).thenReturn(CORRELATION_ID);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_PUBLICATION_READY, publicationReadyBuffer, (buffer) -> publicationReady.length());
+
+        final ExclusivePublication exclusivePublication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1);
+
+        assertThat(exclusivePublication.sessionId(), is(SESSION_ID_1));
+        verify(logBuffersFactory).map(SESSION_ID_1 + "-log");
+
+        conductor.addPublication(CHANNEL, STREAM_ID_1, SESSION_ID_1);
+
+        verify(logBuffersFactory, times(2)).map(SESSION_ID_1 + "-log");
+    }
+
+    @Test
+    public void addExclusivePublicationShouldRetryWithNewSessionWhenSessionInUse() throws Exception
+    {
+        when(driverProxy.addExclusivePublication(eq(CHANNEL), eq(STREAM_ID_1), anyInt()))
+            .thenReturn(CORRELATION_ID_2)
+            .thenReturn(CORRELATION_ID);
+
+        doAnswer(
+            (invocation) ->
+            {
+                final byte[] message = "session in use".getBytes();
+                final PublicationMessageFlyweight publicationMessage = new PublicationMessageFlyweight();
+                publicationMessage.wrap(new UnsafeBuffer(ByteBuffer.allocateDirect(SEND_BUFFER_CAPACITY)), 0);
+                publicationMessage.correlationId(CORRELATION_ID_2);
+                publicationMessage.channel(CHANNEL);
+
+                errorMessage.errorCode(EXCLUSIVE_PUBLICATION_SESSION_IN_USE);
+                errorMessage.offendingFlyweight(publicationMessage, publicationMessage.length());
+                errorMessage.errorMessage(message);
+                errorMessage.frameLength(ErrorFlyweight.HEADER_LENGTH + message.length + publicationMessage.length());
+                conductor.driverListenerAdapter().onMessage(
+                    ControlProtocolEvents.ON_ERROR, errorMessageBuffer, 0, errorMessage.frameLength());
+
+                return 1;
+            })
+            .doAnswer(
+                (invocation) ->
+                {
+                    conductor.driverListenerAdapter().onMessage(
+                        ControlProtocolEvents.ON_PUBLICATION_READY, publicationReadyBuffer, 0, publicationReady.length());
+
+                    return 1;
+                })
+            .when(mockToClientReceiver).receive(anyObject());
+
+        final ExclusivePublication exclusivePublication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1);
+
+        assertThat(exclusivePublication.sessionId(), is(SESSION_ID_1));
+        verify(driverProxy, times(2)).addExclusivePublication(eq(CHANNEL), eq(STREAM_ID_1), anyInt());
+        verify(driverProxy, never()).addPublication(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void closingExclusivePublicationShouldNotifyMediaDriver() throws Exception
+    {
+        when(driverProxy.addExclusivePublication(eq(CHANNEL), eq(STREAM_ID_1), anyInt())).thenReturn(CORRELATION_ID);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_PUBLICATION_READY, publicationReadyBuffer, (buffer) -> publicationReady.length());
+
+        final ExclusivePublication exclusivePublication = conductor.addExclusivePublication(CHANNEL, STREAM_ID_1);
+
+        whenReceiveBroadcastOnMessage(
+            ControlProtocolEvents.ON_OPERATION_SUCCESS, correlatedMessageBuffer, (buffer) -> CorrelatedMessageFlyweight.LENGTH);
+
+        exclusivePublication.close();
+        exclusivePublication.close();
+
+        verify(driverProxy, times(1)).removePublication(CORRELATION_ID);
+    }
+
     @Test(expected = RegistrationException.class)
     public void shouldFailToClosePublicationOnMediaDriverError()
     {
@@ -498,14 +594,14 @@ public class ClientConductorTest
 
         conductor.onNewConnection(STREAM_ID_1, SESSION_ID_1, 0L, SESSION_ID_1 + "-log", connectionReady, CORRELATION_ID);
 
-        assertFalse(subscription.hasNoConnections());
+        assertFalse(subscription.hasNoImages());
         verify(mockNewConnectionHandler).onNewConnection(CHANNEL, STREAM_ID_1, SESSION_ID_1, 0L, SOURCE_INFO);
 
         final long position = 0L;
         conductor.onInactiveConnection(STREAM_ID_1, SESSION_ID_1, position, CORRELATION_ID);
 
         verify(mockInactiveConnectionHandler).onInactiveConnection(CHANNEL, STREAM_ID_1, SESSION_ID_1, position);
-        assertTrue(subscription.hasNoConnections());
+        assertTrue(subscription.hasNoImages());
         assertFalse(subscription.isConnected(SESSION_ID_1));
     }
 
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
+import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+public class ExclusivePublicationTest
+{
+    private static final String CHANNEL = "udp://localhost:40124";
+    private static final int STREAM_ID_1 = 2;
+    private static final int SESSION_ID_1 = 13;
+    private static final int TERM_ID_1 = 1;
+    private static final int CORRELATION_ID = 2000;
+    private static final int SEND_BUFFER_CAPACITY = 1024;
+    private static final int MTU_LENGTH = 4096;
+
+    private final UnsafeBuffer atomicSendBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(SEND_BUFFER_CAPACITY));
+    private final UnsafeBuffer logMetaDataBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(LOG_META_DATA_LENGTH));
+    private final UnsafeBuffer[] termBuffers = new UnsafeBuffer[PARTITION_COUNT];
+    private final UnsafeBuffer[] termMetaDataBuffers = new UnsafeBuffer[PARTITION_COUNT];
+    private final UnsafeBuffer[] buffers = new UnsafeBuffer[(PARTITION_COUNT * 2) + 1];
+
+    private final ReadablePosition limit = mock(ReadablePosition.class);
+    private final ClientConductor conductor = mock(ClientConductor.class);
+    private final LogBuffers logBuffers = mock(LogBuffers.class);
+
+    private ExclusivePublication publication;
+
+    @Before
+    public void setUp()
+    {
+        when(limit.getVolatile()).thenReturn(2L * SEND_BUFFER_CAPACITY);
+        when(logBuffers.atomicBuffers()).thenReturn(buffers);
+
+        initialTermId(logMetaDataBuffer, TERM_ID_1);
+        mtuLength(logMetaDataBuffer, MTU_LENGTH);
+
+        for (int i = 0; i < PARTITION_COUNT; i++)
+        {
+            termBuffers[i] = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_MIN_LENGTH));
+            termMetaDataBuffers[i] = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_META_DATA_LENGTH));
+
+            buffers[i] = termBuffers[i];
+            buffers[i + PARTITION_COUNT] = termMetaDataBuffers[i];
+        }
+        buffers[LOG_META_DATA_SECTION_INDEX] = logMetaDataBuffer;
+
+        publication = new ExclusivePublication(
+            conductor,
+            CHANNEL,
+            STREAM_ID_1,
+            SESSION_ID_1,
+            limit,
+            logBuffers,
+            CORRELATION_ID);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldEnsureThePublicationIsOpenBeforeOffer()
+    {
+        publication.close();
+        publication.offer(atomicSendBuffer);
+    }
+
+    @Test
+    public void shouldReportInitialPosition()
+    {
+        assertThat(publication.position(), is(0L));
+    }
+
+    @Test
+    public void shouldOfferAndPublishTailWithoutAtomicIncrement()
+    {
+        final int alignedFrameLength = align(100 + HEADER_LENGTH, FRAME_ALIGNMENT);
+
+        assertThat(publication.offer(atomicSendBuffer, 0, 100), is((long)alignedFrameLength));
+        assertThat(publication.offer(atomicSendBuffer, 0, 100), is(2L * alignedFrameLength));
+
+        assertThat(termMetaDataBuffers[0].getIntVolatile(TERM_TAIL_COUNTER_OFFSET), is(2 * alignedFrameLength));
+        assertThat(publication.position(), is(2L * alignedFrameLength));
+    }
+
+    @Test
+    public void shouldBeBackPressuredWhenLimitReached()
+    {
+        when(limit.getVolatile()).thenReturn(1L);
+
+        assertThat(publication.offer(atomicSendBuffer, 0, 100), is(1L * align(100 + HEADER_LENGTH, FRAME_ALIGNMENT)));
+        assertThat(publication.offer(atomicSendBuffer, 0, 100), is(Publication.BACK_PRESSURED));
+    }
+
+    @Test
+    public void shouldRotateToNextTermWhenTripped()
+    {
+        when(limit.getVolatile()).thenReturn(Long.MAX_VALUE);
+        final int msgLength = SEND_BUFFER_CAPACITY - HEADER_LENGTH;
+
+        long position;
+        do
+        {
+            position = publication.offer(atomicSendBuffer, 0, msgLength);
+        }
+        while (position > 0);
+
+        assertThat(position, is(Publication.BACK_PRESSURED));
+        assertThat(activeTermId(logMetaDataBuffer), is(TERM_ID_1 + 1));
+        assertThat(publication.position(), is((long)TERM_MIN_LENGTH));
+        assertThat(termMetaDataBuffers[2].getInt(TERM_STATUS_OFFSET), is(NEEDS_CLEANING));
+
+        assertThat(publication.offer(atomicSendBuffer, 0, msgLength), is((long)TERM_MIN_LENGTH + SEND_BUFFER_CAPACITY));
+    }
+
+    @Test
+    public void shouldClaimRegionAndAdvancePosition()
+    {
+        final BufferClaim bufferClaim = new BufferClaim();
+        final int alignedFrameLength = align(100 + HEADER_LENGTH, FRAME_ALIGNMENT);
+
+        assertThat(publication.tryClaim(100, bufferClaim), is((long)alignedFrameLength));
+        bufferClaim.commit();
+
+        assertThat(termBuffers[0].getInt(0), is(100 + HEADER_LENGTH));
+    }
+
+    @Test
+    public void shouldReleaseResourcesIdempotently()
+    {
+        publication.close();
+        publication.close();
+
+        verify(logBuffers, times(1)).close();
+        verify(conductor, times(1)).releaseExclusivePublication(publication);
+    }
+}
@@ -187,4 +187,28 @@ public class FragmentAssemblyAdapterTest
 
         verify(delegateFragmentHandler, never()).onFragment(anyObject(), anyInt(), anyInt(), anyObject());
     }
+
+    @Test
+    public void shouldReleasePooledBuilderOnceMessageAssembled()
+    {
+        final BufferBuilderPool pool = new BufferBuilderPool(BufferBuilder.INITIAL_CAPACITY * 4);
+        final FragmentAssemblyAdapter pooledAdapter = new FragmentAssemblyAdapter(delegateFragmentHandler, pool);
+
+        when(header.flags())
+            .thenReturn(FrameDescriptor.BEGIN_FRAG)
+            .thenReturn(FrameDescriptor.END_FRAG);
+
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+        final int length = srcBuffer.capacity() / 2;
+
+        pooledAdapter.onFragment(srcBuffer, 0, length, header);
+        assertThat(pool.size(), is(0));
+
+        pooledAdapter.onFragment(srcBuffer, length, length, header);
+        assertThat(pool.size(), is(1));
+        assertFalse(pooledAdapter.freeSessionBuffer(SESSION_ID));
+
+        verify(delegateFragmentHandler, times(1)).onFragment(
+            any(UnsafeBuffer.class), eq(0), eq(length * 2), any(Header.class));
+    }
 }
@@ -18,7 +18,9 @@ package uk.co.real_logic.aeron;
 import org.junit.Before;
 import org.junit.Test;
 import uk.co.real_logic.aeron.logbuffer.BufferClaim;
+import uk.co.real_logic.aeron.logbuffer.FragmentedBufferClaim;
 import uk.co.real_logic.aeron.logbuffer.FrameDescriptor;
+import uk.co.real_logic.aeron.logbuffer.MessageBatch;
 
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
@@ -28,7 +30,10 @@ import java.nio.ByteBuffer;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
 import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
+import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.align;
 
 public class PublicationTest
 {
@@ -38,6 +43,7 @@ public class PublicationTest
     private static final int TERM_ID_1 = 1;
     private static final int CORRELATION_ID = 2000;
     private static final int SEND_BUFFER_CAPACITY = 1024;
+    private static final int MTU_LENGTH = 4096;
 
     private final ByteBuffer sendBuffer = ByteBuffer.allocateDirect(SEND_BUFFER_CAPACITY);
     private final UnsafeBuffer atomicSendBuffer = new UnsafeBuffer(sendBuffer);
@@ -58,6 +64,7 @@ public class PublicationTest
         when(logBuffers.atomicBuffers()).thenReturn(buffers);
 
         initialTermId(logMetaDataBuffer, TERM_ID_1);
+        mtuLength(logMetaDataBuffer, MTU_LENGTH);
 
         for (int i = 0; i < PARTITION_COUNT; i++)
         {
@@ -115,6 +122,41 @@ public class PublicationTest
         assertThat(publication.maxMessageLength(), is(FrameDescriptor.computeMaxMessageLength(TERM_MIN_LENGTH)));
     }
 
+    @Test
+    public void shouldOfferBatchAndAdvancePositionByAllFrames()
+    {
+        final MessageBatch batch = new MessageBatch()
+            .add(atomicSendBuffer, 0, 100)
+            .add(atomicSendBuffer, 100, 50);
+
+        final long expectedPosition = align(100 + HEADER_LENGTH, FRAME_ALIGNMENT) + align(50 + HEADER_LENGTH, FRAME_ALIGNMENT);
+
+        assertThat(publication.offer(batch), is(expectedPosition));
+        assertThat(publication.position(), is(expectedPosition));
+    }
+
+    @Test
+    public void shouldTryClaimMessageLargerThanMaxPayloadLength()
+    {
+        final int maxPayloadLength = MTU_LENGTH - HEADER_LENGTH;
+        final int msgLength = maxPayloadLength + 100;
+        final FragmentedBufferClaim claim = new FragmentedBufferClaim();
+
+        final long expectedPosition = MTU_LENGTH + align(100 + HEADER_LENGTH, FRAME_ALIGNMENT);
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(msgLength));
+
+        assertThat(publication.tryClaim(msgLength, claim), is(expectedPosition));
+        assertThat(claim.fragmentCount(), is(2));
+
+        claim.fragment(0).buffer().putBytes(claim.fragment(0).offset(), srcBuffer, 0, maxPayloadLength);
+        claim.fragment(1).buffer().putBytes(claim.fragment(1).offset(), srcBuffer, maxPayloadLength, 100);
+        claim.commit();
+
+        assertThat(termBuffers[0].getInt(0), is(MTU_LENGTH));
+        assertThat(termBuffers[0].getInt(MTU_LENGTH), is(100 + HEADER_LENGTH));
+        assertThat(publication.position(), is(expectedPosition));
+    }
+
     @Test
     public void shouldUnmapBuffersWhenReleased() throws Exception
     {
@@ -17,17 +17,21 @@ package uk.co.real_logic.aeron;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.InOrder;
 import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
 import uk.co.real_logic.aeron.logbuffer.FrameDescriptor;
 import uk.co.real_logic.aeron.logbuffer.Header;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
-import uk.co.real_logic.agrona.ErrorHandler;
+import uk.co.real_logic.agrona.ManagedResource;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
 import java.nio.ByteBuffer;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.*;
 
@@ -42,12 +46,13 @@ public class SubscriptionTest
     private static final int HEADER_LENGTH = DataHeaderFlyweight.HEADER_LENGTH;
 
     private final UnsafeBuffer atomicReadBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(READ_BUFFER_CAPACITY));
-    private final ErrorHandler errorHandler = mock(ErrorHandler.class);
+    private final AvailableImageHandler availableImageHandler = mock(AvailableImageHandler.class);
+    private final UnavailableImageHandler unavailableImageHandler = mock(UnavailableImageHandler.class);
     private final ClientConductor conductor = mock(ClientConductor.class);
     private final FragmentHandler fragmentHandler = mock(FragmentHandler.class);
-    private final Connection connectionOneMock = mock(Connection.class);
+    private final Image imageOneMock = mock(Image.class);
     private final Header header = mock(Header.class);
-    private final Connection connectionTwoMock = mock(Connection.class);
+    private final Image imageTwoMock = mock(Image.class);
 
     private Subscription subscription;
 
@@ -56,7 +61,8 @@ public class SubscriptionTest
     {
         when(header.flags()).thenReturn(FLAGS);
 
-        subscription = new Subscription(conductor, CHANNEL, STREAM_ID_1, SUBSCRIPTION_CORRELATION_ID, errorHandler);
+        subscription = new Subscription(
+            conductor, CHANNEL, STREAM_ID_1, SUBSCRIPTION_CORRELATION_ID, availableImageHandler, unavailableImageHandler);
     }
 
     @Test(expected = IllegalStateException.class)
@@ -67,7 +73,7 @@ public class SubscriptionTest
     }
 
     @Test
-    public void shouldReadNothingWithNoConnections()
+    public void shouldReadNothingWithNoImages()
     {
         assertThat(subscription.poll(fragmentHandler, 1), is(0));
     }
@@ -75,7 +81,7 @@ public class SubscriptionTest
     @Test
     public void shouldReadNothingWhenThereIsNoData()
     {
-        subscription.addConnection(connectionOneMock);
+        subscription.addImage(imageOneMock);
 
         assertThat(subscription.poll(fragmentHandler, 1), is(0));
     }
@@ -83,9 +89,9 @@ public class SubscriptionTest
     @Test
     public void shouldReadData()
     {
-        subscription.addConnection(connectionOneMock);
+        subscription.addImage(imageOneMock);
 
-        when(connectionOneMock.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT, errorHandler)).then(
+        when(imageOneMock.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT)).then(
             (invocation) ->
             {
                 final FragmentHandler handler = (FragmentHandler)invocation.getArguments()[0];
@@ -105,10 +111,10 @@ public class SubscriptionTest
     @Test
     public void shouldReadDataFromMultipleSources()
     {
-        subscription.addConnection(connectionOneMock);
-        subscription.addConnection(connectionTwoMock);
+        subscription.addImage(imageOneMock);
+        subscription.addImage(imageTwoMock);
 
-        when(connectionOneMock.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT, errorHandler)).then(
+        when(imageOneMock.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT)).then(
             (invocation) ->
             {
                 final FragmentHandler handler = (FragmentHandler)invocation.getArguments()[0];
@@ -117,7 +123,7 @@ public class SubscriptionTest
                 return 1;
             });
 
-        when(connectionTwoMock.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT, errorHandler)).then(
+        when(imageTwoMock.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT)).then(
             (invocation) ->
             {
                 final FragmentHandler handler = (FragmentHandler)invocation.getArguments()[0];
@@ -129,4 +135,26 @@ public class SubscriptionTest
 
         assertThat(subscription.poll(fragmentHandler, FRAGMENT_COUNT_LIMIT), is(2));
     }
+
+    @Test
+    public void shouldNotifyHandlersAndExposeImagesAsTheyAreAddedAndRemoved()
+    {
+        final long correlationId = 7;
+        final ManagedResource imageResource = mock(ManagedResource.class);
+        when(imageOneMock.correlationId()).thenReturn(correlationId);
+        when(imageOneMock.close()).thenReturn(imageResource);
+
+        subscription.addImage(imageOneMock);
+
+        verify(availableImageHandler).onAvailableImage(imageOneMock);
+        assertThat(subscription.images(), contains(imageOneMock));
+
+        assertTrue(subscription.removeImage(correlationId));
+
+        final InOrder inOrder = inOrder(imageOneMock, conductor, unavailableImageHandler);
+        inOrder.verify(imageOneMock).close();
+        inOrder.verify(conductor).lingerResource(imageResource);
+        inOrder.verify(unavailableImageHandler).onUnavailableImage(imageOneMock);
+        assertThat(subscription.images(), is(empty()));
+    }
 }
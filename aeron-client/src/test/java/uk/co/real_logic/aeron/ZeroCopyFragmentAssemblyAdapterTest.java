@@ -0,0 +1,161 @@
+package uk.co.real_logic.aeron;
+
+import org.junit.Test;
+import uk.co.real_logic.aeron.logbuffer.Header;
+import uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor;
+import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+public class ZeroCopyFragmentAssemblyAdapterTest
+{
+    private static final int SESSION_ID = 777;
+    private static final int STREAM_ID = 9;
+    private static final int INITIAL_TERM_ID = 3;
+    private static final int TERM_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int FRAGMENT_LENGTH = 100;
+
+    private final UnsafeBuffer termBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_LENGTH));
+    private final UnsafeBuffer otherTermBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_LENGTH));
+    private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
+    private final Header header = new Header(INITIAL_TERM_ID, TERM_LENGTH);
+    private final MessageFragmentsHandler delegate = mock(MessageFragmentsHandler.class);
+    private final ZeroCopyFragmentAssemblyAdapter adapter = new ZeroCopyFragmentAssemblyAdapter(delegate);
+
+    @Test
+    public void shouldPassThroughUnfragmentedMessage()
+    {
+        final int frameOffset = 0;
+        writeFrame(termBuffer, frameOffset, UNFRAGMENTED, (byte)'A');
+
+        doAnswer(
+            (invocation) ->
+            {
+                final MessageFragments fragments = (MessageFragments)invocation.getArguments()[0];
+                assertThat(fragments.buffer(), sameInstance(termBuffer));
+                assertThat(fragments.fragmentCount(), is(1));
+                assertThat(fragments.offset(0), is(frameOffset + HEADER_LENGTH));
+                assertThat(fragments.messageLength(), is(FRAGMENT_LENGTH));
+                return null;
+            })
+            .when(delegate).onMessage(any(MessageFragments.class), any(Header.class));
+
+        deliver(termBuffer, frameOffset);
+
+        verify(delegate).onMessage(any(MessageFragments.class), eq(header));
+    }
+
+    @Test
+    public void shouldAssembleContiguousFragmentsWithoutCopy()
+    {
+        final int alignedFrameLength = align(FRAGMENT_LENGTH + HEADER_LENGTH, FRAME_ALIGNMENT);
+        writeFrame(termBuffer, 0, BEGIN_FRAG, (byte)'A');
+        writeFrame(termBuffer, alignedFrameLength, (byte)0, (byte)'B');
+        writeFrame(termBuffer, alignedFrameLength * 2, END_FRAG, (byte)'C');
+
+        doAnswer(
+            (invocation) ->
+            {
+                final MessageFragments fragments = (MessageFragments)invocation.getArguments()[0];
+                final Header header = (Header)invocation.getArguments()[1];
+
+                assertThat(fragments.buffer(), sameInstance(termBuffer));
+                assertThat(fragments.fragmentCount(), is(3));
+                assertThat(fragments.offset(1), is(alignedFrameLength + HEADER_LENGTH));
+                assertThat(fragments.messageLength(), is(FRAGMENT_LENGTH * 3));
+                assertThat(header.flags(), is(UNFRAGMENTED));
+                assertMessage(fragments);
+                return null;
+            })
+            .when(delegate).onMessage(any(MessageFragments.class), any(Header.class));
+
+        deliver(termBuffer, 0);
+        deliver(termBuffer, alignedFrameLength);
+        verify(delegate, never()).onMessage(any(MessageFragments.class), any(Header.class));
+
+        deliver(termBuffer, alignedFrameLength * 2);
+        verify(delegate, times(1)).onMessage(any(MessageFragments.class), any(Header.class));
+    }
+
+    @Test
+    public void shouldFallBackToCopyWhenFragmentsAreNotContiguous()
+    {
+        final int alignedFrameLength = align(FRAGMENT_LENGTH + HEADER_LENGTH, FRAME_ALIGNMENT);
+        writeFrame(termBuffer, 0, BEGIN_FRAG, (byte)'A');
+        writeFrame(termBuffer, alignedFrameLength, (byte)0, (byte)'B');
+        writeFrame(otherTermBuffer, 0, END_FRAG, (byte)'C');
+
+        doAnswer(
+            (invocation) ->
+            {
+                final MessageFragments fragments = (MessageFragments)invocation.getArguments()[0];
+
+                assertThat(fragments.buffer(), not(sameInstance(termBuffer)));
+                assertThat(fragments.fragmentCount(), is(1));
+                assertThat(fragments.messageLength(), is(FRAGMENT_LENGTH * 3));
+                assertMessage(fragments);
+                return null;
+            })
+            .when(delegate).onMessage(any(MessageFragments.class), any(Header.class));
+
+        deliver(termBuffer, 0);
+        deliver(termBuffer, alignedFrameLength);
+        deliver(otherTermBuffer, 0);
+
+        verify(delegate, times(1)).onMessage(any(MessageFragments.class), any(Header.class));
+    }
+
+    @Test
+    public void shouldDoNothingIfEndArrivesWithoutBegin()
+    {
+        writeFrame(termBuffer, 0, END_FRAG, (byte)'C');
+
+        deliver(termBuffer, 0);
+
+        verify(delegate, never()).onMessage(any(MessageFragments.class), any(Header.class));
+    }
+
+    private void writeFrame(final UnsafeBuffer buffer, final int frameOffset, final byte flags, final byte value)
+    {
+        dataHeader.wrap(buffer, frameOffset);
+        dataHeader.termId(INITIAL_TERM_ID)
+                  .streamId(STREAM_ID)
+                  .sessionId(SESSION_ID)
+                  .termOffset(frameOffset)
+                  .frameLength(FRAGMENT_LENGTH + HEADER_LENGTH)
+                  .headerType(DataHeaderFlyweight.HDR_TYPE_DATA)
+                  .flags(flags)
+                  .version(DataHeaderFlyweight.CURRENT_VERSION);
+
+        buffer.setMemory(frameOffset + HEADER_LENGTH, FRAGMENT_LENGTH, value);
+    }
+
+    private void deliver(final UnsafeBuffer buffer, final int frameOffset)
+    {
+        header.buffer(buffer);
+        header.offset(frameOffset);
+
+        adapter.onFragment(buffer, frameOffset + HEADER_LENGTH, FRAGMENT_LENGTH, header);
+    }
+
+    private static void assertMessage(final MessageFragments fragments)
+    {
+        final UnsafeBuffer message = new UnsafeBuffer(new byte[fragments.messageLength()]);
+        fragments.getBytes(message, 0);
+
+        assertThat(message.getByte(0), is((byte)'A'));
+        assertThat(message.getByte(FRAGMENT_LENGTH), is((byte)'B'));
+        assertThat(message.getByte((FRAGMENT_LENGTH * 3) - 1), is((byte)'C'));
+    }
+}
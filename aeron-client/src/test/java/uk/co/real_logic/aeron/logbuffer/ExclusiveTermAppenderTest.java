@@ -0,0 +1,163 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.logbuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import uk.co.real_logic.agrona.MutableDirectBuffer;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.nio.ByteBuffer;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.TERM_META_DATA_LENGTH;
+import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.TERM_TAIL_COUNTER_OFFSET;
+import static uk.co.real_logic.aeron.protocol.DataHeaderFlyweight.HEADER_LENGTH;
+import static uk.co.real_logic.agrona.BitUtil.*;
+
+public class ExclusiveTermAppenderTest
+{
+    private static final int TERM_BUFFER_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int META_DATA_BUFFER_LENGTH = TERM_META_DATA_LENGTH;
+    private static final int MAX_FRAME_LENGTH = 1024;
+    private static final MutableDirectBuffer DEFAULT_HEADER = new UnsafeBuffer(ByteBuffer.allocateDirect(HEADER_LENGTH));
+
+    private final UnsafeBuffer termBuffer = spy(new UnsafeBuffer(ByteBuffer.allocateDirect(TERM_BUFFER_LENGTH)));
+    private final UnsafeBuffer metaDataBuffer = mock(UnsafeBuffer.class);
+
+    private ExclusiveTermAppender termAppender;
+
+    @Before
+    public void setUp()
+    {
+        when(termBuffer.capacity()).thenReturn(TERM_BUFFER_LENGTH);
+        when(metaDataBuffer.capacity()).thenReturn(META_DATA_BUFFER_LENGTH);
+
+        termAppender = new ExclusiveTermAppender(termBuffer, metaDataBuffer, DEFAULT_HEADER, MAX_FRAME_LENGTH);
+    }
+
+    @Test
+    public void shouldAppendFrameTwiceToLogWithoutAtomicIncrement()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        int tail = 0;
+
+        assertThat(termAppender.append(tail, buffer, 0, msgLength), is(alignedFrameLength));
+        assertThat(termAppender.append(alignedFrameLength, buffer, 0, msgLength), is(alignedFrameLength * 2));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).putIntOrdered(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength);
+        inOrder.verify(termBuffer, times(1)).putInt(tail, -frameLength, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
+
+        tail = alignedFrameLength;
+        inOrder.verify(metaDataBuffer, times(1)).putIntOrdered(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2);
+        inOrder.verify(termBuffer, times(1)).putInt(tail, -frameLength, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
+
+        verify(metaDataBuffer, never()).getAndAddInt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldPadLogAndTripWhenAppendingWithInsufficientRemainingCapacity()
+    {
+        final int msgLength = 120;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int tailValue = TERM_BUFFER_LENGTH - align(msgLength, FRAME_ALIGNMENT);
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int frameLength = TERM_BUFFER_LENGTH - tailValue;
+
+        assertThat(termAppender.append(tailValue, buffer, 0, msgLength), is(TermAppender.TRIPPED));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1))
+            .putIntOrdered(TERM_TAIL_COUNTER_OFFSET, tailValue + align(headerLength + msgLength, FRAME_ALIGNMENT));
+        inOrder.verify(termBuffer, times(1)).putInt(tailValue, -frameLength, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tailValue), tailValue, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
+    }
+
+    @Test
+    public void shouldFragmentMessageOverTwoFrames()
+    {
+        final int msgLength = termAppender.maxPayloadLength() + 1;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int frameLength = headerLength + 1;
+        final int requiredCapacity = align(headerLength + 1, FRAME_ALIGNMENT) + termAppender.maxFrameLength();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[msgLength]);
+
+        assertThat(termAppender.append(0, buffer, 0, msgLength), is(requiredCapacity));
+
+        int tail  = 0;
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).putIntOrdered(TERM_TAIL_COUNTER_OFFSET, requiredCapacity);
+
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, buffer, 0, termAppender.maxPayloadLength());
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), BEGIN_FRAG);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, termAppender.maxFrameLength());
+
+        tail = termAppender.maxFrameLength();
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, buffer, termAppender.maxPayloadLength(), 1);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), END_FRAG);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
+    }
+
+    @Test
+    public void shouldClaimRegionForZeroCopyEncoding()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final int tail = 64;
+        final BufferClaim bufferClaim = new BufferClaim();
+
+        assertThat(termAppender.claim(tail, msgLength, bufferClaim), is(tail + alignedFrameLength));
+
+        assertThat(bufferClaim.offset(), is(headerLength));
+        assertThat(bufferClaim.length(), is(msgLength));
+
+        bufferClaim.commit();
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).putIntOrdered(TERM_TAIL_COUNTER_OFFSET, tail + alignedFrameLength);
+        inOrder.verify(termBuffer, times(1)).putInt(tail, -frameLength, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenMaxMessageLengthExceeded()
+    {
+        final int maxMessageLength = termAppender.maxMessageLength();
+        final UnsafeBuffer srcBuffer = new UnsafeBuffer(new byte[1024]);
+
+        termAppender.append(0, srcBuffer, 0, maxMessageLength + 1);
+    }
+}
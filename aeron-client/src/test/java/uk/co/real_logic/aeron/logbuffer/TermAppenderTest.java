@@ -300,6 +300,108 @@ public class TermAppenderTest
         inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
     }
 
+    @Test
+    public void shouldClaimFragmentedRegionForZeroCopyEncoding()
+    {
+        final int msgLength = termAppender.maxPayloadLength() + 1;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int frameLength = headerLength + 1;
+        final int requiredCapacity = align(headerLength + 1, FRAME_ALIGNMENT) + termAppender.maxFrameLength();
+        final FragmentedBufferClaim claim = new FragmentedBufferClaim();
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity)).thenReturn(0);
+
+        assertThat(termAppender.claim(msgLength, claim), is(requiredCapacity));
+
+        assertThat(claim.length(), is(msgLength));
+        assertThat(claim.fragmentCount(), is(2));
+        assertThat(claim.fragment(0).length(), is(termAppender.maxPayloadLength()));
+        assertThat(claim.fragment(1).length(), is(1));
+
+        int tail = 0;
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredCapacity);
+        verifyDefaultHeader(inOrder, termBuffer, tail, termAppender.maxFrameLength());
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), BEGIN_FRAG);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+
+        tail = termAppender.maxFrameLength();
+        verifyDefaultHeader(inOrder, termBuffer, tail, frameLength);
+        inOrder.verify(termBuffer, times(1)).putByte(flagsOffset(tail), END_FRAG);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+
+        claim.commit();
+
+        assertThat(termBuffer.getInt(0, LITTLE_ENDIAN), is(termAppender.maxFrameLength()));
+        assertThat(termBuffer.getInt(tail, LITTLE_ENDIAN), is(frameLength));
+    }
+
+    @Test
+    public void shouldAppendBatchAsConsecutiveFramesWithSingleTailIncrement()
+    {
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int msgLength = 20;
+        final int frameLength = msgLength + headerLength;
+        final int alignedFrameLength = align(frameLength, FRAME_ALIGNMENT);
+        final MessageBatch batch = new MessageBatch()
+            .add(buffer, 0, msgLength)
+            .add(buffer, msgLength, msgLength);
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2)).thenReturn(0);
+
+        assertThat(termAppender.append(batch), is(alignedFrameLength * 2));
+
+        int tail = 0;
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, alignedFrameLength * 2);
+        verifyDefaultHeader(inOrder, termBuffer, tail, frameLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(headerLength, buffer, 0, msgLength);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
+
+        tail = alignedFrameLength;
+        verifyDefaultHeader(inOrder, termBuffer, tail, frameLength);
+        inOrder.verify(termBuffer, times(1)).putBytes(tail + headerLength, buffer, msgLength, msgLength);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tail), tail, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tail, frameLength);
+
+        verify(metaDataBuffer, times(1)).getAndAddInt(anyInt(), anyInt());
+    }
+
+    @Test
+    public void shouldPadLogAndTripWhenAppendingBatchWithInsufficientRemainingCapacity()
+    {
+        final int msgLength = 120;
+        final int headerLength = DEFAULT_HEADER.capacity();
+        final int requiredFrameSize = align(headerLength + msgLength, FRAME_ALIGNMENT);
+        final int tailValue = termAppender.termBuffer().capacity() - requiredFrameSize;
+        final UnsafeBuffer buffer = new UnsafeBuffer(new byte[128]);
+        final int frameLength = TERM_BUFFER_LENGTH - tailValue;
+        final MessageBatch batch = new MessageBatch()
+            .add(buffer, 0, msgLength)
+            .add(buffer, 0, msgLength);
+
+        when(metaDataBuffer.getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredFrameSize * 2))
+            .thenReturn(tailValue);
+
+        assertThat(termAppender.append(batch), is(TermAppender.TRIPPED));
+
+        final InOrder inOrder = inOrder(termBuffer, metaDataBuffer);
+        inOrder.verify(metaDataBuffer, times(1)).getAndAddInt(TERM_TAIL_COUNTER_OFFSET, requiredFrameSize * 2);
+        verifyDefaultHeader(inOrder, termBuffer, tailValue, frameLength);
+        inOrder.verify(termBuffer, times(1)).putShort(typeOffset(tailValue), (short)PADDING_FRAME_TYPE, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putInt(termOffsetOffset(tailValue), tailValue, LITTLE_ENDIAN);
+        inOrder.verify(termBuffer, times(1)).putIntOrdered(tailValue, frameLength);
+        verify(termBuffer, never()).putBytes(anyInt(), eq(buffer), anyInt(), anyInt());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldThrowExceptionWhenAppendingEmptyBatch()
+    {
+        termAppender.append(new MessageBatch());
+    }
+
     private void verifyDefaultHeader(
         final InOrder inOrder, final UnsafeBuffer termBuffer, final int frameOffset, final int frameLength)
     {
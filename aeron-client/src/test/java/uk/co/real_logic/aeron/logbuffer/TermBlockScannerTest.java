@@ -0,0 +1,142 @@
+package uk.co.real_logic.aeron.logbuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.*;
+import static uk.co.real_logic.aeron.protocol.HeaderFlyweight.HDR_TYPE_DATA;
+import static uk.co.real_logic.aeron.protocol.HeaderFlyweight.HDR_TYPE_PAD;
+import static uk.co.real_logic.agrona.BitUtil.align;
+
+public class TermBlockScannerTest
+{
+    private static final int TERM_BUFFER_CAPACITY = LogBufferDescriptor.TERM_MIN_LENGTH;
+    private static final int HEADER_LENGTH = DataHeaderFlyweight.HEADER_LENGTH;
+
+    private final UnsafeBuffer termBuffer = mock(UnsafeBuffer.class);
+
+    @Before
+    public void setUp()
+    {
+        when(termBuffer.capacity()).thenReturn(TERM_BUFFER_CAPACITY);
+    }
+
+    @Test
+    public void shouldScanEmptyBuffer()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+
+        final int newOffset = TermBlockScanner.scan(termBuffer, offset, limit);
+
+        assertThat(newOffset, is(offset));
+    }
+
+    @Test
+    public void shouldReadFirstMessage()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+
+        when(termBuffer.getIntVolatile(0)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+
+        final int newOffset = TermBlockScanner.scan(termBuffer, offset, limit);
+
+        assertThat(newOffset, is(alignedMessageLength));
+    }
+
+    @Test
+    public void shouldReadBlockOfTwoMessages()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+
+        when(termBuffer.getIntVolatile(0)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(alignedMessageLength)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength))).thenReturn((short)HDR_TYPE_DATA);
+
+        final int newOffset = TermBlockScanner.scan(termBuffer, offset, limit);
+
+        assertThat(newOffset, is(alignedMessageLength * 2));
+    }
+
+    @Test
+    public void shouldReadBlockOfOneMessageThatFitsInLimit()
+    {
+        final int offset = 0;
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+        final int limit = alignedMessageLength + 1;
+
+        when(termBuffer.getIntVolatile(0)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(alignedMessageLength)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength))).thenReturn((short)HDR_TYPE_DATA);
+
+        final int newOffset = TermBlockScanner.scan(termBuffer, offset, limit);
+
+        assertThat(newOffset, is(alignedMessageLength));
+    }
+
+    @Test
+    public void shouldReadFirstMessageWhenLongerThanLimit()
+    {
+        final int offset = 0;
+        final int messageLength = 1000;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+        final int limit = HEADER_LENGTH * 4;
+
+        when(termBuffer.getIntVolatile(0)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(alignedMessageLength)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(alignedMessageLength))).thenReturn((short)HDR_TYPE_DATA);
+
+        final int newOffset = TermBlockScanner.scan(termBuffer, offset, limit);
+
+        assertThat(newOffset, is(alignedMessageLength));
+    }
+
+    @Test
+    public void shouldReadBlockOfMessagesEndingBeforePadding()
+    {
+        final int offset = 0;
+        final int limit = termBuffer.capacity();
+        final int messageLength = 50;
+        final int alignedMessageLength = align(messageLength, FRAME_ALIGNMENT);
+        final int paddingOffset = alignedMessageLength;
+
+        when(termBuffer.getIntVolatile(0)).thenReturn(messageLength);
+        when(termBuffer.getShort(typeOffset(0))).thenReturn((short)HDR_TYPE_DATA);
+        when(termBuffer.getIntVolatile(paddingOffset)).thenReturn(limit - paddingOffset);
+        when(termBuffer.getShort(typeOffset(paddingOffset))).thenReturn((short)HDR_TYPE_PAD);
+
+        final int newOffset = TermBlockScanner.scan(termBuffer, offset, limit);
+
+        assertThat(newOffset, is(paddingOffset));
+    }
+
+    @Test
+    public void shouldReadPaddingWhenItIsTheFirstFrame()
+    {
+        final int limit = termBuffer.capacity();
+        final int paddingOffset = limit - (HEADER_LENGTH * 4);
+
+        when(termBuffer.getIntVolatile(paddingOffset)).thenReturn(limit - paddingOffset);
+        when(termBuffer.getShort(typeOffset(paddingOffset))).thenReturn((short)HDR_TYPE_PAD);
+
+        final int newOffset = TermBlockScanner.scan(termBuffer, paddingOffset, limit);
+
+        assertThat(newOffset, is(limit));
+    }
+}
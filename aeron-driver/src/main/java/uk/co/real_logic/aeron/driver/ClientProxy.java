@@ -86,6 +86,7 @@ public class ClientProxy
         final RawLog rawLog,
         final long correlationId,
         final List<SubscriberPosition> subscriberPositions,
+        final int hwmPositionId,
         final String sourceIdentity)
     {
         connectionReady.wrap(tmpBuffer, 0);
@@ -94,6 +95,7 @@ public class ClientProxy
             .streamId(streamId)
             .joiningPosition(joiningPosition)
             .correlationId(correlationId)
+            .hwmPositionId(hwmPositionId)
             .logFileName(rawLog.logFileName())
             .sourceIdentity(sourceIdentity);
 
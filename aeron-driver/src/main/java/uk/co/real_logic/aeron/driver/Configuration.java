@@ -15,6 +15,8 @@
  */
 package uk.co.real_logic.aeron.driver;
 
+import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpointSupplier;
+import uk.co.real_logic.aeron.driver.media.SendChannelEndpointSupplier;
 import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.LangUtil;
 import uk.co.real_logic.agrona.TimerWheel;
@@ -139,6 +141,55 @@ public class Configuration
     public static final int RECEIVE_BYTE_BUFFER_LENGTH = getInteger(
         RECEIVE_BUFFER_LENGTH_PROP_NAME, RECEIVE_BYTE_BUFFER_LENGTH_DEFAULT);
 
+    /**
+     * Number of receiver agents across which receive channel endpoints are spread.
+     */
+    public static final String RECEIVER_COUNT_PROP_NAME = "aeron.receiver.count";
+    public static final int RECEIVER_COUNT_DEFAULT = 1;
+
+    /**
+     * Number of sender agents across which send channel endpoints and their publications are spread.
+     */
+    public static final String SENDER_COUNT_PROP_NAME = "aeron.sender.count";
+    public static final int SENDER_COUNT_DEFAULT = 1;
+
+    /**
+     * Maximum number of datagrams to receive from a single transport in one poll before moving on.
+     */
+    public static final String RECEIVE_BUDGET_PROP_NAME = "aeron.receive.budget";
+    public static final int RECEIVE_BUDGET_DEFAULT = 16;
+
+    /**
+     * Maximum number of control messages a sender agent reads from a single transport in one poll before moving on.
+     */
+    public static final String SENDER_CONTROL_BUDGET_PROP_NAME = "aeron.sender.control.budget";
+    public static final int SENDER_CONTROL_BUDGET_DEFAULT = 16;
+
+    /**
+     * Maximum number of bytes a sender agent retransmits in one duty cycle after sending new data.
+     */
+    public static final String SENDER_RETRANSMIT_BUDGET_PROP_NAME = "aeron.sender.retransmit.budget";
+    public static final int SENDER_RETRANSMIT_BUDGET_DEFAULT = 64 * 1024;
+
+    /**
+     * Number of NAKed ranges a publication can queue for paced retransmission. When not set the queue is sized to
+     * hold a range per MTU of the publication term window.
+     */
+    public static final String RETRANSMIT_QUEUE_CAPACITY_PROP_NAME = "aeron.sender.retransmit.queue.capacity";
+    public static final int RETRANSMIT_QUEUE_CAPACITY = getInteger(RETRANSMIT_QUEUE_CAPACITY_PROP_NAME, 0);
+    public static final int RETRANSMIT_QUEUE_CAPACITY_MIN = 16;
+
+    /**
+     * Should agent duty cycles be timed and recorded into counters in the CnC file.
+     */
+    public static final String DUTY_CYCLE_INSTRUMENTATION_PROP_NAME = "aeron.duty.cycle.instrumentation";
+
+    /**
+     * Duty cycle time in nanoseconds above which a cycle is counted as a stall when duty cycles are instrumented.
+     */
+    public static final String DUTY_CYCLE_THRESHOLD_PROP_NAME = "aeron.duty.cycle.threshold";
+    public static final long DUTY_CYCLE_THRESHOLD_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(1);
+
     /**
      * Default term buffer length.
      */
@@ -208,6 +259,27 @@ public class Configuration
     public static final StaticDelayGenerator NO_NAK_DELAY_GENERATOR = new StaticDelayGenerator(
             -1, false);
 
+    /**
+     * Delay before NAKing a gap on a channel with forward error correction so the parity frame for the group of
+     * datagrams has a chance to rebuild it. Subsequent NAKs for the gap use the same delay.
+     */
+    public static final String FEC_NAK_DELAY_PROP_NAME = "aeron.fec.nak.delay";
+    public static final long FEC_NAK_DELAY_DEFAULT_NS = TimeUnit.MILLISECONDS.toNanos(10);
+    public static final StaticDelayGenerator FEC_NAK_DELAY_GENERATOR = new StaticDelayGenerator(
+        getLong(FEC_NAK_DELAY_PROP_NAME, FEC_NAK_DELAY_DEFAULT_NS), false);
+
+    /**
+     * Maximum number of data datagrams a channel can have covered by each forward error correction parity frame.
+     */
+    public static final int FEC_MAX_GROUP_SIZE = 64;
+
+    /**
+     * Maximum number of gaps in a term that are tracked and NAKed together by a connection.
+     */
+    public static final String NAK_MAX_GAPS_PROP_NAME = "aeron.nak.max.gaps";
+    public static final int NAK_MAX_GAPS_DEFAULT = 16;
+    public static final int NAK_MAX_GAPS = getInteger(NAK_MAX_GAPS_PROP_NAME, NAK_MAX_GAPS_DEFAULT);
+
     /**
      * Default delay for retransmission of data for unicast
      */
@@ -224,9 +296,18 @@ public class Configuration
     public static final FeedbackDelayGenerator RETRANSMIT_UNICAST_LINGER_GENERATOR = () -> RETRANSMIT_UNICAST_LINGER_DEFAULT_NS;
 
     /**
-     * Default max number of active retransmissions per Term
+     * Number of retransmit actions pre-allocated per publication, more are allocated on demand up to
+     * {@link #MAX_RETRANSMITS}.
+     */
+    public static final int RETRANSMITS_PREALLOCATED = 16;
+
+    /**
+     * Maximum number of concurrent retransmit actions per publication. The default allows a full burst of
+     * {@link #NAK_MAX_GAPS} gaps from several receivers to be outstanding at once.
      */
-    public static final int MAX_RETRANSMITS_DEFAULT = 16;
+    public static final String MAX_RETRANSMITS_PROP_NAME = "aeron.retransmit.max";
+    public static final int MAX_RETRANSMITS_DEFAULT = NAK_MAX_GAPS * 4;
+    public static final int MAX_RETRANSMITS = getInteger(MAX_RETRANSMITS_PROP_NAME, MAX_RETRANSMITS_DEFAULT);
 
     /**
      * Default initial window length for flow control sender to receiver purposes
@@ -328,11 +409,34 @@ public class Configuration
     public static final String MULTICAST_FLOW_CONTROL_STRATEGY = getProperty(
         MULTICAST_FLOW_CONTROL_STRATEGY_PROP_NAME, "uk.co.real_logic.aeron.driver.MaxMulticastFlowControl");
 
+    /**
+     * {@link SendChannelEndpointSupplier} to be employed for creating send channel endpoints.
+     */
+    public static final String SEND_CHANNEL_ENDPOINT_SUPPLIER_PROP_NAME = "aeron.send.channel.endpoint.supplier";
+    public static final String SEND_CHANNEL_ENDPOINT_SUPPLIER = getProperty(
+        SEND_CHANNEL_ENDPOINT_SUPPLIER_PROP_NAME, "uk.co.real_logic.aeron.driver.media.DefaultSendChannelEndpointSupplier");
+
+    /**
+     * {@link ReceiveChannelEndpointSupplier} to be employed for creating receive channel endpoints.
+     */
+    public static final String RECEIVE_CHANNEL_ENDPOINT_SUPPLIER_PROP_NAME = "aeron.receive.channel.endpoint.supplier";
+    public static final String RECEIVE_CHANNEL_ENDPOINT_SUPPLIER = getProperty(
+        RECEIVE_CHANNEL_ENDPOINT_SUPPLIER_PROP_NAME,
+        "uk.co.real_logic.aeron.driver.media.DefaultReceiveChannelEndpointSupplier");
+
     /** Length of the maximum transport unit of the media driver's protocol */
     public static final String MTU_LENGTH_PROP_NAME = "aeron.mtu.length";
     public static final int MTU_LENGTH_DEFAULT = 4096;
     public static final int MTU_LENGTH = getInteger(MTU_LENGTH_PROP_NAME, MTU_LENGTH_DEFAULT);
 
+    /**
+     * Length in bytes a sender may send from a single publication in one duty cycle before moving on to the next
+     * publication. At least one datagram is always sent when data is available and the flow control window permits.
+     * Defaults to {@link #SENDER_BURST_MTU_MULTIPLE} times the MTU length in use.
+     */
+    public static final String SENDER_BURST_LENGTH_PROP_NAME = "aeron.sender.burst.length";
+    public static final int SENDER_BURST_MTU_MULTIPLE = 4;
+
     public static final String THREADING_MODE_PROP_NAME = "aeron.threading.mode";
     public static final String THREADING_MODE_DEFAULT = DEDICATED.name();
 
@@ -366,6 +470,20 @@ public class Configuration
         return 0 != PUBLICATION_TERM_WINDOW_LENGTH ? PUBLICATION_TERM_WINDOW_LENGTH : termCapacity / 2;
     }
 
+    /**
+     * How many NAKed ranges a publication can queue for paced retransmission.
+     *
+     * @param termWindowLength of the publication.
+     * @param mtuLength        of the publication.
+     * @return the capacity of the retransmit queue which is a power of 2.
+     */
+    public static int retransmitQueueCapacity(final int termWindowLength, final int mtuLength)
+    {
+        final int capacity = 0 != RETRANSMIT_QUEUE_CAPACITY ? RETRANSMIT_QUEUE_CAPACITY : termWindowLength / mtuLength;
+
+        return BitUtil.findNextPositivePowerOfTwo(Math.max(capacity, RETRANSMIT_QUEUE_CAPACITY_MIN));
+    }
+
     /**
      * Validate the the term buffer length is a power of two.
      *
@@ -393,6 +511,34 @@ public class Configuration
         }
     }
 
+    /**
+     * Validate that there is at least one agent of a given role.
+     *
+     * @param role  of the agents for the error message.
+     * @param count to be validated.
+     */
+    public static void validateAgentCount(final String role, final int count)
+    {
+        if (count < 1)
+        {
+            throw new IllegalStateException(role + " count must be >= 1: " + count);
+        }
+    }
+
+    /**
+     * Validate that a per duty cycle budget allows some work to be done.
+     *
+     * @param name   of the budget for the error message.
+     * @param budget to be validated.
+     */
+    public static void validateBudget(final String name, final int budget)
+    {
+        if (budget < 1)
+        {
+            throw new IllegalStateException(name + " budget must be >= 1: " + budget);
+        }
+    }
+
     public static IdleStrategy agentIdleStrategy()
     {
         IdleStrategy idleStrategy = null;
@@ -448,6 +594,36 @@ public class Configuration
         return flowControl;
     }
 
+    public static SendChannelEndpointSupplier sendChannelEndpointSupplier()
+    {
+        SendChannelEndpointSupplier supplier = null;
+        try
+        {
+            supplier = (SendChannelEndpointSupplier)Class.forName(SEND_CHANNEL_ENDPOINT_SUPPLIER).newInstance();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return supplier;
+    }
+
+    public static ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier()
+    {
+        ReceiveChannelEndpointSupplier supplier = null;
+        try
+        {
+            supplier = (ReceiveChannelEndpointSupplier)Class.forName(RECEIVE_CHANNEL_ENDPOINT_SUPPLIER).newInstance();
+        }
+        catch (final Exception ex)
+        {
+            LangUtil.rethrowUnchecked(ex);
+        }
+
+        return supplier;
+    }
+
     public static TimerWheel newConductorTimerWheel()
     {
         return new TimerWheel(CONDUCTOR_TICK_DURATION_US, TimeUnit.MICROSECONDS, CONDUCTOR_TICKS_PER_WHEEL);
@@ -468,6 +644,46 @@ public class Configuration
         return getInteger(INITIAL_WINDOW_LENGTH_PROP_NAME, INITIAL_WINDOW_LENGTH_DEFAULT);
     }
 
+    public static int receiverCount()
+    {
+        return getInteger(RECEIVER_COUNT_PROP_NAME, RECEIVER_COUNT_DEFAULT);
+    }
+
+    public static int senderCount()
+    {
+        return getInteger(SENDER_COUNT_PROP_NAME, SENDER_COUNT_DEFAULT);
+    }
+
+    public static int receiveBudget()
+    {
+        return getInteger(RECEIVE_BUDGET_PROP_NAME, RECEIVE_BUDGET_DEFAULT);
+    }
+
+    public static int senderControlBudget()
+    {
+        return getInteger(SENDER_CONTROL_BUDGET_PROP_NAME, SENDER_CONTROL_BUDGET_DEFAULT);
+    }
+
+    public static int senderRetransmitBudget()
+    {
+        return getInteger(SENDER_RETRANSMIT_BUDGET_PROP_NAME, SENDER_RETRANSMIT_BUDGET_DEFAULT);
+    }
+
+    public static boolean dutyCycleInstrumentation()
+    {
+        return Boolean.parseBoolean(getProperty(DUTY_CYCLE_INSTRUMENTATION_PROP_NAME, "false"));
+    }
+
+    public static long dutyCycleThresholdNs()
+    {
+        return getLong(DUTY_CYCLE_THRESHOLD_PROP_NAME, DUTY_CYCLE_THRESHOLD_DEFAULT_NS);
+    }
+
+    public static int senderBurstLength(final int mtuLength)
+    {
+        return getInteger(SENDER_BURST_LENGTH_PROP_NAME, SENDER_BURST_MTU_MULTIPLE * mtuLength);
+    }
+
     public static long statusMessageTimeout()
     {
         return getLong(STATUS_MESSAGE_TIMEOUT_PROP_NAME, STATUS_MESSAGE_TIMEOUT_DEFAULT_NS);
@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.protocol.ParityFlyweight;
 import uk.co.real_logic.aeron.protocol.SetupFlyweight;
 import uk.co.real_logic.aeron.driver.exceptions.UnknownSubscriptionException;
 import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpoint;
@@ -31,7 +32,7 @@ import java.net.InetSocketAddress;
  *
  * All methods should be called via {@link Receiver} thread
  */
-public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHandler
+public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHandler, ParityPacketHandler
 {
     private static final Integer PENDING_SETUP_FRAME = 1;
     private static final Integer INIT_IN_PROGRESS = 2;
@@ -134,6 +135,24 @@ public class DataPacketDispatcher implements DataPacketHandler, SetupMessageHand
         return 0;
     }
 
+    public int onParityPacket(
+        final ParityFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
+    {
+        final Int2ObjectHashMap<NetworkConnection> connectionBySessionIdMap = sessionsByStreamIdMap.get(header.streamId());
+
+        if (null != connectionBySessionIdMap)
+        {
+            final NetworkConnection connection = connectionBySessionIdMap.get(header.sessionId());
+
+            if (null != connection)
+            {
+                return connection.insertParity(header, buffer, length);
+            }
+        }
+
+        return 0;
+    }
+
     public void onSetupMessage(
         final SetupFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
     {
@@ -24,13 +24,17 @@ import uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor;
 import uk.co.real_logic.aeron.driver.event.EventCode;
 import uk.co.real_logic.aeron.driver.event.EventLogger;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.protocol.ParityFlyweight;
 import uk.co.real_logic.aeron.driver.MediaDriver.Context;
 import uk.co.real_logic.aeron.driver.buffer.RawLog;
 import uk.co.real_logic.aeron.driver.buffer.RawLogFactory;
 import uk.co.real_logic.aeron.driver.cmd.DriverConductorCmd;
 import uk.co.real_logic.aeron.driver.exceptions.ControlProtocolException;
+import uk.co.real_logic.aeron.driver.exceptions.InvalidChannelException;
 import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpoint;
+import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpointSupplier;
 import uk.co.real_logic.aeron.driver.media.SendChannelEndpoint;
+import uk.co.real_logic.aeron.driver.media.SendChannelEndpointSupplier;
 import uk.co.real_logic.aeron.driver.media.UdpChannel;
 import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.MutableDirectBuffer;
@@ -50,6 +54,8 @@ import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 import static java.util.stream.Collectors.toList;
+import static uk.co.real_logic.aeron.CommonContext.IPC_CHANNEL;
+import static uk.co.real_logic.aeron.CommonContext.SPY_PREFIX;
 import static uk.co.real_logic.aeron.ErrorCode.*;
 import static uk.co.real_logic.aeron.command.ControlProtocolEvents.*;
 import static uk.co.real_logic.aeron.driver.event.EventConfiguration.EVENT_READER_FRAME_LIMIT;
@@ -60,25 +66,32 @@ import static uk.co.real_logic.aeron.driver.Configuration.*;
  */
 public class DriverConductor implements Agent
 {
+    private static final String IPC_CANONICAL_FORM = "IPC";
+
     private final int mtuLength;
+    private final int senderBurstLength;
     private final int termBufferLength;
     private final int initialWindowLength;
 
     private final RawLogFactory rawLogFactory;
-    private final ReceiverProxy receiverProxy;
-    private final SenderProxy senderProxy;
+    private final ReceiverProxy[] receiverProxies;
+    private final SenderProxy[] senderProxies;
     private final ClientProxy clientProxy;
     private final DriverConductorProxy fromReceiverConductorProxy;
     private final RingBuffer toDriverCommands;
     private final RingBuffer toEventReader;
-    private final OneToOneConcurrentArrayQueue<DriverConductorCmd> fromReceiverDriverConductorCmdQueue;
-    private final OneToOneConcurrentArrayQueue<DriverConductorCmd> fromSenderDriverConductorCmdQueue;
+    private final ManyToOneConcurrentArrayQueue<DriverConductorCmd> fromReceiverDriverConductorCmdQueue;
+    private final ManyToOneConcurrentArrayQueue<DriverConductorCmd> fromSenderDriverConductorCmdQueue;
     private final Supplier<FlowControl> unicastFlowControl;
     private final Supplier<FlowControl> multicastFlowControl;
+    private final SendChannelEndpointSupplier sendChannelEndpointSupplier;
+    private final ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier;
     private final HashMap<String, SendChannelEndpoint> sendChannelEndpointByChannelMap = new HashMap<>();
     private final HashMap<String, ReceiveChannelEndpoint> receiveChannelEndpointByChannelMap = new HashMap<>();
+    private final HashMap<ReceiveChannelEndpoint, ReceiverProxy> receiverProxyByEndpointMap = new HashMap<>();
     private final ArrayList<PublicationLink> publicationLinks = new ArrayList<>();
     private final ArrayList<NetworkPublication> publications = new ArrayList<>();
+    private final ArrayList<IpcPublication> ipcPublications = new ArrayList<>();
     private final ArrayList<SubscriptionLink> subscriptionLinks = new ArrayList<>();
     private final ArrayList<NetworkConnection> connections = new ArrayList<>();
     private final ArrayList<AeronClient> clients = new ArrayList<>();
@@ -106,14 +119,17 @@ public class DriverConductor implements Agent
     {
         fromReceiverDriverConductorCmdQueue = ctx.toConductorFromReceiverCommandQueue();
         fromSenderDriverConductorCmdQueue = ctx.toConductorFromSenderCommandQueue();
-        receiverProxy = ctx.receiverProxy();
-        senderProxy = ctx.senderProxy();
+        receiverProxies = ctx.receiverProxies();
+        senderProxies = ctx.senderProxies();
         rawLogFactory = ctx.rawLogBuffersFactory();
         mtuLength = ctx.mtuLength();
+        senderBurstLength = ctx.senderBurstLength();
         initialWindowLength = ctx.initialWindowLength();
         termBufferLength = ctx.termBufferLength();
         unicastFlowControl = ctx.unicastSenderFlowControl();
         multicastFlowControl = ctx.multicastSenderFlowControl();
+        sendChannelEndpointSupplier = ctx.sendChannelEndpointSupplier();
+        receiveChannelEndpointSupplier = ctx.receiveChannelEndpointSupplier();
         countersManager = ctx.countersManager();
         countersBuffer = ctx.countersBuffer();
         timerWheel = ctx.conductorTimerWheel();
@@ -182,6 +198,27 @@ public class DriverConductor implements Agent
         return String.format("%s:%d", address.getHostString(), address.getPort());
     }
 
+    private static boolean isIpcChannel(final String channel)
+    {
+        if (!channel.startsWith(IPC_CHANNEL))
+        {
+            return false;
+        }
+
+        if (channel.length() == IPC_CHANNEL.length())
+        {
+            return true;
+        }
+
+        final char separator = channel.charAt(IPC_CHANNEL.length());
+        if ('?' != separator && '|' != separator)
+        {
+            throw new InvalidChannelException(INVALID_CHANNEL, "Invalid IPC channel: " + channel);
+        }
+
+        return true;
+    }
+
     private static SubscriptionLink removeSubscription(
         final ArrayList<SubscriptionLink> subscriptions, final long registrationId)
     {
@@ -203,9 +240,11 @@ public class DriverConductor implements Agent
     {
         rawLogFactory.close();
         publications.forEach(NetworkPublication::close);
+        ipcPublications.forEach(IpcPublication::close);
         connections.forEach(NetworkConnection::close);
         sendChannelEndpointByChannelMap.values().forEach(SendChannelEndpoint::close);
-        receiveChannelEndpointByChannelMap.values().forEach(ReceiveChannelEndpoint::close);
+        receiveChannelEndpointByChannelMap.values().forEach(
+            (channelEndpoint) -> channelEndpoint.fanOut().forEach(ReceiveChannelEndpoint::close));
     }
 
     public String roleName()
@@ -247,6 +286,15 @@ public class DriverConductor implements Agent
             workCount += publication.updatePublishersLimit() + publication.cleanLogBuffer();
         }
 
+        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+            workCount += publication.updateProducerPosition() +
+                publication.updatePublishersLimit() +
+                publication.cleanLogBuffer();
+        }
+
         return workCount;
     }
 
@@ -257,6 +305,7 @@ public class DriverConductor implements Agent
         final long now = nanoClock.nanoTime();
         onCheckClients(now);
         onCheckPublications(now);
+        onCheckIpcPublications(now);
         onCheckPublicationLinks(now);
         onCheckConnections(now);
         onCheckSubscriptionLinks(now);
@@ -293,6 +342,7 @@ public class DriverConductor implements Agent
         {
             final RawLog rawLog = newConnectionLog(
                 sessionId, streamId, initialTermId, termBufferLength, senderMtuLength, udpChannel, correlationId);
+            final Position hwmPosition = newPosition("receiver hwm", channel, sessionId, streamId, correlationId);
 
             final NetworkConnection connection = new NetworkConnection(
                 correlationId,
@@ -306,10 +356,9 @@ public class DriverConductor implements Agent
                 initialWindowLength,
                 rawLog,
                 timerWheel,
-                Configuration.doNotSendNaks() ? NO_NAK_DELAY_GENERATOR :
-                    udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR,
+                nakDelayGenerator(udpChannel),
                 subscriberPositions.stream().map(SubscriberPosition::position).collect(toList()),
-                newPosition("receiver hwm", channel, sessionId, streamId, correlationId),
+                hwmPosition,
                 nanoClock,
                 systemCounters,
                 sourceAddress);
@@ -319,7 +368,7 @@ public class DriverConductor implements Agent
                     subscriberPosition.subscription().addConnection(connection, subscriberPosition.position()));
 
             connections.add(connection);
-            receiverProxy.newConnection(channelEndpoint, connection);
+            receiverProxy(channelEndpoint).newConnection(channelEndpoint, connection);
 
             clientProxy.onConnectionReady(
                 streamId,
@@ -328,6 +377,7 @@ public class DriverConductor implements Agent
                 rawLog,
                 correlationId,
                 subscriberPositions,
+                hwmPosition.id(),
                 generateSourceIdentity(sourceAddress));
         }
     }
@@ -353,7 +403,7 @@ public class DriverConductor implements Agent
     {
         return subscriptionLinks
             .stream()
-            .filter((subscription) -> subscription.matches(channelEndpoint, streamId))
+            .filter((subscription) -> subscription.matches(channelEndpoint.primary(), streamId))
             .map(
                 (subscription) ->
                 {
@@ -376,6 +426,7 @@ public class DriverConductor implements Agent
             switch (msgTypeId)
             {
                 case ADD_PUBLICATION:
+                case ADD_EXCLUSIVE_PUBLICATION:
                 {
                     logger.log(EventCode.CMD_IN_ADD_PUBLICATION, buffer, index, length);
 
@@ -388,7 +439,8 @@ public class DriverConductor implements Agent
                         publicationMessageFlyweight.sessionId(),
                         publicationMessageFlyweight.streamId(),
                         publicationMessageFlyweight.correlationId(),
-                        publicationMessageFlyweight.clientId());
+                        publicationMessageFlyweight.clientId(),
+                        ADD_EXCLUSIVE_PUBLICATION == msgTypeId);
                     break;
                 }
 
@@ -470,8 +522,19 @@ public class DriverConductor implements Agent
     }
 
     private void onAddPublication(
-        final String channel, final int sessionId, final int streamId, final long correlationId, final long clientId)
+        final String channel,
+        final int sessionId,
+        final int streamId,
+        final long correlationId,
+        final long clientId,
+        final boolean isExclusive)
     {
+        if (isIpcChannel(channel))
+        {
+            onAddIpcPublication(sessionId, streamId, correlationId, clientId, isExclusive);
+            return;
+        }
+
         final UdpChannel udpChannel = UdpChannel.parse(channel);
         final SendChannelEndpoint channelEndpoint = getOrCreateSendChannelEndpoint(udpChannel);
 
@@ -480,23 +543,92 @@ public class DriverConductor implements Agent
         {
             final int initialTermId = BitUtil.generateRandomisedId();
             final FlowControl flowControl = udpChannel.isMulticast() ? multicastFlowControl.get() : unicastFlowControl.get();
+            final int fecGroupSize = udpChannel.fecGroupSize();
+            final int publicationMtuLength =
+                fecGroupSize > 0 ? mtuLength - ParityFlyweight.headerLength(fecGroupSize) : mtuLength;
 
             publication = new NetworkPublication(
+                correlationId,
                 channelEndpoint,
                 nanoClock,
-                newPublicationLog(sessionId, streamId, initialTermId, udpChannel, correlationId),
+                newPublicationLog(
+                    sessionId, streamId, initialTermId, udpChannel.canonicalForm(), correlationId, publicationMtuLength),
                 newPosition("sender pos", channel, sessionId, streamId, correlationId),
                 newPosition("publisher limit", channel, sessionId, streamId, correlationId),
                 sessionId,
                 streamId,
                 initialTermId,
-                mtuLength,
+                publicationMtuLength,
+                senderBurstLength,
+                fecGroupSize,
                 flowControl.initialPositionLimit(initialTermId, termBufferLength),
+                isExclusive,
                 systemCounters);
 
             channelEndpoint.addPublication(publication);
             publications.add(publication);
-            senderProxy.newPublication(publication, newRetransmitHandler(publication, initialTermId), flowControl);
+            senderProxy(udpChannel).newPublication(
+                publication, newRetransmitHandler(publication, initialTermId), flowControl);
+
+            for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
+            {
+                final SubscriptionLink subscription = subscriptionLinks.get(i);
+                if (subscription.matchesSpy(udpChannel, streamId))
+                {
+                    linkSpySubscription(subscription, publication);
+                }
+            }
+        }
+        else
+        {
+            ensurePublicationCanBeShared(publication, isExclusive, channel);
+        }
+
+        final AeronClient client = getOrAddClient(clientId);
+        linkPublication(correlationId, publication, client);
+
+        publication.incRef();
+
+        clientProxy.onPublicationReady(
+            streamId,
+            sessionId,
+            publication.rawLog(),
+            correlationId,
+            publication.publisherLimitId());
+    }
+
+    private void onAddIpcPublication(
+        final int sessionId, final int streamId, final long correlationId, final long clientId, final boolean isExclusive)
+    {
+        IpcPublication publication = findIpcPublication(sessionId, streamId);
+        if (null == publication)
+        {
+            final int initialTermId = BitUtil.generateRandomisedId();
+
+            publication = new IpcPublication(
+                correlationId,
+                sessionId,
+                streamId,
+                initialTermId,
+                newPublicationLog(sessionId, streamId, initialTermId, IPC_CANONICAL_FORM, correlationId, mtuLength),
+                newPosition("publisher limit", IPC_CHANNEL, sessionId, streamId, correlationId),
+                newPosition("producer pos", IPC_CHANNEL, sessionId, streamId, correlationId),
+                isExclusive);
+
+            ipcPublications.add(publication);
+
+            for (int i = 0, size = subscriptionLinks.size(); i < size; i++)
+            {
+                final SubscriptionLink subscription = subscriptionLinks.get(i);
+                if (subscription.matchesIpc(streamId))
+                {
+                    linkSubscription(subscription, publication, publication.producerPosition(), IPC_CHANNEL);
+                }
+            }
+        }
+        else
+        {
+            ensurePublicationCanBeShared(publication, isExclusive, IPC_CHANNEL);
         }
 
         final AeronClient client = getOrAddClient(clientId);
@@ -512,7 +644,92 @@ public class DriverConductor implements Agent
             publication.publisherLimitId());
     }
 
-    private void linkPublication(final long correlationId, final NetworkPublication publication, final AeronClient client)
+    private static void ensurePublicationCanBeShared(
+        final DriverPublication publication, final boolean isExclusive, final String channel)
+    {
+        if (isExclusive || publication.isExclusive())
+        {
+            throw new ControlProtocolException(
+                EXCLUSIVE_PUBLICATION_SESSION_IN_USE,
+                String.format(
+                    "session %d of stream %d on %s is in use by %s publication",
+                    publication.sessionId(),
+                    publication.streamId(),
+                    channel,
+                    publication.isExclusive() ? "an exclusive" : "another"));
+        }
+    }
+
+    private static void ensureReceiveChannelMatches(final UdpChannel existingChannel, final UdpChannel udpChannel)
+    {
+        if (existingChannel.receiveFanOut() != udpChannel.receiveFanOut() ||
+            existingChannel.fecGroupSize() != udpChannel.fecGroupSize())
+        {
+            throw new InvalidChannelException(
+                INVALID_CHANNEL,
+                String.format(
+                    "%s conflicts with existing receive channel %s: fanout=%d fec=%d",
+                    udpChannel.originalUriString(),
+                    existingChannel.originalUriString(),
+                    existingChannel.receiveFanOut(),
+                    existingChannel.fecGroupSize()));
+        }
+    }
+
+    private IpcPublication findIpcPublication(final int sessionId, final int streamId)
+    {
+        IpcPublication ipcPublication = null;
+
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+            if (sessionId == publication.sessionId() && streamId == publication.streamId())
+            {
+                ipcPublication = publication;
+                break;
+            }
+        }
+
+        return ipcPublication;
+    }
+
+    private void linkSpySubscription(final SubscriptionLink subscription, final NetworkPublication publication)
+    {
+        linkSubscription(
+            subscription,
+            publication,
+            publication.senderPosition(),
+            publication.sendChannelEndpoint().originalUriString());
+    }
+
+    private void linkSubscription(
+        final SubscriptionLink subscription,
+        final DriverPublication publication,
+        final long joiningPosition,
+        final String channel)
+    {
+        final int sessionId = publication.sessionId();
+        final int streamId = publication.streamId();
+
+        final Position position = newPosition(
+            "subscriber pos", channel, sessionId, streamId, subscription.registrationId());
+        position.setOrdered(joiningPosition);
+
+        publication.addSubscriber(position);
+        subscription.addPublication(publication, position);
+
+        clientProxy.onConnectionReady(
+            streamId,
+            sessionId,
+            joiningPosition,
+            publication.rawLog(),
+            publication.correlationId(),
+            Collections.singletonList(new SubscriberPosition(subscription, position)),
+            publication.hwmPositionId(),
+            channel);
+    }
+
+    private void linkPublication(final long correlationId, final DriverPublication publication, final AeronClient client)
     {
         if (null != findPublicationLink(publicationLinks, correlationId))
         {
@@ -522,6 +739,21 @@ public class DriverConductor implements Agent
         publicationLinks.add(new PublicationLink(correlationId, publication, client));
     }
 
+    private static FeedbackDelayGenerator nakDelayGenerator(final UdpChannel udpChannel)
+    {
+        if (Configuration.doNotSendNaks())
+        {
+            return NO_NAK_DELAY_GENERATOR;
+        }
+
+        if (udpChannel.fecGroupSize() > 0)
+        {
+            return FEC_NAK_DELAY_GENERATOR;
+        }
+
+        return udpChannel.isMulticast() ? NAK_MULTICAST_DELAY_GENERATOR : NAK_UNICAST_DELAY_GENERATOR;
+    }
+
     private RetransmitHandler newRetransmitHandler(final NetworkPublication publication, final int initialTermId)
     {
         return new RetransmitHandler(
@@ -535,9 +767,13 @@ public class DriverConductor implements Agent
     }
 
     private RawLog newPublicationLog(
-        final int sessionId, final int streamId, final int initialTermId, final UdpChannel udpChannel, final long correlationId)
+        final int sessionId,
+        final int streamId,
+        final int initialTermId,
+        final String canonicalForm,
+        final long correlationId,
+        final int mtuLength)
     {
-        final String canonicalForm = udpChannel.canonicalForm();
         final RawLog rawLog = rawLogFactory.newPublication(canonicalForm, sessionId, streamId, correlationId);
 
         final MutableDirectBuffer header = DataHeaderFlyweight.createDefaultHeader(sessionId, streamId, initialTermId);
@@ -577,14 +813,14 @@ public class DriverConductor implements Agent
         {
             logger.logChannelCreated(udpChannel.description());
 
-            channelEndpoint = new SendChannelEndpoint(
+            channelEndpoint = sendChannelEndpointSupplier.newInstance(
                 udpChannel,
                 logger,
                 controlLossGenerator,
                 systemCounters);
 
             sendChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
-            senderProxy.registerSendChannelEndpoint(channelEndpoint);
+            senderProxy(udpChannel).registerSendChannelEndpoint(channelEndpoint);
         }
 
         return channelEndpoint;
@@ -616,12 +852,25 @@ public class DriverConductor implements Agent
 
     private void onAddSubscription(final String channel, final int streamId, final long correlationId, final long clientId)
     {
+        if (isIpcChannel(channel))
+        {
+            onAddIpcSubscription(streamId, correlationId, clientId);
+            return;
+        }
+
+        if (channel.startsWith(SPY_PREFIX))
+        {
+            onAddSpySubscription(UdpChannel.parse(channel.substring(SPY_PREFIX.length())), streamId, correlationId, clientId);
+            return;
+        }
+
         final ReceiveChannelEndpoint channelEndpoint = getOrCreateReceiveChannelEndpoint(UdpChannel.parse(channel));
 
         final int refCount = channelEndpoint.incRefToStream(streamId);
         if (1 == refCount)
         {
-            receiverProxy.addSubscription(channelEndpoint, streamId);
+            channelEndpoint.fanOut().forEach(
+                (endpoint) -> receiverProxy(endpoint).addSubscription(endpoint, streamId));
         }
 
         final AeronClient client = getOrAddClient(clientId);
@@ -649,25 +898,111 @@ public class DriverConductor implements Agent
                         connection.rawLog(),
                         connection.correlationId(),
                         Collections.singletonList(new SubscriberPosition(subscription, position)),
+                        connection.hwmPositionId(),
                         generateSourceIdentity(connection.sourceAddress()));
                 });
     }
 
+    private void onAddIpcSubscription(final int streamId, final long correlationId, final long clientId)
+    {
+        final AeronClient client = getOrAddClient(clientId);
+        final SubscriptionLink subscription = new SubscriptionLink(correlationId, null, streamId, client);
+
+        subscriptionLinks.add(subscription);
+        clientProxy.operationSucceeded(correlationId);
+
+        for (int i = 0, size = ipcPublications.size(); i < size; i++)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+            if (streamId == publication.streamId())
+            {
+                linkSubscription(subscription, publication, publication.producerPosition(), IPC_CHANNEL);
+            }
+        }
+    }
+
+    private void onAddSpySubscription(
+        final UdpChannel udpChannel, final int streamId, final long correlationId, final long clientId)
+    {
+        final AeronClient client = getOrAddClient(clientId);
+        final SubscriptionLink subscription = new SubscriptionLink(correlationId, null, udpChannel, streamId, client);
+
+        subscriptionLinks.add(subscription);
+        clientProxy.operationSucceeded(correlationId);
+
+        for (int i = 0, size = publications.size(); i < size; i++)
+        {
+            final NetworkPublication publication = publications.get(i);
+            if (subscription.matchesSpy(publication.sendChannelEndpoint().udpChannel(), streamId))
+            {
+                linkSpySubscription(subscription, publication);
+            }
+        }
+    }
+
     private ReceiveChannelEndpoint getOrCreateReceiveChannelEndpoint(final UdpChannel udpChannel)
     {
         ReceiveChannelEndpoint channelEndpoint = receiveChannelEndpointByChannelMap.get(udpChannel.canonicalForm());
         if (null == channelEndpoint)
         {
-            channelEndpoint = new ReceiveChannelEndpoint(
-                udpChannel, fromReceiverConductorProxy, receiverProxy.receiver(), logger, systemCounters, dataLossGenerator);
+            final int receiverCount = receiverProxies.length;
+            final int shardIndex = shardIndex(udpChannel, receiverCount);
+
+            for (int i = 0, fanOut = udpChannel.receiveFanOut(); i < fanOut; i++)
+            {
+                final ReceiverProxy receiverProxy = receiverProxies[(shardIndex + i) % receiverCount];
+                final ReceiveChannelEndpoint endpoint = receiveChannelEndpointSupplier.newInstance(
+                    udpChannel, fromReceiverConductorProxy, receiverProxy.receiver(), logger, systemCounters, dataLossGenerator);
+
+                if (null == channelEndpoint)
+                {
+                    channelEndpoint = endpoint;
+                    receiveChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
+                }
+                else
+                {
+                    channelEndpoint.addFanOut(endpoint);
+                }
 
-            receiveChannelEndpointByChannelMap.put(udpChannel.canonicalForm(), channelEndpoint);
-            receiverProxy.registerReceiveChannelEndpoint(channelEndpoint);
+                receiverProxyByEndpointMap.put(endpoint, receiverProxy);
+                receiverProxy.registerReceiveChannelEndpoint(endpoint);
+            }
+        }
+        else
+        {
+            ensureReceiveChannelMatches(channelEndpoint.udpChannel(), udpChannel);
         }
 
         return channelEndpoint;
     }
 
+    private void removeReceiveSubscription(final ReceiveChannelEndpoint channelEndpoint, final int streamId)
+    {
+        channelEndpoint.fanOut().forEach((endpoint) -> receiverProxy(endpoint).removeSubscription(endpoint, streamId));
+    }
+
+    private void closeReceiveChannelEndpoint(final ReceiveChannelEndpoint channelEndpoint)
+    {
+        receiveChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
+        channelEndpoint.fanOut().forEach(
+            (endpoint) -> receiverProxyByEndpointMap.remove(endpoint).closeReceiveChannelEndpoint(endpoint));
+    }
+
+    private ReceiverProxy receiverProxy(final ReceiveChannelEndpoint channelEndpoint)
+    {
+        return receiverProxyByEndpointMap.get(channelEndpoint);
+    }
+
+    private SenderProxy senderProxy(final UdpChannel udpChannel)
+    {
+        return senderProxies[shardIndex(udpChannel, senderProxies.length)];
+    }
+
+    private static int shardIndex(final UdpChannel udpChannel, final int shardCount)
+    {
+        return (udpChannel.canonicalForm().hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+
     private void onRemoveSubscription(final long registrationId, final long correlationId)
     {
         final SubscriptionLink subscription = removeSubscription(subscriptionLinks, registrationId);
@@ -678,21 +1013,28 @@ public class DriverConductor implements Agent
 
         subscription.close();
         final ReceiveChannelEndpoint channelEndpoint = subscription.channelEndpoint();
+        if (null == channelEndpoint)
+        {
+            clientProxy.operationSucceeded(correlationId);
+            return;
+        }
 
         final int refCount = channelEndpoint.decRefToStream(subscription.streamId());
         if (0 == refCount)
         {
-            receiverProxy.removeSubscription(channelEndpoint, subscription.streamId());
+            removeReceiveSubscription(channelEndpoint, subscription.streamId());
         }
 
         if (0 == channelEndpoint.streamCount())
         {
-            receiveChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
-            receiverProxy.closeReceiveChannelEndpoint(channelEndpoint);
+            closeReceiveChannelEndpoint(channelEndpoint);
 
-            while (!channelEndpoint.isClosed())
+            for (final ReceiveChannelEndpoint endpoint : channelEndpoint.fanOut())
             {
-                Thread.yield();
+                while (!endpoint.isClosed())
+                {
+                    Thread.yield();
+                }
             }
         }
 
@@ -740,17 +1082,63 @@ public class DriverConductor implements Agent
                 channelEndpoint.removePublication(publication);
                 publications.remove(i);
 
-                senderProxy.removePublication(publication);
+                if (publication.hasSpies())
+                {
+                    final UdpChannel udpChannel = channelEndpoint.udpChannel();
+                    subscriptionLinks
+                        .stream()
+                        .filter((link) -> link.matchesSpy(udpChannel, publication.streamId()))
+                        .forEach((link) -> link.removePublication(publication));
+
+                    clientProxy.onInactiveConnection(
+                        publication.correlationId(),
+                        publication.sessionId(),
+                        publication.streamId(),
+                        publication.senderPosition(),
+                        channelEndpoint.originalUriString());
+                }
+
+                senderProxy(channelEndpoint.udpChannel()).removePublication(publication);
 
                 if (channelEndpoint.sessionCount() == 0)
                 {
                     sendChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
-                    senderProxy.closeSendChannelEndpoint(channelEndpoint);
+                    senderProxy(channelEndpoint.udpChannel()).closeSendChannelEndpoint(channelEndpoint);
                 }
             }
         }
     }
 
+    private void onCheckIpcPublications(final long now)
+    {
+        final ArrayList<IpcPublication> ipcPublications = this.ipcPublications;
+        for (int i = ipcPublications.size() - 1; i >= 0; i--)
+        {
+            final IpcPublication publication = ipcPublications.get(i);
+
+            if (publication.isUnreferencedAndConsumed(now) && now > (publication.timeOfFlush() + PUBLICATION_LINGER_NS))
+            {
+                logger.logPublicationRemoval(IPC_CHANNEL, publication.sessionId(), publication.streamId());
+
+                ipcPublications.remove(i);
+
+                subscriptionLinks
+                    .stream()
+                    .filter((link) -> link.matchesIpc(publication.streamId()))
+                    .forEach((link) -> link.removePublication(publication));
+
+                clientProxy.onInactiveConnection(
+                    publication.correlationId(),
+                    publication.sessionId(),
+                    publication.streamId(),
+                    publication.producerPosition(),
+                    IPC_CHANNEL);
+
+                publication.close();
+            }
+        }
+    }
+
     private void onCheckSubscriptionLinks(final long now)
     {
         final ArrayList<SubscriptionLink> subscriptions = this.subscriptionLinks;
@@ -760,6 +1148,13 @@ public class DriverConductor implements Agent
 
             if (now > (subscription.timeOfLastKeepaliveFromClient() + CLIENT_LIVENESS_TIMEOUT_NS))
             {
+                if (null == subscription.channelEndpoint())
+                {
+                    subscriptions.remove(i);
+                    subscription.close();
+                    continue;
+                }
+
                 final ReceiveChannelEndpoint channelEndpoint = subscription.channelEndpoint();
                 final int streamId = subscription.streamId();
 
@@ -771,13 +1166,12 @@ public class DriverConductor implements Agent
 
                 if (0 == channelEndpoint.decRefToStream(subscription.streamId()))
                 {
-                    receiverProxy.removeSubscription(channelEndpoint, streamId);
+                    removeReceiveSubscription(channelEndpoint, streamId);
                 }
 
                 if (channelEndpoint.streamCount() == 0)
                 {
-                    receiveChannelEndpointByChannelMap.remove(channelEndpoint.udpChannel().canonicalForm());
-                    receiverProxy.closeReceiveChannelEndpoint(channelEndpoint);
+                    closeReceiveChannelEndpoint(channelEndpoint);
                 }
             }
         }
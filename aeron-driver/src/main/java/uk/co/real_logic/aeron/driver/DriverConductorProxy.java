@@ -24,6 +24,7 @@ import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import java.net.InetSocketAddress;
 import java.util.Queue;
 
+import static uk.co.real_logic.aeron.driver.ThreadingMode.INVOKER;
 import static uk.co.real_logic.aeron.driver.ThreadingMode.SHARED;
 
 /**
@@ -106,14 +107,14 @@ public class DriverConductorProxy
 
     private boolean isShared()
     {
-        return threadingMode == SHARED;
+        return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
     private void offer(final DriverConductorCmd cmd)
     {
         while (!commandQueue.offer(cmd))
         {
-            failCount.orderedIncrement();
+            failCount.increment();
             Thread.yield();
         }
     }
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.aeron.driver.buffer.RawLog;
+import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
+
+/**
+ * Publication managed by the {@link DriverConductor} which is reference counted by the clients linked to it and
+ * whose log can be read directly by local subscribers.
+ */
+public interface DriverPublication
+{
+    /**
+     * Correlation id which identifies the log of the publication to local subscribers.
+     *
+     * @return correlation id which identifies the log of the publication to local subscribers.
+     */
+    long correlationId();
+
+    int sessionId();
+
+    int streamId();
+
+    RawLog rawLog();
+
+    /**
+     * Id of the counter for the limit publishers can append up to.
+     *
+     * @return id of the counter for the limit publishers can append up to.
+     */
+    int publisherLimitId();
+
+    /**
+     * Id of the counter for the position up to which local subscribers may consume the log.
+     *
+     * @return id of the counter for the position up to which local subscribers may consume the log.
+     */
+    int hwmPositionId();
+
+    /**
+     * Is the publication exclusive to the client publication which added it so it cannot be shared.
+     *
+     * @return true if the publication is exclusive to the client publication which added it.
+     */
+    boolean isExclusive();
+
+    /**
+     * Increment the count of clients referencing this publication.
+     *
+     * @return the new reference count.
+     */
+    int incRef();
+
+    /**
+     * Decrement the count of clients referencing this publication.
+     *
+     * @return the new reference count.
+     */
+    int decRef();
+
+    /**
+     * Add a local subscriber reading the log directly whose position will limit the publishers.
+     *
+     * @param subscriberPosition for the subscriber to be added.
+     */
+    void addSubscriber(ReadablePosition subscriberPosition);
+
+    /**
+     * Remove a local subscriber and close its position.
+     *
+     * @param subscriberPosition for the subscriber to be removed.
+     */
+    void removeSubscriber(ReadablePosition subscriberPosition);
+}
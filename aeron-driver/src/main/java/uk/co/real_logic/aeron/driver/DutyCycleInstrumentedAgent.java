@@ -0,0 +1,151 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.agrona.concurrent.Agent;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+import uk.co.real_logic.agrona.concurrent.CountersManager;
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+/**
+ * Decorator for an {@link Agent} which records the time taken by each duty cycle into counters in the CnC file
+ * so a stall in a particular agent can be observed from outside the driver.
+ * <p>
+ * Cycle times are recorded into a histogram of buckets with upper bounds increasing by powers of 4 from 1us, along
+ * with the max cycle time and the number of cycles over a threshold. Cycles which did no work are counted so the
+ * ratio of idle to total cycles can be derived.
+ */
+public class DutyCycleInstrumentedAgent implements Agent
+{
+    private static final long[] BUCKET_UPPER_BOUNDS_NS =
+    {
+        MICROSECONDS.toNanos(1),
+        MICROSECONDS.toNanos(4),
+        MICROSECONDS.toNanos(16),
+        MICROSECONDS.toNanos(64),
+        MICROSECONDS.toNanos(256),
+        MICROSECONDS.toNanos(1024),
+        MICROSECONDS.toNanos(4096),
+        MICROSECONDS.toNanos(16384),
+    };
+
+    private final Agent agent;
+    private final NanoClock nanoClock;
+    private final long cycleThresholdNs;
+    private final AtomicCounter cycles;
+    private final AtomicCounter idleCycles;
+    private final AtomicCounter maxCycleTimeNs;
+    private final AtomicCounter cyclesOverThreshold;
+    private final AtomicCounter[] cycleTimeBuckets = new AtomicCounter[BUCKET_UPPER_BOUNDS_NS.length + 1];
+    private long maxCycleTime;
+
+    public DutyCycleInstrumentedAgent(
+        final Agent agent, final CountersManager countersManager, final NanoClock nanoClock, final long cycleThresholdNs)
+    {
+        this.agent = agent;
+        this.nanoClock = nanoClock;
+        this.cycleThresholdNs = cycleThresholdNs;
+
+        final String roleName = agent.roleName();
+        cycles = countersManager.newCounter(roleName + " duty cycles");
+        idleCycles = countersManager.newCounter(roleName + " idle duty cycles");
+        maxCycleTimeNs = countersManager.newCounter(roleName + " max duty cycle time ns");
+        cyclesOverThreshold = countersManager.newCounter(
+            roleName + " duty cycles over " + cycleThresholdNs + " ns");
+
+        for (int i = 0; i < BUCKET_UPPER_BOUNDS_NS.length; i++)
+        {
+            cycleTimeBuckets[i] = countersManager.newCounter(
+                roleName + " duty cycles <= " + BUCKET_UPPER_BOUNDS_NS[i] / 1000 + " us");
+        }
+
+        cycleTimeBuckets[BUCKET_UPPER_BOUNDS_NS.length] = countersManager.newCounter(
+            roleName + " duty cycles > " + BUCKET_UPPER_BOUNDS_NS[BUCKET_UPPER_BOUNDS_NS.length - 1] / 1000 + " us");
+    }
+
+    public int doWork() throws Exception
+    {
+        final long startNs = nanoClock.nanoTime();
+        int workCount = 0;
+
+        try
+        {
+            workCount = agent.doWork();
+        }
+        finally
+        {
+            onCycleComplete(nanoClock.nanoTime() - startNs, workCount);
+        }
+
+        return workCount;
+    }
+
+    public void onClose()
+    {
+        agent.onClose();
+
+        cycles.close();
+        idleCycles.close();
+        maxCycleTimeNs.close();
+        cyclesOverThreshold.close();
+
+        for (final AtomicCounter bucket : cycleTimeBuckets)
+        {
+            bucket.close();
+        }
+    }
+
+    public String roleName()
+    {
+        return agent.roleName();
+    }
+
+    private void onCycleComplete(final long cycleTimeNs, final int workCount)
+    {
+        cycles.orderedIncrement();
+
+        if (0 == workCount)
+        {
+            idleCycles.orderedIncrement();
+        }
+
+        if (cycleTimeNs > maxCycleTime)
+        {
+            maxCycleTime = cycleTimeNs;
+            maxCycleTimeNs.setOrdered(cycleTimeNs);
+        }
+
+        if (cycleTimeNs > cycleThresholdNs)
+        {
+            cyclesOverThreshold.orderedIncrement();
+        }
+
+        cycleTimeBuckets[bucketIndex(cycleTimeNs)].orderedIncrement();
+    }
+
+    private static int bucketIndex(final long cycleTimeNs)
+    {
+        int i = 0;
+        while (i < BUCKET_UPPER_BOUNDS_NS.length && cycleTimeNs > BUCKET_UPPER_BOUNDS_NS[i])
+        {
+            i++;
+        }
+
+        return i;
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import uk.co.real_logic.aeron.driver.buffer.RawLog;
+import uk.co.real_logic.aeron.logbuffer.LogBufferPartition;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+import uk.co.real_logic.agrona.concurrent.status.Position;
+import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
+
+import java.util.ArrayList;
+
+import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
+
+/**
+ * Publication for the IPC channel which local subscribers read directly from the log the publishers append to,
+ * without the involvement of a {@link Sender} or {@link Receiver}.
+ * <p>
+ * The publisher limit is driven by the slowest subscriber so the log cannot be lapped. As no receiver tracks a
+ * high-water mark the producer position is published to a counter from the log tail on the conductor duty cycle
+ * so subscribers can cheaply tell when there is nothing to consume.
+ */
+public class IpcPublication implements DriverPublication, AutoCloseable
+{
+    private final long correlationId;
+    private final boolean isExclusive;
+    private final int sessionId;
+    private final int streamId;
+    private final int initialTermId;
+    private final int positionBitsToShift;
+    private final int termWindowLength;
+    private final RawLog rawLog;
+    private final UnsafeBuffer logMetaDataBuffer;
+    private final LogBufferPartition[] logPartitions;
+    private final Position publisherLimit;
+    private final Position producerPosition;
+    private final ArrayList<ReadablePosition> subscriberPositions = new ArrayList<>();
+
+    private long timeOfFlush = 0;
+    private int refCount = 0;
+    private boolean isActive = true;
+
+    public IpcPublication(
+        final long correlationId,
+        final int sessionId,
+        final int streamId,
+        final int initialTermId,
+        final RawLog rawLog,
+        final Position publisherLimit,
+        final Position producerPosition,
+        final boolean isExclusive)
+    {
+        this.correlationId = correlationId;
+        this.isExclusive = isExclusive;
+        this.sessionId = sessionId;
+        this.streamId = streamId;
+        this.initialTermId = initialTermId;
+        this.rawLog = rawLog;
+        this.publisherLimit = publisherLimit;
+        this.producerPosition = producerPosition;
+
+        logMetaDataBuffer = rawLog.logMetaData();
+        logPartitions = rawLog
+            .stream()
+            .map((partition) -> new LogBufferPartition(partition.termBuffer(), partition.metaDataBuffer()))
+            .toArray(LogBufferPartition[]::new);
+
+        final int termLength = logPartitions[0].termBuffer().capacity();
+        positionBitsToShift = Integer.numberOfTrailingZeros(termLength);
+        termWindowLength = Configuration.publicationTermWindowLength(termLength);
+
+        activeTermId(logMetaDataBuffer, initialTermId);
+        publisherLimit.setOrdered(termWindowLength);
+        producerPosition.setOrdered(producerPosition());
+    }
+
+    public void close()
+    {
+        subscriberPositions.forEach(ReadablePosition::close);
+        publisherLimit.close();
+        producerPosition.close();
+        rawLog.close();
+    }
+
+    public long correlationId()
+    {
+        return correlationId;
+    }
+
+    public int sessionId()
+    {
+        return sessionId;
+    }
+
+    public int streamId()
+    {
+        return streamId;
+    }
+
+    public RawLog rawLog()
+    {
+        return rawLog;
+    }
+
+    public int publisherLimitId()
+    {
+        return publisherLimit.id();
+    }
+
+    public int hwmPositionId()
+    {
+        return producerPosition.id();
+    }
+
+    public boolean isExclusive()
+    {
+        return isExclusive;
+    }
+
+    public int incRef()
+    {
+        final int i = ++refCount;
+
+        if (i == 1)
+        {
+            timeOfFlush = 0;
+            isActive = true;
+        }
+
+        return i;
+    }
+
+    public int decRef()
+    {
+        return --refCount;
+    }
+
+    /**
+     * Position up to which publishers have claimed space in the log.
+     *
+     * @return position up to which publishers have claimed space in the log.
+     */
+    public long producerPosition()
+    {
+        final int activeTermId = activeTermId(logMetaDataBuffer);
+        final int tail = logPartitions[indexByTerm(initialTermId, activeTermId)].tailVolatile();
+
+        return computePosition(activeTermId, tail, positionBitsToShift, initialTermId);
+    }
+
+    public void addSubscriber(final ReadablePosition subscriberPosition)
+    {
+        subscriberPositions.add(subscriberPosition);
+    }
+
+    public void removeSubscriber(final ReadablePosition subscriberPosition)
+    {
+        subscriberPositions.remove(subscriberPosition);
+        subscriberPosition.close();
+    }
+
+    /**
+     * Update the producer position counter from the log tail as part of the conductor duty cycle.
+     *
+     * @return 1 if the producer position has advanced otherwise 0.
+     */
+    public int updateProducerPosition()
+    {
+        return producerPosition.proposeMaxOrdered(producerPosition()) ? 1 : 0;
+    }
+
+    /**
+     * Update the publishers limit from the slowest subscriber as part of the conductor duty cycle.
+     *
+     * @return 1 if the limit has been updated otherwise 0.
+     */
+    public int updatePublishersLimit()
+    {
+        int workCount = 0;
+        final long candidatePublisherLimit = consumerPosition() + termWindowLength;
+        if (publisherLimit.proposeMaxOrdered(candidatePublisherLimit))
+        {
+            workCount = 1;
+        }
+
+        return workCount;
+    }
+
+    /**
+     * This is performed on the {@link DriverConductor} thread
+     */
+    public int cleanLogBuffer()
+    {
+        int workCount = 0;
+
+        for (final LogBufferPartition partition : logPartitions)
+        {
+            if (partition.status() == NEEDS_CLEANING)
+            {
+                partition.clean();
+                workCount = 1;
+            }
+        }
+
+        return workCount;
+    }
+
+    public long timeOfFlush()
+    {
+        return timeOfFlush;
+    }
+
+    /**
+     * Is the publication no longer referenced by any clients and has all it contains been consumed by the subscribers.
+     *
+     * @param now time in nanoseconds.
+     * @return true if unreferenced and consumed otherwise false.
+     */
+    public boolean isUnreferencedAndConsumed(final long now)
+    {
+        boolean isConsumed = false;
+        if (0 == refCount)
+        {
+            isConsumed = consumerPosition() >= producerPosition();
+
+            if (isConsumed && isActive)
+            {
+                timeOfFlush = now;
+                isActive = false;
+            }
+        }
+
+        return isConsumed;
+    }
+
+    private long consumerPosition()
+    {
+        final ArrayList<ReadablePosition> subscriberPositions = this.subscriberPositions;
+        final int size = subscriberPositions.size();
+        if (0 == size)
+        {
+            return producerPosition();
+        }
+
+        long minSubscriberPosition = Long.MAX_VALUE;
+        for (int i = 0; i < size; i++)
+        {
+            minSubscriberPosition = Math.min(minSubscriberPosition, subscriberPositions.get(i).getVolatile());
+        }
+
+        return minSubscriberPosition;
+    }
+}
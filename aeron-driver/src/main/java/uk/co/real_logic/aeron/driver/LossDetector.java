@@ -26,7 +26,11 @@ import static uk.co.real_logic.aeron.logbuffer.TermGapScanner.scanForGap;
 /**
  * Detecting and handling of gaps in a stream
  * <p>
- * This detector only notifies a single NAK at a time.
+ * This detector tracks up to a maximum number of gaps in the term being rebuilt and notifies a NAK for each of them
+ * together so scattered loss can be recovered in a single round trip.
+ * <p>
+ * A NAK seen from another receiver suppresses only the gap it names for the next burst. The timer is only pushed
+ * back when every active gap has been suppressed.
  */
 public class LossDetector
 {
@@ -34,15 +38,17 @@ public class LossDetector
     private final NakMessageSender nakMessageSender;
     private final TimerWheel.Timer timer;
     private final TimerWheel wheel;
-    private final Gap scannedGap = new Gap();
-    private final Gap activeGap = new Gap();
+    private final Gap[] scannedGaps;
+    private final Gap[] activeGaps;
     private final GapHandler onGapFunc = this::onGap;
     private final Runnable onTimerExpireFunc = this::onTimerExpire;
 
     private int rebuildOffset = 0;
+    private int scannedGapCount = 0;
+    private int activeGapCount = 0;
 
     /**
-     * Create a loss handler for a channel.
+     * Create a loss handler for a channel which tracks a single gap at a time.
      *
      * @param wheel            for timer management
      * @param delayGenerator   to use for delay determination
@@ -51,10 +57,40 @@ public class LossDetector
     public LossDetector(
         final TimerWheel wheel, final FeedbackDelayGenerator delayGenerator, final NakMessageSender nakMessageSender)
     {
+        this(wheel, delayGenerator, nakMessageSender, 1);
+    }
+
+    /**
+     * Create a loss handler for a channel.
+     *
+     * @param wheel            for timer management
+     * @param delayGenerator   to use for delay determination
+     * @param nakMessageSender to call when sending a NAK is indicated
+     * @param maxGaps          to be tracked and NAKed together.
+     */
+    public LossDetector(
+        final TimerWheel wheel,
+        final FeedbackDelayGenerator delayGenerator,
+        final NakMessageSender nakMessageSender,
+        final int maxGaps)
+    {
+        if (maxGaps < 1)
+        {
+            throw new IllegalArgumentException("maxGaps must be at least 1: " + maxGaps);
+        }
+
         this.wheel = wheel;
         this.timer = wheel.newBlankTimer();
         this.delayGenerator = delayGenerator;
         this.nakMessageSender = nakMessageSender;
+
+        scannedGaps = new Gap[maxGaps];
+        activeGaps = new Gap[maxGaps];
+        for (int i = 0; i < maxGaps; i++)
+        {
+            scannedGaps[i] = new Gap();
+            activeGaps[i] = new Gap();
+        }
     }
 
     /**
@@ -94,17 +130,23 @@ public class LossDetector
 
             final int activeTermId = initialTermId + rebuildTermsCount;
             final int activeTermLimit = (rebuildTermsCount == hwmTermsCount) ? hwmTermOffset : termBuffer.capacity();
-            rebuildOffset = activeTermLimit;
 
+            scannedGapCount = 0;
             rebuildOffset = scanForGap(termBuffer, activeTermId, rebuildTermOffset, activeTermLimit, onGapFunc);
             if (rebuildOffset < activeTermLimit)
             {
-                final Gap gap = scannedGap;
-                if (!timer.isActive() || !gap.matches(activeGap.termId, activeGap.termOffset))
+                scanForFurtherGaps(termBuffer, activeTermId, activeTermLimit);
+
+                final Gap gap = scannedGaps[0];
+                if (!timer.isActive() || !gap.matches(activeGaps[0].termId, activeGaps[0].termOffset))
                 {
-                    activateGap(gap.termId, gap.termOffset, gap.length);
+                    activateGaps();
                     workCount = 0;
                 }
+                else
+                {
+                    copyScannedGaps();
+                }
 
                 rebuildOffset = gap.termOffset;
             }
@@ -131,25 +173,69 @@ public class LossDetector
      */
     public void onNak(final int termId, final int termOffset)
     {
-        if (timer.isActive() && activeGap.matches(termId, termOffset))
+        if (timer.isActive())
         {
-            suppressNak();
+            for (int i = 0; i < activeGapCount; i++)
+            {
+                final Gap gap = activeGaps[i];
+                if (gap.matches(termId, termOffset))
+                {
+                    suppressNak(gap);
+                    break;
+                }
+            }
         }
     }
 
-    private void suppressNak()
+    private void suppressNak(final Gap gap)
     {
+        gap.isSuppressed = true;
+
+        for (int i = 0; i < activeGapCount; i++)
+        {
+            if (!activeGaps[i].isSuppressed)
+            {
+                return;
+            }
+        }
+
+        clearSuppressedGaps();
         scheduleTimer();
     }
 
+    private void clearSuppressedGaps()
+    {
+        for (int i = 0; i < activeGapCount; i++)
+        {
+            activeGaps[i].isSuppressed = false;
+        }
+    }
+
     private void onGap(final int termId, final UnsafeBuffer buffer, final int offset, final int length)
     {
-        scannedGap.reset(termId, offset, length);
+        scannedGaps[scannedGapCount++].reset(termId, offset, length);
     }
 
-    private void activateGap(final int termId, final int termOffset, final int length)
+    private void scanForFurtherGaps(final UnsafeBuffer termBuffer, final int termId, final int termLimit)
     {
-        activeGap.reset(termId, termOffset, length);
+        final Gap[] scannedGaps = this.scannedGaps;
+        final int maxGaps = scannedGaps.length;
+
+        while (scannedGapCount < maxGaps)
+        {
+            final Gap lastGap = scannedGaps[scannedGapCount - 1];
+            final int offset = lastGap.termOffset + lastGap.length;
+            if (offset >= termLimit || scanForGap(termBuffer, termId, offset, termLimit, onGapFunc) >= termLimit)
+            {
+                break;
+            }
+        }
+    }
+
+    private void activateGaps()
+    {
+        copyScannedGaps();
+        clearSuppressedGaps();
         if (determineNakDelay() == -1)
         {
             return;
@@ -158,19 +244,59 @@ public class LossDetector
 
         if (delayGenerator.shouldFeedbackImmediately())
         {
-            sendNakMessage();
+            sendNakMessages();
         }
     }
 
+    private void copyScannedGaps()
+    {
+        for (int i = 0; i < scannedGapCount; i++)
+        {
+            final Gap gap = scannedGaps[i];
+            gap.isSuppressed = isSuppressed(gap);
+        }
+
+        for (int i = 0; i < scannedGapCount; i++)
+        {
+            final Gap gap = scannedGaps[i];
+            activeGaps[i].reset(gap.termId, gap.termOffset, gap.length);
+            activeGaps[i].isSuppressed = gap.isSuppressed;
+        }
+
+        activeGapCount = scannedGapCount;
+    }
+
+    private boolean isSuppressed(final Gap scannedGap)
+    {
+        for (int i = 0; i < activeGapCount; i++)
+        {
+            final Gap gap = activeGaps[i];
+            if (gap.matches(scannedGap.termId, scannedGap.termOffset))
+            {
+                return gap.isSuppressed;
+            }
+        }
+
+        return false;
+    }
+
     private void onTimerExpire()
     {
-        sendNakMessage();
+        sendNakMessages();
+        clearSuppressedGaps();
         scheduleTimer();
     }
 
-    private void sendNakMessage()
+    private void sendNakMessages()
     {
-        nakMessageSender.onLossDetected(activeGap.termId, activeGap.termOffset, activeGap.length);
+        for (int i = 0; i < activeGapCount; i++)
+        {
+            final Gap gap = activeGaps[i];
+            if (!gap.isSuppressed)
+            {
+                nakMessageSender.onLossDetected(gap.termId, gap.termOffset, gap.length);
+            }
+        }
     }
 
     private long determineNakDelay()
@@ -195,12 +321,14 @@ public class LossDetector
         int termId;
         int termOffset;
         int length;
+        boolean isSuppressed;
 
         public void reset(final int termId, final int termOffset, final int length)
         {
             this.termId = termId;
             this.termOffset = termOffset;
             this.length = length;
+            this.isSuppressed = false;
         }
 
         public boolean matches(final int termId, final int termOffset)
@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.aeron.driver;
 
+import uk.co.real_logic.aeron.AgentInvoker;
 import uk.co.real_logic.aeron.CncFileDescriptor;
 import uk.co.real_logic.aeron.CommonContext;
 import uk.co.real_logic.aeron.driver.buffer.RawLogFactory;
@@ -24,6 +25,8 @@ import uk.co.real_logic.aeron.driver.cmd.SenderCmd;
 import uk.co.real_logic.aeron.driver.event.EventConfiguration;
 import uk.co.real_logic.aeron.driver.event.EventLogger;
 import uk.co.real_logic.aeron.driver.exceptions.ConfigurationException;
+import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpointSupplier;
+import uk.co.real_logic.aeron.driver.media.SendChannelEndpointSupplier;
 import uk.co.real_logic.aeron.driver.media.TransportPoller;
 import uk.co.real_logic.agrona.ErrorHandler;
 import uk.co.real_logic.agrona.IoUtil;
@@ -40,6 +43,7 @@ import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.MappedByteBuffer;
 import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -78,6 +82,7 @@ public final class MediaDriver implements AutoCloseable
 
     private final File parentDirectory;
     private final List<AgentRunner> runners;
+    private final AgentInvoker sharedInvoker;
     private final Context ctx;
 
     /**
@@ -113,31 +118,54 @@ public final class MediaDriver implements AutoCloseable
         ctx.unicastSenderFlowControl(Configuration::unicastFlowControlStrategy)
             .multicastSenderFlowControl(Configuration::multicastFlowControlStrategy)
             .conductorTimerWheel(Configuration.newConductorTimerWheel())
-            .toConductorFromReceiverCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
-            .toConductorFromSenderCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
-            .receiverCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
-            .senderCommandQueue(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
+            .toConductorFromReceiverCommandQueue(new ManyToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
+            .toConductorFromSenderCommandQueue(new ManyToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY))
+            .receiverCommandQueues(newReceiverCommandQueues(ctx.receiverCount()))
+            .senderCommandQueues(newSenderCommandQueues(ctx.senderCount()))
             .conclude();
 
         final AtomicCounter driverExceptions = ctx.systemCounters().driverExceptions();
 
-        final Receiver receiver = new Receiver(ctx);
-        final Sender sender = new Sender(ctx);
+        final Agent[] receivers = new Agent[ctx.receiverCount()];
+        for (int i = 0; i < receivers.length; i++)
+        {
+            final Receiver receiver = new Receiver(ctx, i);
+            ctx.receiverProxies()[i].receiver(receiver);
+            receivers[i] = instrument(receiver);
+        }
+
+        final Agent[] senders = new Agent[ctx.senderCount()];
+        for (int i = 0; i < senders.length; i++)
+        {
+            final Sender sender = new Sender(ctx, i);
+            ctx.senderProxies()[i].sender(sender);
+            senders[i] = instrument(sender);
+        }
+
+        final Agent receiver = compose(receivers);
+        final Agent sender = compose(senders);
         final DriverConductor driverConductor = new DriverConductor(ctx);
+        final Agent conductor = instrument(driverConductor);
 
-        ctx.receiverProxy().receiver(receiver);
-        ctx.senderProxy().sender(sender);
         ctx.fromReceiverDriverConductorProxy().driverConductor(driverConductor);
         ctx.fromSenderDriverConductorProxy().driverConductor(driverConductor);
 
         ctx.toDriverCommands().consumerHeartbeatTime(ctx.epochClock().time());
 
+        AgentInvoker sharedInvoker = null;
+
         switch (ctx.threadingMode)
         {
+            case INVOKER:
+                runners = Collections.emptyList();
+                sharedInvoker = new AgentInvoker(ctx.errorHandler(), driverExceptions,
+                    new CompositeAgent(sender, new CompositeAgent(receiver, conductor)));
+                break;
+
             case SHARED:
                 runners = Collections.singletonList(
                     new AgentRunner(ctx.sharedIdleStrategy, ctx.errorHandler(), driverExceptions,
-                        new CompositeAgent(sender, new CompositeAgent(receiver, driverConductor)))
+                        new CompositeAgent(sender, new CompositeAgent(receiver, conductor)))
                 );
                 break;
 
@@ -145,20 +173,26 @@ public final class MediaDriver implements AutoCloseable
                 runners = Arrays.asList(
                     new AgentRunner(ctx.sharedNetworkIdleStrategy, ctx.errorHandler(), driverExceptions,
                         new CompositeAgent(sender, receiver)),
-                    new AgentRunner(ctx.conductorIdleStrategy, ctx.errorHandler(), driverExceptions, driverConductor)
+                    new AgentRunner(ctx.conductorIdleStrategy, ctx.errorHandler(), driverExceptions, conductor)
                 );
                 break;
 
             default:
             case DEDICATED:
-                runners = Arrays.asList(
-                    new AgentRunner(ctx.senderIdleStrategy, ctx.errorHandler(), driverExceptions, sender),
-                    new AgentRunner(ctx.receiverIdleStrategy, ctx.errorHandler(), driverExceptions, receiver),
-                    new AgentRunner(ctx.conductorIdleStrategy, ctx.errorHandler(), driverExceptions, driverConductor)
-                );
+                runners = new ArrayList<>();
+                for (final Agent s : senders)
+                {
+                    runners.add(new AgentRunner(ctx.senderIdleStrategy, ctx.errorHandler(), driverExceptions, s));
+                }
+                for (final Agent r : receivers)
+                {
+                    runners.add(new AgentRunner(ctx.receiverIdleStrategy, ctx.errorHandler(), driverExceptions, r));
+                }
+                runners.add(new AgentRunner(ctx.conductorIdleStrategy, ctx.errorHandler(), driverExceptions, conductor));
                 break;
         }
 
+        this.sharedInvoker = sharedInvoker;
     }
 
     /**
@@ -216,6 +250,11 @@ public final class MediaDriver implements AutoCloseable
         {
             runners.forEach(AgentRunner::close);
 
+            if (null != sharedInvoker)
+            {
+                sharedInvoker.close();
+            }
+
             freeSocketsForReuseOnWindows();
             ctx.close();
 
@@ -227,6 +266,19 @@ public final class MediaDriver implements AutoCloseable
         }
     }
 
+    /**
+     * Get the {@link AgentInvoker} for the composite of all the driver agents when running in
+     * {@link ThreadingMode#INVOKER} mode so their duty cycles can be called from an application thread.
+     * <p>
+     * The application must stop invoking before the driver is closed as the driver cannot stop a thread it does not own.
+     *
+     * @return the {@link AgentInvoker} for the driver agents or null if not running in {@link ThreadingMode#INVOKER}.
+     */
+    public AgentInvoker sharedAgentInvoker()
+    {
+        return sharedInvoker;
+    }
+
     /**
      * Used to access the configured dirName for this MediaDriver Context typically after the launchIsolated method
      *
@@ -239,8 +291,14 @@ public final class MediaDriver implements AutoCloseable
 
     private void freeSocketsForReuseOnWindows()
     {
-        ctx.receiverNioSelector().selectNowWithoutProcessing();
-        ctx.senderNioSelector().selectNowWithoutProcessing();
+        for (final TransportPoller transportPoller : ctx.receiverNioSelectors())
+        {
+            transportPoller.selectNowWithoutProcessing();
+        }
+        for (final TransportPoller transportPoller : ctx.senderNioSelectors())
+        {
+            transportPoller.selectNowWithoutProcessing();
+        }
     }
 
     private MediaDriver start()
@@ -256,6 +314,49 @@ public final class MediaDriver implements AutoCloseable
         return this;
     }
 
+    private static List<OneToOneConcurrentArrayQueue<ReceiverCmd>> newReceiverCommandQueues(final int receiverCount)
+    {
+        final List<OneToOneConcurrentArrayQueue<ReceiverCmd>> queues = new ArrayList<>(receiverCount);
+        for (int i = 0; i < receiverCount; i++)
+        {
+            queues.add(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY));
+        }
+
+        return queues;
+    }
+
+    private static List<OneToOneConcurrentArrayQueue<SenderCmd>> newSenderCommandQueues(final int senderCount)
+    {
+        final List<OneToOneConcurrentArrayQueue<SenderCmd>> queues = new ArrayList<>(senderCount);
+        for (int i = 0; i < senderCount; i++)
+        {
+            queues.add(new OneToOneConcurrentArrayQueue<>(Configuration.CMD_QUEUE_CAPACITY));
+        }
+
+        return queues;
+    }
+
+    private Agent instrument(final Agent agent)
+    {
+        if (ctx.dutyCycleInstrumentation())
+        {
+            return new DutyCycleInstrumentedAgent(agent, ctx.countersManager(), System::nanoTime, ctx.dutyCycleThresholdNs());
+        }
+
+        return agent;
+    }
+
+    private static Agent compose(final Agent[] agents)
+    {
+        Agent agent = agents[0];
+        for (int i = 1; i < agents.length; i++)
+        {
+            agent = new CompositeAgent(agent, agents[i]);
+        }
+
+        return agent;
+    }
+
     private static void validateSufficientSocketBufferLengths(final Context ctx)
     {
         try (final DatagramChannel probe = DatagramChannel.open())
@@ -324,18 +425,18 @@ public final class MediaDriver implements AutoCloseable
     public static class Context extends CommonContext
     {
         private RawLogFactory rawLogFactory;
-        private TransportPoller receiverTransportPoller;
-        private TransportPoller senderTransportPoller;
+        private TransportPoller[] receiverTransportPollers;
+        private TransportPoller[] senderTransportPollers;
         private Supplier<FlowControl> unicastSenderFlowControl;
         private Supplier<FlowControl> multicastSenderFlowControl;
         private EpochClock epochClock;
         private TimerWheel conductorTimerWheel;
-        private OneToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromReceiverCommandQueue;
-        private OneToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromSenderCommandQueue;
-        private OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue;
-        private OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue;
-        private ReceiverProxy receiverProxy;
-        private SenderProxy senderProxy;
+        private ManyToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromReceiverCommandQueue;
+        private ManyToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromSenderCommandQueue;
+        private List<OneToOneConcurrentArrayQueue<ReceiverCmd>> receiverCommandQueues;
+        private List<OneToOneConcurrentArrayQueue<SenderCmd>> senderCommandQueues;
+        private ReceiverProxy[] receiverProxies;
+        private SenderProxy[] senderProxies;
         private DriverConductorProxy fromReceiverDriverConductorProxy;
         private DriverConductorProxy fromSenderDriverConductorProxy;
         private IdleStrategy conductorIdleStrategy;
@@ -363,6 +464,14 @@ public final class MediaDriver implements AutoCloseable
         private double dataLossRate;
         private double controlLossRate;
         private int mtuLength;
+        private int senderBurstLength;
+        private int receiveBudget;
+        private int senderControlBudget;
+        private int senderRetransmitBudget;
+        private int receiverCount;
+        private int senderCount;
+        private boolean dutyCycleInstrumentation;
+        private long dutyCycleThresholdNs;
 
         private boolean warnIfDirectoriesExist;
         private EventLogger eventLogger;
@@ -372,6 +481,8 @@ public final class MediaDriver implements AutoCloseable
 
         private LossGenerator dataLossGenerator;
         private LossGenerator controlLossGenerator;
+        private SendChannelEndpointSupplier sendChannelEndpointSupplier;
+        private ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier;
 
         public Context()
         {
@@ -384,6 +495,15 @@ public final class MediaDriver implements AutoCloseable
             controlLossRate(Configuration.controlLossRate());
             controlLossSeed(Configuration.controlLossSeed());
             mtuLength(Configuration.MTU_LENGTH);
+            receiveBudget(Configuration.receiveBudget());
+            senderControlBudget(Configuration.senderControlBudget());
+            senderRetransmitBudget(Configuration.senderRetransmitBudget());
+            receiverCount(Configuration.receiverCount());
+            senderCount(Configuration.senderCount());
+            dutyCycleInstrumentation(Configuration.dutyCycleInstrumentation());
+            dutyCycleThresholdNs(Configuration.dutyCycleThresholdNs());
+            sendChannelEndpointSupplier(Configuration.sendChannelEndpointSupplier());
+            receiveChannelEndpointSupplier(Configuration.receiveChannelEndpointSupplier());
 
             eventConsumer = System.out::println;
             eventBufferLength = EventConfiguration.bufferLength();
@@ -418,12 +538,20 @@ public final class MediaDriver implements AutoCloseable
 
                 toEventReader(new ManyToOneRingBuffer(new UnsafeBuffer(eventByteBuffer)));
 
-                receiverNioSelector(new TransportPoller());
-                senderNioSelector(new TransportPoller());
-
                 Configuration.validateTermBufferLength(termBufferLength());
                 Configuration.validateInitialWindowLength(initialWindowLength(), mtuLength());
 
+                if (0 == senderBurstLength)
+                {
+                    senderBurstLength(Configuration.senderBurstLength(mtuLength()));
+                }
+
+                Configuration.validateAgentCount("Receiver", receiverCount());
+                Configuration.validateAgentCount("Sender", senderCount());
+                Configuration.validateBudget("Receive", receiveBudget());
+                Configuration.validateBudget("Sender control", senderControlBudget());
+                Configuration.validateBudget("Sender retransmit", senderRetransmitBudget());
+
                 deleteIfExists(cncFile());
 
                 if (dirsDeleteOnExit())
@@ -455,13 +583,7 @@ public final class MediaDriver implements AutoCloseable
 
                 concludeCounters();
 
-                receiverProxy(new ReceiverProxy(
-                    threadingMode, receiverCommandQueue(), systemCounters.receiverProxyFails()));
-                senderProxy(new SenderProxy(threadingMode, senderCommandQueue(), systemCounters.senderProxyFails()));
-                fromReceiverDriverConductorProxy(new DriverConductorProxy(
-                    threadingMode, toConductorFromReceiverCommandQueue, systemCounters.conductorProxyFails()));
-                fromSenderDriverConductorProxy(new DriverConductorProxy(
-                    threadingMode, toConductorFromSenderCommandQueue, systemCounters.conductorProxyFails()));
+                concludeAgentProxies();
 
                 rawLogBuffersFactory(new RawLogFactory(
                     dirName(), publicationTermBufferLength, maxConnectionTermBufferLength, eventLogger));
@@ -484,14 +606,14 @@ public final class MediaDriver implements AutoCloseable
         }
 
         public Context toConductorFromReceiverCommandQueue(
-            final OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue)
+            final ManyToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue)
         {
             this.toConductorFromReceiverCommandQueue = conductorCommandQueue;
             return this;
         }
 
         public Context toConductorFromSenderCommandQueue(
-            final OneToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue)
+            final ManyToOneConcurrentArrayQueue<DriverConductorCmd> conductorCommandQueue)
         {
             this.toConductorFromSenderCommandQueue = conductorCommandQueue;
             return this;
@@ -503,15 +625,15 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        public Context receiverNioSelector(final TransportPoller transportPoller)
+        public Context receiverNioSelectors(final TransportPoller... transportPollers)
         {
-            this.receiverTransportPoller = transportPoller;
+            this.receiverTransportPollers = transportPollers;
             return this;
         }
 
-        public Context senderNioSelector(final TransportPoller transportPoller)
+        public Context senderNioSelectors(final TransportPoller... transportPollers)
         {
-            this.senderTransportPoller = transportPoller;
+            this.senderTransportPollers = transportPollers;
             return this;
         }
 
@@ -533,27 +655,27 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
-        public Context receiverCommandQueue(final OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue)
+        public Context receiverCommandQueues(final List<OneToOneConcurrentArrayQueue<ReceiverCmd>> receiverCommandQueues)
         {
-            this.receiverCommandQueue = receiverCommandQueue;
+            this.receiverCommandQueues = receiverCommandQueues;
             return this;
         }
 
-        public Context senderCommandQueue(final OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue)
+        public Context senderCommandQueues(final List<OneToOneConcurrentArrayQueue<SenderCmd>> senderCommandQueues)
         {
-            this.senderCommandQueue = senderCommandQueue;
+            this.senderCommandQueues = senderCommandQueues;
             return this;
         }
 
-        public Context receiverProxy(final ReceiverProxy receiverProxy)
+        public Context receiverProxies(final ReceiverProxy... receiverProxies)
         {
-            this.receiverProxy = receiverProxy;
+            this.receiverProxies = receiverProxies;
             return this;
         }
 
-        public Context senderProxy(final SenderProxy senderProxy)
+        public Context senderProxies(final SenderProxy... senderProxies)
         {
-            this.senderProxy = senderProxy;
+            this.senderProxies = senderProxies;
             return this;
         }
 
@@ -635,6 +757,54 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        public Context senderBurstLength(final int senderBurstLength)
+        {
+            this.senderBurstLength = senderBurstLength;
+            return this;
+        }
+
+        public Context receiverCount(final int receiverCount)
+        {
+            this.receiverCount = receiverCount;
+            return this;
+        }
+
+        public Context senderCount(final int senderCount)
+        {
+            this.senderCount = senderCount;
+            return this;
+        }
+
+        public Context receiveBudget(final int receiveBudget)
+        {
+            this.receiveBudget = receiveBudget;
+            return this;
+        }
+
+        public Context senderControlBudget(final int senderControlBudget)
+        {
+            this.senderControlBudget = senderControlBudget;
+            return this;
+        }
+
+        public Context senderRetransmitBudget(final int senderRetransmitBudget)
+        {
+            this.senderRetransmitBudget = senderRetransmitBudget;
+            return this;
+        }
+
+        public Context dutyCycleInstrumentation(final boolean dutyCycleInstrumentation)
+        {
+            this.dutyCycleInstrumentation = dutyCycleInstrumentation;
+            return this;
+        }
+
+        public Context dutyCycleThresholdNs(final long dutyCycleThresholdNs)
+        {
+            this.dutyCycleThresholdNs = dutyCycleThresholdNs;
+            return this;
+        }
+
         public Context statusMessageTimeout(final long statusMessageTimeout)
         {
             this.statusMessageTimeout = statusMessageTimeout;
@@ -719,6 +889,18 @@ public final class MediaDriver implements AutoCloseable
             return this;
         }
 
+        public Context sendChannelEndpointSupplier(final SendChannelEndpointSupplier supplier)
+        {
+            this.sendChannelEndpointSupplier = supplier;
+            return this;
+        }
+
+        public Context receiveChannelEndpointSupplier(final ReceiveChannelEndpointSupplier supplier)
+        {
+            this.receiveChannelEndpointSupplier = supplier;
+            return this;
+        }
+
         /**
          * Set whether or not this application will attempt to delete the Aeron directories when exiting.
          *
@@ -736,12 +918,12 @@ public final class MediaDriver implements AutoCloseable
             return epochClock;
         }
 
-        public OneToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromReceiverCommandQueue()
+        public ManyToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromReceiverCommandQueue()
         {
             return toConductorFromReceiverCommandQueue;
         }
 
-        public OneToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromSenderCommandQueue()
+        public ManyToOneConcurrentArrayQueue<DriverConductorCmd> toConductorFromSenderCommandQueue()
         {
             return toConductorFromSenderCommandQueue;
         }
@@ -751,14 +933,14 @@ public final class MediaDriver implements AutoCloseable
             return rawLogFactory;
         }
 
-        public TransportPoller receiverNioSelector()
+        public TransportPoller[] receiverNioSelectors()
         {
-            return receiverTransportPoller;
+            return receiverTransportPollers;
         }
 
-        public TransportPoller senderNioSelector()
+        public TransportPoller[] senderNioSelectors()
         {
-            return senderTransportPoller;
+            return senderTransportPollers;
         }
 
         public Supplier<FlowControl> unicastSenderFlowControl()
@@ -776,24 +958,24 @@ public final class MediaDriver implements AutoCloseable
             return conductorTimerWheel;
         }
 
-        public OneToOneConcurrentArrayQueue<ReceiverCmd> receiverCommandQueue()
+        public List<OneToOneConcurrentArrayQueue<ReceiverCmd>> receiverCommandQueues()
         {
-            return receiverCommandQueue;
+            return receiverCommandQueues;
         }
 
-        public OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue()
+        public List<OneToOneConcurrentArrayQueue<SenderCmd>> senderCommandQueues()
         {
-            return senderCommandQueue;
+            return senderCommandQueues;
         }
 
-        public ReceiverProxy receiverProxy()
+        public ReceiverProxy[] receiverProxies()
         {
-            return receiverProxy;
+            return receiverProxies;
         }
 
-        public SenderProxy senderProxy()
+        public SenderProxy[] senderProxies()
         {
-            return senderProxy;
+            return senderProxies;
         }
 
         public DriverConductorProxy fromReceiverDriverConductorProxy()
@@ -861,6 +1043,46 @@ public final class MediaDriver implements AutoCloseable
             return initialWindowLength;
         }
 
+        public int senderBurstLength()
+        {
+            return senderBurstLength;
+        }
+
+        public int receiverCount()
+        {
+            return receiverCount;
+        }
+
+        public int senderCount()
+        {
+            return senderCount;
+        }
+
+        public int receiveBudget()
+        {
+            return receiveBudget;
+        }
+
+        public int senderControlBudget()
+        {
+            return senderControlBudget;
+        }
+
+        public int senderRetransmitBudget()
+        {
+            return senderRetransmitBudget;
+        }
+
+        public boolean dutyCycleInstrumentation()
+        {
+            return dutyCycleInstrumentation;
+        }
+
+        public long dutyCycleThresholdNs()
+        {
+            return dutyCycleThresholdNs;
+        }
+
         public long statusMessageTimeout()
         {
             return statusMessageTimeout;
@@ -916,6 +1138,16 @@ public final class MediaDriver implements AutoCloseable
             return controlLossGenerator;
         }
 
+        public SendChannelEndpointSupplier sendChannelEndpointSupplier()
+        {
+            return sendChannelEndpointSupplier;
+        }
+
+        public ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier()
+        {
+            return receiveChannelEndpointSupplier;
+        }
+
         public CommonContext mtuLength(final int mtuLength)
         {
             this.mtuLength = mtuLength;
@@ -1015,6 +1247,39 @@ public final class MediaDriver implements AutoCloseable
             }
         }
 
+        private void concludeAgentProxies()
+        {
+            final TransportPoller[] receiverTransportPollers = new TransportPoller[receiverCount];
+            final ReceiverProxy[] receiverProxies = new ReceiverProxy[receiverCount];
+            for (int i = 0; i < receiverCount; i++)
+            {
+                receiverTransportPollers[i] =
+                    new TransportPoller(receiveBudget, systemCounters.receiveBudgetExhausted());
+                receiverProxies[i] = new ReceiverProxy(
+                    threadingMode, receiverCommandQueues.get(i), systemCounters.receiverProxyFails());
+            }
+
+            final TransportPoller[] senderTransportPollers = new TransportPoller[senderCount];
+            final SenderProxy[] senderProxies = new SenderProxy[senderCount];
+            for (int i = 0; i < senderCount; i++)
+            {
+                senderTransportPollers[i] =
+                    new TransportPoller(senderControlBudget, systemCounters.senderControlBudgetExhausted());
+                senderProxies[i] = new SenderProxy(
+                    threadingMode, senderCommandQueues.get(i), systemCounters.senderProxyFails());
+            }
+
+            receiverNioSelectors(receiverTransportPollers);
+            senderNioSelectors(senderTransportPollers);
+
+            receiverProxies(receiverProxies);
+            senderProxies(senderProxies);
+            fromReceiverDriverConductorProxy(new DriverConductorProxy(
+                threadingMode, toConductorFromReceiverCommandQueue, systemCounters.conductorProxyFails()));
+            fromSenderDriverConductorProxy(new DriverConductorProxy(
+                threadingMode, toConductorFromSenderCommandQueue, systemCounters.conductorProxyFails()));
+        }
+
         private void concludeLossGenerators()
         {
             if (null == dataLossGenerator)
@@ -17,9 +17,11 @@ package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.logbuffer.TermRebuilder;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.protocol.ParityFlyweight;
 import uk.co.real_logic.aeron.driver.buffer.RawLog;
 import uk.co.real_logic.aeron.driver.buffer.RawLogPartition;
 import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpoint;
+import uk.co.real_logic.agrona.BitUtil;
 import uk.co.real_logic.agrona.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.NanoClock;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
@@ -29,6 +31,9 @@ import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
 import java.net.InetSocketAddress;
 import java.util.List;
 
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.FRAME_ALIGNMENT;
+import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.frameLengthVolatile;
 import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.aeron.driver.NetworkConnection.Status.ACTIVE;
 
@@ -45,9 +50,6 @@ class NetworkConnectionConductorFields extends NetworkConnectionPadding1
 
     protected volatile long beginLossChange = -1;
     protected volatile long endLossChange = -1;
-    protected int lossTermId;
-    protected int lossTermOffset;
-    protected int lossLength;
 }
 
 class NetworkConnectionPadding2 extends NetworkConnectionConductorFields
@@ -100,6 +102,10 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
     private final int initialTermId;
     private final int currentWindowLength;
     private final int currentGain;
+    private final int lossMask;
+    private final int[] lossTermIds;
+    private final int[] lossTermOffsets;
+    private final int[] lossLengths;
 
     private final RawLog rawLog;
     private final InetSocketAddress controlAddress;
@@ -108,6 +114,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
     private final SystemCounters systemCounters;
     private final NanoClock clock;
     private final UnsafeBuffer[] termBuffers;
+    private final UnsafeBuffer rebuiltPacket = new UnsafeBuffer(new byte[0]);
     private final Position hwmPosition;
     private final List<ReadablePosition> subscriberPositions;
     private final LossDetector lossDetector;
@@ -148,7 +155,13 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         this.lastPacketTimestamp = time;
 
         termBuffers = rawLog.stream().map(RawLogPartition::termBuffer).toArray(UnsafeBuffer[]::new);
-        this.lossDetector = new LossDetector(timerwheel, lossFeedbackDelayGenerator, this);
+        this.lossDetector = new LossDetector(timerwheel, lossFeedbackDelayGenerator, this, Configuration.NAK_MAX_GAPS);
+
+        final int lossCapacity = BitUtil.findNextPositivePowerOfTwo(Configuration.NAK_MAX_GAPS);
+        lossMask = lossCapacity - 1;
+        lossTermIds = new int[lossCapacity];
+        lossTermOffsets = new int[lossCapacity];
+        lossLengths = new int[lossCapacity];
 
         final int termCapacity = termBuffers[0].capacity();
 
@@ -232,13 +245,13 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
     /**
      * Does this connection match a given {@link ReceiveChannelEndpoint} and stream id?
      *
-     * @param channelEndpoint to match by identity.
+     * @param channelEndpoint to match by identity against the primary endpoint of this connection.
      * @param streamId        to match on value.
      * @return true on a match otherwise false.
      */
     public boolean matches(final ReceiveChannelEndpoint channelEndpoint, final int streamId)
     {
-        return this.streamId == streamId && this.channelEndpoint == channelEndpoint;
+        return this.streamId == streamId && this.channelEndpoint.primary() == channelEndpoint;
     }
 
     /**
@@ -251,6 +264,17 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         return rawLog;
     }
 
+    /**
+     * The id of the counter for the high-water-mark position of received data so subscribers can tell when there is
+     * data available.
+     *
+     * @return the id of the counter for the high-water-mark position.
+     */
+    public int hwmPositionId()
+    {
+        return hwmPosition.id();
+    }
+
     /**
      * Return status of the connection. Retrieved by {@link DriverConductor}.
      *
@@ -316,6 +340,9 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
     /**
      * Called from the {@link LossDetector} when gap is detected.
+     * <p>
+     * Each gap is recorded in a slot of a ring indexed by change number so a burst of gaps can be handed to the
+     * {@link Receiver} before it sends the NAKs.
      *
      * @see NakMessageSender
      */
@@ -325,9 +352,10 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
         beginLossChange = changeNumber;
 
-        lossTermId = termId;
-        lossTermOffset = termOffset;
-        lossLength = length;
+        final int index = (int)changeNumber & lossMask;
+        lossTermIds[index] = termId;
+        lossTermOffsets[index] = termOffset;
+        lossLengths[index] = length;
 
         endLossChange = changeNumber;
     }
@@ -398,7 +426,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         if (isHeartbeat(buffer, length))
         {
             hwmCandidate(packetPosition);
-            systemCounters.heartbeatsReceived().orderedIncrement();
+            systemCounters.heartbeatsReceived().increment();
         }
         else if (isFlowControlUnderRun(windowPosition, packetPosition) || isFlowControlOverRun(windowPosition, proposedPosition))
         {
@@ -415,6 +443,106 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         return bytesReceived;
     }
 
+    /**
+     * Rebuild a single datagram missing from the group covered by a parity frame and insert it into the term buffer.
+     * <p>
+     * The parity payload is combined in place with the datagrams of the group already in the term buffer. If more
+     * than one datagram of the group is missing nothing can be rebuilt and the gaps are left for the
+     * {@link LossDetector} to NAK.
+     *
+     * @param header of the parity frame.
+     * @param buffer containing the parity frame which will be modified.
+     * @param length of the parity frame.
+     * @return number of bytes rebuilt as a result of the parity frame.
+     */
+    public int insertParity(final ParityFlyweight header, final UnsafeBuffer buffer, final int length)
+    {
+        if (!isValidParity(header, length))
+        {
+            return 0;
+        }
+
+        final int datagramCount = header.datagramCount();
+        final int termId = header.termId();
+        final int groupTermOffset = header.termOffset();
+
+        int groupLength = 0;
+        for (int i = 0; i < datagramCount; i++)
+        {
+            groupLength += header.datagramLength(i);
+        }
+
+        if (groupTermOffset < 0 || (groupTermOffset + groupLength) > (termLengthMask + 1))
+        {
+            return 0;
+        }
+
+        final int positionBitsToShift = this.positionBitsToShift;
+        final long groupPosition = computePosition(termId, groupTermOffset, positionBitsToShift, initialTermId);
+        final long windowPosition = lastStatusMessagePosition;
+        if (groupPosition < windowPosition || (groupPosition + groupLength) > (windowPosition + currentWindowLength))
+        {
+            return 0;
+        }
+
+        final UnsafeBuffer termBuffer = termBuffers[indexByPosition(groupPosition, positionBitsToShift)];
+
+        int missingIndex = -1;
+        int missingTermOffset = 0;
+        for (int i = 0, termOffset = groupTermOffset; i < datagramCount; i++)
+        {
+            final int datagramLength = header.datagramLength(i);
+            if (!isReceived(termBuffer, termOffset, datagramLength))
+            {
+                if (-1 != missingIndex)
+                {
+                    return 0;
+                }
+
+                missingIndex = i;
+                missingTermOffset = termOffset;
+            }
+
+            termOffset += datagramLength;
+        }
+
+        if (-1 == missingIndex)
+        {
+            return 0;
+        }
+
+        final int payloadOffset = header.payloadOffset();
+        for (int i = 0, termOffset = groupTermOffset; i < datagramCount; i++)
+        {
+            final int datagramLength = header.datagramLength(i);
+            if (i != missingIndex)
+            {
+                for (int j = 0; j < datagramLength; j += BitUtil.SIZE_OF_LONG)
+                {
+                    final int index = payloadOffset + j;
+                    buffer.putLong(index, buffer.getLong(index) ^ termBuffer.getLong(termOffset + j));
+                }
+            }
+
+            termOffset += datagramLength;
+        }
+
+        final int missingLength = header.datagramLength(missingIndex);
+        final UnsafeBuffer rebuiltPacket = this.rebuiltPacket;
+        rebuiltPacket.wrap(buffer, payloadOffset, missingLength);
+
+        if (!isRebuiltPacketValid(rebuiltPacket, termId, missingTermOffset))
+        {
+            return 0;
+        }
+
+        TermRebuilder.insert(termBuffer, missingTermOffset, rebuiltPacket, missingLength);
+        hwmCandidate(computePosition(termId, missingTermOffset, positionBitsToShift, initialTermId) + missingLength);
+        systemCounters.parityRecoveries().increment();
+
+        return missingLength;
+    }
+
     /**
      * To be called from the {@link Receiver} to see if a connection should be garbage collected.
      *
@@ -458,7 +586,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
                 lastStatusMessageTimestamp = now;
                 lastStatusMessagePosition = statusMessagePosition;
-                systemCounters.statusMessagesSent().orderedIncrement();
+                systemCounters.statusMessagesSent().increment();
                 workCount = 1;
             }
         }
@@ -467,7 +595,9 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
     }
 
     /**
-     * Called from the {@link Receiver} to send a pending NAK.
+     * Called from the {@link Receiver} to send pending NAKs.
+     * <p>
+     * Gaps whose slot has been overwritten before they could be sent are skipped as the later gaps supersede them.
      *
      * @return number of work items processed.
      */
@@ -478,17 +608,23 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
         if (changeNumber != lastChangeNumber)
         {
-            final int termId = lossTermId;
-            final int termOffset = lossTermOffset;
-            final int length = lossLength;
-
-            if (changeNumber == beginLossChange)
+            final int lossMask = this.lossMask;
+            for (long i = Math.max(lastChangeNumber + 1, changeNumber - lossMask); i <= changeNumber; i++)
             {
-                channelEndpoint.sendNakMessage(controlAddress, sessionId, streamId, termId, termOffset, length);
-                lastChangeNumber = changeNumber;
-                systemCounters.nakMessagesSent().orderedIncrement();
-                workCount = 1;
+                final int index = (int)i & lossMask;
+                final int termId = lossTermIds[index];
+                final int termOffset = lossTermOffsets[index];
+                final int length = lossLengths[index];
+
+                if ((beginLossChange - i) <= lossMask)
+                {
+                    channelEndpoint.sendNakMessage(controlAddress, sessionId, streamId, termId, termOffset, length);
+                    systemCounters.nakMessagesSent().increment();
+                    workCount++;
+                }
             }
+
+            lastChangeNumber = changeNumber;
         }
 
         return workCount;
@@ -540,6 +676,60 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
         return length == DataHeaderFlyweight.HEADER_LENGTH && buffer.getInt(0) == 0;
     }
 
+    private static boolean isValidParity(final ParityFlyweight header, final int length)
+    {
+        final int datagramCount = header.datagramCount();
+        final int payloadLength = header.payloadLength();
+
+        if (datagramCount < 1 ||
+            datagramCount > Configuration.FEC_MAX_GROUP_SIZE ||
+            header.frameLength() > length ||
+            header.payloadOffset() < ParityFlyweight.headerLength(datagramCount) ||
+            (payloadLength & (FRAME_ALIGNMENT - 1)) != 0)
+        {
+            return false;
+        }
+
+        for (int i = 0; i < datagramCount; i++)
+        {
+            final int datagramLength = header.datagramLength(i);
+            if (datagramLength <= 0 || datagramLength > payloadLength || (datagramLength & (FRAME_ALIGNMENT - 1)) != 0)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isReceived(final UnsafeBuffer termBuffer, final int termOffset, final int length)
+    {
+        final int limit = termOffset + length;
+        int frameOffset = termOffset;
+
+        while (frameOffset < limit)
+        {
+            final int frameLength = frameLengthVolatile(termBuffer, frameOffset);
+            if (frameLength <= 0)
+            {
+                return false;
+            }
+
+            frameOffset += BitUtil.align(frameLength, FRAME_ALIGNMENT);
+        }
+
+        return true;
+    }
+
+    private boolean isRebuiltPacketValid(final UnsafeBuffer packet, final int termId, final int termOffset)
+    {
+        return packet.getInt(0, LITTLE_ENDIAN) > 0 &&
+            packet.getInt(DataHeaderFlyweight.TERM_OFFSET_FIELD_OFFSET, LITTLE_ENDIAN) == termOffset &&
+            packet.getInt(DataHeaderFlyweight.SESSION_ID_FIELD_OFFSET, LITTLE_ENDIAN) == sessionId &&
+            packet.getInt(DataHeaderFlyweight.STREAM_ID_FIELD_OFFSET, LITTLE_ENDIAN) == streamId &&
+            packet.getInt(DataHeaderFlyweight.TERM_ID_FIELD_OFFSET, LITTLE_ENDIAN) == termId;
+    }
+
     private void hwmCandidate(final long proposedPosition)
     {
         lastPacketTimestamp = clock.nanoTime();
@@ -552,7 +742,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
         if (isFlowControlUnderRun)
         {
-            systemCounters.flowControlUnderRuns().orderedIncrement();
+            systemCounters.flowControlUnderRuns().increment();
         }
 
         return isFlowControlUnderRun;
@@ -564,7 +754,7 @@ public class NetworkConnection extends NetworkConnectionPadding4 implements Auto
 
         if (isFlowControlOverRun)
         {
-            systemCounters.flowControlOverRuns().orderedIncrement();
+            systemCounters.flowControlOverRuns().increment();
         }
 
         return isFlowControlOverRun;
@@ -18,15 +18,18 @@ package uk.co.real_logic.aeron.driver;
 import uk.co.real_logic.aeron.logbuffer.LogBufferPartition;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.protocol.HeaderFlyweight;
+import uk.co.real_logic.aeron.protocol.ParityFlyweight;
 import uk.co.real_logic.aeron.protocol.SetupFlyweight;
 import uk.co.real_logic.aeron.driver.buffer.RawLog;
 import uk.co.real_logic.aeron.driver.media.SendChannelEndpoint;
 import uk.co.real_logic.agrona.concurrent.NanoClock;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import uk.co.real_logic.agrona.concurrent.status.Position;
+import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
 
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 
 import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.*;
 import static uk.co.real_logic.aeron.driver.Configuration.PUBLICATION_HEARTBEAT_TIMEOUT_NS;
@@ -34,11 +37,18 @@ import static uk.co.real_logic.aeron.driver.Configuration.PUBLICATION_SETUP_TIME
 import static uk.co.real_logic.aeron.logbuffer.TermScanner.available;
 import static uk.co.real_logic.aeron.logbuffer.TermScanner.padding;
 import static uk.co.real_logic.aeron.logbuffer.TermScanner.scanForAvailability;
+import static uk.co.real_logic.agrona.BitUtil.SIZE_OF_LONG;
 
 /**
  * Publication to be sent to registered subscribers.
+ * <p>
+ * Local spy subscribers can read the log directly, in which case the slowest of the sender and the spies limits
+ * the publishers.
+ * <p>
+ * When the channel has forward error correction a parity frame is sent after each group of data datagrams, or
+ * sooner when there is no new data to send, so a receiver can rebuild a single datagram lost from the group.
  */
-public class NetworkPublication implements RetransmitSender, AutoCloseable
+public class NetworkPublication implements RetransmitSender, DriverPublication, AutoCloseable
 {
     private final RawLog rawLog;
     private final NanoClock clock;
@@ -46,6 +56,9 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
     private final ByteBuffer setupFrameBuffer = ByteBuffer.allocateDirect(SetupFlyweight.HEADER_LENGTH);
     private final ByteBuffer heartbeatFrameBuffer = ByteBuffer.allocateDirect(DataHeaderFlyweight.HEADER_LENGTH);
+    private final ParityFlyweight parityHeader = new ParityFlyweight();
+    private final ByteBuffer parityFrameBuffer;
+    private final UnsafeBuffer parityBuffer;
     private final LogBufferPartition[] logPartitions;
     private final ByteBuffer[] sendBuffers;
     private final Position publisherLimit;
@@ -53,17 +66,33 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     private final SendChannelEndpoint channelEndpoint;
     private final InetSocketAddress dstAddress;
     private final SystemCounters systemCounters;
+    private final ArrayList<ReadablePosition> spyPositions = new ArrayList<>();
+    private final int[] retransmitTermIds;
+    private final int[] retransmitTermOffsets;
+    private final int[] retransmitLengths;
 
     private final int positionBitsToShift;
     private final int initialTermId;
     private final int termLengthMask;
     private final int mtuLength;
+    private final int burstLength;
     private final int termWindowLength;
+    private final int retransmitQueueMask;
+    private final int fecGroupSize;
+    private final int parityPayloadOffset;
+    private final long correlationId;
+    private final boolean isExclusive;
 
     private long timeOfLastSendOrHeartbeat;
     private long timeOfFlush = 0;
     private int statusMessagesReceivedCount = 0;
     private int refCount = 0;
+    private long retransmitHead = 0;
+    private long retransmitTail = 0;
+    private long retransmitDeferredMark = 0;
+    private int parityDatagramCount = 0;
+    private int parityPayloadLength = 0;
+    private int parityNextTermOffset = 0;
 
     private volatile long senderPositionLimit;
     private boolean trackSenderLimits = true;
@@ -71,6 +100,7 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     private volatile boolean shouldSendSetupFrame = true;
 
     public NetworkPublication(
+        final long correlationId,
         final SendChannelEndpoint channelEndpoint,
         final NanoClock clock,
         final RawLog rawLog,
@@ -80,9 +110,14 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         final int streamId,
         final int initialTermId,
         final int mtuLength,
+        final int burstLength,
+        final int fecGroupSize,
         final long initialPositionLimit,
+        final boolean isExclusive,
         final SystemCounters systemCounters)
     {
+        this.correlationId = correlationId;
+        this.isExclusive = isExclusive;
         this.channelEndpoint = channelEndpoint;
         this.rawLog = rawLog;
         this.senderPosition = senderPosition;
@@ -91,6 +126,8 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         this.clock = clock;
         this.publisherLimit = publisherLimit;
         this.mtuLength = mtuLength;
+        this.burstLength = burstLength;
+        this.fecGroupSize = fecGroupSize;
 
         logPartitions = rawLog
             .stream()
@@ -110,15 +147,31 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         termWindowLength = Configuration.publicationTermWindowLength(termLength);
         publisherLimit.setOrdered(termWindowLength);
 
+        final int retransmitQueueCapacity = Configuration.retransmitQueueCapacity(termWindowLength, mtuLength);
+        retransmitQueueMask = retransmitQueueCapacity - 1;
+        retransmitTermIds = new int[retransmitQueueCapacity];
+        retransmitTermOffsets = new int[retransmitQueueCapacity];
+        retransmitLengths = new int[retransmitQueueCapacity];
+
         setupHeader.wrap(new UnsafeBuffer(setupFrameBuffer), 0);
         initSetupFrame(initialTermId, termLength, sessionId, streamId);
 
         dataHeader.wrap(new UnsafeBuffer(heartbeatFrameBuffer), 0);
         initHeartBeatFrame(sessionId, streamId);
+
+        parityPayloadOffset = ParityFlyweight.headerLength(fecGroupSize);
+        parityFrameBuffer = ByteBuffer.allocateDirect(fecGroupSize > 0 ? parityPayloadOffset + mtuLength : 0);
+        parityBuffer = new UnsafeBuffer(parityFrameBuffer);
+        if (fecGroupSize > 0)
+        {
+            parityHeader.wrap(parityBuffer, 0);
+            initParityFrame(sessionId, streamId);
+        }
     }
 
     public void close()
     {
+        spyPositions.forEach(ReadablePosition::close);
         rawLog.close();
         publisherLimit.close();
         senderPosition.close();
@@ -140,10 +193,15 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
                 setupMessageCheck(now, activeTermId, termOffset, senderPosition);
             }
 
-            bytesSent = sendData(now, senderPosition, termOffset);
+            bytesSent = sendData(now, senderPosition);
 
             if (0 == bytesSent)
             {
+                if (parityDatagramCount > 0)
+                {
+                    sendParityFrame();
+                }
+
                 heartbeatMessageCheck(now, senderPosition, activeTermId);
             }
         }
@@ -196,8 +254,118 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         return timeOfFlush;
     }
 
-    public void resend(final int termId, int termOffset, final int length)
+    /**
+     * Queue a range of the log to be retransmitted when the {@link Sender} next has retransmit budget available via
+     * {@link #sendPendingRetransmits(int)}. If the queue is full the range is merged with a queued range it overlaps,
+     * otherwise the oldest queued range is dropped to make room and will be recovered by a later NAK.
+     * <p>
+     * Called from the {@link Sender} thread on reception of a NAK.
+     *
+     * @param termId     of the data to be retransmitted.
+     * @param termOffset of the data to be retransmitted.
+     * @param length     of the data to be retransmitted.
+     */
+    public void resend(final int termId, final int termOffset, final int length)
+    {
+        systemCounters.retransmitBytesQueued().add(length);
+
+        final int mask = retransmitQueueMask;
+        final long tail = retransmitTail;
+        if ((tail - retransmitHead) > mask)
+        {
+            if (mergeQueued(termId, termOffset, length))
+            {
+                return;
+            }
+
+            systemCounters.retransmitsDropped().increment();
+            retransmitHead++;
+        }
+
+        final int index = (int)tail & mask;
+        retransmitTermIds[index] = termId;
+        retransmitTermOffsets[index] = termOffset;
+        retransmitLengths[index] = length;
+        retransmitTail = tail + 1;
+    }
+
+    /**
+     * Send queued retransmits up to a budget of bytes. Ranges not completed within the budget remain queued for
+     * subsequent duty cycles and are counted as deferred the first time they miss a budget.
+     *
+     * @param budget of bytes which can be retransmitted.
+     * @return the number of bytes retransmitted.
+     */
+    public int sendPendingRetransmits(final int budget)
+    {
+        int bytesSent = 0;
+        final int mask = retransmitQueueMask;
+        long head = retransmitHead;
+        final long tail = retransmitTail;
+
+        while (head < tail && bytesSent < budget)
+        {
+            final int index = (int)head & mask;
+            bytesSent += resendQueued(index, budget - bytesSent);
+
+            if (retransmitLengths[index] <= 0)
+            {
+                head++;
+            }
+        }
+
+        retransmitHead = head;
+
+        if (tail > retransmitDeferredMark)
+        {
+            long bytesDeferred = 0;
+            for (long i = Math.max(head, retransmitDeferredMark); i < tail; i++)
+            {
+                bytesDeferred += retransmitLengths[(int)i & mask];
+            }
+
+            retransmitDeferredMark = tail;
+
+            if (bytesDeferred > 0)
+            {
+                systemCounters.retransmitBytesDeferred().add(bytesDeferred);
+            }
+        }
+
+        return bytesSent;
+    }
+
+    private boolean mergeQueued(final int termId, final int termOffset, final int length)
+    {
+        final int mask = retransmitQueueMask;
+        final int endOffset = termOffset + length;
+
+        for (long i = retransmitTail - 1; i >= retransmitHead; i--)
+        {
+            final int index = (int)i & mask;
+            final int queuedOffset = retransmitTermOffsets[index];
+            final int queuedEndOffset = queuedOffset + retransmitLengths[index];
+
+            if (retransmitTermIds[index] == termId && termOffset <= queuedEndOffset && endOffset >= queuedOffset)
+            {
+                final int mergedOffset = Math.min(termOffset, queuedOffset);
+                retransmitTermOffsets[index] = mergedOffset;
+                retransmitLengths[index] = Math.max(endOffset, queuedEndOffset) - mergedOffset;
+
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private int resendQueued(final int index, final int budget)
     {
+        final int termId = retransmitTermIds[index];
+        int termOffset = retransmitTermOffsets[index];
+        int remainingBytes = retransmitLengths[index];
+        int bytesSent = 0;
+
         final long senderPosition = this.senderPosition.get();
         final int activeTermId = computeTermIdFromPosition(senderPosition, positionBitsToShift, initialTermId);
 
@@ -207,16 +375,13 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
             final UnsafeBuffer termBuffer = logPartitions[activeIndex].termBuffer();
             final ByteBuffer sendBuffer = sendBuffers[activeIndex];
 
-            int remainingBytes = length;
-            int bytesSent = 0;
             do
             {
-                termOffset += bytesSent;
-
                 final long scanOutcome = scanForAvailability(termBuffer, termOffset, mtuLength);
                 final int available = available(scanOutcome);
                 if (available <= 0)
                 {
+                    remainingBytes = 0;
                     break;
                 }
 
@@ -224,17 +389,32 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
 
                 if (available != channelEndpoint.sendTo(sendBuffer, dstAddress))
                 {
-                    systemCounters.dataPacketShortSends().orderedIncrement();
+                    systemCounters.dataPacketShortSends().increment();
+                    remainingBytes = 0;
                     break;
                 }
 
-                bytesSent = available + padding(scanOutcome);
-                remainingBytes -= bytesSent;
+                final int bytesConsumed = available + padding(scanOutcome);
+                termOffset += bytesConsumed;
+                remainingBytes -= bytesConsumed;
+                bytesSent += available;
             }
-            while (remainingBytes > 0);
+            while (remainingBytes > 0 && bytesSent < budget);
 
-            systemCounters.retransmitsSent().orderedIncrement();
+            if (remainingBytes <= 0)
+            {
+                systemCounters.retransmitsSent().increment();
+            }
+        }
+        else
+        {
+            remainingBytes = 0;
         }
+
+        retransmitTermOffsets[index] = termOffset;
+        retransmitLengths[index] = remainingBytes;
+
+        return bytesSent;
     }
 
     public void triggerSendSetupFrame()
@@ -279,16 +459,57 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         return isFlushed;
     }
 
+    public long correlationId()
+    {
+        return correlationId;
+    }
+
     public RawLog rawLog()
     {
         return rawLog;
     }
 
+    public long senderPosition()
+    {
+        return senderPosition.getVolatile();
+    }
+
+    /**
+     * Spies consume the log up to what has been sent so the sender position serves as their high-water mark.
+     *
+     * @return id of the sender position counter.
+     */
+    public int hwmPositionId()
+    {
+        return senderPosition.id();
+    }
+
+    public void addSubscriber(final ReadablePosition spyPosition)
+    {
+        spyPositions.add(spyPosition);
+    }
+
+    public void removeSubscriber(final ReadablePosition spyPosition)
+    {
+        spyPositions.remove(spyPosition);
+        spyPosition.close();
+    }
+
+    public boolean hasSpies()
+    {
+        return !spyPositions.isEmpty();
+    }
+
     public int publisherLimitId()
     {
         return publisherLimit.id();
     }
 
+    public boolean isExclusive()
+    {
+        return isExclusive;
+    }
+
     /**
      * Update the publishers limit for flow control as part of the conductor duty cycle.
      *
@@ -297,7 +518,15 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
     public int updatePublishersLimit()
     {
         int workCount = 0;
-        final long candidatePublisherLimit = senderPosition.getVolatile() + termWindowLength;
+
+        long minConsumerPosition = senderPosition.getVolatile();
+        final ArrayList<ReadablePosition> spyPositions = this.spyPositions;
+        for (int i = 0, size = spyPositions.size(); i < size; i++)
+        {
+            minConsumerPosition = Math.min(minConsumerPosition, spyPositions.get(i).getVolatile());
+        }
+
+        final long candidatePublisherLimit = minConsumerPosition + termWindowLength;
         if (publisherLimit.proposeMaxOrdered(candidatePublisherLimit))
         {
             workCount = 1;
@@ -306,7 +535,24 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
         return workCount;
     }
 
-    private int sendData(final long now, final long senderPosition, final int termOffset)
+    private int sendData(final long now, final long senderPosition)
+    {
+        int bytesSent = 0;
+        int datagramLength;
+        long position = senderPosition;
+
+        do
+        {
+            datagramLength = sendDatagram(now, position, (int)position & termLengthMask);
+            bytesSent += datagramLength;
+            position = this.senderPosition.get();
+        }
+        while (datagramLength > 0 && bytesSent < burstLength);
+
+        return bytesSent;
+    }
+
+    private int sendDatagram(final long now, final long senderPosition, final int termOffset)
     {
         int bytesSent = 0;
         final int availableWindow = (int)(senderPositionLimit - senderPosition);
@@ -315,7 +561,9 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
             final int scanLimit = Math.min(availableWindow, mtuLength);
             final int activeIndex = indexByPosition(senderPosition, positionBitsToShift);
 
-            final long scanOutcome = scanForAvailability(logPartitions[activeIndex].termBuffer(), termOffset, scanLimit);
+            final UnsafeBuffer termBuffer = logPartitions[activeIndex].termBuffer();
+
+            final long scanOutcome = scanForAvailability(termBuffer, termOffset, scanLimit);
             final int available = available(scanOutcome);
             if (available > 0)
             {
@@ -327,24 +575,82 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
                     timeOfLastSendOrHeartbeat = now;
                     trackSenderLimits = true;
 
+                    if (fecGroupSize > 0)
+                    {
+                        final int termId = computeTermIdFromPosition(senderPosition, positionBitsToShift, initialTermId);
+                        addToParityGroup(termBuffer, termId, termOffset, available);
+                    }
+
                     bytesSent = available;
                     this.senderPosition.setOrdered(senderPosition + bytesSent + padding(scanOutcome));
                 }
                 else
                 {
-                    systemCounters.dataPacketShortSends().orderedIncrement();
+                    systemCounters.dataPacketShortSends().increment();
                 }
             }
         }
         else if (trackSenderLimits)
         {
             trackSenderLimits = false;
-            systemCounters.senderFlowControlLimits().orderedIncrement();
+            systemCounters.senderFlowControlLimits().increment();
         }
 
         return bytesSent;
     }
 
+    private void addToParityGroup(final UnsafeBuffer termBuffer, final int termId, final int termOffset, final int length)
+    {
+        if (parityDatagramCount > 0 && (termId != parityHeader.termId() || termOffset != parityNextTermOffset))
+        {
+            sendParityFrame();
+        }
+
+        if (0 == parityDatagramCount)
+        {
+            parityHeader.termId(termId).termOffset(termOffset);
+        }
+
+        final UnsafeBuffer parityBuffer = this.parityBuffer;
+        final int payloadOffset = parityPayloadOffset;
+        for (int i = 0; i < length; i += SIZE_OF_LONG)
+        {
+            final int index = payloadOffset + i;
+            parityBuffer.putLong(index, parityBuffer.getLong(index) ^ termBuffer.getLong(termOffset + i));
+        }
+
+        parityHeader.datagramLength(parityDatagramCount++, length);
+        parityPayloadLength = Math.max(parityPayloadLength, length);
+        parityNextTermOffset = termOffset + length;
+
+        if (parityDatagramCount == fecGroupSize)
+        {
+            sendParityFrame();
+        }
+    }
+
+    private void sendParityFrame()
+    {
+        final int payloadLength = parityPayloadLength;
+        final int frameLength = parityPayloadOffset + payloadLength;
+        parityHeader
+            .datagramCount(parityDatagramCount)
+            .payloadLength(payloadLength)
+            .frameLength(frameLength);
+
+        parityFrameBuffer.limit(frameLength).position(0);
+        if (frameLength != channelEndpoint.sendTo(parityFrameBuffer, dstAddress))
+        {
+            systemCounters.dataPacketShortSends().increment();
+        }
+
+        systemCounters.parityFramesSent().increment();
+
+        parityBuffer.setMemory(parityPayloadOffset, payloadLength, (byte)0);
+        parityDatagramCount = 0;
+        parityPayloadLength = 0;
+    }
+
     private void setupMessageCheck(final long now, final int activeTermId, final int termOffset, final long senderPosition)
     {
         if (0 != senderPosition || (now > (timeOfLastSendOrHeartbeat + PUBLICATION_SETUP_TIMEOUT_NS)))
@@ -355,7 +661,7 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
             final int bytesSent = channelEndpoint.sendTo(setupFrameBuffer, dstAddress);
             if (SetupFlyweight.HEADER_LENGTH != bytesSent)
             {
-                systemCounters.setupMessageShortSends().orderedIncrement();
+                systemCounters.setupMessageShortSends().increment();
             }
 
             timeOfLastSendOrHeartbeat = now;
@@ -379,10 +685,10 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
             final int bytesSent = channelEndpoint.sendTo(heartbeatFrameBuffer, dstAddress);
             if (DataHeaderFlyweight.HEADER_LENGTH != bytesSent)
             {
-                systemCounters.dataPacketShortSends().orderedIncrement();
+                systemCounters.dataPacketShortSends().increment();
             }
 
-            systemCounters.heartbeatsSent().orderedIncrement();
+            systemCounters.heartbeatsSent().increment();
             timeOfLastSendOrHeartbeat = now;
         }
     }
@@ -403,6 +709,16 @@ public class NetworkPublication implements RetransmitSender, AutoCloseable
             .frameLength(SetupFlyweight.HEADER_LENGTH);
     }
 
+    private void initParityFrame(final int sessionId, final int streamId)
+    {
+        parityHeader
+            .sessionId(sessionId)
+            .streamId(streamId)
+            .version(HeaderFlyweight.CURRENT_VERSION)
+            .flags((byte)0)
+            .headerType(HeaderFlyweight.HDR_TYPE_PARITY);
+    }
+
     private void initHeartBeatFrame(final int sessionId, final int streamId)
     {
         dataHeader
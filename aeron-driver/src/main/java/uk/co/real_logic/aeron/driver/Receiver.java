@@ -31,6 +31,7 @@ import java.util.function.Consumer;
  */
 public class Receiver implements Agent, Consumer<ReceiverCmd>
 {
+    private final String roleName;
     private final long statusMessageTimeout;
     private final TransportPoller transportPoller;
     private final OneToOneConcurrentArrayQueue<ReceiverCmd> commandQueue;
@@ -39,18 +40,25 @@ public class Receiver implements Agent, Consumer<ReceiverCmd>
     private final ArrayList<NetworkConnection> connections = new ArrayList<>();
     private final ArrayList<PendingSetupMessageFromSource> pendingSetupMessages = new ArrayList<>();
 
-    public Receiver(final MediaDriver.Context ctx)
+    /**
+     * Construct one of the receiver agents configured in a {@link MediaDriver.Context}.
+     *
+     * @param ctx   for the media driver.
+     * @param index of this receiver amongst {@link MediaDriver.Context#receiverCount()} receivers.
+     */
+    public Receiver(final MediaDriver.Context ctx, final int index)
     {
+        roleName = ctx.receiverCount() > 1 ? "receiver-" + index : "receiver";
         statusMessageTimeout = ctx.statusMessageTimeout();
-        transportPoller = ctx.receiverNioSelector();
-        commandQueue = ctx.receiverCommandQueue();
+        transportPoller = ctx.receiverNioSelectors()[index];
+        commandQueue = ctx.receiverCommandQueues().get(index);
         totalBytesReceived = ctx.systemCounters().bytesReceived();
         clock = ctx.conductorTimerWheel().clock();
     }
 
     public String roleName()
     {
-        return "receiver";
+        return roleName;
     }
 
     public int doWork() throws Exception
@@ -76,7 +84,10 @@ public class Receiver implements Agent, Consumer<ReceiverCmd>
 
         timeoutPendingSetupMessages(now);
 
-        totalBytesReceived.addOrdered(bytesReceived);
+        if (bytesReceived > 0)
+        {
+            totalBytesReceived.add(bytesReceived);
+        }
 
         return workCount + bytesReceived;
     }
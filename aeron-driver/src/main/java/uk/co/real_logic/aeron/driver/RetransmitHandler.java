@@ -17,33 +17,48 @@ package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.agrona.TimerWheel;
-import uk.co.real_logic.agrona.collections.Long2ObjectHashMap;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
 
-import java.util.Queue;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.computePosition;
+import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.computeTermIdFromPosition;
 
 /**
  * Tracking and handling of retransmit request, NAKs, for senders and receivers
  *
- * A max number of retransmits is permitted by {@link #MAX_RETRANSMITS}. Additional received NAKs will be
- * ignored if this maximum is reached. Each retransmit will have 1 timer.
+ * Active retransmits are tracked as disjoint ranges of the stream ordered by position. A NAK only results in the
+ * parts of its range not already being resent or lingering being retransmitted. Those parts are merged into a
+ * delayed retransmit the NAK overlaps so duplicate NAKs from many receivers result in a single resend of the bytes.
+ *
+ * {@link Configuration#RETRANSMITS_PREALLOCATED} actions are pre-allocated and more are allocated on demand up to
+ * {@link #MAX_RETRANSMITS}. Parts of NAKs needing further retransmits are ignored if this maximum is reached.
+ * Each retransmit will have 1 timer.
+ *
+ * NAKs are handled on the sender thread while timers expire on the conductor thread. Actions whose linger has
+ * expired are handed back to the sender thread via a queue so only it modifies the active retransmits.
  */
 public class RetransmitHandler
 {
     /**
      * Maximum number of concurrent retransmits
      */
-    public static final int MAX_RETRANSMITS = Configuration.MAX_RETRANSMITS_DEFAULT;
+    public static final int MAX_RETRANSMITS = Configuration.MAX_RETRANSMITS;
 
     private final TimerWheel timerWheel;
-    private final Queue<RetransmitAction> retransmitActionPool = new OneToOneConcurrentArrayQueue<>(MAX_RETRANSMITS);
-    private final Long2ObjectHashMap<RetransmitAction> activeRetransmitByPositionMap = new Long2ObjectHashMap<>();
+    private final ArrayDeque<RetransmitAction> retransmitActionPool = new ArrayDeque<>(MAX_RETRANSMITS);
+    private final ArrayList<RetransmitAction> activeRetransmits = new ArrayList<>(MAX_RETRANSMITS);
+    private int retransmitActionCount = 0;
+    private final OneToOneConcurrentArrayQueue<RetransmitAction> expiredRetransmits =
+        new OneToOneConcurrentArrayQueue<>(MAX_RETRANSMITS);
+    private final Consumer<RetransmitAction> onExpiredFunc = this::onExpired;
     private final AtomicCounter invalidPackets;
+    private final AtomicCounter retransmitsExhausted;
     private final FeedbackDelayGenerator delayGenerator;
     private final FeedbackDelayGenerator lingerTimeoutGenerator;
     private final RetransmitSender retransmitSender;
@@ -70,6 +85,7 @@ public class RetransmitHandler
     {
         this.timerWheel = timerWheel;
         this.invalidPackets = systemCounters.invalidPackets();
+        this.retransmitsExhausted = systemCounters.retransmitsExhausted();
         this.delayGenerator = delayGenerator;
         this.lingerTimeoutGenerator = lingerTimeoutGenerator;
         this.retransmitSender = retransmitSender;
@@ -77,12 +93,13 @@ public class RetransmitHandler
         this.capacity = capacity;
         this.positionBitsToShift = Integer.numberOfTrailingZeros(capacity);
 
-        IntStream.range(0, MAX_RETRANSMITS).forEach((i) -> retransmitActionPool.offer(new RetransmitAction()));
+        retransmitActionCount = Math.min(Configuration.RETRANSMITS_PREALLOCATED, MAX_RETRANSMITS);
+        IntStream.range(0, retransmitActionCount).forEach((i) -> retransmitActionPool.offer(new RetransmitAction()));
     }
 
     public void close()
     {
-        activeRetransmitByPositionMap.forEach((position, retransmitAction) -> retransmitAction.cancel());
+        activeRetransmits.forEach(RetransmitAction::cancel);
     }
 
     /**
@@ -99,28 +116,58 @@ public class RetransmitHandler
             return;
         }
 
-        final long position = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+        expiredRetransmits.drain(onExpiredFunc);
+
+        final long nakPosition = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
+        final long nakLimit = nakPosition + Math.min(length, capacity - termOffset);
 
-        if (!retransmitActionPool.isEmpty() && null == activeRetransmitByPositionMap.get(position))
+        final ArrayList<RetransmitAction> activeRetransmits = this.activeRetransmits;
+        long position = nakPosition;
+        RetransmitAction mergeTarget = null;
+
+        for (int i = 0; i < activeRetransmits.size() && position < nakLimit; i++)
         {
-            final RetransmitAction action = retransmitActionPool.poll();
-            action.termId = termId;
-            action.termOffset = termOffset;
-            action.length = Math.min(length, capacity - termOffset);
-            action.position = position;
+            final RetransmitAction action = activeRetransmits.get(i);
+            if (action.limit() <= position)
+            {
+                continue;
+            }
 
-            final long delay = determineRetransmitDelay();
-            if (0 == delay)
+            if (action.position >= nakLimit)
             {
-                perform(action);
-                action.linger(determineLingerTimeout());
+                break;
             }
-            else
+
+            if (action.position > position)
             {
-                action.delay(delay);
+                if (null != mergeTarget)
+                {
+                    mergeTarget.extendTo(action.position);
+                }
+                else if (State.DELAYED == action.state)
+                {
+                    action.extendFrom(position);
+                }
+                else if (newRetransmit(i, position, action.position))
+                {
+                    i++;
+                }
             }
 
-            activeRetransmitByPositionMap.put(position, action);
+            position = Math.max(position, action.limit());
+            mergeTarget = State.DELAYED == action.state ? action : null;
+        }
+
+        if (position < nakLimit)
+        {
+            if (null != mergeTarget)
+            {
+                mergeTarget.extendTo(nakLimit);
+            }
+            else
+            {
+                newRetransmit(insertionIndex(position), position, nakLimit);
+            }
         }
     }
 
@@ -134,17 +181,81 @@ public class RetransmitHandler
      */
     public void onRetransmitReceived(final int termId, final int termOffset)
     {
+        expiredRetransmits.drain(onExpiredFunc);
+
         final long position = computePosition(termId, termOffset, positionBitsToShift, initialTermId);
-        final RetransmitAction action = activeRetransmitByPositionMap.get(position);
 
-        if (null != action && State.DELAYED == action.state)
+        final ArrayList<RetransmitAction> activeRetransmits = this.activeRetransmits;
+        for (int i = 0, size = activeRetransmits.size(); i < size; i++)
+        {
+            final RetransmitAction action = activeRetransmits.get(i);
+            if (action.position > position)
+            {
+                break;
+            }
+
+            if (position < action.limit() && State.DELAYED == action.state)
+            {
+                activeRetransmits.remove(i);
+                action.state = State.INACTIVE;
+                retransmitActionPool.offer(action);
+                action.delayTimer.cancel();
+                // do not go into linger
+                break;
+            }
+        }
+    }
+
+    private boolean newRetransmit(final int index, final long position, final long limit)
+    {
+        RetransmitAction action = retransmitActionPool.poll();
+        if (null == action)
+        {
+            if (retransmitActionCount >= MAX_RETRANSMITS)
+            {
+                retransmitsExhausted.increment();
+                return false;
+            }
+
+            action = new RetransmitAction();
+            retransmitActionCount++;
+        }
+
+        action.position = position;
+        action.length = (int)(limit - position);
+        activeRetransmits.add(index, action);
+
+        final long delay = determineRetransmitDelay();
+        if (0 == delay)
+        {
+            perform(action);
+            action.linger(determineLingerTimeout());
+        }
+        else
+        {
+            action.delay(delay);
+        }
+
+        return true;
+    }
+
+    private void onExpired(final RetransmitAction action)
+    {
+        action.state = State.INACTIVE;
+        activeRetransmits.remove(action);
+        retransmitActionPool.offer(action);
+    }
+
+    private int insertionIndex(final long position)
+    {
+        final ArrayList<RetransmitAction> activeRetransmits = this.activeRetransmits;
+        int index = activeRetransmits.size();
+        while (index > 0 && activeRetransmits.get(index - 1).position > position)
         {
-            activeRetransmitByPositionMap.remove(position);
-            action.state = State.INACTIVE;
-            retransmitActionPool.offer(action);
-            action.delayTimer.cancel();
-            // do not go into linger
+            index--;
         }
+
+        return index;
     }
 
     private boolean isInvalid(final int termOffset)
@@ -153,7 +264,7 @@ public class RetransmitHandler
 
         if (isInvalid)
         {
-            invalidPackets.orderedIncrement();
+            invalidPackets.increment();
         }
 
         return isInvalid;
@@ -171,7 +282,11 @@ public class RetransmitHandler
 
     private void perform(final RetransmitAction action)
     {
-        retransmitSender.resend(action.termId, action.termOffset, action.length);
+        final long position = action.position;
+        retransmitSender.resend(
+            computeTermIdFromPosition(position, positionBitsToShift, initialTermId),
+            (int)position & (capacity - 1),
+            action.length);
     }
 
     private enum State
@@ -184,13 +299,27 @@ public class RetransmitHandler
     final class RetransmitAction
     {
         long position;
-        int termId;
-        int termOffset;
         int length;
         State state = State.INACTIVE;
         TimerWheel.Timer delayTimer = timerWheel.newBlankTimer();
         TimerWheel.Timer lingerTimer = timerWheel.newBlankTimer();
 
+        public long limit()
+        {
+            return position + length;
+        }
+
+        public void extendFrom(final long newPosition)
+        {
+            length += (int)(position - newPosition);
+            position = newPosition;
+        }
+
+        public void extendTo(final long newLimit)
+        {
+            length = (int)(newLimit - position);
+        }
+
         public void delay(final long delay)
         {
             state = State.DELAYED;
@@ -211,9 +340,7 @@ public class RetransmitHandler
 
         public void onLingerTimeout()
         {
-            state = State.INACTIVE;
-            activeRetransmitByPositionMap.remove(position);
-            retransmitActionPool.offer(this);
+            expiredRetransmits.offer(this);
         }
 
         public void cancel()
@@ -26,25 +26,38 @@ import java.util.function.Consumer;
 
 /**
  * Agent that iterates over publications for sending them to registered subscribers.
+ * <p>
+ * Retransmits requested by NAKs are queued on the publications and sent after new data within a budget of bytes
+ * per duty cycle so loss recovery for one stream does not stall the others.
  */
 public class Sender implements Agent, Consumer<SenderCmd>
 {
     private static final NetworkPublication[] EMPTY_PUBLICATIONS = new NetworkPublication[0];
 
+    private final String roleName;
     private final TransportPoller transportPoller;
     private final OneToOneConcurrentArrayQueue<SenderCmd> commandQueue;
     private final DriverConductorProxy conductorProxy;
     private final AtomicCounter totalBytesSent;
+    private final int retransmitBudget;
 
     private NetworkPublication[] publications = EMPTY_PUBLICATIONS;
     private int roundRobinIndex = 0;
 
-    public Sender(final MediaDriver.Context ctx)
+    /**
+     * Construct one of the sender agents configured in a {@link MediaDriver.Context}.
+     *
+     * @param ctx   for the media driver.
+     * @param index of this sender amongst {@link MediaDriver.Context#senderCount()} senders.
+     */
+    public Sender(final MediaDriver.Context ctx, final int index)
     {
-        this.transportPoller = ctx.senderNioSelector();
-        this.commandQueue = ctx.senderCommandQueue();
+        this.roleName = ctx.senderCount() > 1 ? "sender-" + index : "sender";
+        this.transportPoller = ctx.senderNioSelectors()[index];
+        this.commandQueue = ctx.senderCommandQueues().get(index);
         this.conductorProxy = ctx.fromSenderDriverConductorProxy();
         this.totalBytesSent = ctx.systemCounters().bytesSent();
+        this.retransmitBudget = ctx.senderRetransmitBudget();
     }
 
     public int doWork()
@@ -58,7 +71,7 @@ public class Sender implements Agent, Consumer<SenderCmd>
 
     public String roleName()
     {
-        return "sender";
+        return roleName;
     }
 
     public void onRegisterSendChannelEndpoint(final SendChannelEndpoint channelEndpoint)
@@ -140,9 +153,26 @@ public class Sender implements Agent, Consumer<SenderCmd>
                 }
             }
             while (i != startingIndex);
+
+            int retransmitBytesSent = 0;
+            do
+            {
+                retransmitBytesSent += publications[i].sendPendingRetransmits(retransmitBudget - retransmitBytesSent);
+
+                if (++i == length)
+                {
+                    i = 0;
+                }
+            }
+            while (i != startingIndex && retransmitBytesSent < retransmitBudget);
+
+            bytesSent += retransmitBytesSent;
         }
 
-        totalBytesSent.addOrdered(bytesSent);
+        if (bytesSent > 0)
+        {
+            totalBytesSent.add(bytesSent);
+        }
 
         return bytesSent;
     }
@@ -21,6 +21,7 @@ import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 
 import java.util.Queue;
 
+import static uk.co.real_logic.aeron.driver.ThreadingMode.INVOKER;
 import static uk.co.real_logic.aeron.driver.ThreadingMode.SHARED;
 
 /**
@@ -96,7 +97,7 @@ public class SenderProxy
 
     private boolean isSharedThread()
     {
-        return threadingMode == SHARED;
+        return threadingMode == SHARED || threadingMode == INVOKER;
     }
 
     private void offer(final SenderCmd cmd)
@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.driver;
 
 import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpoint;
+import uk.co.real_logic.aeron.driver.media.UdpChannel;
 import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
 
 import java.util.IdentityHashMap;
@@ -29,17 +30,30 @@ public class SubscriptionLink
     private final long registrationId;
     private final int streamId;
     private final ReceiveChannelEndpoint channelEndpoint;
+    private final UdpChannel spiedChannel;
     private final AeronClient aeronClient;
     private final Map<NetworkConnection, ReadablePosition> positionByConnectionMap = new IdentityHashMap<>();
+    private final Map<DriverPublication, ReadablePosition> positionByPublicationMap = new IdentityHashMap<>();
 
     public SubscriptionLink(
         final long registrationId,
         final ReceiveChannelEndpoint channelEndpoint,
         final int streamId,
         final AeronClient aeronClient)
+    {
+        this(registrationId, channelEndpoint, null, streamId, aeronClient);
+    }
+
+    public SubscriptionLink(
+        final long registrationId,
+        final ReceiveChannelEndpoint channelEndpoint,
+        final UdpChannel spiedChannel,
+        final int streamId,
+        final AeronClient aeronClient)
     {
         this.registrationId = registrationId;
         this.channelEndpoint = channelEndpoint;
+        this.spiedChannel = spiedChannel;
         this.streamId = streamId;
         this.aeronClient = aeronClient;
     }
@@ -49,11 +63,26 @@ public class SubscriptionLink
         return registrationId;
     }
 
+    /**
+     * The endpoint the subscription receives from, which is null for subscriptions reading a local publication log.
+     *
+     * @return the endpoint the subscription receives from or null if reading a local publication log.
+     */
     public ReceiveChannelEndpoint channelEndpoint()
     {
         return channelEndpoint;
     }
 
+    public boolean isIpc()
+    {
+        return null == channelEndpoint && null == spiedChannel;
+    }
+
+    public boolean isSpy()
+    {
+        return null != spiedChannel;
+    }
+
     public int streamId()
     {
         return streamId;
@@ -69,6 +98,16 @@ public class SubscriptionLink
         return channelEndpoint == this.channelEndpoint && streamId == this.streamId;
     }
 
+    public boolean matchesIpc(final int streamId)
+    {
+        return isIpc() && streamId == this.streamId;
+    }
+
+    public boolean matchesSpy(final UdpChannel udpChannel, final int streamId)
+    {
+        return isSpy() && streamId == this.streamId && spiedChannel.canonicalForm().equals(udpChannel.canonicalForm());
+    }
+
     public void addConnection(final NetworkConnection connection, final ReadablePosition position)
     {
         positionByConnectionMap.put(connection, position);
@@ -79,8 +118,19 @@ public class SubscriptionLink
         positionByConnectionMap.remove(connection);
     }
 
+    public void addPublication(final DriverPublication publication, final ReadablePosition position)
+    {
+        positionByPublicationMap.put(publication, position);
+    }
+
+    public void removePublication(final DriverPublication publication)
+    {
+        positionByPublicationMap.remove(publication);
+    }
+
     public void close()
     {
         positionByConnectionMap.forEach(NetworkConnection::removeSubscriber);
+        positionByPublicationMap.forEach(DriverPublication::removeSubscriber);
     }
 }
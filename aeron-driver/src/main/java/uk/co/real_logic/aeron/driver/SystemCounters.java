@@ -28,6 +28,12 @@ public class SystemCounters implements AutoCloseable
     private final AtomicCounter nakMessagesSent;
     private final AtomicCounter nakMessagesReceived;
     private final AtomicCounter retransmitsSent;
+    private final AtomicCounter retransmitBytesQueued;
+    private final AtomicCounter retransmitBytesDeferred;
+    private final AtomicCounter retransmitsDropped;
+    private final AtomicCounter retransmitsExhausted;
+    private final AtomicCounter parityFramesSent;
+    private final AtomicCounter parityRecoveries;
     private final AtomicCounter statusMessagesSent;
     private final AtomicCounter statusMessagesReceived;
     private final AtomicCounter heartbeatsSent;
@@ -42,6 +48,8 @@ public class SystemCounters implements AutoCloseable
     private final AtomicCounter nakMessageShortSends;
     private final AtomicCounter clientKeepAlives;
     private final AtomicCounter senderFlowControlLimits;
+    private final AtomicCounter receiveBudgetExhausted;
+    private final AtomicCounter senderControlBudgetExhausted;
 
     public SystemCounters(final CountersManager countersManager)
     {
@@ -57,6 +65,12 @@ public class SystemCounters implements AutoCloseable
         heartbeatsSent = countersManager.newCounter("Heartbeats sent");
         heartbeatsReceived = countersManager.newCounter("Heartbeats received");
         retransmitsSent = countersManager.newCounter("Retransmits sent");
+        retransmitBytesQueued = countersManager.newCounter("Retransmit bytes queued");
+        retransmitBytesDeferred = countersManager.newCounter("Retransmit bytes deferred to later duty cycles");
+        retransmitsDropped = countersManager.newCounter("Retransmits dropped from a full queue");
+        retransmitsExhausted = countersManager.newCounter("NAKs dropped at the max concurrent retransmits");
+        parityFramesSent = countersManager.newCounter("Parity frames sent");
+        parityRecoveries = countersManager.newCounter("Datagrams rebuilt from parity frames");
         flowControlUnderRuns = countersManager.newCounter("Flow control under runs");
         flowControlOverRuns = countersManager.newCounter("Flow control over runs");
         invalidPackets = countersManager.newCounter("Invalid packets");
@@ -67,6 +81,8 @@ public class SystemCounters implements AutoCloseable
         nakMessageShortSends = countersManager.newCounter("NAK Message short sends");
         clientKeepAlives = countersManager.newCounter("Client keep-alives");
         senderFlowControlLimits = countersManager.newCounter("Sender flow control limits applied");
+        receiveBudgetExhausted = countersManager.newCounter("Receive budget exhausted");
+        senderControlBudgetExhausted = countersManager.newCounter("Sender control budget exhausted");
     }
 
     public void close()
@@ -83,6 +99,12 @@ public class SystemCounters implements AutoCloseable
         heartbeatsSent.close();
         heartbeatsReceived.close();
         retransmitsSent.close();
+        retransmitBytesQueued.close();
+        retransmitBytesDeferred.close();
+        retransmitsDropped.close();
+        retransmitsExhausted.close();
+        parityFramesSent.close();
+        parityRecoveries.close();
         flowControlUnderRuns.close();
         flowControlOverRuns.close();
         invalidPackets.close();
@@ -93,6 +115,8 @@ public class SystemCounters implements AutoCloseable
         nakMessageShortSends.close();
         clientKeepAlives.close();
         senderFlowControlLimits.close();
+        receiveBudgetExhausted.close();
+        senderControlBudgetExhausted.close();
     }
 
     public AtomicCounter bytesSent()
@@ -135,6 +159,36 @@ public class SystemCounters implements AutoCloseable
         return retransmitsSent;
     }
 
+    public AtomicCounter retransmitBytesQueued()
+    {
+        return retransmitBytesQueued;
+    }
+
+    public AtomicCounter retransmitBytesDeferred()
+    {
+        return retransmitBytesDeferred;
+    }
+
+    public AtomicCounter retransmitsDropped()
+    {
+        return retransmitsDropped;
+    }
+
+    public AtomicCounter retransmitsExhausted()
+    {
+        return retransmitsExhausted;
+    }
+
+    public AtomicCounter parityFramesSent()
+    {
+        return parityFramesSent;
+    }
+
+    public AtomicCounter parityRecoveries()
+    {
+        return parityRecoveries;
+    }
+
     public AtomicCounter statusMessagesSent()
     {
         return statusMessagesSent;
@@ -203,4 +257,14 @@ public class SystemCounters implements AutoCloseable
     {
         return senderFlowControlLimits;
     }
+
+    public AtomicCounter receiveBudgetExhausted()
+    {
+        return receiveBudgetExhausted;
+    }
+
+    public AtomicCounter senderControlBudgetExhausted()
+    {
+        return senderControlBudgetExhausted;
+    }
 }
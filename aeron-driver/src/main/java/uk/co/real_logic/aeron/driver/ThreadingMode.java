@@ -28,4 +28,10 @@ public enum ThreadingMode
 
     /** One thread shared by all 3 agents. */
     SHARED,
+
+    /**
+     * No threads are started, all 3 agents are composed and run on the caller's thread by invoking
+     * {@link MediaDriver#sharedAgentInvoker()}.
+     */
+    INVOKER,
 }
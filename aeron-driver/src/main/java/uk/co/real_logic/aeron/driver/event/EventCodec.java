@@ -42,6 +42,8 @@ public class EventCodec
         ThreadLocal.withInitial(NakFlyweight::new);
     private static final ThreadLocal<SetupFlyweight> SETUP_HEADER =
         ThreadLocal.withInitial(SetupFlyweight::new);
+    private static final ThreadLocal<ParityFlyweight> PARITY_HEADER =
+        ThreadLocal.withInitial(ParityFlyweight::new);
 
     private static final ThreadLocal<PublicationMessageFlyweight> PUB_MESSAGE =
         ThreadLocal.withInitial(PublicationMessageFlyweight::new);
@@ -194,6 +196,12 @@ public class EventCodec
                 builder.append(dissect(setupFrame));
                 break;
 
+            case HeaderFlyweight.HDR_TYPE_PARITY:
+                final ParityFlyweight parityFrame = PARITY_HEADER.get();
+                parityFrame.wrap(buffer, offset + relativeOffset);
+                builder.append(dissect(parityFrame));
+                break;
+
             default:
                 builder.append("FRAME_UNKNOWN");
                 break;
@@ -471,6 +479,20 @@ public class EventCodec
             header.length());
     }
 
+    private static String dissect(final ParityFlyweight header)
+    {
+        return String.format(
+            "PARITY 0x%x len %d %d:%d:%d @%x datagrams %d payload %d",
+            header.flags(),
+            header.frameLength(),
+            header.sessionId(),
+            header.streamId(),
+            header.termId(),
+            header.termOffset(),
+            header.datagramCount(),
+            header.payloadLength());
+    }
+
     private static String dissect(final SetupFlyweight header)
     {
         return String.format(
@@ -534,10 +556,11 @@ public class EventCodec
         }
 
         return String.format(
-            "%d:%d %s \"%s\" [%d]\n    %s",
+            "%d:%d %s %d \"%s\" [%d]\n    %s",
             command.sessionId(),
             command.streamId(),
             positions.toString(),
+            command.hwmPositionId(),
             command.sourceIdentity(),
             command.correlationId(),
             command.logFileName());
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.media;
+
+import uk.co.real_logic.aeron.driver.Configuration;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.NetworkInterface;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectableChannel;
+
+/**
+ * {@link TransportMedia} over a non-blocking NIO {@link DatagramChannel}.
+ */
+public class DatagramChannelMedia implements TransportMedia
+{
+    /**
+     * SO_REUSEPORT is only exposed as a standard socket option from Java 9 so is looked up when available.
+     */
+    private static final SocketOption<Boolean> SO_REUSEPORT;
+
+    static
+    {
+        SocketOption<Boolean> reusePort = null;
+
+        try
+        {
+            @SuppressWarnings("unchecked")
+            final SocketOption<Boolean> option =
+                (SocketOption<Boolean>)StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+            reusePort = option;
+        }
+        catch (final NoSuchFieldException | IllegalAccessException ignore)
+        {
+        }
+        finally
+        {
+            SO_REUSEPORT = reusePort;
+        }
+    }
+
+    private DatagramChannel datagramChannel;
+
+    public void open(
+        final UdpChannel udpChannel,
+        final InetSocketAddress endPointSocketAddress,
+        final InetSocketAddress bindSocketAddress) throws IOException
+    {
+        datagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
+        if (udpChannel.isMulticast())
+        {
+            final NetworkInterface localInterface = udpChannel.localInterface();
+
+            datagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+            datagramChannel.bind(new InetSocketAddress(endPointSocketAddress.getPort()));
+            datagramChannel.join(endPointSocketAddress.getAddress(), localInterface);
+            datagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_IF, localInterface);
+        }
+        else
+        {
+            if (udpChannel.receiveFanOut() > 1)
+            {
+                if (null == SO_REUSEPORT)
+                {
+                    throw new IOException("SO_REUSEPORT is not available for receive fan out");
+                }
+
+                datagramChannel.setOption(SO_REUSEPORT, true);
+            }
+
+            datagramChannel.bind(bindSocketAddress);
+        }
+
+        if (0 != Configuration.SOCKET_SNDBUF_LENGTH)
+        {
+            datagramChannel.setOption(StandardSocketOptions.SO_SNDBUF, Configuration.SOCKET_SNDBUF_LENGTH);
+        }
+
+        if (0 != Configuration.SOCKET_RCVBUF_LENGTH)
+        {
+            datagramChannel.setOption(StandardSocketOptions.SO_RCVBUF, Configuration.SOCKET_RCVBUF_LENGTH);
+        }
+
+        datagramChannel.configureBlocking(false);
+    }
+
+    public SelectableChannel selectableChannel()
+    {
+        return datagramChannel;
+    }
+
+    public InetSocketAddress receive(final ByteBuffer buffer) throws IOException
+    {
+        return (InetSocketAddress)datagramChannel.receive(buffer);
+    }
+
+    public int send(final ByteBuffer buffer, final InetSocketAddress remoteAddress) throws IOException
+    {
+        return datagramChannel.send(buffer, remoteAddress);
+    }
+
+    public <T> T getOption(final SocketOption<T> name) throws IOException
+    {
+        return datagramChannel.getOption(name);
+    }
+
+    public void close() throws IOException
+    {
+        if (null != datagramChannel)
+        {
+            datagramChannel.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.media;
+
+import uk.co.real_logic.aeron.driver.DriverConductorProxy;
+import uk.co.real_logic.aeron.driver.LossGenerator;
+import uk.co.real_logic.aeron.driver.Receiver;
+import uk.co.real_logic.aeron.driver.SystemCounters;
+import uk.co.real_logic.aeron.driver.event.EventLogger;
+
+/**
+ * Default supplier of {@link ReceiveChannelEndpoint}s which use a NIO {@link java.nio.channels.DatagramChannel}.
+ */
+public class DefaultReceiveChannelEndpointSupplier implements ReceiveChannelEndpointSupplier
+{
+    public ReceiveChannelEndpoint newInstance(
+        final UdpChannel udpChannel,
+        final DriverConductorProxy conductorProxy,
+        final Receiver receiver,
+        final EventLogger logger,
+        final SystemCounters systemCounters,
+        final LossGenerator lossGenerator)
+    {
+        return new ReceiveChannelEndpoint(udpChannel, conductorProxy, receiver, logger, systemCounters, lossGenerator);
+    }
+}
@@ -26,6 +26,8 @@ import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 import java.net.InetSocketAddress;
 import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Aggregator of multiple subscriptions onto a single transport session for processing of data frames.
@@ -43,6 +45,9 @@ public class ReceiveChannelEndpoint implements AutoCloseable
     private final StatusMessageFlyweight smHeader = new StatusMessageFlyweight();
     private final NakFlyweight nakHeader = new NakFlyweight();
 
+    private final ArrayList<ReceiveChannelEndpoint> fanOut = new ArrayList<>();
+    private ReceiveChannelEndpoint primary = this;
+
     private volatile boolean isClosed = false;
 
     public ReceiveChannelEndpoint(
@@ -52,6 +57,18 @@ public class ReceiveChannelEndpoint implements AutoCloseable
         final EventLogger logger,
         final SystemCounters systemCounters,
         final LossGenerator lossGenerator)
+    {
+        this(udpChannel, conductorProxy, receiver, logger, systemCounters, lossGenerator, new DatagramChannelMedia());
+    }
+
+    public ReceiveChannelEndpoint(
+        final UdpChannel udpChannel,
+        final DriverConductorProxy conductorProxy,
+        final Receiver receiver,
+        final EventLogger logger,
+        final SystemCounters systemCounters,
+        final LossGenerator lossGenerator,
+        final TransportMedia media)
     {
         smHeader.wrap(smBuffer, 0);
         smHeader
@@ -69,7 +86,40 @@ public class ReceiveChannelEndpoint implements AutoCloseable
 
         this.systemCounters = systemCounters;
         dispatcher = new DataPacketDispatcher(conductorProxy, receiver, this);
-        transport = new ReceiverUdpChannelTransport(udpChannel, dispatcher, dispatcher, logger, lossGenerator);
+        transport = new ReceiverUdpChannelTransport(
+            udpChannel, dispatcher, dispatcher, dispatcher, logger, lossGenerator, media);
+        fanOut.add(this);
+    }
+
+    /**
+     * Add an endpoint which shares the data port of this primary endpoint for receive fan out.
+     *
+     * @param channelEndpoint sharing the data port of this endpoint.
+     */
+    public void addFanOut(final ReceiveChannelEndpoint channelEndpoint)
+    {
+        channelEndpoint.primary = this;
+        fanOut.add(channelEndpoint);
+    }
+
+    /**
+     * Endpoints sharing the data port of this endpoint, including this endpoint.
+     *
+     * @return endpoints sharing the data port of this endpoint.
+     */
+    public List<ReceiveChannelEndpoint> fanOut()
+    {
+        return fanOut;
+    }
+
+    /**
+     * The endpoint subscriptions are registered against when the data port is shared for receive fan out.
+     *
+     * @return the endpoint subscriptions are registered against.
+     */
+    public ReceiveChannelEndpoint primary()
+    {
+        return primary;
     }
 
     public UdpChannelTransport transport()
@@ -100,7 +150,7 @@ public class ReceiveChannelEndpoint implements AutoCloseable
 
     public void openChannel()
     {
-        transport.openDatagramChannel();
+        transport.openChannel();
     }
 
     public void registerForRead(final TransportPoller transportPoller)
@@ -158,6 +208,12 @@ public class ReceiveChannelEndpoint implements AutoCloseable
         return dispatcher.onDataPacket(header, buffer, length, srcAddress);
     }
 
+    public int onParityPacket(
+        final ParityFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
+    {
+        return dispatcher.onParityPacket(header, buffer, length, srcAddress);
+    }
+
     public void onSetupMessage(
         final SetupFlyweight header, final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
     {
@@ -224,7 +280,7 @@ public class ReceiveChannelEndpoint implements AutoCloseable
             final int bytesSent = transport.sendTo(smBuffer, controlAddress);
             if (StatusMessageFlyweight.HEADER_LENGTH != bytesSent)
             {
-                systemCounters.statusMessageShortSends().orderedIncrement();
+                systemCounters.statusMessageShortSends().increment();
             }
         }
     }
@@ -249,7 +305,7 @@ public class ReceiveChannelEndpoint implements AutoCloseable
             final int bytesSent = transport.sendTo(nakBuffer, controlAddress);
             if (NakFlyweight.HEADER_LENGTH != bytesSent)
             {
-                systemCounters.nakMessageShortSends().orderedIncrement();
+                systemCounters.nakMessageShortSends().increment();
             }
         }
     }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.media;
+
+import uk.co.real_logic.aeron.driver.DriverConductorProxy;
+import uk.co.real_logic.aeron.driver.LossGenerator;
+import uk.co.real_logic.aeron.driver.Receiver;
+import uk.co.real_logic.aeron.driver.SystemCounters;
+import uk.co.real_logic.aeron.driver.event.EventLogger;
+
+/**
+ * Supplier of {@link ReceiveChannelEndpoint}s so the media used for receiving can be substituted, e.g. with an
+ * implementation that batches system calls or an in-memory transport for benchmarks. A supplier can construct the
+ * endpoint with its own {@link TransportMedia} which need not be backed by a {@link java.nio.channels.DatagramChannel}.
+ */
+@FunctionalInterface
+public interface ReceiveChannelEndpointSupplier
+{
+    /**
+     * A new instance of a {@link ReceiveChannelEndpoint} for a channel.
+     *
+     * @param udpChannel     for the endpoint.
+     * @param conductorProxy for the endpoint to send commands to the conductor.
+     * @param receiver       the endpoint will be registered with.
+     * @param logger         for the endpoint to log events to.
+     * @param systemCounters for the driver.
+     * @param lossGenerator  to apply to data frames received.
+     * @return a new {@link ReceiveChannelEndpoint} which has not yet been opened.
+     */
+    ReceiveChannelEndpoint newInstance(
+        UdpChannel udpChannel,
+        DriverConductorProxy conductorProxy,
+        Receiver receiver,
+        EventLogger logger,
+        SystemCounters systemCounters,
+        LossGenerator lossGenerator);
+}
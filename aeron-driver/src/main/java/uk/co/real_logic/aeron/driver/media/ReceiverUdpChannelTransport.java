@@ -17,9 +17,11 @@ package uk.co.real_logic.aeron.driver.media;
 
 import uk.co.real_logic.aeron.driver.event.EventLogger;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.aeron.protocol.ParityFlyweight;
 import uk.co.real_logic.aeron.protocol.SetupFlyweight;
 import uk.co.real_logic.aeron.driver.DataPacketHandler;
 import uk.co.real_logic.aeron.driver.LossGenerator;
+import uk.co.real_logic.aeron.driver.ParityPacketHandler;
 import uk.co.real_logic.aeron.driver.SetupMessageHandler;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
@@ -33,38 +35,75 @@ import static uk.co.real_logic.aeron.protocol.HeaderFlyweight.*;
  *
  * We don't conflate the processing logic, or we at least try not to, into this object.
  *
- * Holds DatagramChannel, read Buffer, etc.
+ * Holds TransportMedia, read Buffer, etc.
  */
 public final class ReceiverUdpChannelTransport extends UdpChannelTransport
 {
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
     private final SetupFlyweight setupHeader = new SetupFlyweight();
+    private final ParityFlyweight parityHeader = new ParityFlyweight();
 
     private final DataPacketHandler dataPacketHandler;
     private final SetupMessageHandler setupMessageHandler;
+    private final ParityPacketHandler parityPacketHandler;
 
     /**
      * Construct a transport for use with receiving and processing data frames
      *
-     * @param udpChannel        of the transport
-     * @param dataPacketHandler to call when data frames are received
-     * @param logger            for logging
-     * @param lossGenerator     for loss generation
+     * @param udpChannel          of the transport
+     * @param dataPacketHandler   to call when data frames are received
+     * @param setupMessageHandler to call when setup frames are received
+     * @param parityPacketHandler to call when parity frames are received
+     * @param logger              for logging
+     * @param lossGenerator       for loss generation
      */
     public ReceiverUdpChannelTransport(
         final UdpChannel udpChannel,
         final DataPacketHandler dataPacketHandler,
         final SetupMessageHandler setupMessageHandler,
+        final ParityPacketHandler parityPacketHandler,
         final EventLogger logger,
         final LossGenerator lossGenerator)
     {
-        super(udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), lossGenerator, logger);
+        this(
+            udpChannel,
+            dataPacketHandler,
+            setupMessageHandler,
+            parityPacketHandler,
+            logger,
+            lossGenerator,
+            new DatagramChannelMedia());
+    }
+
+    /**
+     * Construct a transport for use with receiving and processing data frames over a given media
+     *
+     * @param udpChannel          of the transport
+     * @param dataPacketHandler   to call when data frames are received
+     * @param setupMessageHandler to call when setup frames are received
+     * @param parityPacketHandler to call when parity frames are received
+     * @param logger              for logging
+     * @param lossGenerator       for loss generation
+     * @param media               for channel I/O
+     */
+    public ReceiverUdpChannelTransport(
+        final UdpChannel udpChannel,
+        final DataPacketHandler dataPacketHandler,
+        final SetupMessageHandler setupMessageHandler,
+        final ParityPacketHandler parityPacketHandler,
+        final EventLogger logger,
+        final LossGenerator lossGenerator,
+        final TransportMedia media)
+    {
+        super(udpChannel, udpChannel.remoteData(), udpChannel.remoteData(), lossGenerator, logger, media);
 
         this.dataPacketHandler = dataPacketHandler;
         this.setupMessageHandler = setupMessageHandler;
+        this.parityPacketHandler = parityPacketHandler;
 
         dataHeader.wrap(receiveBuffer(), 0);
         setupHeader.wrap(receiveBuffer(), 0);
+        parityHeader.wrap(receiveBuffer(), 0);
     }
 
     protected int dispatch(final UnsafeBuffer buffer, final int length, final InetSocketAddress srcAddress)
@@ -80,6 +119,10 @@ public final class ReceiverUdpChannelTransport extends UdpChannelTransport
             case HDR_TYPE_SETUP:
                 setupMessageHandler.onSetupMessage(setupHeader, buffer, length, srcAddress);
                 break;
+
+            case HDR_TYPE_PARITY:
+                bytesReceived = parityPacketHandler.onParityPacket(parityHeader, buffer, length, srcAddress);
+                break;
         }
 
         return bytesReceived;
@@ -45,9 +45,19 @@ public class SendChannelEndpoint implements AutoCloseable
         final EventLogger logger,
         final LossGenerator lossGenerator,
         final SystemCounters systemCounters)
+    {
+        this(udpChannel, logger, lossGenerator, systemCounters, new DatagramChannelMedia());
+    }
+
+    public SendChannelEndpoint(
+        final UdpChannel udpChannel,
+        final EventLogger logger,
+        final LossGenerator lossGenerator,
+        final SystemCounters systemCounters,
+        final TransportMedia media)
     {
         this.transport = new SenderUdpChannelTransport(
-            udpChannel, this::onStatusMessage, this::onNakMessage, logger, lossGenerator);
+            udpChannel, this::onStatusMessage, this::onNakMessage, logger, lossGenerator, media);
         this.nakMessagesReceived = systemCounters.nakMessagesReceived();
         this.statusMessagesReceived = systemCounters.statusMessagesReceived();
     }
@@ -57,7 +67,7 @@ public class SendChannelEndpoint implements AutoCloseable
      */
     public void openChannel()
     {
-        transport.openDatagramChannel();
+        transport.openChannel();
     }
 
     /**
@@ -216,7 +226,7 @@ public class SendChannelEndpoint implements AutoCloseable
                 assembly.publication.senderPositionLimit(positionLimit);
             }
 
-            statusMessagesReceived.orderedIncrement();
+            statusMessagesReceived.increment();
         }
     }
 
@@ -227,7 +237,7 @@ public class SendChannelEndpoint implements AutoCloseable
         if (null != assembly)
         {
             assembly.retransmitHandler.onNak(nakMessage.termId(), nakMessage.termOffset(), nakMessage.length());
-            nakMessagesReceived.orderedIncrement();
+            nakMessagesReceived.increment();
         }
     }
 
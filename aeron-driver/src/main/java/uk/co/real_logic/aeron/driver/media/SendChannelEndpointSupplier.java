@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.media;
+
+import uk.co.real_logic.aeron.driver.LossGenerator;
+import uk.co.real_logic.aeron.driver.SystemCounters;
+import uk.co.real_logic.aeron.driver.event.EventLogger;
+
+/**
+ * Supplier of {@link SendChannelEndpoint}s so the media used for sending can be substituted, e.g. with an
+ * implementation that batches system calls or an in-memory transport for benchmarks. A supplier can construct the
+ * endpoint with its own {@link TransportMedia} which need not be backed by a {@link java.nio.channels.DatagramChannel}.
+ */
+@FunctionalInterface
+public interface SendChannelEndpointSupplier
+{
+    /**
+     * A new instance of a {@link SendChannelEndpoint} for a channel.
+     *
+     * @param udpChannel     for the endpoint.
+     * @param logger         for the endpoint to log events to.
+     * @param lossGenerator  to apply to control frames received.
+     * @param systemCounters for the driver.
+     * @return a new {@link SendChannelEndpoint} which has not yet been opened.
+     */
+    SendChannelEndpoint newInstance(
+        UdpChannel udpChannel, EventLogger logger, LossGenerator lossGenerator, SystemCounters systemCounters);
+}
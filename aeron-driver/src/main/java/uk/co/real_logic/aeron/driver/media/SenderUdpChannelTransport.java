@@ -34,7 +34,7 @@ import static uk.co.real_logic.aeron.protocol.HeaderFlyweight.HDR_TYPE_SM;
  *
  * We don't conflate the processing logic, or we at least try not to, into this object.
  *
- * Holds DatagramChannel, read Buffer, etc.
+ * Holds TransportMedia, read Buffer, etc.
  */
 public final class SenderUdpChannelTransport extends UdpChannelTransport
 {
@@ -62,7 +62,30 @@ public final class SenderUdpChannelTransport extends UdpChannelTransport
         final EventLogger logger,
         final LossGenerator lossGenerator)
     {
-        super(udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), lossGenerator, logger);
+        this(udpChannel, smMessageHandler, nakMessageHandler, logger, lossGenerator, new DatagramChannelMedia());
+    }
+
+    /**
+     * Construct a transport for use with receiving and processing control frames over a given media
+     *
+     * Does not register
+     *
+     * @param udpChannel        of the transport
+     * @param smMessageHandler  to call when status message frames are received
+     * @param nakMessageHandler to call when NAK frames are received
+     * @param logger            for logging
+     * @param lossGenerator     for loss generation
+     * @param media             for channel I/O
+     */
+    public SenderUdpChannelTransport(
+        final UdpChannel udpChannel,
+        final StatusMessageHandler smMessageHandler,
+        final NakMessageHandler nakMessageHandler,
+        final EventLogger logger,
+        final LossGenerator lossGenerator,
+        final TransportMedia media)
+    {
+        super(udpChannel, udpChannel.remoteControl(), udpChannel.localControl(), lossGenerator, logger, media);
 
         this.smMessageHandler = smMessageHandler;
         this.nakMessageHandler = nakMessageHandler;
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver.media;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectableChannel;
+
+/**
+ * Channel I/O beneath a {@link UdpChannelTransport} so the media can be substituted, e.g. with an implementation
+ * that batches system calls or an in-memory transport for benchmarks. The default is {@link DatagramChannelMedia}.
+ *
+ * Methods are called on the thread of the agent polling the transport.
+ */
+public interface TransportMedia extends AutoCloseable
+{
+    /**
+     * Open the media for sending and receiving datagrams.
+     *
+     * @param udpChannel            for the media.
+     * @param endPointSocketAddress of the remote end or multicast group.
+     * @param bindSocketAddress     to bind to locally.
+     * @throws IOException if the media cannot be opened.
+     */
+    void open(UdpChannel udpChannel, InetSocketAddress endPointSocketAddress, InetSocketAddress bindSocketAddress)
+        throws IOException;
+
+    /**
+     * Channel which a {@link TransportPoller} can select on for read readiness.
+     *
+     * @return the channel to select on or null if the media should be polled on every duty cycle.
+     */
+    SelectableChannel selectableChannel();
+
+    /**
+     * Receive a datagram into a buffer if one is waiting. Must not block.
+     *
+     * @param buffer to receive the datagram into from its position.
+     * @return the address the datagram was sent from or null if none was waiting.
+     * @throws IOException if the receive fails.
+     */
+    InetSocketAddress receive(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Send a datagram to a remote address. Must not block.
+     *
+     * @param buffer        containing the datagram between its position and limit.
+     * @param remoteAddress to send to.
+     * @return number of bytes sent which is 0 if the datagram could not be sent.
+     * @throws IOException if the send fails.
+     */
+    int send(ByteBuffer buffer, InetSocketAddress remoteAddress) throws IOException;
+
+    /**
+     * Return socket option value. Media without sockets should return the effective value it supports, e.g. the
+     * buffer capacity for {@link java.net.StandardSocketOptions#SO_RCVBUF}.
+     *
+     * @param name of the socket option
+     * @param <T>  type of option
+     * @return option value
+     * @throws IOException if the option cannot be read.
+     */
+    <T> T getOption(SocketOption<T> name) throws IOException;
+
+    /**
+     * Close the media.
+     *
+     * @throws IOException if the media fails to close.
+     */
+    void close() throws IOException;
+}
@@ -16,19 +16,24 @@
 package uk.co.real_logic.aeron.driver.media;
 
 import uk.co.real_logic.agrona.LangUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 
 /**
  * Encapsulates the polling of a number of {@link UdpChannelTransport}s using whatever means provides the lowest latency.
+ *
+ * Transports whose {@link TransportMedia} has no selectable channel are polled on every call.
  */
 public class TransportPoller implements AutoCloseable
 {
     private static final int ITERATION_THRESHOLD = 5;
+    private static final UdpChannelTransport[] EMPTY_TRANSPORTS = new UdpChannelTransport[0];
     private static final Field SELECTED_KEYS_FIELD;
     private static final Field PUBLIC_SELECTED_KEYS_FIELD;
 
@@ -61,15 +66,24 @@ public class TransportPoller implements AutoCloseable
         }
     }
 
+    private final int receiveBudget;
+    private final AtomicCounter receiveBudgetExhausted;
     private final Selector selector;
     private final NioSelectedKeySet selectedKeySet;
-    private UdpChannelTransport[] transports = new UdpChannelTransport[0];
+    private UdpChannelTransport[] transports = EMPTY_TRANSPORTS;
+    private UdpChannelTransport[] unselectableTransports = EMPTY_TRANSPORTS;
 
     /**
      * Construct a selector
+     *
+     * @param receiveBudget          maximum number of datagrams to receive from each transport per poll.
+     * @param receiveBudgetExhausted counter to increment each time a transport uses up its receive budget.
      */
-    public TransportPoller()
+    public TransportPoller(final int receiveBudget, final AtomicCounter receiveBudgetExhausted)
     {
+        this.receiveBudget = receiveBudget;
+        this.receiveBudgetExhausted = receiveBudgetExhausted;
+
         try
         {
             selector = Selector.open(); // yes, SelectorProvider, blah, blah
@@ -88,15 +102,24 @@ public class TransportPoller implements AutoCloseable
      * Register channel for read.
      *
      * @param transport to associate with read
-     * @return SelectionKey for registration for cancel
+     * @return SelectionKey for registration for cancel or null if the transport has no selectable channel
      */
     public SelectionKey registerForRead(final UdpChannelTransport transport)
     {
         SelectionKey key = null;
         try
         {
-            addTransport(transport);
-            key = transport.datagramChannel().register(selector, SelectionKey.OP_READ, transport);
+            transports = addTransport(transports, transport);
+
+            final SelectableChannel channel = transport.selectableChannel();
+            if (null != channel)
+            {
+                key = channel.register(selector, SelectionKey.OP_READ, transport);
+            }
+            else
+            {
+                unselectableTransports = addTransport(unselectableTransports, transport);
+            }
         }
         catch (final ClosedChannelException ex)
         {
@@ -113,7 +136,8 @@ public class TransportPoller implements AutoCloseable
      */
     public void cancelRead(final UdpChannelTransport transport)
     {
-        removeTransport(transport);
+        transports = removeTransport(transports, transport);
+        unselectableTransports = removeTransport(unselectableTransports, transport);
     }
 
     /**
@@ -148,7 +172,7 @@ public class TransportPoller implements AutoCloseable
             {
                 for (int i = numTransports - 1; i >= 0; i--)
                 {
-                    bytesReceived += transports[i].pollForData();
+                    bytesReceived += transports[i].pollForData(receiveBudget, receiveBudgetExhausted);
                 }
             }
             else
@@ -158,10 +182,17 @@ public class TransportPoller implements AutoCloseable
                 final SelectionKey[] keys = selectedKeySet.keys();
                 for (int i = selectedKeySet.size() - 1; i >= 0; i--)
                 {
-                    bytesReceived += ((UdpChannelTransport)keys[i].attachment()).pollForData();
+                    final UdpChannelTransport transport = (UdpChannelTransport)keys[i].attachment();
+                    bytesReceived += transport.pollForData(receiveBudget, receiveBudgetExhausted);
                 }
 
                 selectedKeySet.reset();
+
+                final UdpChannelTransport[] unselectableTransports = this.unselectableTransports;
+                for (int i = unselectableTransports.length - 1; i >= 0; i--)
+                {
+                    bytesReceived += unselectableTransports[i].pollForData(receiveBudget, receiveBudgetExhausted);
+                }
             }
         }
         catch (final IOException ex)
@@ -188,31 +219,41 @@ public class TransportPoller implements AutoCloseable
         }
     }
 
-    private void addTransport(final UdpChannelTransport transport)
+    private static UdpChannelTransport[] addTransport(
+        final UdpChannelTransport[] oldTransports, final UdpChannelTransport transport)
     {
-        final UdpChannelTransport[] oldTransports = transports;
         final int length = oldTransports.length;
         final UdpChannelTransport[] newTransports = new UdpChannelTransport[length + 1];
 
         System.arraycopy(oldTransports, 0, newTransports, 0, length);
         newTransports[length] = transport;
 
-        transports = newTransports;
+        return newTransports;
     }
 
-    private void removeTransport(final UdpChannelTransport transport)
+    private static UdpChannelTransport[] removeTransport(
+        final UdpChannelTransport[] oldTransports, final UdpChannelTransport transport)
     {
-        final UdpChannelTransport[] oldTransports = transports;
+        int index = -1;
         final int length = oldTransports.length;
-        final UdpChannelTransport[] newTransports = new UdpChannelTransport[length - 1];
-        for (int i = 0, j = 0; i < length; i++)
+        for (int i = 0; i < length; i++)
         {
-            if (oldTransports[i] != transport)
+            if (oldTransports[i] == transport)
             {
-                newTransports[j++] = oldTransports[i];
+                index = i;
+                break;
             }
         }
 
-        transports = newTransports;
+        if (-1 == index)
+        {
+            return oldTransports;
+        }
+
+        final UdpChannelTransport[] newTransports = new UdpChannelTransport[length - 1];
+        System.arraycopy(oldTransports, 0, newTransports, 0, index);
+        System.arraycopy(oldTransports, index + 1, newTransports, index, length - index - 1);
+
+        return newTransports;
     }
 }
@@ -16,6 +16,7 @@
 package uk.co.real_logic.aeron.driver.media;
 
 import uk.co.real_logic.aeron.ErrorCode;
+import uk.co.real_logic.aeron.driver.Configuration;
 import uk.co.real_logic.aeron.driver.UriUtil;
 import uk.co.real_logic.aeron.driver.uri.AeronUri;
 import uk.co.real_logic.aeron.driver.uri.InterfaceSearchAddress;
@@ -39,8 +40,14 @@ import static uk.co.real_logic.aeron.driver.Strings.isEmpty;
  * <p>
  * Format of URI:
  * <code>
- * udp://[interface[:port]@]ip:port
+ * udp://[interface[:port]@]ip:port[?fanout=n][&fec=k]
  * </code>
+ * <p>
+ * A unicast channel may specify a receive fan out greater than 1 to have that many sockets bind the same port with
+ * SO_REUSEPORT so the kernel spreads sources across them and each can be polled by a different receiver.
+ * <p>
+ * A channel may specify a forward error correction group size for publications to send a parity frame after every
+ * k data datagrams so a receiver can rebuild a single lost datagram in the group without a NAK.
  */
 public final class UdpChannel
 {
@@ -50,6 +57,8 @@ public final class UdpChannel
     private static final String LOCAL_KEY = "local";
     private static final String INTERFACE_KEY = "interface";
     private static final String GROUP_KEY = "group";
+    private static final String FAN_OUT_KEY = "fanout";
+    private static final String FEC_KEY = "fec";
 
     private static final String[] UNICAST_KEYS = { LOCAL_KEY, REMOTE_KEY };
     private static final String[] MULTICAST_KEYS = { GROUP_KEY, INTERFACE_KEY };
@@ -63,6 +72,8 @@ public final class UdpChannel
     private final String canonicalForm;
     private final NetworkInterface localInterface;
     private final ProtocolFamily protocolFamily;
+    private final int receiveFanOut;
+    private final int fecGroupSize;
 
     /**
      * Parse URI and create channel
@@ -78,7 +89,16 @@ public final class UdpChannel
 
             validateConfiguration(uri);
 
-            final Context context = new Context().uriStr(uriStr);
+            final int receiveFanOut = Integer.parseInt(uri.get(FAN_OUT_KEY, "1"));
+            validateReceiveFanOut(uri, receiveFanOut);
+
+            final int fecGroupSize = Integer.parseInt(uri.get(FEC_KEY, "0"));
+            validateFecGroupSize(fecGroupSize);
+
+            final Context context = new Context()
+                .uriStr(uriStr)
+                .receiveFanOut(receiveFanOut)
+                .fecGroupSize(fecGroupSize);
 
             if (isMulticast(uri))
             {
@@ -141,6 +161,28 @@ public final class UdpChannel
         }
     }
 
+    private static void validateReceiveFanOut(final AeronUri uri, final int receiveFanOut)
+    {
+        if (receiveFanOut < 1)
+        {
+            throw new IllegalArgumentException("Receive fan out must be at least 1: " + receiveFanOut);
+        }
+
+        if (receiveFanOut > 1 && isMulticast(uri))
+        {
+            throw new IllegalArgumentException("Receive fan out is only supported for unicast: " + uri);
+        }
+    }
+
+    private static void validateFecGroupSize(final int fecGroupSize)
+    {
+        if (fecGroupSize < 0 || fecGroupSize > Configuration.FEC_MAX_GROUP_SIZE)
+        {
+            throw new IllegalArgumentException(
+                "FEC group size must be between 0 and " + Configuration.FEC_MAX_GROUP_SIZE + ": " + fecGroupSize);
+        }
+    }
+
     private static boolean isMulticast(final AeronUri uri)
     {
         return uri.containsKey(GROUP_KEY);
@@ -211,6 +253,8 @@ public final class UdpChannel
                 .media(UDP_MEDIA_ID)
                 .param(GROUP_KEY, group)
                 .param(INTERFACE_KEY, inf)
+                .param(FAN_OUT_KEY, params.get(FAN_OUT_KEY))
+                .param(FEC_KEY, params.get(FEC_KEY))
                 .newInstance();
         }
         else
@@ -222,6 +266,8 @@ public final class UdpChannel
                 .media(UDP_MEDIA_ID)
                 .param(REMOTE_KEY, remote)
                 .param(LOCAL_KEY, local)
+                .param(FAN_OUT_KEY, params.get(FAN_OUT_KEY))
+                .param(FEC_KEY, params.get(FEC_KEY))
                 .newInstance();
         }
     }
@@ -324,6 +370,8 @@ public final class UdpChannel
         this.canonicalForm = context.canonicalForm;
         this.localInterface = context.localInterface;
         this.protocolFamily = context.protocolFamily;
+        this.receiveFanOut = context.receiveFanOut;
+        this.fecGroupSize = context.fecGroupSize;
     }
 
     /**
@@ -428,6 +476,26 @@ public final class UdpChannel
         return protocolFamily;
     }
 
+    /**
+     * Number of sockets sharing the data port on the receive side, each owning the sources the kernel hashes to it.
+     *
+     * @return number of sockets sharing the data port on the receive side.
+     */
+    public int receiveFanOut()
+    {
+        return receiveFanOut;
+    }
+
+    /**
+     * Number of data datagrams covered by each parity frame sent by publications on the channel.
+     *
+     * @return number of data datagrams covered by each parity frame or 0 if forward error correction is off.
+     */
+    public int fecGroupSize()
+    {
+        return fecGroupSize;
+    }
+
     private static class Context
     {
         private InetSocketAddress remoteData;
@@ -438,6 +506,8 @@ public final class UdpChannel
         private String canonicalForm;
         private NetworkInterface localInterface;
         private ProtocolFamily protocolFamily;
+        private int receiveFanOut = 1;
+        private int fecGroupSize = 0;
 
         public Context uriStr(final String uri)
         {
@@ -486,6 +556,18 @@ public final class UdpChannel
             this.protocolFamily = protocolFamily;
             return this;
         }
+
+        public Context receiveFanOut(final int receiveFanOut)
+        {
+            this.receiveFanOut = receiveFanOut;
+            return this;
+        }
+
+        public Context fecGroupSize(final int fecGroupSize)
+        {
+            this.fecGroupSize = fecGroupSize;
+            return this;
+        }
     }
 
     private static String errorNoMatchingInterfaces(
@@ -21,21 +21,23 @@ import uk.co.real_logic.aeron.protocol.HeaderFlyweight;
 import uk.co.real_logic.aeron.driver.Configuration;
 import uk.co.real_logic.aeron.driver.LossGenerator;
 import uk.co.real_logic.agrona.LangUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
-import java.net.NetworkInterface;
 import java.net.SocketOption;
-import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
-import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectableChannel;
 import java.nio.channels.SelectionKey;
 
 import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.frameLength;
 import static uk.co.real_logic.aeron.logbuffer.FrameDescriptor.frameVersion;
 
+/**
+ * Transport of frames for a {@link UdpChannel} over a {@link TransportMedia}.
+ */
 public abstract class UdpChannelTransport implements AutoCloseable
 {
     private final UdpChannel udpChannel;
@@ -43,7 +45,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
     private final EventLogger logger;
     private final ByteBuffer receiveByteBuffer = ByteBuffer.allocateDirect(Configuration.RECEIVE_BYTE_BUFFER_LENGTH);
     private final UnsafeBuffer receiveBuffer = new UnsafeBuffer(receiveByteBuffer);
-    private DatagramChannel datagramChannel;
+    private final TransportMedia media;
     private SelectionKey selectionKey;
     private TransportPoller transportPoller;
     private InetSocketAddress bindSocketAddress;
@@ -54,9 +56,11 @@ public abstract class UdpChannelTransport implements AutoCloseable
         final InetSocketAddress endPointSocketAddress,
         final InetSocketAddress bindSocketAddress,
         final LossGenerator lossGenerator,
-        final EventLogger logger)
+        final EventLogger logger,
+        final TransportMedia media)
     {
         this.udpChannel = udpChannel;
+        this.media = media;
         this.lossGenerator = lossGenerator;
         this.logger = logger;
         this.endPointSocketAddress = endPointSocketAddress;
@@ -64,38 +68,13 @@ public abstract class UdpChannelTransport implements AutoCloseable
     }
 
     /**
-     * Create the underlying channel for reading and writing.
+     * Open the underlying media for reading and writing.
      */
-    public void openDatagramChannel()
+    public void openChannel()
     {
         try
         {
-            datagramChannel = DatagramChannel.open(udpChannel.protocolFamily());
-            if (udpChannel.isMulticast())
-            {
-                final NetworkInterface localInterface = udpChannel.localInterface();
-
-                datagramChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
-                datagramChannel.bind(new InetSocketAddress(endPointSocketAddress.getPort()));
-                datagramChannel.join(endPointSocketAddress.getAddress(), localInterface);
-                datagramChannel.setOption(StandardSocketOptions.IP_MULTICAST_IF, localInterface);
-            }
-            else
-            {
-                datagramChannel.bind(bindSocketAddress);
-            }
-
-            if (0 != Configuration.SOCKET_SNDBUF_LENGTH)
-            {
-                datagramChannel.setOption(StandardSocketOptions.SO_SNDBUF, Configuration.SOCKET_SNDBUF_LENGTH);
-            }
-
-            if (0 != Configuration.SOCKET_RCVBUF_LENGTH)
-            {
-                datagramChannel.setOption(StandardSocketOptions.SO_RCVBUF, Configuration.SOCKET_RCVBUF_LENGTH);
-            }
-
-            datagramChannel.configureBlocking(false);
+            media.open(udpChannel, endPointSocketAddress, bindSocketAddress);
         }
         catch (final IOException ex)
         {
@@ -126,13 +105,13 @@ public abstract class UdpChannelTransport implements AutoCloseable
     }
 
     /**
-     * The {@link DatagramChannel} for this transport channel.
+     * The channel a {@link TransportPoller} can select on for this transport.
      *
-     * @return {@link DatagramChannel} for this transport channel.
+     * @return the channel to select on or null if the transport should be polled on every duty cycle.
      */
-    public DatagramChannel datagramChannel()
+    public SelectableChannel selectableChannel()
     {
-        return datagramChannel;
+        return media.selectableChannel();
     }
 
     /**
@@ -149,7 +128,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
         int bytesSent = 0;
         try
         {
-            bytesSent = datagramChannel.send(buffer, remoteAddress);
+            bytesSent = media.send(buffer, remoteAddress);
         }
         catch (final IOException ex)
         {
@@ -176,7 +155,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
                 transportPoller.cancelRead(this);
             }
 
-            datagramChannel.close();
+            media.close();
         }
         catch (final Exception ex)
         {
@@ -206,7 +185,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
         T option = null;
         try
         {
-            option = datagramChannel.getOption(name);
+            option = media.getOption(name);
         }
         catch (final IOException ex)
         {
@@ -229,30 +208,26 @@ public abstract class UdpChannelTransport implements AutoCloseable
     protected abstract int dispatch(final UnsafeBuffer receiveBuffer, final int length, final InetSocketAddress srcAddress);
 
     /**
-     * Attempt to receive waiting data.
+     * Attempt to receive waiting data, draining up to a budget of datagrams from the socket.
      *
+     * @param receiveBudget          maximum number of datagrams to receive before returning.
+     * @param receiveBudgetExhausted counter to increment when the budget is used up and more data may be waiting.
      * @return number of bytes received.
      */
-    public int pollForData()
+    public int pollForData(final int receiveBudget, final AtomicCounter receiveBudgetExhausted)
     {
         int bytesReceived = 0;
-        final InetSocketAddress srcAddress = receive();
+        int datagramsReceived = 0;
+        InetSocketAddress srcAddress;
 
-        if (null != srcAddress)
+        while (null != (srcAddress = receive()))
         {
-            final int length = receiveByteBuffer.position();
-            if (lossGenerator.shouldDropFrame(srcAddress, receiveBuffer, length))
-            {
-                logger.logFrameInDropped(receiveByteBuffer, 0, length, srcAddress);
-            }
-            else
-            {
-                logger.logFrameIn(receiveByteBuffer, 0, length, srcAddress);
+            bytesReceived += processDatagram(srcAddress);
 
-                if (isValidFrame(receiveBuffer, length))
-                {
-                    bytesReceived = dispatch(receiveBuffer, length, srcAddress);
-                }
+            if (++datagramsReceived >= receiveBudget)
+            {
+                receiveBudgetExhausted.increment();
+                break;
             }
         }
 
@@ -264,6 +239,27 @@ public abstract class UdpChannelTransport implements AutoCloseable
         return receiveBuffer;
     }
 
+    private int processDatagram(final InetSocketAddress srcAddress)
+    {
+        int bytesReceived = 0;
+        final int length = receiveByteBuffer.position();
+        if (lossGenerator.shouldDropFrame(srcAddress, receiveBuffer, length))
+        {
+            logger.logFrameInDropped(receiveByteBuffer, 0, length, srcAddress);
+        }
+        else
+        {
+            logger.logFrameIn(receiveByteBuffer, 0, length, srcAddress);
+
+            if (isValidFrame(receiveBuffer, length))
+            {
+                bytesReceived = dispatch(receiveBuffer, length, srcAddress);
+            }
+        }
+
+        return bytesReceived;
+    }
+
     private boolean isValidFrame(final UnsafeBuffer receiveBuffer, final int length)
     {
         boolean isFrameValid = true;
@@ -289,7 +285,7 @@ public abstract class UdpChannelTransport implements AutoCloseable
         InetSocketAddress address = null;
         try
         {
-            address = (InetSocketAddress)datagramChannel.receive(receiveByteBuffer);
+            address = media.receive(receiveByteBuffer);
         }
         catch (final ClosedByInterruptException ignored)
         {
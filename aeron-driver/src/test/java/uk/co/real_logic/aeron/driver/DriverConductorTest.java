@@ -25,7 +25,11 @@ import uk.co.real_logic.aeron.command.*;
 import uk.co.real_logic.aeron.driver.buffer.RawLogFactory;
 import uk.co.real_logic.aeron.driver.event.EventConfiguration;
 import uk.co.real_logic.aeron.driver.event.EventLogger;
+import uk.co.real_logic.aeron.driver.media.DefaultReceiveChannelEndpointSupplier;
+import uk.co.real_logic.aeron.driver.media.DefaultSendChannelEndpointSupplier;
 import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpoint;
+import uk.co.real_logic.aeron.driver.media.ReceiveChannelEndpointSupplier;
+import uk.co.real_logic.aeron.driver.media.SendChannelEndpointSupplier;
 import uk.co.real_logic.aeron.driver.media.TransportPoller;
 import uk.co.real_logic.aeron.driver.media.UdpChannel;
 import uk.co.real_logic.agrona.TimerWheel;
@@ -43,6 +47,9 @@ import static org.hamcrest.Matchers.*;
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.*;
+import static uk.co.real_logic.aeron.CommonContext.IPC_CHANNEL;
+import static uk.co.real_logic.aeron.CommonContext.SPY_PREFIX;
+import static uk.co.real_logic.aeron.ErrorCode.EXCLUSIVE_PUBLICATION_SESSION_IN_USE;
 import static uk.co.real_logic.aeron.ErrorCode.INVALID_CHANNEL;
 import static uk.co.real_logic.aeron.ErrorCode.UNKNOWN_PUBLICATION;
 import static uk.co.real_logic.aeron.command.ControlProtocolEvents.*;
@@ -72,6 +79,10 @@ public class DriverConductorTest
 
     private final TransportPoller transportPoller = mock(TransportPoller.class);
     private final RawLogFactory mockRawLogFactory = mock(RawLogFactory.class);
+    private final SendChannelEndpointSupplier sendChannelEndpointSupplier =
+        spy(new DefaultSendChannelEndpointSupplier());
+    private final ReceiveChannelEndpointSupplier receiveChannelEndpointSupplier =
+        spy(new DefaultReceiveChannelEndpointSupplier());
 
     private final RingBuffer fromClientCommands = new ManyToOneRingBuffer(new UnsafeBuffer(toDriverBuffer));
     private final RingBuffer toEventReader = new ManyToOneRingBuffer(new UnsafeBuffer(toEventBuffer));
@@ -82,6 +93,7 @@ public class DriverConductorTest
     private final RemoveMessageFlyweight removeMessage = new RemoveMessageFlyweight();
     private final CorrelatedMessageFlyweight correlatedMessage = new CorrelatedMessageFlyweight();
     private final UnsafeBuffer writeBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(256));
+    private final UnsafeBuffer counterBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH));
 
     private final EventLogger mockConductorLogger = mock(EventLogger.class);
 
@@ -94,6 +106,7 @@ public class DriverConductorTest
     private final TimerWheel wheel = new TimerWheel(
         () -> currentTime, CONDUCTOR_TICK_DURATION_US, TimeUnit.MICROSECONDS, CONDUCTOR_TICKS_PER_WHEEL);
 
+    private MediaDriver.Context ctx;
     private DriverConductor driverConductor;
 
     private final Answer<Void> closeChannelEndpointAnswer =
@@ -116,19 +129,20 @@ public class DriverConductorTest
 
         currentTime = 0;
 
-        final UnsafeBuffer counterBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH));
         final CountersManager countersManager = new CountersManager(
             new UnsafeBuffer(ByteBuffer.allocateDirect(BUFFER_LENGTH)), counterBuffer);
 
-        final MediaDriver.Context ctx = new MediaDriver.Context()
-            .receiverNioSelector(transportPoller)
-            .senderNioSelector(transportPoller)
+        ctx = new MediaDriver.Context()
+            .receiverNioSelectors(transportPoller)
+            .senderNioSelectors(transportPoller)
             .unicastSenderFlowControl(UnicastFlowControl::new)
             .multicastSenderFlowControl(MaxMulticastFlowControl::new)
+            .sendChannelEndpointSupplier(sendChannelEndpointSupplier)
+            .receiveChannelEndpointSupplier(receiveChannelEndpointSupplier)
             .conductorTimerWheel(wheel)
             // TODO: remove
-            .toConductorFromReceiverCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
-            .toConductorFromSenderCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
+            .toConductorFromReceiverCommandQueue(new ManyToOneConcurrentArrayQueue<>(1024))
+            .toConductorFromSenderCommandQueue(new ManyToOneConcurrentArrayQueue<>(1024))
             .eventLogger(mockConductorLogger)
             .rawLogBuffersFactory(mockRawLogFactory)
             .countersManager(countersManager);
@@ -144,8 +158,8 @@ public class DriverConductorTest
         when(mockSystemCounters.clientKeepAlives()).thenReturn(mock(AtomicCounter.class));
 
         ctx.epochClock(new SystemEpochClock());
-        ctx.receiverProxy(receiverProxy);
-        ctx.senderProxy(senderProxy);
+        ctx.receiverProxies(receiverProxy);
+        ctx.senderProxies(senderProxy);
         ctx.fromReceiverDriverConductorProxy(fromReceiverConductorProxy);
         ctx.fromSenderDriverConductorProxy(fromSenderConductorProxy);
 
@@ -192,6 +206,205 @@ public class DriverConductorTest
         assertNotNull(driverConductor.receiverChannelEndpoint(UdpChannel.parse(CHANNEL_URI + 4000)));
     }
 
+    @Test
+    public void shouldLinkIpcSubscriptionToIpcPublicationWithoutChannelEndpoints() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, IPC_CHANNEL, SESSION_ID, STREAM_ID_1, CORRELATION_ID_1);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy).onPublicationReady(eq(STREAM_ID_1), eq(SESSION_ID), any(), eq(CORRELATION_ID_1), anyInt());
+        verify(mockClientProxy).operationSucceeded(CORRELATION_ID_2);
+        verify(mockClientProxy).onConnectionReady(
+            eq(STREAM_ID_1), eq(SESSION_ID), eq(0L), any(), eq(CORRELATION_ID_1), any(), anyInt(), eq(IPC_CHANNEL));
+
+        verifyZeroInteractions(senderProxy);
+        verifyZeroInteractions(receiverProxy);
+        verify(sendChannelEndpointSupplier, never()).newInstance(any(), any(), any(), any());
+        verify(receiveChannelEndpointSupplier, never()).newInstance(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldGiveIdleIpcSubscriptionHwmAtProducerPosition() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, IPC_CHANNEL, SESSION_ID, STREAM_ID_1, CORRELATION_ID_1);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, IPC_CHANNEL, STREAM_ID_1, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        final ArgumentCaptor<Integer> publisherLimitIdCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(mockClientProxy).onPublicationReady(
+            eq(STREAM_ID_1), eq(SESSION_ID), any(), eq(CORRELATION_ID_1), publisherLimitIdCaptor.capture());
+
+        final ArgumentCaptor<Integer> hwmPositionIdCaptor = ArgumentCaptor.forClass(Integer.class);
+        verify(mockClientProxy).onConnectionReady(
+            eq(STREAM_ID_1),
+            eq(SESSION_ID),
+            eq(0L),
+            any(),
+            eq(CORRELATION_ID_1),
+            any(),
+            hwmPositionIdCaptor.capture(),
+            eq(IPC_CHANNEL));
+
+        final int hwmPositionId = hwmPositionIdCaptor.getValue();
+        assertThat(hwmPositionId, not(publisherLimitIdCaptor.getValue()));
+
+        driverConductor.doWork();
+
+        assertThat(counterBuffer.getLongVolatile(CountersManager.counterOffset(hwmPositionId)), is(0L));
+    }
+
+    @Test
+    public void shouldLinkSpySubscriptionToNetworkPublicationWithoutReceiveChannelEndpoint() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, SESSION_ID, STREAM_ID_1, 4000, CORRELATION_ID_1);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, SPY_PREFIX + CHANNEL_URI + 4000, STREAM_ID_1, CORRELATION_ID_2);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, SPY_PREFIX + CHANNEL_URI + 4001, STREAM_ID_1, CORRELATION_ID_3);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy).operationSucceeded(CORRELATION_ID_2);
+        verify(mockClientProxy).operationSucceeded(CORRELATION_ID_3);
+        verify(mockClientProxy, times(1)).onConnectionReady(
+            eq(STREAM_ID_1), eq(SESSION_ID), eq(0L), any(), eq(CORRELATION_ID_1), any(), anyInt(), anyString());
+
+        verifyZeroInteractions(receiverProxy);
+        verify(receiveChannelEndpointSupplier, never()).newInstance(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldCreateChannelEndpointsFromSuppliers() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, CHANNEL_URI + 4001, STREAM_ID_1, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(sendChannelEndpointSupplier, times(1)).newInstance(any(), any(), any(), any());
+        verify(receiveChannelEndpointSupplier, times(1)).newInstance(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    public void shouldShardReceiveChannelEndpointsAcrossReceivers() throws Exception
+    {
+        final ReceiverProxy otherReceiverProxy = mock(ReceiverProxy.class);
+        ctx.receiverProxies(receiverProxy, otherReceiverProxy);
+        driverConductor.onClose();
+        driverConductor = new DriverConductor(ctx);
+
+        final int channelCount = 8;
+        for (int i = 0; i < channelCount; i++)
+        {
+            writeSubscriptionMessage(ADD_SUBSCRIPTION, CHANNEL_URI + (4000 + i), STREAM_ID_1, CORRELATION_ID_1 + i);
+        }
+
+        driverConductor.doWork();
+
+        final ArgumentCaptor<ReceiveChannelEndpoint> captor = ArgumentCaptor.forClass(ReceiveChannelEndpoint.class);
+        final ArgumentCaptor<ReceiveChannelEndpoint> otherCaptor = ArgumentCaptor.forClass(ReceiveChannelEndpoint.class);
+        verify(receiverProxy, atLeastOnce()).registerReceiveChannelEndpoint(captor.capture());
+        verify(otherReceiverProxy, atLeastOnce()).registerReceiveChannelEndpoint(otherCaptor.capture());
+        assertThat(captor.getAllValues().size() + otherCaptor.getAllValues().size(), is(channelCount));
+
+        for (final ReceiveChannelEndpoint channelEndpoint : captor.getAllValues())
+        {
+            verify(receiverProxy).addSubscription(channelEndpoint, STREAM_ID_1);
+            verify(otherReceiverProxy, never()).addSubscription(eq(channelEndpoint), anyInt());
+        }
+
+        for (final ReceiveChannelEndpoint channelEndpoint : otherCaptor.getAllValues())
+        {
+            verify(otherReceiverProxy).addSubscription(channelEndpoint, STREAM_ID_1);
+            verify(receiverProxy, never()).addSubscription(eq(channelEndpoint), anyInt());
+        }
+    }
+
+    @Test
+    public void shouldFanOutReceiveChannelEndpointAcrossReceivers() throws Exception
+    {
+        final ReceiverProxy otherReceiverProxy = mock(ReceiverProxy.class);
+        doAnswer(closeChannelEndpointAnswer).when(otherReceiverProxy).closeReceiveChannelEndpoint(any());
+        ctx.receiverProxies(receiverProxy, otherReceiverProxy);
+        driverConductor.onClose();
+        driverConductor = new DriverConductor(ctx);
+
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, CHANNEL_URI + 4000 + "?fanout=2", STREAM_ID_1, CORRELATION_ID_1);
+
+        driverConductor.doWork();
+
+        final ArgumentCaptor<ReceiveChannelEndpoint> captor = ArgumentCaptor.forClass(ReceiveChannelEndpoint.class);
+        final ArgumentCaptor<ReceiveChannelEndpoint> otherCaptor = ArgumentCaptor.forClass(ReceiveChannelEndpoint.class);
+        verify(receiverProxy).registerReceiveChannelEndpoint(captor.capture());
+        verify(otherReceiverProxy).registerReceiveChannelEndpoint(otherCaptor.capture());
+
+        final ReceiveChannelEndpoint channelEndpoint = captor.getValue();
+        final ReceiveChannelEndpoint otherChannelEndpoint = otherCaptor.getValue();
+        assertNotSame(channelEndpoint, otherChannelEndpoint);
+        assertThat(channelEndpoint.primary(), is(otherChannelEndpoint.primary()));
+
+        verify(receiverProxy).addSubscription(channelEndpoint, STREAM_ID_1);
+        verify(otherReceiverProxy).addSubscription(otherChannelEndpoint, STREAM_ID_1);
+
+        writeSubscriptionMessage(REMOVE_SUBSCRIPTION, CHANNEL_URI + 4000, STREAM_ID_1, CORRELATION_ID_1);
+
+        driverConductor.doWork();
+
+        verify(receiverProxy).closeReceiveChannelEndpoint(channelEndpoint);
+        verify(otherReceiverProxy).closeReceiveChannelEndpoint(otherChannelEndpoint);
+    }
+
+    @Test
+    public void shouldErrorOnAddSubscriptionWithConflictingFanOutOrFec() throws Exception
+    {
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, CHANNEL_URI + 4000, STREAM_ID_1, CORRELATION_ID_1);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, CHANNEL_URI + 4000 + "?fanout=2", STREAM_ID_2, CORRELATION_ID_2);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, CHANNEL_URI + 4000 + "?fec=4", STREAM_ID_2, CORRELATION_ID_3);
+
+        driverConductor.doWork();
+
+        verify(receiveChannelEndpointSupplier, times(1)).newInstance(any(), any(), any(), any(), any(), any());
+        verify(mockClientProxy).operationSucceeded(CORRELATION_ID_1);
+        verify(mockClientProxy, times(2)).onError(eq(INVALID_CHANNEL), argThat(not(isEmptyOrNullString())), any(), anyInt());
+        verify(receiverProxy, never()).addSubscription(any(), eq(STREAM_ID_2));
+    }
+
+    @Test
+    public void shouldShardSendChannelEndpointsAcrossSenders() throws Exception
+    {
+        final SenderProxy otherSenderProxy = mock(SenderProxy.class);
+        ctx.senderProxies(senderProxy, otherSenderProxy);
+        driverConductor.onClose();
+        driverConductor = new DriverConductor(ctx);
+
+        final int channelCount = 8;
+        for (int i = 0; i < channelCount; i++)
+        {
+            writePublicationMessage(ADD_PUBLICATION, SESSION_ID, STREAM_ID_1, 4000 + i, CORRELATION_ID_1 + i);
+        }
+
+        driverConductor.doWork();
+
+        final ArgumentCaptor<NetworkPublication> captor = ArgumentCaptor.forClass(NetworkPublication.class);
+        final ArgumentCaptor<NetworkPublication> otherCaptor = ArgumentCaptor.forClass(NetworkPublication.class);
+        verify(senderProxy, atLeastOnce()).newPublication(captor.capture(), any(), any());
+        verify(otherSenderProxy, atLeastOnce()).newPublication(otherCaptor.capture(), any(), any());
+        assertThat(captor.getAllValues().size() + otherCaptor.getAllValues().size(), is(channelCount));
+
+        for (final NetworkPublication publication : captor.getAllValues())
+        {
+            verify(senderProxy).registerSendChannelEndpoint(publication.sendChannelEndpoint());
+            verify(otherSenderProxy, never()).registerSendChannelEndpoint(publication.sendChannelEndpoint());
+        }
+
+        for (final NetworkPublication publication : otherCaptor.getAllValues())
+        {
+            verify(otherSenderProxy).registerSendChannelEndpoint(publication.sendChannelEndpoint());
+            verify(senderProxy, never()).registerSendChannelEndpoint(publication.sendChannelEndpoint());
+        }
+    }
+
     @Test
     public void shouldBeAbleToAddAndRemoveSingleSubscription() throws Exception
     {
@@ -344,6 +557,34 @@ public class DriverConductorTest
         verify(mockConductorLogger).logException(any());
     }
 
+    @Test
+    public void shouldErrorOnAddExclusivePublicationForSessionInUse() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writePublicationMessage(ADD_EXCLUSIVE_PUBLICATION, 1, 2, 4000, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(senderProxy, times(1)).newPublication(any(), any(), any());
+        verify(mockClientProxy, times(1)).onPublicationReady(anyInt(), anyInt(), any(), anyLong(), anyInt());
+        verify(mockClientProxy).onError(
+            eq(EXCLUSIVE_PUBLICATION_SESSION_IN_USE), argThat(not(isEmptyOrNullString())), any(), anyInt());
+    }
+
+    @Test
+    public void shouldErrorOnSharingExclusivePublication() throws Exception
+    {
+        writePublicationMessage(ADD_EXCLUSIVE_PUBLICATION, 1, 2, 4000, CORRELATION_ID_1);
+        writePublicationMessage(ADD_PUBLICATION, 1, 2, 4000, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(senderProxy, times(1)).newPublication(any(), any(), any());
+        verify(mockClientProxy).onPublicationReady(eq(2), eq(1), any(), eq(CORRELATION_ID_1), anyInt());
+        verify(mockClientProxy).onError(
+            eq(EXCLUSIVE_PUBLICATION_SESSION_IN_USE), argThat(not(isEmptyOrNullString())), any(), anyInt());
+    }
+
     @Test
     public void shouldErrorOnAddSubscriptionWithInvalidUri() throws Exception
     {
@@ -359,6 +600,19 @@ public class DriverConductorTest
         verify(mockConductorLogger).logException(any());
     }
 
+    @Test
+    public void shouldErrorOnAddPublicationAndSubscriptionWithIpcPrefixedUri() throws Exception
+    {
+        writePublicationMessage(ADD_PUBLICATION, IPC_CHANNEL + "X", SESSION_ID, STREAM_ID_1, CORRELATION_ID_1);
+        writeSubscriptionMessage(ADD_SUBSCRIPTION, IPC_CHANNEL + "-foo", STREAM_ID_1, CORRELATION_ID_2);
+
+        driverConductor.doWork();
+
+        verify(mockClientProxy, times(2)).onError(eq(INVALID_CHANNEL), argThat(not(isEmptyOrNullString())), any(), anyInt());
+        verify(mockClientProxy, never()).onPublicationReady(anyInt(), anyInt(), any(), anyLong(), anyInt());
+        verify(mockClientProxy, never()).operationSucceeded(anyLong());
+    }
+
     @Test
     public void shouldTimeoutPublication() throws Exception
     {
@@ -481,7 +735,7 @@ public class DriverConductorTest
         final long position =
             computePosition(activeTermId, termOffset, Integer.numberOfTrailingZeros(TERM_BUFFER_LENGTH), initialTermId);
         verify(mockClientProxy).onConnectionReady(
-            eq(STREAM_ID_1), eq(SESSION_ID), eq(position), anyObject(), anyLong(), anyObject(), anyString());
+            eq(STREAM_ID_1), eq(SESSION_ID), eq(position), anyObject(), anyLong(), anyObject(), anyInt(), anyString());
     }
 
     @Test
@@ -505,7 +759,7 @@ public class DriverConductorTest
 
         verify(receiverProxy, never()).newConnection(any(), any());
         verify(mockClientProxy, never()).onConnectionReady(
-            anyInt(), anyInt(), anyLong(), anyObject(), anyLong(), anyObject(), anyString());
+            anyInt(), anyInt(), anyLong(), anyObject(), anyLong(), anyObject(), anyInt(), anyString());
     }
 
     @Test
@@ -579,18 +833,24 @@ public class DriverConductorTest
         final InOrder inOrder = inOrder(mockClientProxy);
         inOrder.verify(mockClientProxy, times(2)).onConnectionReady(
             eq(STREAM_ID_1), eq(SESSION_ID), eq(0L), anyObject(),
-            eq(networkConnection.correlationId()), anyObject(), anyString());
+            eq(networkConnection.correlationId()), anyObject(), anyInt(), anyString());
         inOrder.verify(mockClientProxy, times(1)).onInactiveConnection(
             eq(networkConnection.correlationId()), eq(SESSION_ID), eq(STREAM_ID_1), eq(0L), anyString());
     }
 
     private void writePublicationMessage(
         final int msgTypeId, final int sessionId, final int streamId, final int port, final long correlationId)
+    {
+        writePublicationMessage(msgTypeId, CHANNEL_URI + port, sessionId, streamId, correlationId);
+    }
+
+    private void writePublicationMessage(
+        final int msgTypeId, final String channel, final int sessionId, final int streamId, final long correlationId)
     {
         publicationMessage.wrap(writeBuffer, 0);
         publicationMessage.streamId(streamId);
         publicationMessage.sessionId(sessionId);
-        publicationMessage.channel(CHANNEL_URI + port);
+        publicationMessage.channel(channel);
         publicationMessage.clientId(CLIENT_ID);
         publicationMessage.correlationId(correlationId);
 
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron.driver;
+
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.agrona.concurrent.Agent;
+import uk.co.real_logic.agrona.concurrent.CountersManager;
+import uk.co.real_logic.agrona.concurrent.NanoClock;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.*;
+
+public class DutyCycleInstrumentedAgentTest
+{
+    private static final String ROLE_NAME = "test-agent";
+    private static final long THRESHOLD_NS = 1000;
+
+    private final UnsafeBuffer labelsBuffer = new UnsafeBuffer(new byte[64 * 1024]);
+    private final UnsafeBuffer countersBuffer = new UnsafeBuffer(new byte[16 * 1024]);
+    private final CountersManager countersManager = new CountersManager(labelsBuffer, countersBuffer);
+    private final Agent agent = mock(Agent.class);
+    private final NanoClock nanoClock = mock(NanoClock.class);
+
+    private DutyCycleInstrumentedAgent instrumentedAgent;
+
+    @Before
+    public void setUp()
+    {
+        when(agent.roleName()).thenReturn(ROLE_NAME);
+        instrumentedAgent = new DutyCycleInstrumentedAgent(agent, countersManager, nanoClock, THRESHOLD_NS);
+    }
+
+    @Test
+    public void shouldRecordCycleTimesIntoCounters() throws Exception
+    {
+        when(agent.doWork()).thenReturn(1, 0);
+        when(nanoClock.nanoTime()).thenReturn(0L, 500L, 1000L, 3000L);
+
+        assertThat(instrumentedAgent.doWork(), is(1));
+        assertThat(instrumentedAgent.doWork(), is(0));
+
+        final Map<String, Long> values = counterValues();
+        assertThat(values.get(ROLE_NAME + " duty cycles"), is(2L));
+        assertThat(values.get(ROLE_NAME + " idle duty cycles"), is(1L));
+        assertThat(values.get(ROLE_NAME + " max duty cycle time ns"), is(2000L));
+        assertThat(values.get(ROLE_NAME + " duty cycles over " + THRESHOLD_NS + " ns"), is(1L));
+        assertThat(values.get(ROLE_NAME + " duty cycles <= 1 us"), is(1L));
+        assertThat(values.get(ROLE_NAME + " duty cycles <= 4 us"), is(1L));
+        assertThat(values.get(ROLE_NAME + " duty cycles > 16384 us"), is(0L));
+    }
+
+    @Test
+    public void shouldRecordCycleWhichThrows() throws Exception
+    {
+        when(agent.doWork()).thenThrow(new IllegalStateException());
+        when(nanoClock.nanoTime()).thenReturn(0L, 100_000_000L);
+
+        try
+        {
+            instrumentedAgent.doWork();
+        }
+        catch (final IllegalStateException ignore)
+        {
+        }
+
+        final Map<String, Long> values = counterValues();
+        assertThat(values.get(ROLE_NAME + " duty cycles"), is(1L));
+        assertThat(values.get(ROLE_NAME + " duty cycles > 16384 us"), is(1L));
+    }
+
+    @Test
+    public void shouldDelegateRoleNameAndClose()
+    {
+        assertThat(instrumentedAgent.roleName(), is(ROLE_NAME));
+
+        instrumentedAgent.onClose();
+
+        verify(agent).onClose();
+        assertThat(counterValues().size(), is(0));
+    }
+
+    private Map<String, Long> counterValues()
+    {
+        final Map<String, Long> values = new HashMap<>();
+        countersManager.forEach(
+            (id, label) -> values.put(label, countersBuffer.getLong(CountersManager.counterOffset(id))));
+
+        return values;
+    }
+}
@@ -28,6 +28,8 @@ import java.nio.ByteBuffer;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BooleanSupplier;
 
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.*;
 import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.TERM_MIN_LENGTH;
 import static uk.co.real_logic.aeron.logbuffer.LogBufferDescriptor.computePosition;
@@ -187,6 +189,77 @@ public class LossDetectorTest
         inOrder.verify(nakMessageSender, never()).onLossDetected(TERM_ID, offsetOfMessage(5), gapLength());
     }
 
+    @Test
+    public void shouldNakMultipleGapsTogether()
+    {
+        handler = new LossDetector(wheel, DELAY_GENERATOR, nakMessageSender, 4);
+
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 7);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+        insertDataFrame(offsetOfMessage(6));
+
+        handler.scan(termBuffer, rebuildPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(40));
+
+        final InOrder inOrder = inOrder(nakMessageSender);
+        inOrder.verify(nakMessageSender).onLossDetected(TERM_ID, offsetOfMessage(1), gapLength());
+        inOrder.verify(nakMessageSender).onLossDetected(TERM_ID, offsetOfMessage(3), gapLength());
+        inOrder.verify(nakMessageSender).onLossDetected(TERM_ID, offsetOfMessage(5), gapLength());
+        verifyNoMoreInteractions(nakMessageSender);
+        assertThat(handler.rebuildOffset(), is(offsetOfMessage(1)));
+    }
+
+    @Test
+    public void shouldSuppressOnlyTheGapNakedByAnotherReceiver()
+    {
+        handler = new LossDetector(wheel, DELAY_GENERATOR, nakMessageSender, 4);
+
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 5);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+
+        handler.scan(termBuffer, rebuildPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(10));
+
+        handler.onNak(TERM_ID, offsetOfMessage(1));
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(30));
+
+        verify(nakMessageSender).onLossDetected(TERM_ID, offsetOfMessage(3), gapLength());
+        verify(nakMessageSender, never()).onLossDetected(TERM_ID, offsetOfMessage(1), gapLength());
+
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(50));
+
+        verify(nakMessageSender).onLossDetected(TERM_ID, offsetOfMessage(1), gapLength());
+    }
+
+    @Test
+    public void shouldLimitGapsNakedTogetherToMaxGaps()
+    {
+        handler = new LossDetector(wheel, DELAY_GENERATOR, nakMessageSender, 2);
+
+        final long rebuildPosition = ACTIVE_TERM_POSITION;
+        final long hwmPosition = ACTIVE_TERM_POSITION + (ALIGNED_FRAME_LENGTH * 7);
+
+        insertDataFrame(offsetOfMessage(0));
+        insertDataFrame(offsetOfMessage(2));
+        insertDataFrame(offsetOfMessage(4));
+        insertDataFrame(offsetOfMessage(6));
+
+        handler.scan(termBuffer, rebuildPosition, hwmPosition, MASK, POSITION_BITS_TO_SHIFT, TERM_ID);
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(40));
+
+        verify(nakMessageSender).onLossDetected(TERM_ID, offsetOfMessage(1), gapLength());
+        verify(nakMessageSender).onLossDetected(TERM_ID, offsetOfMessage(3), gapLength());
+        verify(nakMessageSender, never()).onLossDetected(TERM_ID, offsetOfMessage(5), gapLength());
+    }
+
     @Test
     public void shouldReplaceOldNakWithNewNak()
     {
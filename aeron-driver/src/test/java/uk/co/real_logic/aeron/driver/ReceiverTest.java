@@ -25,6 +25,7 @@ import uk.co.real_logic.aeron.logbuffer.TermReader;
 import uk.co.real_logic.aeron.driver.event.EventLogger;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.protocol.HeaderFlyweight;
+import uk.co.real_logic.aeron.protocol.ParityFlyweight;
 import uk.co.real_logic.aeron.protocol.SetupFlyweight;
 import uk.co.real_logic.aeron.protocol.StatusMessageFlyweight;
 import uk.co.real_logic.aeron.driver.buffer.RawLog;
@@ -37,6 +38,8 @@ import uk.co.real_logic.aeron.driver.media.UdpChannel;
 import uk.co.real_logic.agrona.ErrorHandler;
 import uk.co.real_logic.agrona.TimerWheel;
 import uk.co.real_logic.agrona.concurrent.AtomicCounter;
+import uk.co.real_logic.agrona.concurrent.CountersManager;
+import uk.co.real_logic.agrona.concurrent.ManyToOneConcurrentArrayQueue;
 import uk.co.real_logic.agrona.concurrent.NanoClock;
 import uk.co.real_logic.agrona.concurrent.OneToOneConcurrentArrayQueue;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
@@ -47,8 +50,10 @@ import uk.co.real_logic.agrona.concurrent.status.ReadablePosition;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.DatagramChannel;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.TimeUnit;
 
 import static java.lang.Integer.numberOfTrailingZeros;
@@ -112,7 +117,7 @@ public class ReceiverTest
     private InetSocketAddress senderAddress = new InetSocketAddress("localhost", 40123);
     private Receiver receiver;
     private ReceiverProxy receiverProxy;
-    private OneToOneConcurrentArrayQueue<DriverConductorCmd> toConductorQueue;
+    private ManyToOneConcurrentArrayQueue<DriverConductorCmd> toConductorQueue;
 
     private ReceiveChannelEndpoint receiveChannelEndpoint;
 
@@ -126,15 +131,16 @@ public class ReceiverTest
         when(mockSystemCounters.statusMessagesSent()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.flowControlUnderRuns()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.bytesReceived()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.parityRecoveries()).thenReturn(mock(AtomicCounter.class));
 
         final MediaDriver.Context ctx = new MediaDriver.Context()
-            .toConductorFromReceiverCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
-            .receiverNioSelector(mockTransportPoller)
-            .senderNioSelector(mockTransportPoller)
+            .toConductorFromReceiverCommandQueue(new ManyToOneConcurrentArrayQueue<>(1024))
+            .receiverNioSelectors(mockTransportPoller)
+            .senderNioSelectors(mockTransportPoller)
             .rawLogBuffersFactory(mockRawLogFactory)
             .conductorTimerWheel(timerWheel)
             .systemCounters(mockSystemCounters)
-            .receiverCommandQueue(new OneToOneConcurrentArrayQueue<>(1024))
+            .receiverCommandQueues(Collections.singletonList(new OneToOneConcurrentArrayQueue<>(1024)))
             .eventLogger(mockLogger);
 
         toConductorQueue = ctx.toConductorFromReceiverCommandQueue();
@@ -142,9 +148,10 @@ public class ReceiverTest
             new DriverConductorProxy(ThreadingMode.DEDICATED, toConductorQueue, mock(AtomicCounter.class));
         ctx.fromReceiverDriverConductorProxy(driverConductorProxy);
 
-        receiverProxy = new ReceiverProxy(ThreadingMode.DEDICATED, ctx.receiverCommandQueue(), mock(AtomicCounter.class));
+        receiverProxy = new ReceiverProxy(
+            ThreadingMode.DEDICATED, ctx.receiverCommandQueues().get(0), mock(AtomicCounter.class));
 
-        receiver = new Receiver(ctx);
+        receiver = new Receiver(ctx, 0);
 
         senderChannel = DatagramChannel.open();
         senderChannel.bind(senderAddress);
@@ -502,6 +509,305 @@ public class ReceiverTest
         assertThat(TermReader.fragmentsRead(readOutcome), is(1));
     }
 
+    @Test
+    public void shouldRebuildMissingDataFrameFromParityFrame() throws Exception
+    {
+        final int alignedDataFrameLength =
+            align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final int payloadOffset = ParityFlyweight.headerLength(2);
+        final UnsafeBuffer parityBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadOffset + alignedDataFrameLength));
+        final ParityFlyweight parityHeader = new ParityFlyweight();
+
+        establishConnection();
+
+        fillDataFrame(dataHeader, alignedDataFrameLength, FAKE_PAYLOAD);  // lost data frame
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+
+        fillDataFrame(dataHeader, 0, FAKE_PAYLOAD);  // received data frame
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+        receiveChannelEndpoint.onDataPacket(dataHeader, dataBuffer, alignedDataFrameLength, senderAddress);
+
+        final int parityFrameLength = fillParityFrame(parityHeader, parityBuffer, ACTIVE_TERM_ID, 0, 2, alignedDataFrameLength);
+        final int bytesRebuilt = receiveChannelEndpoint.onParityPacket(
+            parityHeader, parityBuffer, parityFrameLength, senderAddress);
+
+        assertThat(bytesRebuilt, is(alignedDataFrameLength));
+        verify(mockHighestReceivedPosition).proposeMaxOrdered(2L * alignedDataFrameLength);
+
+        final long readOutcome = TermReader.read(
+            termBuffers[ACTIVE_INDEX],
+            INITIAL_TERM_OFFSET,
+            (buffer, offset, length, header) ->
+            {
+                assertThat(header.type(), is(HeaderFlyweight.HDR_TYPE_DATA));
+                assertThat(header.termId(), is(ACTIVE_TERM_ID));
+                assertThat(header.frameLength(), is(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length));
+            },
+            Integer.MAX_VALUE,
+            header,
+            mockErrorHandler);
+
+        assertThat(TermReader.fragmentsRead(readOutcome), is(2));
+    }
+
+    @Test
+    public void shouldNotRebuildFromParityFrameWhenTwoDatagramsOfGroupAreMissing() throws Exception
+    {
+        final int alignedDataFrameLength =
+            align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final int payloadOffset = ParityFlyweight.headerLength(3);
+        final UnsafeBuffer parityBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadOffset + alignedDataFrameLength));
+        final ParityFlyweight parityHeader = new ParityFlyweight();
+
+        establishConnection();
+
+        fillDataFrame(dataHeader, 2 * alignedDataFrameLength, FAKE_PAYLOAD);  // lost data frame
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+
+        fillDataFrame(dataHeader, alignedDataFrameLength, FAKE_PAYLOAD);  // lost data frame
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+
+        fillDataFrame(dataHeader, 0, FAKE_PAYLOAD);  // received data frame
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+        receiveChannelEndpoint.onDataPacket(dataHeader, dataBuffer, alignedDataFrameLength, senderAddress);
+
+        final int parityFrameLength = fillParityFrame(parityHeader, parityBuffer, ACTIVE_TERM_ID, 0, 3, alignedDataFrameLength);
+        final int bytesRebuilt = receiveChannelEndpoint.onParityPacket(
+            parityHeader, parityBuffer, parityFrameLength, senderAddress);
+
+        assertThat(bytesRebuilt, is(0));
+        assertThat(termBuffers[ACTIVE_INDEX].getInt(alignedDataFrameLength), is(0));
+        assertThat(termBuffers[ACTIVE_INDEX].getInt(2 * alignedDataFrameLength), is(0));
+    }
+
+    @Test
+    public void shouldIgnoreParityFrameOutsideFlowControlWindow() throws Exception
+    {
+        final int alignedDataFrameLength =
+            align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final int payloadOffset = ParityFlyweight.headerLength(2);
+        final UnsafeBuffer parityBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadOffset + alignedDataFrameLength));
+        final ParityFlyweight parityHeader = new ParityFlyweight();
+        final int nextTermId = ACTIVE_TERM_ID + 1;
+        final UnsafeBuffer nextTermBuffer = termBuffers[indexByTerm(INITIAL_TERM_ID, nextTermId)];
+
+        establishConnection();
+
+        fillDataFrame(dataHeader, alignedDataFrameLength, FAKE_PAYLOAD);  // lost data frame
+        dataHeader.termId(nextTermId);
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+
+        fillDataFrame(dataHeader, 0, FAKE_PAYLOAD);  // data frame already in the log beyond the window
+        dataHeader.termId(nextTermId);
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+        nextTermBuffer.putBytes(0, dataBuffer, 0, alignedDataFrameLength);
+
+        final int parityFrameLength = fillParityFrame(parityHeader, parityBuffer, nextTermId, 0, 2, alignedDataFrameLength);
+        final int bytesRebuilt = receiveChannelEndpoint.onParityPacket(
+            parityHeader, parityBuffer, parityFrameLength, senderAddress);
+
+        assertThat(bytesRebuilt, is(0));
+        assertThat(nextTermBuffer.getInt(alignedDataFrameLength), is(0));
+    }
+
+    @Test
+    public void shouldIgnoreParityFrameSpanningEndOfTerm() throws Exception
+    {
+        final int alignedDataFrameLength =
+            align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final int payloadOffset = ParityFlyweight.headerLength(2);
+        final UnsafeBuffer parityBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadOffset + alignedDataFrameLength));
+        final ParityFlyweight parityHeader = new ParityFlyweight();
+        final int groupTermOffset = TERM_BUFFER_LENGTH - alignedDataFrameLength;
+
+        establishConnection();
+
+        fillDataFrame(dataHeader, groupTermOffset, FAKE_PAYLOAD);  // data frame at the end of the term
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+        termBuffers[ACTIVE_INDEX].putBytes(groupTermOffset, dataBuffer, 0, alignedDataFrameLength);
+
+        final int parityFrameLength =
+            fillParityFrame(parityHeader, parityBuffer, ACTIVE_TERM_ID, groupTermOffset, 2, alignedDataFrameLength);
+        final int bytesRebuilt = receiveChannelEndpoint.onParityPacket(
+            parityHeader, parityBuffer, parityFrameLength, senderAddress);
+
+        assertThat(bytesRebuilt, is(0));
+    }
+
+    @Test
+    public void shouldRejectParityFrameWhichRebuildsCorruptHeader() throws Exception
+    {
+        final int alignedDataFrameLength =
+            align(DataHeaderFlyweight.HEADER_LENGTH + FAKE_PAYLOAD.length, FrameDescriptor.FRAME_ALIGNMENT);
+        final int payloadOffset = ParityFlyweight.headerLength(2);
+        final UnsafeBuffer parityBuffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadOffset + alignedDataFrameLength));
+        final ParityFlyweight parityHeader = new ParityFlyweight();
+
+        establishConnection();
+
+        fillDataFrame(dataHeader, alignedDataFrameLength, FAKE_PAYLOAD);  // lost data frame
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+
+        fillDataFrame(dataHeader, 0, FAKE_PAYLOAD);  // received data frame
+        xorIntoParity(parityBuffer, payloadOffset, alignedDataFrameLength);
+        receiveChannelEndpoint.onDataPacket(dataHeader, dataBuffer, alignedDataFrameLength, senderAddress);
+
+        final int corruptIndex = payloadOffset + DataHeaderFlyweight.SESSION_ID_FIELD_OFFSET;
+        parityBuffer.putByte(corruptIndex, (byte)(parityBuffer.getByte(corruptIndex) ^ 1));
+
+        final int parityFrameLength = fillParityFrame(parityHeader, parityBuffer, ACTIVE_TERM_ID, 0, 2, alignedDataFrameLength);
+        final int bytesRebuilt = receiveChannelEndpoint.onParityPacket(
+            parityHeader, parityBuffer, parityFrameLength, senderAddress);
+
+        assertThat(bytesRebuilt, is(0));
+        assertThat(termBuffers[ACTIVE_INDEX].getInt(alignedDataFrameLength), is(0));
+        verify(mockHighestReceivedPosition, never()).proposeMaxOrdered(2L * alignedDataFrameLength);
+    }
+
+    @Test(timeout = 10000)
+    public void shouldTotalBytesReceivedAcrossReceiversSharingSystemCounters() throws Exception
+    {
+        final int cycles = 1_000;
+        final int bytesPerCycle = 3;
+        final SystemCounters systemCounters = new SystemCounters(new CountersManager(
+            new UnsafeBuffer(new byte[64 * 1024]), new UnsafeBuffer(new byte[16 * 1024])));
+        final TransportPoller pollerOne = newFixedBytesTransportPoller(bytesPerCycle);
+        final TransportPoller pollerTwo = newFixedBytesTransportPoller(bytesPerCycle);
+
+        final MediaDriver.Context ctx = new MediaDriver.Context()
+            .receiverCount(2)
+            .receiverNioSelectors(pollerOne, pollerTwo)
+            .receiverCommandQueues(Arrays.asList(
+                new OneToOneConcurrentArrayQueue<>(1024), new OneToOneConcurrentArrayQueue<>(1024)))
+            .conductorTimerWheel(timerWheel)
+            .systemCounters(systemCounters);
+
+        final Receiver[] receivers = { new Receiver(ctx, 0), new Receiver(ctx, 1) };
+        final CyclicBarrier barrier = new CyclicBarrier(receivers.length);
+        final Thread[] threads = new Thread[receivers.length];
+        for (int i = 0; i < receivers.length; i++)
+        {
+            final Receiver receiver = receivers[i];
+            threads[i] = new Thread(
+                () ->
+                {
+                    try
+                    {
+                        barrier.await();
+                        for (int c = 0; c < cycles; c++)
+                        {
+                            receiver.doWork();
+                        }
+                    }
+                    catch (final Exception ex)
+                    {
+                        throw new RuntimeException(ex);
+                    }
+                });
+            threads[i].start();
+        }
+
+        for (final Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        pollerOne.close();
+        pollerTwo.close();
+
+        assertThat(systemCounters.bytesReceived().get(), is((long)receivers.length * cycles * bytesPerCycle));
+    }
+
+    private static TransportPoller newFixedBytesTransportPoller(final int bytesPerPoll)
+    {
+        return new TransportPoller(1, null)
+        {
+            public int pollTransports()
+            {
+                return bytesPerPoll;
+            }
+        };
+    }
+
+    private void establishConnection()
+    {
+        receiverProxy.registerReceiveChannelEndpoint(receiveChannelEndpoint);
+        receiverProxy.addSubscription(receiveChannelEndpoint, STREAM_ID);
+
+        receiver.doWork();
+
+        fillSetupFrame(setupHeader);
+        receiveChannelEndpoint.onSetupMessage(setupHeader, setupBuffer, setupHeader.frameLength(), senderAddress);
+
+        final int commandsRead = toConductorQueue.drain(
+            (e) ->
+            {
+                assertTrue(e instanceof CreateConnectionCmd);
+                receiverProxy.newConnection(
+                    receiveChannelEndpoint,
+                    new NetworkConnection(
+                        CORRELATION_ID, receiveChannelEndpoint,
+                        senderAddress,
+                        SESSION_ID,
+                        STREAM_ID,
+                        INITIAL_TERM_ID,
+                        ACTIVE_TERM_ID,
+                        INITIAL_TERM_OFFSET,
+                        INITIAL_WINDOW_LENGTH,
+                        rawLog,
+                        timerWheel,
+                        mockFeedbackDelayGenerator,
+                        POSITIONS,
+                        mockHighestReceivedPosition,
+                        clock,
+                        mockSystemCounters,
+                        SOURCE_ADDRESS));
+            });
+
+        assertThat(commandsRead, is(1));
+
+        receiver.doWork();
+    }
+
+    private int fillParityFrame(
+        final ParityFlyweight header,
+        final UnsafeBuffer buffer,
+        final int termId,
+        final int termOffset,
+        final int datagramCount,
+        final int datagramLength)
+    {
+        header.wrap(buffer, 0);
+        header.termOffset(termOffset)
+              .termId(termId)
+              .streamId(STREAM_ID)
+              .sessionId(SESSION_ID)
+              .datagramCount(datagramCount)
+              .payloadLength(datagramLength);
+
+        for (int i = 0; i < datagramCount; i++)
+        {
+            header.datagramLength(i, datagramLength);
+        }
+
+        final int frameLength = ParityFlyweight.headerLength(datagramCount) + datagramLength;
+        header.frameLength(frameLength)
+              .headerType(HeaderFlyweight.HDR_TYPE_PARITY)
+              .flags((byte)0)
+              .version(HeaderFlyweight.CURRENT_VERSION);
+
+        return frameLength;
+    }
+
+    private void xorIntoParity(final UnsafeBuffer parityBuffer, final int payloadOffset, final int length)
+    {
+        for (int i = 0; i < length; i++)
+        {
+            final int index = payloadOffset + i;
+            parityBuffer.putByte(index, (byte)(parityBuffer.getByte(index) ^ dataBuffer.getByte(i)));
+        }
+    }
+
     private void fillDataFrame(final DataHeaderFlyweight header, final int termOffset, final byte[] payload)
     {
         header.wrap(dataBuffer, 0);
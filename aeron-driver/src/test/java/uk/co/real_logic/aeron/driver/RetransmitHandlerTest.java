@@ -15,6 +15,7 @@
  */
 package uk.co.real_logic.aeron.driver;
 
+import org.junit.Before;
 import org.junit.experimental.theories.DataPoint;
 import org.junit.experimental.theories.Theories;
 import org.junit.experimental.theories.Theory;
@@ -27,6 +28,7 @@ import uk.co.real_logic.aeron.logbuffer.TermRebuilder;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.protocol.HeaderFlyweight;
 import uk.co.real_logic.agrona.TimerWheel;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
 import java.nio.ByteBuffer;
@@ -73,10 +75,10 @@ public class RetransmitHandlerTest
         Configuration.CONDUCTOR_TICKS_PER_WHEEL);
 
     private final RetransmitSender retransmitSender = mock(RetransmitSender.class);
+    private final AtomicCounter retransmitsExhausted = mock(AtomicCounter.class);
     private final SystemCounters systemCounters = mock(SystemCounters.class);
 
-    private RetransmitHandler handler = new RetransmitHandler(
-        wheel, systemCounters, DELAY_GENERATOR, LINGER_GENERATOR, retransmitSender, TERM_ID, TERM_BUFFER_LENGTH);
+    private RetransmitHandler handler;
 
     @DataPoint
     public static final BiConsumer<RetransmitHandlerTest, Integer> SENDER_ADD_DATA_FRAME =
@@ -86,6 +88,15 @@ public class RetransmitHandlerTest
     public static final BiConsumer<RetransmitHandlerTest, Integer> RECEIVER_ADD_DATA_FRAME =
         RetransmitHandlerTest::addReceivedDataFrame;
 
+    @Before
+    public void setUp()
+    {
+        when(systemCounters.retransmitsExhausted()).thenReturn(retransmitsExhausted);
+
+        handler = new RetransmitHandler(
+            wheel, systemCounters, DELAY_GENERATOR, LINGER_GENERATOR, retransmitSender, TERM_ID, TERM_BUFFER_LENGTH);
+    }
+
     @Theory
     public void shouldRetransmitOnNak(final BiConsumer<RetransmitHandlerTest, Integer> creator)
     {
@@ -177,6 +188,18 @@ public class RetransmitHandlerTest
         verify(retransmitSender).resend(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
     }
 
+    @Theory
+    public void shouldStopMergedRetransmitOnRetransmitReception(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2);
+        handler.onRetransmitReceived(TERM_ID, offsetOfFrame(2));
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verifyZeroInteractions(retransmitSender);
+    }
+
     @Theory
     public void shouldImmediateRetransmitOnNak(final BiConsumer<RetransmitHandlerTest, Integer> creator)
     {
@@ -201,6 +224,92 @@ public class RetransmitHandlerTest
         verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
     }
 
+    @Theory
+    public void shouldMergeOverlappingNaksIntoSingleRetransmit(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH * 2);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 2);
+        handler.onNak(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH * 2);
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 4);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldOnlyRetransmitRangeNotLingering(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        createTermBuffer(creator, 5);
+        handler = newZeroDelayRetransmitHandler();
+
+        handler.onNak(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        handler.onNak(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH * 3);
+
+        final InOrder inOrder = inOrder(retransmitSender);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(1), ALIGNED_FRAME_LENGTH);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(0), ALIGNED_FRAME_LENGTH);
+        inOrder.verify(retransmitSender).resend(TERM_ID, offsetOfFrame(2), ALIGNED_FRAME_LENGTH);
+        verifyNoMoreInteractions(retransmitSender);
+    }
+
+    @Theory
+    public void shouldRetransmitBeyondPreAllocatedActions(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        final int count = Configuration.RETRANSMITS_PREALLOCATED * 2;
+        createTermBuffer(creator, count * 2);
+
+        for (int i = 0; i < count; i++)
+        {
+            handler.onNak(TERM_ID, offsetOfFrame(i * 2), ALIGNED_FRAME_LENGTH);
+        }
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        for (int i = 0; i < count; i++)
+        {
+            verify(retransmitSender).resend(TERM_ID, offsetOfFrame(i * 2), ALIGNED_FRAME_LENGTH);
+        }
+        verify(retransmitsExhausted, never()).increment();
+    }
+
+    @Theory
+    public void shouldNotRetransmitBeyondMaxRetransmits(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        final int count = RetransmitHandler.MAX_RETRANSMITS * 2;
+        createTermBuffer(creator, count * 2);
+
+        for (int i = 0; i < count; i++)
+        {
+            handler.onNak(TERM_ID, offsetOfFrame(i * 2), ALIGNED_FRAME_LENGTH);
+        }
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        for (int i = 0; i < RetransmitHandler.MAX_RETRANSMITS; i++)
+        {
+            verify(retransmitSender).resend(TERM_ID, offsetOfFrame(i * 2), ALIGNED_FRAME_LENGTH);
+        }
+        verifyNoMoreInteractions(retransmitSender);
+        verify(retransmitsExhausted, times(count - RetransmitHandler.MAX_RETRANSMITS)).increment();
+    }
+
+    @Theory
+    public void shouldReuseRetransmitsAfterLinger(final BiConsumer<RetransmitHandlerTest, Integer> creator)
+    {
+        final int count = RetransmitHandler.MAX_RETRANSMITS;
+        createTermBuffer(creator, count * 4);
+
+        for (int i = 0; i < count; i++)
+        {
+            handler.onNak(TERM_ID, offsetOfFrame(i * 2), ALIGNED_FRAME_LENGTH);
+        }
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(100));
+        handler.onNak(TERM_ID, offsetOfFrame(count * 2), ALIGNED_FRAME_LENGTH);
+        processTimersUntil(() -> wheel.clock().nanoTime() >= TimeUnit.MILLISECONDS.toNanos(200));
+
+        verify(retransmitSender).resend(TERM_ID, offsetOfFrame(count * 2), ALIGNED_FRAME_LENGTH);
+        verify(retransmitsExhausted, never()).increment();
+    }
+
     @Theory
     public void shouldOnlyRetransmitOnNakWhenConfiguredTo(final BiConsumer<RetransmitHandlerTest, Integer> creator)
     {
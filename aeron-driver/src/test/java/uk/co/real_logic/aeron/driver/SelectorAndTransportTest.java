@@ -24,9 +24,11 @@ import uk.co.real_logic.aeron.protocol.HeaderFlyweight;
 import uk.co.real_logic.aeron.protocol.StatusMessageFlyweight;
 import uk.co.real_logic.aeron.driver.media.ReceiverUdpChannelTransport;
 import uk.co.real_logic.aeron.driver.media.SenderUdpChannelTransport;
+import uk.co.real_logic.aeron.driver.media.TransportMedia;
 import uk.co.real_logic.aeron.driver.media.TransportPoller;
 import uk.co.real_logic.aeron.driver.media.UdpChannel;
 import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.concurrent.AtomicCounter;
 import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
 
 import java.net.InetSocketAddress;
@@ -35,7 +37,12 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class SelectorAndTransportTest
 {
@@ -45,6 +52,7 @@ public class SelectorAndTransportTest
     private static final int STREAM_ID = 0x44332211;
     private static final int TERM_ID = 0x99887766;
     private static final int FRAME_LENGTH = 24;
+    private static final int RECEIVE_BUDGET = 2;
 
     private static final UdpChannel SRC_DST = UdpChannel.parse("udp://localhost:" + SRC_PORT + "@localhost:" + RCV_PORT);
     private static final UdpChannel RCV_DST = UdpChannel.parse("udp://localhost:" + RCV_PORT);
@@ -61,9 +69,11 @@ public class SelectorAndTransportTest
     private final InetSocketAddress srcRemoteAddress = new InetSocketAddress("localhost", RCV_PORT);
 
     private final EventLogger mockTransportLogger = mock(EventLogger.class);
+    private final AtomicCounter mockReceiveBudgetExhausted = mock(AtomicCounter.class);
 
     private final DataPacketHandler mockDataPacketHandler = mock(DataPacketHandler.class);
     private final SetupMessageHandler mockSetupMessageHandler = mock(SetupMessageHandler.class);
+    private final ParityPacketHandler mockParityPacketHandler = mock(ParityPacketHandler.class);
     private final NakMessageHandler mockNakMessageHandler = mock(NakMessageHandler.class);
     private final StatusMessageHandler mockStatusMessageHandler = mock(StatusMessageHandler.class);
 
@@ -102,15 +112,15 @@ public class SelectorAndTransportTest
     @Test(timeout = 1000)
     public void shouldHandleBasicSetupAndTeardown() throws Exception
     {
-        transportPoller = new TransportPoller();
+        transportPoller = new TransportPoller(RECEIVE_BUDGET, mockReceiveBudgetExhausted);
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockParityPacketHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
             SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
 
-        receiverTransport.openDatagramChannel();
+        receiverTransport.openChannel();
         receiverTransport.registerForRead(transportPoller);
-        senderTransport.openDatagramChannel();
+        senderTransport.openChannel();
         senderTransport.registerForRead(transportPoller);
 
         processLoop(transportPoller, 5);
@@ -136,15 +146,15 @@ public class SelectorAndTransportTest
                 return length;
             };
 
-        transportPoller = new TransportPoller();
+        transportPoller = new TransportPoller(RECEIVE_BUDGET, mockReceiveBudgetExhausted);
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockParityPacketHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
             SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
 
-        receiverTransport.openDatagramChannel();
+        receiverTransport.openChannel();
         receiverTransport.registerForRead(transportPoller);
-        senderTransport.openDatagramChannel();
+        senderTransport.openChannel();
         senderTransport.registerForRead(transportPoller);
 
         encodeDataHeader.wrap(buffer, 0);
@@ -167,6 +177,62 @@ public class SelectorAndTransportTest
         assertThat(dataHeadersReceived.get(), is(1));
     }
 
+    @Test(timeout = 1000)
+    public void shouldReceiveUpToBudgetOfDatagramsPerPoll() throws Exception
+    {
+        final AtomicInteger dataHeadersReceived = new AtomicInteger(0);
+        final DataPacketHandler dataPacketHandler =
+            (header, buffer, length, srcAddress) ->
+            {
+                dataHeadersReceived.incrementAndGet();
+                return length;
+            };
+
+        transportPoller = new TransportPoller(RECEIVE_BUDGET, mockReceiveBudgetExhausted);
+        receiverTransport = new ReceiverUdpChannelTransport(
+            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockParityPacketHandler, mockTransportLogger, NO_LOSS);
+        senderTransport = new SenderUdpChannelTransport(
+            SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
+
+        receiverTransport.openChannel();
+        receiverTransport.registerForRead(transportPoller);
+        senderTransport.openChannel();
+        senderTransport.registerForRead(transportPoller);
+
+        encodeDataHeader.wrap(buffer, 0);
+        encodeDataHeader.version(HeaderFlyweight.CURRENT_VERSION)
+                        .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                        .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+                        .frameLength(FRAME_LENGTH);
+        encodeDataHeader.sessionId(SESSION_ID)
+                        .streamId(STREAM_ID)
+                        .termId(TERM_ID);
+
+        processLoop(transportPoller, 5);
+        verify(mockReceiveBudgetExhausted, never()).increment();
+
+        for (int i = 0; i < RECEIVE_BUDGET + 1; i++)
+        {
+            byteBuffer.position(0).limit(FRAME_LENGTH);
+            senderTransport.sendTo(byteBuffer, srcRemoteAddress);
+        }
+
+        while (dataHeadersReceived.get() < RECEIVE_BUDGET)
+        {
+            processLoop(transportPoller, 1);
+        }
+
+        assertThat(dataHeadersReceived.get(), is(RECEIVE_BUDGET));
+        verify(mockReceiveBudgetExhausted, times(1)).increment();
+
+        while (dataHeadersReceived.get() < RECEIVE_BUDGET + 1)
+        {
+            processLoop(transportPoller, 1);
+        }
+
+        verify(mockReceiveBudgetExhausted, times(1)).increment();
+    }
+
     @Test(timeout = 1000)
     public void shouldSendMultipleDataFramesPerDatagramUnicastFromSourceToReceiver() throws Exception
     {
@@ -188,15 +254,15 @@ public class SelectorAndTransportTest
                 return length;
             };
 
-        transportPoller = new TransportPoller();
+        transportPoller = new TransportPoller(RECEIVE_BUDGET, mockReceiveBudgetExhausted);
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, dataPacketHandler, mockSetupMessageHandler, mockParityPacketHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
             SRC_DST, mockStatusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
 
-        receiverTransport.openDatagramChannel();
+        receiverTransport.openChannel();
         receiverTransport.registerForRead(transportPoller);
-        senderTransport.openDatagramChannel();
+        senderTransport.openChannel();
         senderTransport.registerForRead(transportPoller);
 
         encodeDataHeader.wrap(buffer, 0);
@@ -241,15 +307,15 @@ public class SelectorAndTransportTest
                 controlHeadersReceived.incrementAndGet();
             };
 
-        transportPoller = new TransportPoller();
+        transportPoller = new TransportPoller(RECEIVE_BUDGET, mockReceiveBudgetExhausted);
         receiverTransport = new ReceiverUdpChannelTransport(
-            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockTransportLogger, NO_LOSS);
+            RCV_DST, mockDataPacketHandler, mockSetupMessageHandler, mockParityPacketHandler, mockTransportLogger, NO_LOSS);
         senderTransport = new SenderUdpChannelTransport(
             SRC_DST, statusMessageHandler, mockNakMessageHandler, mockTransportLogger, NO_LOSS);
 
-        receiverTransport.openDatagramChannel();
+        receiverTransport.openChannel();
         receiverTransport.registerForRead(transportPoller);
-        senderTransport.openDatagramChannel();
+        senderTransport.openChannel();
         senderTransport.registerForRead(transportPoller);
 
         statusMessage.wrap(buffer, 0);
@@ -274,6 +340,61 @@ public class SelectorAndTransportTest
         assertThat(controlHeadersReceived.get(), is(1));
     }
 
+    @Test(timeout = 1000)
+    public void shouldPollTransportsOverMediaWithoutSelectableChannel() throws Exception
+    {
+        final int transportCount = 6;
+        final AtomicInteger dataHeadersReceived = new AtomicInteger(0);
+        final DataPacketHandler dataPacketHandler =
+            (header, buffer, length, srcAddress) ->
+            {
+                dataHeadersReceived.incrementAndGet();
+                return length;
+            };
+
+        encodeDataHeader.wrap(buffer, 0);
+        encodeDataHeader.version(HeaderFlyweight.CURRENT_VERSION)
+                        .flags(DataHeaderFlyweight.BEGIN_AND_END_FLAGS)
+                        .headerType(HeaderFlyweight.HDR_TYPE_DATA)
+                        .frameLength(FRAME_LENGTH);
+        encodeDataHeader.sessionId(SESSION_ID)
+                        .streamId(STREAM_ID)
+                        .termId(TERM_ID);
+
+        transportPoller = new TransportPoller(RECEIVE_BUDGET, mockReceiveBudgetExhausted);
+
+        for (int i = 0; i < transportCount; i++)
+        {
+            final TransportMedia media = mock(TransportMedia.class);
+            when(media.receive(any(ByteBuffer.class)))
+                .thenAnswer(
+                    (invocation) ->
+                    {
+                        final ByteBuffer frame = byteBuffer.duplicate();
+                        frame.position(0).limit(FRAME_LENGTH);
+                        ((ByteBuffer)invocation.getArguments()[0]).put(frame);
+                        return rcvRemoteAddress;
+                    })
+                .thenReturn(null);
+
+            final ReceiverUdpChannelTransport transport = new ReceiverUdpChannelTransport(
+                RCV_DST,
+                dataPacketHandler,
+                mockSetupMessageHandler,
+                mockParityPacketHandler,
+                mockTransportLogger,
+                NO_LOSS,
+                media);
+
+            transport.openChannel();
+            transport.registerForRead(transportPoller);
+        }
+
+        processLoop(transportPoller, 1);
+
+        assertThat(dataHeadersReceived.get(), is(transportCount));
+    }
+
     private void processLoop(final TransportPoller transportPoller, final int iterations) throws Exception
     {
         for (int i = 0; i < iterations; i++)
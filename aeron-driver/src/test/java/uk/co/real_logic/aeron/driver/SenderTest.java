@@ -24,6 +24,7 @@ import uk.co.real_logic.aeron.logbuffer.TermAppender;
 import uk.co.real_logic.aeron.driver.event.EventLogger;
 import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
 import uk.co.real_logic.aeron.protocol.HeaderFlyweight;
+import uk.co.real_logic.aeron.protocol.ParityFlyweight;
 import uk.co.real_logic.aeron.protocol.SetupFlyweight;
 import uk.co.real_logic.aeron.driver.buffer.RawLog;
 import uk.co.real_logic.aeron.driver.cmd.NewPublicationCmd;
@@ -42,6 +43,7 @@ import uk.co.real_logic.agrona.concurrent.status.Position;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
+import java.util.Collections;
 import java.util.Queue;
 import java.util.concurrent.TimeUnit;
 
@@ -56,9 +58,11 @@ public class SenderTest
 {
     private static final int TERM_BUFFER_LENGTH = LogBufferDescriptor.TERM_MIN_LENGTH;
     private static final int MAX_FRAME_LENGTH = 1024;
+    private static final int BURST_LENGTH = 2 * MAX_FRAME_LENGTH;
     private static final int SESSION_ID = 1;
     private static final int STREAM_ID = 2;
     private static final int INITIAL_TERM_ID = 3;
+    private static final long CORRELATION_ID = 4;
     private static final byte[] PAYLOAD = "Payload is here!".getBytes();
 
     private static final MutableDirectBuffer HEADER =
@@ -93,6 +97,8 @@ public class SenderTest
     private final DataHeaderFlyweight dataHeader = new DataHeaderFlyweight();
     private final SetupFlyweight setupHeader = new SetupFlyweight();
     private final SystemCounters mockSystemCounters = mock(SystemCounters.class);
+    private final AtomicCounter retransmitBytesDeferred = mock(AtomicCounter.class);
+    private final AtomicCounter retransmitsDropped = mock(AtomicCounter.class);
     private final OneToOneConcurrentArrayQueue<SenderCmd> senderCommandQueue = new OneToOneConcurrentArrayQueue<>(1024);
 
     private Answer<Integer> saveByteBufferAnswer =
@@ -117,13 +123,20 @@ public class SenderTest
         when(mockSystemCounters.heartbeatsSent()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.bytesSent()).thenReturn(mock(AtomicCounter.class));
         when(mockSystemCounters.senderFlowControlLimits()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.retransmitsSent()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.retransmitBytesQueued()).thenReturn(mock(AtomicCounter.class));
+        when(mockSystemCounters.retransmitBytesDeferred()).thenReturn(retransmitBytesDeferred);
+        when(mockSystemCounters.retransmitsDropped()).thenReturn(retransmitsDropped);
+        when(mockSystemCounters.parityFramesSent()).thenReturn(mock(AtomicCounter.class));
 
         sender = new Sender(
             new MediaDriver.Context()
-                .senderNioSelector(mockTransportPoller)
+                .senderNioSelectors(mockTransportPoller)
                 .systemCounters(mockSystemCounters)
-                .senderCommandQueue(senderCommandQueue)
-                .eventLogger(mockLogger));
+                .senderCommandQueues(Collections.singletonList(senderCommandQueue))
+                .senderRetransmitBudget(ALIGNED_FRAME_LENGTH)
+                .eventLogger(mockLogger),
+            0);
 
         termAppenders = rawLog
             .stream()
@@ -131,6 +144,7 @@ public class SenderTest
             .toArray(TermAppender[]::new);
 
         publication = new NetworkPublication(
+            CORRELATION_ID,
             mockSendChannelEndpoint,
             wheel.clock(),
             rawLog,
@@ -140,7 +154,10 @@ public class SenderTest
             STREAM_ID,
             INITIAL_TERM_ID,
             MAX_FRAME_LENGTH,
+            BURST_LENGTH,
+            0,
             flowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH),
+            false,
             mockSystemCounters);
 
         senderCommandQueue.offer(new NewPublicationCmd(publication, mockRetransmitHandler, flowControl));
@@ -228,6 +245,145 @@ public class SenderTest
         assertThat(dataHeader.version(), is((short)HeaderFlyweight.CURRENT_VERSION));
     }
 
+    @Test
+    public void shouldPaceRetransmitsWithinBudget() throws Exception
+    {
+        publication.senderPositionLimit(
+            flowControl.onStatusMessage(INITIAL_TERM_ID, 0, (2 * ALIGNED_FRAME_LENGTH), rcvAddress));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        sender.doWork();
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        sender.doWork();
+        receivedFrames.clear();
+
+        publication.resend(INITIAL_TERM_ID, offsetOfMessage(2), ALIGNED_FRAME_LENGTH);
+        publication.resend(INITIAL_TERM_ID, offsetOfMessage(1), ALIGNED_FRAME_LENGTH);
+        publication.resend(INITIAL_TERM_ID, offsetOfMessage(2), ALIGNED_FRAME_LENGTH);
+        assertThat(receivedFrames.size(), is(0));
+
+        sender.doWork();
+        assertThat(receivedFrames.size(), is(1));
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(offsetOfMessage(2)));
+        verify(retransmitBytesDeferred).add(2 * ALIGNED_FRAME_LENGTH);
+
+        sender.doWork();
+        assertThat(receivedFrames.size(), is(1));
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(offsetOfMessage(1)));
+
+        sender.doWork();
+        assertThat(receivedFrames.size(), is(1));
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(offsetOfMessage(2)));
+        verify(retransmitBytesDeferred, times(1)).add(anyLong());
+    }
+
+    @Test
+    public void shouldMergeOrDropRatherThanSendWhenRetransmitQueueIsFull() throws Exception
+    {
+        final int capacity = Configuration.retransmitQueueCapacity(
+            Configuration.publicationTermWindowLength(TERM_BUFFER_LENGTH), MAX_FRAME_LENGTH);
+
+        publication.senderPositionLimit(
+            flowControl.onStatusMessage(INITIAL_TERM_ID, 0, (2 * ALIGNED_FRAME_LENGTH), rcvAddress));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        sender.doWork();
+        receivedFrames.clear();
+
+        for (int i = 0; i < capacity - 1; i++)
+        {
+            publication.resend(INITIAL_TERM_ID - 2, i * ALIGNED_FRAME_LENGTH * 2, ALIGNED_FRAME_LENGTH);
+        }
+        publication.resend(INITIAL_TERM_ID, offsetOfMessage(1), ALIGNED_FRAME_LENGTH);
+
+        publication.resend(INITIAL_TERM_ID, offsetOfMessage(2), ALIGNED_FRAME_LENGTH);
+        verify(retransmitsDropped, never()).increment();
+
+        publication.resend(INITIAL_TERM_ID - 1, 0, ALIGNED_FRAME_LENGTH);
+        verify(retransmitsDropped, times(1)).increment();
+        assertThat(receivedFrames.size(), is(0));
+    }
+
+    @Test
+    public void shouldSendParityFrameAfterGroupOfDatagrams() throws Exception
+    {
+        final NetworkPublication fecPublication = newFecPublication(2);
+        fecPublication.senderPositionLimit(
+            flowControl.onStatusMessage(INITIAL_TERM_ID, 0, (2 * ALIGNED_FRAME_LENGTH), rcvAddress));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        fecPublication.send();
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        fecPublication.send();
+
+        assertThat(receivedFrames.size(), is(3));
+        final ByteBuffer firstFrame = receivedFrames.remove();
+        final ByteBuffer secondFrame = receivedFrames.remove();
+        final UnsafeBuffer parityBuffer = new UnsafeBuffer(receivedFrames.remove());
+
+        final ParityFlyweight parityHeader = new ParityFlyweight();
+        parityHeader.wrap(parityBuffer, 0);
+        assertThat(parityHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_PARITY));
+        assertThat(parityHeader.termId(), is(INITIAL_TERM_ID));
+        assertThat(parityHeader.termOffset(), is(offsetOfMessage(1)));
+        assertThat(parityHeader.datagramCount(), is(2));
+        assertThat(parityHeader.datagramLength(0), is(ALIGNED_FRAME_LENGTH));
+        assertThat(parityHeader.datagramLength(1), is(ALIGNED_FRAME_LENGTH));
+        assertThat(parityHeader.payloadLength(), is(ALIGNED_FRAME_LENGTH));
+
+        final int payloadOffset = parityHeader.payloadOffset();
+        for (int i = 0; i < ALIGNED_FRAME_LENGTH; i++)
+        {
+            assertThat(parityBuffer.getByte(payloadOffset + i), is((byte)(firstFrame.get(i) ^ secondFrame.get(i))));
+        }
+    }
+
+    @Test
+    public void shouldSendParityFrameForPartialGroupWhenIdle() throws Exception
+    {
+        final NetworkPublication fecPublication = newFecPublication(4);
+        fecPublication.senderPositionLimit(
+            flowControl.onStatusMessage(INITIAL_TERM_ID, 0, ALIGNED_FRAME_LENGTH, rcvAddress));
+
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(PAYLOAD.length));
+        buffer.putBytes(0, PAYLOAD);
+
+        termAppenders[0].append(buffer, 0, PAYLOAD.length);
+        fecPublication.send();
+        assertThat(receivedFrames.size(), is(1));
+
+        fecPublication.send();
+        assertThat(receivedFrames.size(), is(2));
+
+        final ByteBuffer dataFrame = receivedFrames.remove();
+        final UnsafeBuffer parityBuffer = new UnsafeBuffer(receivedFrames.remove());
+
+        final ParityFlyweight parityHeader = new ParityFlyweight();
+        parityHeader.wrap(parityBuffer, 0);
+        assertThat(parityHeader.headerType(), is(HeaderFlyweight.HDR_TYPE_PARITY));
+        assertThat(parityHeader.datagramCount(), is(1));
+        assertThat(parityHeader.payloadLength(), is(ALIGNED_FRAME_LENGTH));
+
+        final int payloadOffset = parityHeader.payloadOffset();
+        for (int i = 0; i < ALIGNED_FRAME_LENGTH; i++)
+        {
+            assertThat(parityBuffer.getByte(payloadOffset + i), is(dataFrame.get(i)));
+        }
+    }
+
     @Test
     public void shouldBeAbleToSendOnChannelTwice() throws Exception
     {
@@ -303,6 +459,34 @@ public class SenderTest
         assertThat(dataHeader.version(), is((short)HeaderFlyweight.CURRENT_VERSION));
     }
 
+    @Test
+    public void shouldSendMultipleDatagramsUpToBurstLengthInOneDutyCycle() throws Exception
+    {
+        final int payloadLength = MAX_FRAME_LENGTH - DataHeaderFlyweight.HEADER_LENGTH;
+        final UnsafeBuffer buffer = new UnsafeBuffer(ByteBuffer.allocateDirect(payloadLength));
+
+        publication.senderPositionLimit(
+            flowControl.onStatusMessage(INITIAL_TERM_ID, 0, (3 * MAX_FRAME_LENGTH), rcvAddress));
+
+        termAppenders[0].append(buffer, 0, payloadLength);
+        termAppenders[0].append(buffer, 0, payloadLength);
+        termAppenders[0].append(buffer, 0, payloadLength);
+
+        sender.doWork();
+
+        assertThat(receivedFrames.size(), is(2));
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(0));
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(MAX_FRAME_LENGTH));
+
+        sender.doWork();
+
+        assertThat(receivedFrames.size(), is(1));
+        dataHeader.wrap(receivedFrames.remove(), 0);
+        assertThat(dataHeader.termOffset(), is(2 * MAX_FRAME_LENGTH));
+    }
+
     @Test
     public void shouldNotSendUntilStatusMessageReceived() throws Exception
     {
@@ -428,6 +612,26 @@ public class SenderTest
         assertThat(dataHeader.termOffset(), is(offsetOfMessage(2)));
     }
 
+    private NetworkPublication newFecPublication(final int fecGroupSize)
+    {
+        return new NetworkPublication(
+            CORRELATION_ID,
+            publication.sendChannelEndpoint(),
+            wheel.clock(),
+            rawLog,
+            new AtomicLongPosition(),
+            mock(Position.class),
+            SESSION_ID,
+            STREAM_ID,
+            INITIAL_TERM_ID,
+            MAX_FRAME_LENGTH,
+            BURST_LENGTH,
+            fecGroupSize,
+            flowControl.initialPositionLimit(INITIAL_TERM_ID, TERM_BUFFER_LENGTH),
+            false,
+            mockSystemCounters);
+    }
+
     private int offsetOfMessage(final int offset)
     {
         return (offset - 1) * align(HEADER.capacity() + PAYLOAD.length, FRAME_ALIGNMENT);
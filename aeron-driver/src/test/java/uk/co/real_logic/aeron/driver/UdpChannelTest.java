@@ -77,6 +77,34 @@ public class UdpChannelTest
         assertThat(udpChannel.remoteControl(), is(new InetSocketAddress("localhost", 40124)));
     }
 
+    @Test
+    public void shouldParseFecGroupSize() throws Exception
+    {
+        assertThat(UdpChannel.parse("udp://localhost:40124").fecGroupSize(), is(0));
+        assertThat(UdpChannel.parse("udp://localhost:40124?fec=4").fecGroupSize(), is(4));
+        assertThat(UdpChannel.parse("aeron:udp?remote=localhost:40124|fec=4").fecGroupSize(), is(4));
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldThrowExceptionForFecGroupSizeAboveMaximum() throws Exception
+    {
+        UdpChannel.parse("udp://localhost:40124?fec=" + (Configuration.FEC_MAX_GROUP_SIZE + 1));
+    }
+
+    @Test
+    public void shouldParseReceiveFanOut() throws Exception
+    {
+        assertThat(UdpChannel.parse("udp://localhost:40124").receiveFanOut(), is(1));
+        assertThat(UdpChannel.parse("udp://localhost:40124?fanout=4").receiveFanOut(), is(4));
+        assertThat(UdpChannel.parse("aeron:udp?remote=localhost:40124|fanout=4").receiveFanOut(), is(4));
+    }
+
+    @Test(expected = InvalidChannelException.class)
+    public void shouldThrowExceptionForReceiveFanOutOnMulticast() throws Exception
+    {
+        UdpChannel.parse("udp://localhost@224.10.9.9:40124?fanout=2");
+    }
+
     @Test(expected = InvalidChannelException.class)
     public void shouldThrowExceptionForIncorrectScheme() throws Exception
     {
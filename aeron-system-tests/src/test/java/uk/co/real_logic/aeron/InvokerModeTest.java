@@ -0,0 +1,138 @@
+/*
+ * Copyright 2014 - 2015 Real Logic Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.co.real_logic.aeron;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import uk.co.real_logic.aeron.driver.MediaDriver;
+import uk.co.real_logic.aeron.driver.ThreadingMode;
+import uk.co.real_logic.aeron.logbuffer.FragmentHandler;
+import uk.co.real_logic.aeron.logbuffer.Header;
+import uk.co.real_logic.aeron.protocol.DataHeaderFlyweight;
+import uk.co.real_logic.agrona.BitUtil;
+import uk.co.real_logic.agrona.concurrent.UnsafeBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertNotNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test a publish and subscribe round trip with a media driver in {@link ThreadingMode#INVOKER} mode, which starts no
+ * agent threads, so the conductor, sender and receiver only make progress via its {@link AgentInvoker}.
+ */
+public class InvokerModeTest
+{
+    private static final String CHANNEL = "udp://localhost:54327";
+    private static final int STREAM_ID = 1;
+
+    private final MediaDriver.Context context = new MediaDriver.Context();
+    private final Aeron.Context aeronContext = new Aeron.Context();
+
+    private volatile boolean isRunning = true;
+    private Thread invokerThread;
+    private MediaDriver driver;
+    private Aeron client;
+    private Publication publication;
+    private Subscription subscription;
+
+    private final UnsafeBuffer buffer = new UnsafeBuffer(new byte[4096]);
+    private final FragmentHandler fragmentHandler = mock(FragmentHandler.class);
+
+    @Before
+    public void setUp() throws Exception
+    {
+        context.dirsDeleteOnExit(true);
+        context.threadingMode(ThreadingMode.INVOKER);
+
+        driver = MediaDriver.launch(context);
+
+        final AgentInvoker invoker = driver.sharedAgentInvoker();
+        assertNotNull(invoker);
+
+        invokerThread = new Thread(
+            () ->
+            {
+                while (isRunning)
+                {
+                    if (0 == invoker.invoke())
+                    {
+                        Thread.yield();
+                    }
+                }
+            });
+        invokerThread.setName("application-event-loop");
+        invokerThread.start();
+
+        client = Aeron.connect(aeronContext);
+        publication = client.addPublication(CHANNEL, STREAM_ID);
+        subscription = client.addSubscription(CHANNEL, STREAM_ID);
+    }
+
+    @After
+    public void closeEverything() throws Exception
+    {
+        if (null != publication)
+        {
+            publication.close();
+        }
+
+        if (null != subscription)
+        {
+            subscription.close();
+        }
+
+        client.close();
+
+        isRunning = false;
+        invokerThread.join();
+
+        driver.close();
+    }
+
+    @Test(timeout = 10000)
+    public void shouldSendAndReceiveMessageWithDriverAgentsRunByInvoker()
+    {
+        buffer.putInt(0, 1);
+
+        while (publication.offer(buffer, 0, BitUtil.SIZE_OF_INT) < 0L)
+        {
+            Thread.yield();
+        }
+
+        final int fragmentsRead[] = new int[1];
+
+        SystemTestHelper.executeUntil(
+            () -> fragmentsRead[0] > 0,
+            (i) ->
+            {
+                fragmentsRead[0] += subscription.poll(fragmentHandler, 10);
+                Thread.yield();
+            },
+            Integer.MAX_VALUE,
+            TimeUnit.MILLISECONDS.toNanos(5900));
+
+        verify(fragmentHandler).onFragment(
+            any(UnsafeBuffer.class),
+            eq(DataHeaderFlyweight.HEADER_LENGTH),
+            eq(BitUtil.SIZE_OF_INT),
+            any(Header.class));
+    }
+}